@@ -23,6 +23,7 @@ public class Constants {
     // file database extensions
     public static final String FILE_XML_EXTENSION = ".xml";
     public static final String FILE_CSV_EXTENSION = ".csv";
+    public static final String FILE_JSON_EXTENSION = ".json";
 
 
     // xml and csv entity filenames
@@ -38,6 +39,7 @@ public class Constants {
     public static final String TASK_TAG_FILE_PATH = "task_tags";
     public static final String DOCUMENTATION_DATA_FILE_PATH = "documentation_data";
     public static final String MANAGER_PROJECT_FILE_PATH = "manager_employee";
+    public static final String PROJECT_SUMMARIES_FILE_PATH = "project_summaries";
 
 
     // mongo history collection item name constants
@@ -49,6 +51,7 @@ public class Constants {
     public static final String MONGO_HISTORY_OBJECT = "Object";
     public static final String MONGO_HISTORY_STATUS = "Status";
     public static final String MONGO_HISTORY_CHANGE_TYPE = "Change type";
+    public static final String MONGO_HISTORY_ENTITY_ID = "Entity id";
 
     // mongo database names
     public static final String MONGO_DB_NAME_TEST = "history_test";
@@ -59,22 +62,56 @@ public class Constants {
     public static final String DATASOURCE_PATH_CSV = "data/csv/";
     public static final String DATASOURCE_TEST_PATH_XML = "src/test/data/xml/";
     public static final String DATASOURCE_TEST_PATH_CSV = "src/test/data/csv/";
+    public static final String HISTORY_SPOOL_PATH = "data/history/";
+    public static final String HISTORY_SPOOL_TEST_PATH = "src/test/data/history/";
 
     // properties variables
     public static final String MONGO_URL = "MONGO_URL";
+    public static final String MONGO_HISTORY_QUEUE_SIZE = "MONGO_HISTORY_QUEUE_SIZE";
+    public static final String MONGO_HISTORY_BATCH_SIZE = "MONGO_HISTORY_BATCH_SIZE";
+    public static final String MONGO_HISTORY_FLUSH_INTERVAL = "MONGO_HISTORY_FLUSH_INTERVAL";
+    public static final String MONGO_HISTORY_OVERFLOW_POLICY = "MONGO_HISTORY_OVERFLOW_POLICY";
+    public static final String MONGO_HISTORY_SPOOL_ENABLED = "MONGO_HISTORY_SPOOL_ENABLED";
+    public static final String MONGO_HISTORY_SPOOL_PATH = "MONGO_HISTORY_SPOOL_PATH";
+    public static final String MONGO_HISTORY_SPOOL_SEGMENT_SIZE = "MONGO_HISTORY_SPOOL_SEGMENT_SIZE";
     public static final String POSTGRES_URL = "POSTGRES_URL";
     public static final String POSTGRES_USER = "POSTGRES_USER";
     public static final String POSTGRES_PASSWORD = "POSTGRES_PASSWORD";
     public static final String POSTGRES_PROD_DB_NAME = "POSTGRES_PROD_DB_NAME";
     public static final String POSTGRES_TEST_DB_NAME = "POSTGRES_TEST_DB_NAME";
+    public static final String POSTGRES_POOL_MIN_IDLE = "POSTGRES_POOL_MIN_IDLE";
+    public static final String POSTGRES_POOL_MAX_SIZE = "POSTGRES_POOL_MAX_SIZE";
+    public static final String POSTGRES_POOL_IDLE_TIMEOUT = "POSTGRES_POOL_IDLE_TIMEOUT";
+    public static final String POSTGRES_POOL_CONNECTION_TIMEOUT = "POSTGRES_POOL_CONNECTION_TIMEOUT";
+    public static final String POSTGRES_POOL_VALIDATION_TIMEOUT = "POSTGRES_POOL_VALIDATION_TIMEOUT";
+    public static final String POSTGRES_POOL_MAX_LIFETIME = "POSTGRES_POOL_MAX_LIFETIME";
+    public static final String POSTGRES_POOL_LEAK_DETECTION_THRESHOLD = "POSTGRES_POOL_LEAK_DETECTION_THRESHOLD";
+    public static final String POSTGRES_PREPARE_THRESHOLD = "POSTGRES_PREPARE_THRESHOLD";
+    public static final String POSTGRES_STATEMENT_CACHE_QUERIES = "POSTGRES_STATEMENT_CACHE_QUERIES";
+    public static final String POSTGRES_STATEMENT_CACHE_SIZE_MIB = "POSTGRES_STATEMENT_CACHE_SIZE_MIB";
+    public static final String POSTGRES_BULK_COPY_ENABLED = "POSTGRES_BULK_COPY_ENABLED";
+    public static final String POSTGRES_FETCH_SIZE = "POSTGRES_FETCH_SIZE";
     public static final String ENVIRONMENT = "ENVIRONMENT";
+    public static final String CSV_CACHE_ENABLED = "CSV_CACHE_ENABLED";
+    public static final String CSV_APPEND_ONLY_ENABLED = "CSV_APPEND_ONLY_ENABLED";
+    public static final String CSV_COMPACTION_THRESHOLD = "CSV_COMPACTION_THRESHOLD";
+    public static final String CSV_BACKGROUND_COMPACTION = "CSV_BACKGROUND_COMPACTION";
+    public static final String CSV_INDEX_ENABLED = "CSV_INDEX_ENABLED";
+    public static final String XML_INDEX_ENABLED = "XML_INDEX_ENABLED";
+    public static final String XML_FORMATTED_OUTPUT = "XML_FORMATTED_OUTPUT";
+    public static final String ASYNC_PROVIDER_THREADS = "ASYNC_PROVIDER_THREADS";
+    public static final String FILE_PROVIDER_LOAD_THREADS = "FILE_PROVIDER_LOAD_THREADS";
+    public static final String PORTFOLIO_ANALYZER_THREADS = "PORTFOLIO_ANALYZER_THREADS";
 
 
     // validation keys
     public static final String PROJECT_ERROR_KEY = "project";
     public static final String EMPLOYEE_ERROR_KEY = "employee";
+    public static final String TEAM_ERROR_KEY = "team";
     public static final String BUG_REPORT_ERROR_KEY = "bug report";
     public static final String TASK_ERROR_KEY = "task";
+    public static final String EVENT_ERROR_KEY = "event";
+    public static final String DOCUMENTATION_ERROR_KEY = "documentation";
 
     // validation messages
     public static final String PROJECT_DOES_NOT_EXISTS = "project with id %s doesn't exist";
@@ -89,6 +126,8 @@ public class Constants {
     public static final String EMPLOYEE_IS_NOT_LINKED_TO_PROJECT = "employee with id %s doesn't belong to the project";
 
     public static final String INVALID_PARAMETERS_MESSAGE = "Invalid count of parameters";
+    public static final String INVALID_PAGE_LIMIT = "page limit should be positive, got %s";
+    public static final String INVALID_CURSOR = "invalid page cursor %s";
 
     public static final int PROJECT_PRIMITIVE_PARAMETER_COUNT = Project.class.getDeclaredFields().length - 7;
     public static final int TASK_PRIMITIVE_PARAMETER_COUNT = Task.class.getDeclaredFields().length
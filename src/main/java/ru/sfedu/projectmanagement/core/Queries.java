@@ -1,5 +1,7 @@
 package ru.sfedu.projectmanagement.core;
 
+import java.util.List;
+
 public class Queries {
     // postgres table names
     public static final String PROJECT_TABLE_NAME = "projects";
@@ -9,6 +11,7 @@ public class Queries {
     public static final String EVENTS_TABLE_NAME = "events";
     public static final String DOCUMENTATIONS_TABLE_NAME = "documentations";
     public static final String EMPLOYEES_TABLE_NAME = "employees";
+    public static final String PROJECT_SUMMARIES_TABLE_NAME = "project_summaries";
 
 
     // init postgres tables queries
@@ -106,7 +109,180 @@ public class Queries {
         );
     """, EMPLOYEES_TABLE_NAME);
 
-    public static final String CHECK_EMPLOYEE_LINK_EXISTENCE_QUERY = "SELECT count(*) FROM %s WHERE employee_id = '%s' AND project_id = '%s'";
+    // schema versions, every migration is applied once in one transaction
+    public static final String SCHEMA_VERSION_TABLE_NAME = "schema_version";
+
+    public static final String INIT_SCHEMA_VERSION_TABLE_QUERY = String.format("""
+        CREATE TABLE IF NOT EXISTS %s (
+            version INT PRIMARY KEY,
+            applied_at TIMESTAMPTZ DEFAULT NOW()
+        );
+    """, SCHEMA_VERSION_TABLE_NAME);
+
+    // key of the advisory lock, so providers which start at the same time do not migrate schema twice
+    public static final long SCHEMA_LOCK_KEY = 0x70726f6a656374L;
+    public static final String LOCK_SCHEMA_QUERY = "SELECT pg_advisory_xact_lock(?)";
+
+    public static final String GET_SCHEMA_VERSION_QUERY = String.format(
+            "SELECT COALESCE(MAX(version), 0) FROM %s", SCHEMA_VERSION_TABLE_NAME
+    );
+
+    public static final String SET_SCHEMA_VERSION_QUERY = String.format(
+            "INSERT INTO %s (version) VALUES (?)", SCHEMA_VERSION_TABLE_NAME
+    );
+
+    public static final String INIT_INDEXES_QUERY = String.format("""
+        CREATE INDEX IF NOT EXISTS tasks_project_id_idx ON %1$s (project_id);
+        CREATE INDEX IF NOT EXISTS tasks_executor_id_idx ON %1$s (executor_id);
+        CREATE INDEX IF NOT EXISTS tasks_tag_idx ON %1$s USING GIN (tag);
+        CREATE INDEX IF NOT EXISTS bug_reports_project_id_idx ON %2$s (project_id);
+        CREATE INDEX IF NOT EXISTS events_project_id_idx ON %3$s (project_id);
+        CREATE INDEX IF NOT EXISTS documentations_project_id_idx ON %4$s (project_id);
+        CREATE INDEX IF NOT EXISTS projects_manager_id_idx ON %5$s (manager_id);
+        CREATE INDEX IF NOT EXISTS employee_project_project_id_idx ON %6$s (project_id);
+    """, TASKS_TABLE_NAME, BUG_REPORTS_TABLE_NAME, EVENTS_TABLE_NAME, DOCUMENTATIONS_TABLE_NAME,
+            PROJECT_TABLE_NAME, EMPLOYEE_PROJECT_TABLE_NAME);
+
+    // duplicated links are removed before the unique index is created
+    public static final String INIT_EMPLOYEE_PROJECT_UNIQUE_INDEX_QUERY = String.format("""
+        DELETE FROM %1$s duplicate USING %1$s original
+        WHERE duplicate.employee_id = original.employee_id
+            AND duplicate.project_id = original.project_id
+            AND duplicate.id > original.id;
+        CREATE UNIQUE INDEX IF NOT EXISTS employee_project_employee_id_project_id_idx ON %1$s (employee_id, project_id);
+    """, EMPLOYEE_PROJECT_TABLE_NAME);
+
+    // numbers of tasks and bug reports by statuses are kept by triggers, so they are consistent with any write of the rows
+    public static final String INIT_PROJECT_SUMMARIES_QUERY = String.format("""
+        CREATE TABLE IF NOT EXISTS %1$s (
+            project_id UUID PRIMARY KEY REFERENCES %2$s(id) ON DELETE CASCADE,
+            task_counts JSONB NOT NULL DEFAULT '{}',
+            bug_report_counts JSONB NOT NULL DEFAULT '{}'
+        );
+
+        CREATE OR REPLACE FUNCTION change_status_count(counts JSONB, status TEXT, delta BIGINT) RETURNS JSONB AS $$
+            SELECT CASE
+                WHEN COALESCE((counts ->> status)::BIGINT, 0) + delta > 0
+                    THEN jsonb_set(counts, ARRAY[status], to_jsonb(COALESCE((counts ->> status)::BIGINT, 0) + delta))
+                ELSE counts - status
+            END
+        $$ LANGUAGE sql IMMUTABLE;
+
+        CREATE OR REPLACE FUNCTION change_project_summary(summary_project_id UUID, counts TEXT, status TEXT, delta BIGINT)
+        RETURNS VOID AS $$
+        BEGIN
+            IF summary_project_id IS NULL OR status IS NULL THEN
+                RETURN;
+            END IF;
+            -- project is already deleted if the row is deleted by cascade
+            INSERT INTO %1$s (project_id)
+            SELECT id FROM %2$s WHERE id = summary_project_id
+            ON CONFLICT (project_id) DO NOTHING;
+
+            UPDATE %1$s SET
+                task_counts = CASE WHEN counts = 'task_counts'
+                    THEN change_status_count(task_counts, status, delta) ELSE task_counts END,
+                bug_report_counts = CASE WHEN counts = 'bug_report_counts'
+                    THEN change_status_count(bug_report_counts, status, delta) ELSE bug_report_counts END
+            WHERE project_id = summary_project_id;
+        END;
+        $$ LANGUAGE plpgsql;
+
+        CREATE OR REPLACE FUNCTION update_project_summary() RETURNS TRIGGER AS $$
+        BEGIN
+            IF TG_OP = 'UPDATE' AND OLD.project_id = NEW.project_id AND OLD.status IS NOT DISTINCT FROM NEW.status THEN
+                RETURN NULL;
+            END IF;
+            IF TG_OP IN ('UPDATE', 'DELETE') THEN
+                PERFORM change_project_summary(OLD.project_id, TG_ARGV[0], OLD.status, -1);
+            END IF;
+            IF TG_OP IN ('INSERT', 'UPDATE') THEN
+                PERFORM change_project_summary(NEW.project_id, TG_ARGV[0], NEW.status, 1);
+            END IF;
+            RETURN NULL;
+        END;
+        $$ LANGUAGE plpgsql;
+
+        DROP TRIGGER IF EXISTS tasks_project_summary_trigger ON %3$s;
+        CREATE TRIGGER tasks_project_summary_trigger
+            AFTER INSERT OR UPDATE OF status, project_id OR DELETE ON %3$s
+            FOR EACH ROW EXECUTE FUNCTION update_project_summary('task_counts');
+
+        DROP TRIGGER IF EXISTS bug_reports_project_summary_trigger ON %4$s;
+        CREATE TRIGGER bug_reports_project_summary_trigger
+            AFTER INSERT OR UPDATE OF status, project_id OR DELETE ON %4$s
+            FOR EACH ROW EXECUTE FUNCTION update_project_summary('bug_report_counts');
+
+        INSERT INTO %1$s (project_id, task_counts, bug_report_counts)
+        SELECT project.id,
+            COALESCE((
+                SELECT jsonb_object_agg(status, count) FROM (
+                    SELECT status, COUNT(*) AS count FROM %3$s
+                    WHERE project_id = project.id AND status IS NOT NULL GROUP BY status
+                ) task_statuses
+            ), '{}'),
+            COALESCE((
+                SELECT jsonb_object_agg(status, count) FROM (
+                    SELECT status, COUNT(*) AS count FROM %4$s
+                    WHERE project_id = project.id AND status IS NOT NULL GROUP BY status
+                ) bug_report_statuses
+            ), '{}')
+        FROM %2$s project
+        ON CONFLICT (project_id) DO UPDATE
+            SET task_counts = EXCLUDED.task_counts, bug_report_counts = EXCLUDED.bug_report_counts;
+    """, PROJECT_SUMMARIES_TABLE_NAME, PROJECT_TABLE_NAME, TASKS_TABLE_NAME, BUG_REPORTS_TABLE_NAME);
+
+    // keyset pages and ordered streams of the entities of a project are read by these indexes,
+    // they replace the indexes by project id
+    public static final String INIT_KEYSET_INDEXES_QUERY = String.format("""
+        CREATE INDEX IF NOT EXISTS tasks_project_id_created_at_id_idx ON %1$s (project_id, created_at, id);
+        CREATE INDEX IF NOT EXISTS bug_reports_project_id_created_at_id_idx ON %2$s (project_id, created_at, id);
+        CREATE INDEX IF NOT EXISTS events_project_id_created_at_id_idx ON %3$s (project_id, created_at, id);
+        CREATE INDEX IF NOT EXISTS documentations_project_id_created_at_id_idx ON %4$s (project_id, created_at, id);
+        DROP INDEX IF EXISTS tasks_project_id_idx;
+        DROP INDEX IF EXISTS bug_reports_project_id_idx;
+        DROP INDEX IF EXISTS events_project_id_idx;
+        DROP INDEX IF EXISTS documentations_project_id_idx;
+    """, TASKS_TABLE_NAME, BUG_REPORTS_TABLE_NAME, EVENTS_TABLE_NAME, DOCUMENTATIONS_TABLE_NAME);
+
+    // migrations in order of schema versions, version of the schema is the number of applied migrations
+    public static final List<List<String>> SCHEMA_MIGRATIONS = List.of(
+            List.of(
+                    INIT_EMPLOYEE_TABLE_QUERY,
+                    INIT_PROJECT_TABLE_QUERY,
+                    INIT_TASK_TABLE_QUERY,
+                    INIT_PROJECT_EMPLOYEE_TABLE_QUERY,
+                    INIT_BUG_REPORT_TABLE_QUERY,
+                    INIT_DOCUMENTATION_TABLE_QUERY,
+                    INIT_EVENT_TABLE_QUERY
+            ),
+            List.of(
+                    INIT_INDEXES_QUERY,
+                    INIT_EMPLOYEE_PROJECT_UNIQUE_INDEX_QUERY
+            ),
+            List.of(
+                    INIT_PROJECT_SUMMARIES_QUERY
+            ),
+            List.of(
+                    INIT_KEYSET_INDEXES_QUERY
+            )
+    );
+
+    public static final String CHECK_RECORD_EXISTENCE_QUERY = "SELECT 1 FROM %s WHERE id = ? LIMIT 1";
+
+    public static final String CHECK_EMPLOYEE_LINK_EXISTENCE_QUERY = String.format(
+            "SELECT 1 FROM %s WHERE employee_id = ? AND project_id = ? LIMIT 1",
+            EMPLOYEE_PROJECT_TABLE_NAME
+    );
+
+
+    // columns of create entity queries in order of their values
+    public static final String EMPLOYEE_COLUMNS = "id, first_name, last_name, patronymic, birthday, email, phone_number, position";
+    public static final String TASK_COLUMNS = "id, project_id, name, description, executor_id, executor_full_name, comment, priority, tag, status, deadline, created_at, completed_at";
+    public static final String BUG_REPORT_COLUMNS = "id, project_id, status, priority, name, description, author_id, author_full_name, created_at";
+    public static final String EVENT_COLUMNS = "id, name, description, project_id, author_id, author_full_name, start_date, end_date, created_at";
+    public static final String DOCUMENTATION_COLUMNS = "id, name, description, project_id, author_id, author_full_name, article_titles, articles, created_at";
+    public static final String EMPLOYEE_PROJECT_COLUMNS = "employee_id, project_id";
 
 
     // postgres create entity queries
@@ -116,35 +292,39 @@ public class Queries {
     """, PROJECT_TABLE_NAME);
 
     public static final String CREATE_EMPLOYEE_QUERY = String.format("""
-        INSERT INTO %s (id, first_name, last_name, patronymic, birthday, email, phone_number, position)
+        INSERT INTO %s (%s)
         VALUES (?, ?, ?, ?, ?, ?, ?, ?);
-    """, EMPLOYEES_TABLE_NAME);
+    """, EMPLOYEES_TABLE_NAME, EMPLOYEE_COLUMNS);
 
     public static final String CREATE_TASK_QUERY = String.format("""
-        INSERT INTO %s (id, project_id, name, description, executor_id, executor_full_name, comment, priority, tag, status, deadline, created_at, completed_at)
+        INSERT INTO %s (%s)
         VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?);
-    """, TASKS_TABLE_NAME);
+    """, TASKS_TABLE_NAME, TASK_COLUMNS);
 
 
     public static final String CREATE_BUG_REPORT_QUERY = String.format("""
-        INSERT INTO %s (id, project_id, status, priority, name, description, author_id, author_full_name, created_at)
+        INSERT INTO %s (%s)
         VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?);
-    """, BUG_REPORTS_TABLE_NAME);
+    """, BUG_REPORTS_TABLE_NAME, BUG_REPORT_COLUMNS);
 
     public static final String CREATE_EVENT_QUERY = String.format("""
-        INSERT INTO %s (id, name, description, project_id, author_id, author_full_name, start_date, end_date, created_at)
+        INSERT INTO %s (%s)
         VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?);
-    """, EVENTS_TABLE_NAME);
+    """, EVENTS_TABLE_NAME, EVENT_COLUMNS);
 
     public static final String CREATE_DOCUMENTATION_QUERY = String.format("""
-        INSERT INTO %s (id, name, description, project_id, author_id, author_full_name, article_titles, articles, created_at)
+        INSERT INTO %s (%s)
         VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?);
-    """, DOCUMENTATIONS_TABLE_NAME);
+    """, DOCUMENTATIONS_TABLE_NAME, DOCUMENTATION_COLUMNS);
 
     public static final String CREATE_EMPLOYEE_PROJECT_LINK_QUERY = String.format("""
-        INSERT INTO %s (employee_id, project_id)
-        VALUES (?, ?);
-    """, EMPLOYEE_PROJECT_TABLE_NAME);
+        INSERT INTO %s (%s)
+        VALUES (?, ?)
+        ON CONFLICT (employee_id, project_id) DO NOTHING;
+    """, EMPLOYEE_PROJECT_TABLE_NAME, EMPLOYEE_PROJECT_COLUMNS);
+
+    // bulk load of rows in csv format, columns are the same as in create queries
+    public static final String COPY_ENTITIES_QUERY = "COPY %s (%s) FROM STDIN WITH (FORMAT csv)";
 
 
     // postgres delete entity query
@@ -174,8 +354,96 @@ public class Queries {
         SELECT p.* FROM %s ep JOIN %s p ON ep.employee_id = p.id WHERE project_id = ?;
     """, EMPLOYEE_PROJECT_TABLE_NAME, EMPLOYEES_TABLE_NAME);
 
+    // project, its manager, team, tasks, documentations, events and bug reports, sent as one batch
+    public static final String GET_PROJECT_AGGREGATE_QUERY = String.join(";\n",
+            String.format("SELECT * FROM %s WHERE id = ?", PROJECT_TABLE_NAME),
+            String.format(
+                    "SELECT e.* FROM %s p JOIN %s e ON p.manager_id = e.id WHERE p.id = ?",
+                    PROJECT_TABLE_NAME, EMPLOYEES_TABLE_NAME
+            ),
+            String.format(
+                    "SELECT e.* FROM %s ep JOIN %s e ON ep.employee_id = e.id WHERE ep.project_id = ?",
+                    EMPLOYEE_PROJECT_TABLE_NAME, EMPLOYEES_TABLE_NAME
+            ),
+            String.format("SELECT * FROM %s WHERE project_id = ?", TASKS_TABLE_NAME),
+            String.format("SELECT * FROM %s WHERE project_id = ?", DOCUMENTATIONS_TABLE_NAME),
+            String.format("SELECT * FROM %s WHERE project_id = ?", EVENTS_TABLE_NAME),
+            String.format("SELECT * FROM %s WHERE project_id = ?", BUG_REPORTS_TABLE_NAME)
+    );
+
+    // tasks of the project which have any of the tags or all of them
+    public static final String GET_TASKS_BY_ANY_TAG_QUERY = String.format(
+            "SELECT * FROM %s WHERE project_id = ? AND tag && ?::varchar[]", TASKS_TABLE_NAME
+    );
+
+    public static final String GET_TASKS_BY_ALL_TAGS_QUERY = String.format(
+            "SELECT * FROM %s WHERE project_id = ? AND tag @> ?::varchar[]", TASKS_TABLE_NAME
+    );
+
+    // entities of a project in order of keyset pages, the next page starts after the key of the last row.
+    // Rows without creation date go last, the same as in Keyset.ORDER, and the key of such row is its id only
+    public static final String GET_ORDERED_ENTITIES_BY_PROJECT_ID_QUERY =
+            "SELECT * FROM %s WHERE project_id = ? ORDER BY created_at NULLS LAST, id";
+    public static final String GET_FIRST_ENTITY_PAGE_QUERY = GET_ORDERED_ENTITIES_BY_PROJECT_ID_QUERY + " LIMIT ?";
+    public static final String GET_NEXT_ENTITY_PAGE_QUERY = """
+        SELECT * FROM %s WHERE project_id = ? AND ((created_at, id) > (?, ?) OR created_at IS NULL)
+        ORDER BY created_at NULLS LAST, id LIMIT ?
+    """;
+    public static final String GET_NEXT_UNDATED_ENTITY_PAGE_QUERY =
+            "SELECT * FROM %s WHERE project_id = ? AND created_at IS NULL AND id > ? ORDER BY id LIMIT ?";
+
+    public static final String GET_ORDERED_PROJECT_TEAM_QUERY = String.format(
+            "SELECT e.* FROM %s ep JOIN %s e ON ep.employee_id = e.id WHERE ep.project_id = ? ORDER BY e.id",
+            EMPLOYEE_PROJECT_TABLE_NAME, EMPLOYEES_TABLE_NAME
+    );
+    public static final String GET_FIRST_PROJECT_TEAM_PAGE_QUERY = GET_ORDERED_PROJECT_TEAM_QUERY + " LIMIT ?";
+    public static final String GET_NEXT_PROJECT_TEAM_PAGE_QUERY = String.format(
+            "SELECT e.* FROM %s ep JOIN %s e ON ep.employee_id = e.id WHERE ep.project_id = ? AND e.id > ? ORDER BY e.id LIMIT ?",
+            EMPLOYEE_PROJECT_TABLE_NAME, EMPLOYEES_TABLE_NAME
+    );
+
+    // page of the selected entities, they are ordered so pages do not overlap
+    public static final String PAGE_SUFFIX = " ORDER BY created_at, id LIMIT ? OFFSET ?";
+
     public static final String GET_TASKS_BY_EMPLOYEE_ID_QUERY = String.format("""
         SELECT * FROM %s WHERE executor_id = ?
     """, TASKS_TABLE_NAME);
 
+    public static final String GET_TASKS_BY_EMPLOYEE_IDS_QUERY = String.format("""
+        SELECT * FROM %s WHERE executor_id = ANY(?::uuid[])
+    """, TASKS_TABLE_NAME);
+
+    // the whole portfolio, every table is read once
+    public static final String GET_PROJECT_IDS_QUERY = String.format("SELECT id FROM %s", PROJECT_TABLE_NAME);
+    public static final String GET_ALL_TASKS_QUERY = String.format("SELECT * FROM %s", TASKS_TABLE_NAME);
+    public static final String GET_ALL_BUG_REPORTS_QUERY = String.format("SELECT * FROM %s", BUG_REPORTS_TABLE_NAME);
+    public static final String GET_ALL_PROJECT_TEAMS_QUERY = String.format("""
+        SELECT ep.project_id AS team_project_id, e.* FROM %s ep JOIN %s e ON ep.employee_id = e.id
+    """, EMPLOYEE_PROJECT_TABLE_NAME, EMPLOYEES_TABLE_NAME);
+
+    public static final String GET_PROJECT_SUMMARY_QUERY = String.format(
+            "SELECT task_counts, bug_report_counts FROM %s WHERE project_id = ?",
+            PROJECT_SUMMARIES_TABLE_NAME
+    );
+
+    // sum of task efficiencies and number of tasks of every employee, the same rules as in
+    // IDataProvider.calculateEmployeeEfficiency: whole days between deadline and completion or current time
+    public static final String GET_LABOR_EFFICIENCY_QUERY = String.format("""
+        SELECT executor_id,
+            SUM(CASE
+                WHEN status = 'COMPLETED' AND completed_at IS NOT NULL THEN
+                    CASE WHEN deadline < completed_at
+                        THEN 100 - FLOOR(ABS(EXTRACT(EPOCH FROM completed_at - deadline)) / 86400)
+                        ELSE 100 + FLOOR(ABS(EXTRACT(EPOCH FROM completed_at - deadline)) / 86400)
+                    END
+                WHEN status = 'IN_PROGRESS' AND deadline < ?::timestamptz THEN
+                    100 - FLOOR(ABS(EXTRACT(EPOCH FROM ?::timestamptz - deadline)) / 86400)
+                ELSE 0
+            END) AS efficiency_sum,
+            COUNT(*) AS task_count
+        FROM %s
+        WHERE executor_id = ANY(?::uuid[])
+        GROUP BY executor_id
+    """, TASKS_TABLE_NAME);
+
 }
@@ -0,0 +1,294 @@
+package ru.sfedu.projectmanagement.core.api;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import ru.sfedu.projectmanagement.core.Constants;
+import ru.sfedu.projectmanagement.core.model.*;
+import ru.sfedu.projectmanagement.core.utils.ResultCode;
+import ru.sfedu.projectmanagement.core.utils.config.ConfigPropertiesUtil;
+import ru.sfedu.projectmanagement.core.utils.types.NoData;
+import ru.sfedu.projectmanagement.core.utils.types.Page;
+import ru.sfedu.projectmanagement.core.utils.types.Result;
+import ru.sfedu.projectmanagement.core.utils.types.TrackInfo;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous facade of a data provider. Every operation runs on the executor and returns a future of its result.
+ * Operations that consist of several independent reads run them in parallel.
+ * The facade never blocks a thread of the executor waiting for another task, so a bounded executor is safe
+ */
+public class AsyncDataProvider {
+    private static final Logger logger = LogManager.getLogger(AsyncDataProvider.class);
+    private static ExecutorService defaultExecutor;
+
+    private final IDataProvider provider;
+    private final Executor executor;
+
+    /**
+     * Creates facade which runs operations on the shared executor,
+     * its number of threads is set by {@link Constants#ASYNC_PROVIDER_THREADS}
+     * @param provider provider which does the work
+     */
+    public AsyncDataProvider(IDataProvider provider) {
+        this(provider, getDefaultExecutor());
+    }
+
+    /**
+     * @param provider provider which does the work
+     * @param executor executor of the blocking calls of the provider
+     */
+    public AsyncDataProvider(IDataProvider provider, Executor executor) {
+        this.provider = provider;
+        this.executor = executor;
+    }
+
+    public IDataProvider getProvider() {
+        return provider;
+    }
+
+    public CompletableFuture<Result<NoData>> processNewProject(Project project) {
+        return supply(() -> provider.processNewProject(project));
+    }
+
+    public CompletableFuture<Result<NoData>> processNewTask(Task task) {
+        return supply(() -> provider.processNewTask(task));
+    }
+
+    public CompletableFuture<Result<NoData>> processNewBugReport(BugReport bugReport) {
+        return supply(() -> provider.processNewBugReport(bugReport));
+    }
+
+    public CompletableFuture<Result<NoData>> processNewDocumentation(Documentation documentation) {
+        return supply(() -> provider.processNewDocumentation(documentation));
+    }
+
+    public CompletableFuture<Result<NoData>> processNewEvent(Event event) {
+        return supply(() -> provider.processNewEvent(event));
+    }
+
+    public CompletableFuture<Result<NoData>> processNewEmployee(Employee employee) {
+        return supply(() -> provider.processNewEmployee(employee));
+    }
+
+    /**
+     * Readiness, task statuses, labor efficiency and bug report statuses are calculated in parallel
+     * @see IDataProvider#monitorProjectCharacteristics(UUID, boolean, boolean)
+     */
+    public CompletableFuture<ProjectStatistics> monitorProjectCharacteristics(
+            UUID projectId, boolean checkLaborEfficiency, boolean trackBugs
+    ) {
+        CompletableFuture<Float> readiness = calculateProjectReadiness(projectId);
+        CompletableFuture<TrackInfo<Task, String>> taskStatus = trackTaskStatus(projectId);
+        CompletableFuture<TrackInfo<Employee, Float>> laborEfficiency = checkLaborEfficiency
+                ? calculateLaborEfficiency(projectId)
+                : CompletableFuture.completedFuture(null);
+        CompletableFuture<TrackInfo<BugReport, String>> bugReportStatus = trackBugs
+                ? trackBugReportStatus(projectId)
+                : CompletableFuture.completedFuture(null);
+
+        return CompletableFuture.allOf(readiness, taskStatus, laborEfficiency, bugReportStatus).thenApply(ignored -> {
+            ProjectStatistics statistics = new ProjectStatistics();
+            statistics.setProjectReadiness(readiness.join());
+            statistics.setTaskStatus(taskStatus.join());
+            if (checkLaborEfficiency)
+                statistics.setLaborEfficiency(laborEfficiency.join());
+            if (trackBugs)
+                statistics.setBugReportStatus(bugReportStatus.join());
+            logger.debug("monitorProjectCharacteristics[1]: statistics of project {} are calculated", projectId);
+            return statistics;
+        });
+    }
+
+    public CompletableFuture<Result<ProjectSummary>> getProjectSummary(UUID projectId) {
+        return supply(() -> provider.getProjectSummary(projectId));
+    }
+
+    public CompletableFuture<CompactProjectStatistics> collectProjectStatistics(
+            UUID projectId, boolean checkLaborEfficiency, boolean trackBugs
+    ) {
+        return supply(
+                () -> provider.collectProjectStatistics(projectId, checkLaborEfficiency, trackBugs),
+                () -> new CompactProjectStatistics(List.of(), null, null, null)
+        );
+    }
+
+    public CompletableFuture<Float> calculateProjectReadiness(UUID projectId) {
+        return supply(() -> provider.calculateProjectReadiness(projectId), () -> 0f);
+    }
+
+    public CompletableFuture<TrackInfo<Employee, Float>> calculateLaborEfficiency(UUID projectId) {
+        return supply(() -> provider.calculateLaborEfficiency(projectId), TrackInfo::new);
+    }
+
+    public CompletableFuture<TrackInfo<Task, String>> trackTaskStatus(UUID projectId) {
+        return supply(() -> provider.trackTaskStatus(projectId), TrackInfo::new);
+    }
+
+    public CompletableFuture<TrackInfo<BugReport, String>> trackBugReportStatus(UUID projectId) {
+        return supply(() -> provider.trackBugReportStatus(projectId), TrackInfo::new);
+    }
+
+    public CompletableFuture<Result<NoData>> bindEmployeeToProject(UUID employeeId, UUID projectId) {
+        return supply(() -> provider.bindEmployeeToProject(employeeId, projectId));
+    }
+
+    public CompletableFuture<Result<NoData>> bindProjectManager(UUID managerId, UUID projectId) {
+        return supply(() -> provider.bindProjectManager(managerId, projectId));
+    }
+
+    public CompletableFuture<Result<NoData>> deleteProject(UUID projectId) {
+        return supply(() -> provider.deleteProject(projectId));
+    }
+
+    public CompletableFuture<Result<NoData>> deleteTask(UUID taskId) {
+        return supply(() -> provider.deleteTask(taskId));
+    }
+
+    public CompletableFuture<Result<NoData>> deleteBugReport(UUID bugReportId) {
+        return supply(() -> provider.deleteBugReport(bugReportId));
+    }
+
+    public CompletableFuture<Result<NoData>> deleteEvent(UUID eventId) {
+        return supply(() -> provider.deleteEvent(eventId));
+    }
+
+    public CompletableFuture<Result<NoData>> deleteDocumentation(UUID docId) {
+        return supply(() -> provider.deleteDocumentation(docId));
+    }
+
+    public CompletableFuture<Result<NoData>> deleteEmployee(UUID employeeId) {
+        return supply(() -> provider.deleteEmployee(employeeId));
+    }
+
+    public CompletableFuture<Result<Project>> getProjectById(UUID id) {
+        return supply(() -> provider.getProjectById(id));
+    }
+
+    public CompletableFuture<Result<List<Task>>> getTasksByTags(List<String> tags, UUID projectId) {
+        return supply(() -> provider.getTasksByTags(tags, projectId));
+    }
+
+    public CompletableFuture<Result<List<Task>>> getTasksByProjectId(UUID projectId) {
+        return supply(() -> provider.getTasksByProjectId(projectId));
+    }
+
+    public CompletableFuture<Result<Page<Task>>> getTasksByProjectId(UUID projectId, String cursor, int limit) {
+        return supply(() -> provider.getTasksByProjectId(projectId, cursor, limit));
+    }
+
+    public CompletableFuture<Result<List<Task>>> getTasksByEmployeeId(UUID employeeId) {
+        return supply(() -> provider.getTasksByEmployeeId(employeeId));
+    }
+
+    public CompletableFuture<Result<Map<UUID, List<Task>>>> getTasksByEmployeeIds(Collection<UUID> employeeIds) {
+        return supply(() -> provider.getTasksByEmployeeIds(employeeIds));
+    }
+
+    public CompletableFuture<Result<Task>> getTaskById(UUID taskId) {
+        return supply(() -> provider.getTaskById(taskId));
+    }
+
+    public CompletableFuture<Result<List<BugReport>>> getBugReportsByProjectId(UUID projectId) {
+        return supply(() -> provider.getBugReportsByProjectId(projectId));
+    }
+
+    public CompletableFuture<Result<Page<BugReport>>> getBugReportsByProjectId(UUID projectId, String cursor, int limit) {
+        return supply(() -> provider.getBugReportsByProjectId(projectId, cursor, limit));
+    }
+
+    public CompletableFuture<Result<BugReport>> getBugReportById(UUID bugReportId) {
+        return supply(() -> provider.getBugReportById(bugReportId));
+    }
+
+    public CompletableFuture<Result<List<Event>>> getEventsByProjectId(UUID projectId) {
+        return supply(() -> provider.getEventsByProjectId(projectId));
+    }
+
+    public CompletableFuture<Result<Page<Event>>> getEventsByProjectId(UUID projectId, String cursor, int limit) {
+        return supply(() -> provider.getEventsByProjectId(projectId, cursor, limit));
+    }
+
+    public CompletableFuture<Result<Event>> getEventById(UUID eventId) {
+        return supply(() -> provider.getEventById(eventId));
+    }
+
+    public CompletableFuture<Result<List<Documentation>>> getDocumentationsByProjectId(UUID projectId) {
+        return supply(() -> provider.getDocumentationsByProjectId(projectId));
+    }
+
+    public CompletableFuture<Result<Page<Documentation>>> getDocumentationsByProjectId(UUID projectId, String cursor, int limit) {
+        return supply(() -> provider.getDocumentationsByProjectId(projectId, cursor, limit));
+    }
+
+    public CompletableFuture<Result<Documentation>> getDocumentationById(UUID docId) {
+        return supply(() -> provider.getDocumentationById(docId));
+    }
+
+    public CompletableFuture<Result<List<Employee>>> getProjectTeam(UUID projectId) {
+        return supply(() -> provider.getProjectTeam(projectId));
+    }
+
+    public CompletableFuture<Result<Page<Employee>>> getProjectTeam(UUID projectId, String cursor, int limit) {
+        return supply(() -> provider.getProjectTeam(projectId, cursor, limit));
+    }
+
+    public CompletableFuture<Result<Employee>> getEmployeeById(UUID employeeId) {
+        return supply(() -> provider.getEmployeeById(employeeId));
+    }
+
+    public CompletableFuture<Result<NoData>> completeTask(UUID taskId) {
+        return supply(() -> provider.completeTask(taskId));
+    }
+
+    public CompletableFuture<Result<NoData>> initProjectEntities(Project project) {
+        return supply(() -> provider.initProjectEntities(project));
+    }
+
+    /**
+     * Runs operation on the executor, unexpected exception of the provider becomes an error result
+     */
+    private <T> CompletableFuture<Result<T>> supply(Supplier<Result<T>> operation) {
+        return CompletableFuture.supplyAsync(operation, executor).exceptionally(exception -> {
+            logger.error("supply[1]: {}", exception.getMessage());
+            return new Result<>(null, ResultCode.ERROR, exception.getMessage());
+        });
+    }
+
+    /**
+     * Runs calculation on the executor, unexpected exception of the provider is logged and the fallback is returned,
+     * the same as the provider returns when there is no data
+     */
+    private <T> CompletableFuture<T> supply(Supplier<T> operation, Supplier<T> fallback) {
+        return CompletableFuture.supplyAsync(operation, executor).exceptionally(exception -> {
+            logger.error("supply[2]: {}", exception.getMessage());
+            return fallback.get();
+        });
+    }
+
+    private static synchronized ExecutorService getDefaultExecutor() {
+        if (defaultExecutor == null) {
+            int threads = Optional.ofNullable(ConfigPropertiesUtil.getEnvironmentVariable(Constants.ASYNC_PROVIDER_THREADS))
+                    .map(Integer::parseInt)
+                    .orElse(Runtime.getRuntime().availableProcessors() * 2);
+            AtomicInteger counter = new AtomicInteger();
+            defaultExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "async-data-provider-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            logger.debug("getDefaultExecutor[1]: executor with {} threads is created", threads);
+        }
+        return defaultExecutor;
+    }
+}
@@ -5,27 +5,46 @@ import org.apache.logging.log4j.Logger;
 
 import ru.sfedu.projectmanagement.core.Constants;
 import ru.sfedu.projectmanagement.core.model.*;
+import ru.sfedu.projectmanagement.core.utils.FileStamp;
+import ru.sfedu.projectmanagement.core.utils.ParallelLoader;
+import ru.sfedu.projectmanagement.core.utils.ProjectSummaryStore;
 import ru.sfedu.projectmanagement.core.utils.config.ConfigPropertiesUtil;
 
 import ru.sfedu.projectmanagement.core.utils.csv.CsvDataChecker;
+import ru.sfedu.projectmanagement.core.utils.csv.CsvIndex;
+import ru.sfedu.projectmanagement.core.utils.csv.CsvIndexCache;
+import ru.sfedu.projectmanagement.core.utils.csv.CsvScanner;
+import ru.sfedu.projectmanagement.core.utils.csv.CsvTable;
+import ru.sfedu.projectmanagement.core.utils.csv.CsvTableCache;
 import ru.sfedu.projectmanagement.core.utils.csv.CsvUtil;
+import ru.sfedu.projectmanagement.core.utils.index.EntityIndex;
 
 import ru.sfedu.projectmanagement.core.utils.types.NoData;
+import ru.sfedu.projectmanagement.core.utils.types.Pair;
 import ru.sfedu.projectmanagement.core.utils.types.Result;
 import ru.sfedu.projectmanagement.core.utils.ResultCode;
 import ru.sfedu.projectmanagement.core.model.enums.ChangeType;
+import ru.sfedu.projectmanagement.core.model.enums.WorkStatus;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static ru.sfedu.projectmanagement.core.utils.FileUtil.createFileIfNotExists;
 import static ru.sfedu.projectmanagement.core.utils.FileUtil.createFolderIfNotExists;
 
 public class CsvDataProvider implements IDataProvider {
+    private static final int STREAM_BATCH_SIZE = 1000;
     private final Logger logger = LogManager.getLogger(CsvDataProvider.class);
     private final CsvDataChecker csvChecker;
+    private final CsvTableCache tableCache;
+    private final CsvIndexCache indexCache;
+    private final ProjectSummaryStore summaryStore;
     private final String projectsFilePath;
     private final String employeesFilePath;
     private final String tasksFilePath;
@@ -41,11 +60,44 @@ public class CsvDataProvider implements IDataProvider {
         this(Environment.valueOf(
                 ConfigPropertiesUtil.getEnvironmentVariable(Constants.ENVIRONMENT)) == Environment.PRODUCTION ?
                 Constants.DATASOURCE_PATH_CSV :
-                Constants.DATASOURCE_TEST_PATH_CSV
+                Constants.DATASOURCE_TEST_PATH_CSV,
+                createTableCache(),
+                Boolean.parseBoolean(ConfigPropertiesUtil.getEnvironmentVariable(Constants.CSV_INDEX_ENABLED))
+                        ? new CsvIndexCache()
+                        : null
         );
     }
 
     public CsvDataProvider(String datasourcePath) {
+        this(datasourcePath, false);
+    }
+
+    /**
+     * @param datasourcePath folder with csv files
+     * @param cacheEnabled if true, every file is read once and kept in memory with indexes by
+     *                     id, project id and employee id. Records returned by the provider are shared with the cache
+     */
+    public CsvDataProvider(String datasourcePath, boolean cacheEnabled) {
+        this(datasourcePath, cacheEnabled ? new CsvTableCache() : null);
+    }
+
+    /**
+     * @param datasourcePath folder with csv files
+     * @param tableCache cache of csv tables, files are read directly on every call if it is null
+     */
+    public CsvDataProvider(String datasourcePath, CsvTableCache tableCache) {
+        this(datasourcePath, tableCache, null);
+    }
+
+    /**
+     * @param datasourcePath folder with csv files
+     * @param tableCache cache of csv tables, files are read directly on every call if it is null
+     * @param indexCache persistent indexes of csv files, used when the table cache is null.
+     *                   Lookups by id, project id and employee id read only the index and matching records
+     */
+    public CsvDataProvider(String datasourcePath, CsvTableCache tableCache, CsvIndexCache indexCache) {
+        this.tableCache = tableCache;
+        this.indexCache = tableCache == null ? indexCache : null;
         projectsFilePath = datasourcePath
                 .concat(Constants.PROJECTS_FILE_PATH)
                 .concat(Constants.FILE_CSV_EXTENSION);
@@ -77,6 +129,12 @@ public class CsvDataProvider implements IDataProvider {
                 .concat(Constants.MANAGER_PROJECT_FILE_PATH)
                 .concat(Constants.FILE_CSV_EXTENSION);
 
+        summaryStore = new ProjectSummaryStore(
+                datasourcePath.concat(Constants.PROJECT_SUMMARIES_FILE_PATH).concat(Constants.FILE_JSON_EXTENSION),
+                tasksFilePath,
+                bugReportsFilePath
+        );
+
         csvChecker = new CsvDataChecker(
                 projectsFilePath,
                 employeesFilePath,
@@ -84,7 +142,9 @@ public class CsvDataProvider implements IDataProvider {
                 bugReportsFilePath,
                 eventsFilePath,
                 documentationsFilePath,
-                employeeProjectFilePath
+                employeeProjectFilePath,
+                tableCache,
+                this.indexCache
         );
         ArrayList<String> dataSourceFiles = getDataSourceFiles();
 
@@ -103,6 +163,26 @@ public class CsvDataProvider implements IDataProvider {
         }
     }
 
+    /**
+     * Creates table cache from env.properties. Append-only mode always works through the cache
+     * @return cache or null if it is disabled
+     */
+    private static CsvTableCache createTableCache() {
+        boolean cacheEnabled = Boolean.parseBoolean(ConfigPropertiesUtil.getEnvironmentVariable(Constants.CSV_CACHE_ENABLED));
+        boolean appendOnly = Boolean.parseBoolean(ConfigPropertiesUtil.getEnvironmentVariable(Constants.CSV_APPEND_ONLY_ENABLED));
+        if (!cacheEnabled && !appendOnly)
+            return null;
+
+        double compactionThreshold = Optional.ofNullable(
+                ConfigPropertiesUtil.getEnvironmentVariable(Constants.CSV_COMPACTION_THRESHOLD)
+        ).map(Double::parseDouble).orElse(CsvTableCache.DEFAULT_COMPACTION_THRESHOLD);
+        boolean backgroundCompaction = Boolean.parseBoolean(
+                ConfigPropertiesUtil.getEnvironmentVariable(Constants.CSV_BACKGROUND_COMPACTION)
+        );
+
+        return new CsvTableCache(appendOnly, compactionThreshold, backgroundCompaction);
+    }
+
     private ArrayList<String> getDataSourceFiles() {
         return new ArrayList<>() {{
             add(projectsFilePath);
@@ -118,6 +198,189 @@ public class CsvDataProvider implements IDataProvider {
         }};
     }
 
+    private <T extends Entity> List<T> readRecords(String filePath, Class<T> tClass) {
+        if (tableCache != null)
+            return tableCache.getTable(filePath, tClass).getAll();
+        return CsvUtil.readFile(filePath, tClass);
+    }
+
+    /**
+     * @return records with such id or null if file can't be read
+     */
+    private <T extends Entity> List<T> readRecordsById(String filePath, UUID id, Class<T> tClass) {
+        if (tableCache != null)
+            return tableCache.getTable(filePath, tClass).getAllById(id);
+        return Optional.ofNullable(findIndexed(filePath, EntityIndex.Key.ID, id, tClass))
+                .orElseGet(() -> CsvScanner.findById(filePath, id, tClass));
+    }
+
+    /**
+     * @return records which id is one of the given ids, empty list if file can't be read
+     */
+    private <T extends Entity> List<T> readRecordsByIds(String filePath, Collection<UUID> ids, Class<T> tClass) {
+        if (tableCache != null) {
+            CsvTable<T> table = tableCache.getTable(filePath, tClass);
+            return ids.stream()
+                    .distinct()
+                    .flatMap(id -> table.getAllById(id).stream())
+                    .collect(Collectors.toList());
+        }
+
+        return Optional.ofNullable(CsvScanner.findByIds(filePath, new HashSet<>(ids), tClass))
+                .orElse(new ArrayList<>());
+    }
+
+    /**
+     * @return records bound to the project or null if file can't be read
+     */
+    private <T extends Entity> List<T> readRecordsByProjectId(String filePath, UUID projectId, Class<T> tClass) {
+        if (tableCache != null)
+            return tableCache.getTable(filePath, tClass).getByProjectId(projectId);
+        return Optional.ofNullable(findIndexed(filePath, EntityIndex.Key.PROJECT_ID, projectId, tClass))
+                .orElseGet(() -> CsvScanner.findByProjectId(filePath, projectId, tClass));
+    }
+
+    /**
+     * @return records bound to the project read while the stream is consumed, empty stream if file can't be read
+     */
+    private <T extends Entity> Stream<T> streamRecordsByProjectId(String filePath, UUID projectId, Class<T> tClass) {
+        if (tableCache != null)
+            return tableCache.getTable(filePath, tClass).getByProjectId(projectId).stream();
+        return Optional.ofNullable(CsvScanner.streamByProjectId(filePath, projectId, tClass)).orElseGet(Stream::empty);
+    }
+
+    /**
+     * Passes the stream to the function by batches, so related records are read once per batch
+     * @return stream of the results of the function
+     */
+    private static <T, R> Stream<R> mapBatches(Stream<T> items, Function<List<T>, List<R>> function) {
+        Iterator<T> source = items.iterator();
+        Iterator<R> results = new Iterator<>() {
+            private Iterator<R> batch = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!batch.hasNext() && source.hasNext()) {
+                    List<T> items = new ArrayList<>(STREAM_BATCH_SIZE);
+                    while (items.size() < STREAM_BATCH_SIZE && source.hasNext())
+                        items.add(source.next());
+                    batch = function.apply(items).iterator();
+                }
+                return batch.hasNext();
+            }
+
+            @Override
+            public R next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return batch.next();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(results, Spliterator.ORDERED), false)
+                .onClose(items::close);
+    }
+
+    /**
+     * @return records bound to the employee or null if file can't be read
+     */
+    private <T extends Entity> List<T> readRecordsByEmployeeId(String filePath, UUID employeeId, Class<T> tClass) {
+        if (tableCache != null)
+            return tableCache.getTable(filePath, tClass).getByEmployeeId(employeeId);
+        return Optional.ofNullable(findIndexed(filePath, EntityIndex.Key.EMPLOYEE_ID, employeeId, tClass))
+                .orElseGet(() -> CsvScanner.findByEmployeeId(filePath, employeeId, tClass));
+    }
+
+    /**
+     * @return records found with the index of the file or null if there is no usable index
+     */
+    private <T extends Entity> List<T> findIndexed(String filePath, EntityIndex.Key key, UUID value, Class<T> tClass) {
+        CsvIndex<T> index = getIndex(filePath, tClass);
+        if (index == null)
+            return null;
+
+        try {
+            return index.find(key, value);
+        }
+        catch (Exception exception) {
+            logger.error("findIndexed[1]: {}", exception.getMessage());
+            return null;
+        }
+    }
+
+    private <T extends Entity> CsvIndex<T> getIndex(String filePath, Class<T> tClass) {
+        return indexCache == null ? null : indexCache.getIndex(filePath, tClass);
+    }
+
+    private <T extends Entity> boolean isRecordNotExists(String filePath, UUID id, Class<T> tClass) {
+        if (tableCache != null)
+            return !tableCache.getTable(filePath, tClass).contains(id);
+        return Optional.ofNullable(findIndexed(filePath, EntityIndex.Key.ID, id, tClass))
+                .map(List::isEmpty)
+                .orElseGet(() -> CsvUtil.isRecordNotExists(filePath, id, tClass));
+    }
+
+    private <T extends Entity> void createRecord(String filePath, T object, Class<T> tClass) throws Exception {
+        if (tableCache != null)
+            tableCache.getTable(filePath, tClass).append(object);
+        else {
+            FileStamp stamp = FileStamp.of(filePath);
+            if (getIndex(filePath, tClass) != null)
+                getIndex(filePath, tClass).append(object);
+            else
+                CsvUtil.createRecord(filePath, object, tClass);
+            csvChecker.onRecordCreated(filePath, object, stamp);
+        }
+    }
+
+    private <T extends Entity> void createRecords(String filePath, List<T> objects, Class<T> tClass) throws Exception {
+        if (tableCache != null)
+            tableCache.getTable(filePath, tClass).replaceAll(objects);
+        else
+            rewriteRecords(filePath, objects, tClass);
+    }
+
+    /**
+     * Replaces the record which has the same id
+     * @return false if there is no such record
+     */
+    private <T extends Entity> boolean updateRecord(String filePath, T object, Class<T> tClass) throws Exception {
+        if (tableCache != null)
+            return tableCache.getTable(filePath, tClass).update(object);
+
+        List<T> records = CsvUtil.readFile(filePath, tClass);
+        if (records == null || records.stream().noneMatch(r -> r.getId().equals(object.getId())))
+            return false;
+
+        rewriteRecords(filePath, records.stream()
+                .map(r -> r.getId().equals(object.getId()) ? object : r)
+                .collect(Collectors.toList()), tClass);
+        return true;
+    }
+
+    /**
+     * Deletes all records with such id
+     * @return deleted records
+     */
+    private <T extends Entity> List<T> deleteRecords(String filePath, UUID id, Class<T> tClass) throws Exception {
+        if (tableCache != null)
+            return tableCache.getTable(filePath, tClass).delete(id);
+
+        List<T> records = CsvUtil.readFile(filePath, tClass);
+        if (records == null)
+            throw new IOException(Constants.READ_ERROR);
+
+        Map<Boolean, List<T>> partition = records.stream()
+                .collect(Collectors.partitioningBy(r -> r.getId().equals(id)));
+        if (!partition.get(true).isEmpty())
+            rewriteRecords(filePath, partition.get(false), tClass);
+        return partition.get(true);
+    }
+
+    private <T extends Entity> void rewriteRecords(String filePath, List<T> objects, Class<T> tClass) throws Exception {
+        CsvUtil.createRecords(filePath, objects, tClass);
+        Optional.ofNullable(getIndex(filePath, tClass)).ifPresent(CsvIndex::invalidate);
+    }
+
     /**
      * {@link IDataProvider#processNewProject(Project)}
      */
@@ -127,9 +390,9 @@ public class CsvDataProvider implements IDataProvider {
         try {
             if (project.getManager() != null) {
                 ManagerProjectObject managerLink = new ManagerProjectObject(project.getManager().getId(), project.getId());
-                CsvUtil.createRecord(managerProjectFilePath, managerLink, EmployeeProjectObject.class);
+                createRecord(managerProjectFilePath, managerLink, ManagerProjectObject.class);
             }
-            CsvUtil.createRecord(projectsFilePath, project, Project.class);
+            createRecord(projectsFilePath, project, Project.class);
             result = initProjectEntities(project);
 
             logger.info("processNewProject[1]: {}", String.format(
@@ -170,7 +433,7 @@ public class CsvDataProvider implements IDataProvider {
             if (!tags.isEmpty()) {
                 tags.forEach(tag -> {
                     try {
-                        CsvUtil.createRecord(taskTagsFilePath, tag, TaskTag.class);
+                        createRecord(taskTagsFilePath, tag, TaskTag.class);
                     } catch (Exception e) {
                         logger.debug("processNewTaskTags[2]: {}", e.getMessage());
                     }
@@ -187,19 +450,49 @@ public class CsvDataProvider implements IDataProvider {
     }
 
     /**
-     * @param tasks instance of Task that will be assigned a list of tags
+     * Records of the table cache are shared, so tags are assigned to copies of the tasks
+     * @param tasks tasks which are assigned a list of tags
+     * @return copies of the tasks with their tags
      */
-    private void setTaskTags(List<Task> tasks) {
-        List<TaskTag> tags = Optional.ofNullable(CsvUtil.readFile(taskTagsFilePath, TaskTag.class))
-                .orElse(new ArrayList<>());
+    private List<Task> withTaskTags(List<Task> tasks) {
+        List<UUID> taskIds = tasks.stream().map(Task::getId).toList();
+        List<TaskTag> tags = readRecordsByIds(taskTagsFilePath, taskIds, TaskTag.class);
 
         Map<UUID, List<String>> tagMap = tags.stream()
                 .collect(Collectors.groupingBy(TaskTag::getTaskId,
                         Collectors.mapping(TaskTag::getTag, Collectors.toList())));
 
-        tasks.forEach(task -> task.setTags(
-                tagMap.getOrDefault(task.getId(), Collections.emptyList()))
+        return tasks.stream().map(task -> {
+            Task copy = new Task(task);
+            copy.setTags(tagMap.getOrDefault(task.getId(), Collections.emptyList()));
+            return copy;
+        }).collect(Collectors.toList());
+    }
+
+    /**
+     * Records of the table cache are shared, so articles are assigned to copies of the documentations
+     * @param documentations documentations which are assigned articles they have
+     * @return copies of the documentations with their articles
+     */
+    private List<Documentation> withDocumentationBodies(List<Documentation> documentations) {
+        List<DocumentationData> documentationDataList = readRecordsByIds(
+                documentationDataFilePath,
+                documentations.stream().map(Documentation::getId).toList(),
+                DocumentationData.class
         );
+
+        Map<UUID, List<DocumentationData>> dataMap = documentationDataList.stream()
+                .collect(Collectors.groupingBy(DocumentationData::getId));
+
+        return documentations.stream().map(doc -> {
+            Documentation copy = new Documentation(doc);
+            Optional.ofNullable(dataMap.get(doc.getId())).ifPresent(docData -> {
+                HashMap<String, String> body = new HashMap<>();
+                docData.forEach(d -> body.put(d.getArticleTitle(), d.getArticle()));
+                copy.setBody(body);
+            });
+            return copy;
+        }).collect(Collectors.toList());
     }
 
     /**
@@ -214,7 +507,10 @@ public class CsvDataProvider implements IDataProvider {
                 return checkConstraintResult;
 
             result = processNewTaskTags(task);
-            CsvUtil.createRecord(tasksFilePath, task, Task.class);
+            summaryStore.write(
+                    () -> { createRecord(tasksFilePath, task, Task.class); return task; },
+                    created -> summaryStore.changeTask(created.getProjectId(), null, created.getStatus())
+            );
 
             logger.info("processNewTask[1]: {}", String.format(
                     Constants.SUCCESSFUL_CREATED_ENTITY_MESSAGE,
@@ -250,7 +546,10 @@ public class CsvDataProvider implements IDataProvider {
             if (checkConstraintResult.getCode() != ResultCode.SUCCESS)
                 return checkConstraintResult;
 
-            CsvUtil.createRecord(bugReportsFilePath, bugReport, BugReport.class);
+            summaryStore.write(
+                    () -> { createRecord(bugReportsFilePath, bugReport, BugReport.class); return bugReport; },
+                    created -> summaryStore.changeBugReport(created.getProjectId(), null, created.getStatus())
+            );
 
             logger.info("processNewBugReport[1]: {}", String.format(
                     Constants.SUCCESSFUL_CREATED_ENTITY_MESSAGE,
@@ -292,14 +591,14 @@ public class CsvDataProvider implements IDataProvider {
             body.forEach((key, value) -> data.add(new DocumentationData(documentation.getId(), key, value)));
             data.forEach(d -> {
                 try {
-                    CsvUtil.createRecord(documentationDataFilePath, d, DocumentationData.class);
+                    createRecord(documentationDataFilePath, d, DocumentationData.class);
                 } catch (Exception e) {
                     logger.error("processNewDocumentation[1]: {}", e.getMessage());
                     result.setCode(ResultCode.ERROR);
                     result.setMessage(e.getMessage());
                 }
             });
-            CsvUtil.createRecord(documentationsFilePath, documentation, Documentation.class);
+            createRecord(documentationsFilePath, documentation, Documentation.class);
 
             logger.info("processNewDocumentation[1]: {}", String.format(
                     Constants.SUCCESSFUL_CREATED_ENTITY_MESSAGE,
@@ -335,7 +634,7 @@ public class CsvDataProvider implements IDataProvider {
            if (checkConstraintResult.getCode() != ResultCode.SUCCESS)
                return checkConstraintResult;
 
-            CsvUtil.createRecord(eventsFilePath, event, Event.class);
+            createRecord(eventsFilePath, event, Event.class);
 
             logger.info("processNewEvent[1]: {}", String.format(
                     Constants.SUCCESSFUL_CREATED_ENTITY_MESSAGE,
@@ -367,7 +666,7 @@ public class CsvDataProvider implements IDataProvider {
     public Result<NoData> processNewEmployee(Employee employee) {
         Result<NoData> result = new Result<>(ResultCode.SUCCESS);
         try {
-            CsvUtil.createRecord(employeesFilePath, employee, Employee.class);
+            createRecord(employeesFilePath, employee, Employee.class);
             logger.info("processNewEmployee[1]: {}", String.format(
                     Constants.SUCCESSFUL_CREATED_ENTITY_MESSAGE,
                     "employee", employee.getId()
@@ -401,7 +700,7 @@ public class CsvDataProvider implements IDataProvider {
                 return checkConstraintResult;
 
             EmployeeProjectObject obj = new EmployeeProjectObject(employeeId, projectId);
-            CsvUtil.createRecord(employeeProjectFilePath, obj, EmployeeProjectObject.class);
+            createRecord(employeeProjectFilePath, obj, EmployeeProjectObject.class);
             return new Result<>(ResultCode.SUCCESS);
         }
         catch (Exception exception) {
@@ -421,23 +720,19 @@ public class CsvDataProvider implements IDataProvider {
         if (checkConstraintResult.getCode() != ResultCode.SUCCESS)
             return checkConstraintResult;
 
-        Employee manager = Optional.ofNullable(CsvUtil.readFile(employeesFilePath, Employee.class))
-                .flatMap(employees -> employees.stream()
-                        .filter(employee -> employee.getId().equals(managerId))
-                        .findFirst())
+        Employee manager = Optional.ofNullable(readRecordsById(employeesFilePath, managerId, Employee.class))
+                .flatMap(employees -> employees.stream().findFirst())
                 .orElse(null);
 
         try {
-            List<Project> projectList = CsvUtil.readFile(projectsFilePath, Project.class);
-            projectList = Optional.ofNullable(projectList)
-                    .map(projects -> projects
-                            .stream()
-                            .peek(project -> {
-                                if (project.getId().equals(projectId)) project.setManager(manager);
-                            }).toList())
-                    .orElse(new ArrayList<>());
+            Optional<Project> project = Optional.ofNullable(readRecordsById(projectsFilePath, projectId, Project.class))
+                        .flatMap(projects -> projects.stream().findFirst())
+                    .map(Project::new);
 
-            CsvUtil.createRecords(projectsFilePath, projectList, Project.class);
+            if (project.isPresent()) {
+                project.get().setManager(manager);
+                updateRecord(projectsFilePath, project.get(), Project.class);
+            }
             return result;
         }
         catch (Exception exception) {
@@ -455,25 +750,18 @@ public class CsvDataProvider implements IDataProvider {
         Result<NoData> result = new Result<>(ResultCode.NOT_FOUND);
 
         try {
-            List<Project> data = CsvUtil.readFile(projectsFilePath, Project.class);
-            data = Optional.ofNullable(data)
-                .map(projects -> projects.stream()
-                        .filter(project -> {
-                    if (project.getId().equals(projectId)) {
+            deleteRecords(projectsFilePath, projectId, Project.class)
+                    .stream()
+                    .findFirst()
+                    .ifPresent(deleted -> {
                         result.setCode(ResultCode.SUCCESS);
-                        projectBean.set(project);
-                        return false;
-                    }
-                    return true;
-            }).toList()).orElse(new ArrayList<>());
-
-            CsvUtil.createRecords(projectsFilePath, data, Project.class);
+                        projectBean.set(deleted);
+                    });
 
             logger.info("deleteProject[1]: {}", String.format(
                     Constants.SUCCESSFUL_DELETED_ENTITY_MESSAGE,
                     "project", projectId
             ));
-
             return result;
         }
         catch (Exception exception) {
@@ -499,29 +787,18 @@ public class CsvDataProvider implements IDataProvider {
         Result<NoData> result = new Result<>(ResultCode.NOT_FOUND);
 
         try {
-            List<Task> taskList = CsvUtil.readFile(tasksFilePath, Task.class);
-            List<TaskTag> taskTagList = CsvUtil.readFile(taskTagsFilePath, TaskTag.class);
-
-            taskTagList = Optional.ofNullable(taskTagList)
-                    .map(taskTags -> taskTags.stream()
-                            .filter(taskTag -> !taskTag.getId().equals(taskId))
-                            .toList())
-                    .orElse(new ArrayList<>());
-
-            taskList = Optional.ofNullable(taskList)
-                    .map(tasks -> tasks.stream()
-                            .filter(task -> {
-                                if (task.getId().equals(taskId)) {
-                                    result.setCode(ResultCode.SUCCESS);
-                                    taskBean.set(task);
-                                    return false;
-                                }
-                                return true;
-            }).toList())
-                    .orElse(new ArrayList<>());
+            deleteRecords(taskTagsFilePath, taskId, TaskTag.class);
+            summaryStore.write(
+                    () -> deleteRecords(tasksFilePath, taskId, Task.class),
+                    deleted -> deleted.forEach(task -> summaryStore.changeTask(task.getProjectId(), task.getStatus(), null))
+            )
+                    .stream()
+                    .findFirst()
+                    .ifPresent(deleted -> {
+                        result.setCode(ResultCode.SUCCESS);
+                        taskBean.set(deleted);
+                    });
 
-            CsvUtil.createRecords(tasksFilePath, taskList, Task.class);
-            CsvUtil.createRecords(taskTagsFilePath, taskTagList, TaskTag.class);
             logger.info("deleteTask[1]: {}", String.format(
                     Constants.SUCCESSFUL_DELETED_ENTITY_MESSAGE,
                     "task", taskId
@@ -551,17 +828,17 @@ public class CsvDataProvider implements IDataProvider {
         Result<NoData> result = new Result<>(ResultCode.NOT_FOUND);
 
         try {
-            List<BugReport> data = CsvUtil.readFile(bugReportsFilePath, BugReport.class);
-            data = Optional.ofNullable(data).map(bugreports -> bugreports.stream().filter(bugReport -> {
-                if(bugReport.getId().equals(bugReportId)) {
-                    result.setCode(ResultCode.SUCCESS);
-                    bugReportBean.set(bugReport);
-                    return false;
-                }
-                return true;
-            }).toList()).orElse(new ArrayList<>());
-
-            CsvUtil.createRecords(bugReportsFilePath, data, BugReport.class);
+            summaryStore.write(
+                    () -> deleteRecords(bugReportsFilePath, bugReportId, BugReport.class),
+                    deleted -> deleted.forEach(bugReport ->
+                            summaryStore.changeBugReport(bugReport.getProjectId(), bugReport.getStatus(), null))
+            )
+                    .stream()
+                    .findFirst()
+                    .ifPresent(deleted -> {
+                        result.setCode(ResultCode.SUCCESS);
+                        bugReportBean.set(deleted);
+                    });
 
             logger.info("deleteBugReport[1]: {}", String.format(
                     Constants.SUCCESSFUL_DELETED_ENTITY_MESSAGE,
@@ -575,10 +852,10 @@ public class CsvDataProvider implements IDataProvider {
         }
         finally {
             logEntity(
-                    bugReportBean,
-                    "deleteBugReport",
-                    result.getCode(),
-                    ChangeType.DELETE
+                bugReportBean,
+                "deleteBugReport",
+                result.getCode(),
+                ChangeType.DELETE
             );
         }
     }
@@ -592,21 +869,13 @@ public class CsvDataProvider implements IDataProvider {
         Result<NoData> result = new Result<>(ResultCode.NOT_FOUND);
 
         try {
-            List<Event> data = CsvUtil.readFile(eventsFilePath, Event.class);
-            data = Optional.ofNullable(data)
-                .map(events -> events.stream().filter(event -> {
-                    if(event.getId().equals(eventId)) {
+            deleteRecords(eventsFilePath, eventId, Event.class)
+                    .stream()
+                    .findFirst()
+                    .ifPresent(deleted -> {
                         result.setCode(ResultCode.SUCCESS);
-                        eventBean.set(event);
-                        return false;
-                    }
-                    return true;
-            }).toList()).orElseGet(() -> {
-                result.setCode(ResultCode.NOT_FOUND);
-                return new ArrayList<>();
-            });
-
-            CsvUtil.createRecords(eventsFilePath, data, Event.class);
+                        eventBean.set(deleted);
+                    });
 
             logger.info("deleteEvent[1]: {}", String.format(
                     Constants.SUCCESSFUL_DELETED_ENTITY_MESSAGE,
@@ -620,10 +889,10 @@ public class CsvDataProvider implements IDataProvider {
         }
         finally {
             logEntity(
-                    eventBean,
-                    "deleteEvent",
-                    result.getCode(),
-                    ChangeType.DELETE
+                eventBean,
+                "deleteEvent",
+                result.getCode(),
+                ChangeType.DELETE
             );
         }
     }
@@ -637,24 +906,14 @@ public class CsvDataProvider implements IDataProvider {
         Result<NoData> result = new Result<>(ResultCode.NOT_FOUND);
 
         try {
-            List<Documentation> documentationList = CsvUtil.readFile(documentationsFilePath, Documentation.class);
-            List<DocumentationData> docDataList = CsvUtil.readFile(documentationDataFilePath, DocumentationData.class);
-
-            docDataList = Optional.ofNullable(docDataList)
-                    .map(docData -> docData.stream().filter(doc -> !doc.getId().equals(docId)).toList())
-                    .orElse(new ArrayList<>());
-
-            documentationList = Optional.ofNullable(documentationList).map(docs -> docs.stream().filter(doc -> {
-                if(doc.getId().equals(docId)) {
-                    result.setCode(ResultCode.SUCCESS);
-                    docBean.set(doc);
-                    return false;
-                }
-                return true;
-            }).toList()).orElse(new ArrayList<>());
-
-            CsvUtil.createRecords(documentationsFilePath, documentationList, Documentation.class);
-            CsvUtil.createRecords(documentationDataFilePath, docDataList, DocumentationData.class);
+            deleteRecords(documentationDataFilePath, docId, DocumentationData.class);
+            deleteRecords(documentationsFilePath, docId, Documentation.class)
+                    .stream()
+                    .findFirst()
+                    .ifPresent(deleted -> {
+                        result.setCode(ResultCode.SUCCESS);
+                        docBean.set(deleted);
+                    });
 
             logger.info("deleteDocumentation[1]: {}", String.format(
                     Constants.SUCCESSFUL_DELETED_ENTITY_MESSAGE,
@@ -668,10 +927,10 @@ public class CsvDataProvider implements IDataProvider {
         }
         finally {
             logEntity(
-                    docBean,
-                    "deleteDocumentation",
-                    result.getCode(),
-                    ChangeType.DELETE
+                docBean,
+                "deleteDocumentation",
+                result.getCode(),
+                ChangeType.DELETE
             );
         }
     }
@@ -685,17 +944,13 @@ public class CsvDataProvider implements IDataProvider {
         Result<NoData> result = new Result<>(ResultCode.NOT_FOUND);
 
         try {
-            List<Employee> data = CsvUtil.readFile(employeesFilePath, Employee.class);
-            data = Optional.ofNullable(data).map(employees -> employees.stream().filter(task -> {
-                if(task.getId().equals(employeeId)) {
-                    result.setCode(ResultCode.SUCCESS);
-                    employeeBean.set(task);
-                    return false;
-                }
-                return true;
-            }).toList()).orElse(new ArrayList<>());
-
-            CsvUtil.createRecords(employeesFilePath, data, Employee.class);
+            deleteRecords(employeesFilePath, employeeId, Employee.class)
+                    .stream()
+                    .findFirst()
+                    .ifPresent(deleted -> {
+                        result.setCode(ResultCode.SUCCESS);
+                        employeeBean.set(deleted);
+                    });
 
             logger.info("deleteEmployee[1]: {}", String.format(
                     Constants.SUCCESSFUL_DELETED_ENTITY_MESSAGE,
@@ -723,42 +978,33 @@ public class CsvDataProvider implements IDataProvider {
     @Override
     public Result<Project> getProjectById(UUID projectId) {
         try {
-            List<Project> projectList = CsvUtil.readFile(projectsFilePath, Project.class);
-
-            // getting list of employees who belong to the project
-            List<UUID> employeeIds = Optional.ofNullable(CsvUtil.readFile(employeeProjectFilePath, EmployeeProjectObject.class))
-                    .map(ep -> ep.stream()
-                    .filter(employee -> employee.getProjectId().equals(projectId))
-                    .map(EmployeeProjectObject::getEmployeeId).toList())
-                    .orElse(new ArrayList<>());
-
-            // getting manager id
-            UUID managerId = Optional.ofNullable(CsvUtil.readFile(managerProjectFilePath, ManagerProjectObject.class))
-                    .flatMap(links -> links.stream()
-                            .filter(link -> link.getProjectId().equals(projectId))
-                            .findFirst()
-                            .map(EmployeeProjectObject::getEmployeeId))
-                    .orElse(null);
-
-            List<Employee> employees = Optional.ofNullable(CsvUtil.readFile(employeesFilePath, Employee.class))
-                    .map(e -> e.stream()
-                            .filter(employee -> employeeIds.contains(employee.getId())).toList())
-                    .orElse(new ArrayList<>());
-
-            Employee manager = employees.stream()
-                    .filter(employee -> employee.getId().equals(managerId))
-                    .findFirst()
-                    .orElse(null);
-
-            List<Task> tasks = getTasksByProjectId(projectId).getData();
-            List<BugReport> bugReports = getBugReportsByProjectId(projectId).getData();
-            List<Event> events = getEventsByProjectId(projectId).getData();
-            List<Documentation> documentations = getDocumentationsByProjectId(projectId).getData();
+            // every part of the project is in its own file, so they are read in parallel
+            ParallelLoader loader = new ParallelLoader();
+            Future<List<Project>> projectFuture = loader.submit(() -> readRecordsById(projectsFilePath, projectId, Project.class));
+            Future<Pair<List<Employee>, Employee>> teamFuture = loader.submit(() -> readProjectTeam(projectId));
+            Future<Result<List<Task>>> tasksFuture = loader.submit(() -> getTasksByProjectId(projectId));
+            Future<Result<List<BugReport>>> bugReportsFuture = loader.submit(() -> getBugReportsByProjectId(projectId));
+            Future<Result<List<Event>>> eventsFuture = loader.submit(() -> getEventsByProjectId(projectId));
+            Future<Result<List<Documentation>>> documentationsFuture = loader.submit(() -> getDocumentationsByProjectId(projectId));
+
+            List<Project> projectList = projectFuture.get();
+            Pair<List<Employee>, Employee> team = loader.get(
+                    Constants.EMPLOYEE_ERROR_KEY, teamFuture, new Pair<>(new ArrayList<>(), null)
+            );
+            List<Employee> employees = team.getKey();
+            Employee manager = team.getValue();
+            List<Task> tasks = loader.getData(Constants.TASK_ERROR_KEY, tasksFuture, new ArrayList<>());
+            List<BugReport> bugReports = loader.getData(Constants.BUG_REPORT_ERROR_KEY, bugReportsFuture, new ArrayList<>());
+            List<Event> events = loader.getData(Constants.EVENT_ERROR_KEY, eventsFuture, new ArrayList<>());
+            List<Documentation> documentations = loader.getData(
+                    Constants.DOCUMENTATION_ERROR_KEY, documentationsFuture, new ArrayList<>()
+            );
 
             return Optional.ofNullable(projectList)
                     .map(projects -> projects.stream()
                             .filter(project -> project.getId().equals(projectId))
                             .findFirst()
+                            .map(Project::new)
                             .map(project -> {
                                 project.setTeam(new ArrayList<>(employees));
                                 project.setTasks(tasks);
@@ -768,6 +1014,10 @@ public class CsvDataProvider implements IDataProvider {
                                 project.setManager(manager);
 
                                 logger.debug("getProjectById[1]: received project {}", project);
+                                if (loader.hasErrors()) {
+                                    logger.error("getProjectById[5]: project is loaded partially: {}", loader.getErrors());
+                                    return new Result<>(project, ResultCode.ERROR, loader.getErrors());
+                                }
                                 return new Result<>(project, ResultCode.SUCCESS);
                             })
                             .orElseGet(() -> {
@@ -789,6 +1039,35 @@ public class CsvDataProvider implements IDataProvider {
         }
     }
 
+    /**
+     * @param projectId id of the project
+     * @return employees of the project and its manager, manager is null if the project has no manager
+     */
+    private Pair<List<Employee>, Employee> readProjectTeam(UUID projectId) throws Exception {
+        // getting list of employees who belong to the project
+        List<UUID> employeeIds = Optional.ofNullable(readRecordsByProjectId(employeeProjectFilePath, projectId, EmployeeProjectObject.class))
+                .map(ep -> ep.stream()
+                .filter(employee -> employee.getProjectId().equals(projectId))
+                .map(EmployeeProjectObject::getEmployeeId).toList())
+                .orElse(new ArrayList<>());
+
+        // getting manager id
+        UUID managerId = Optional.ofNullable(readRecordsByProjectId(managerProjectFilePath, projectId, ManagerProjectObject.class))
+                .flatMap(links -> links.stream()
+                        .filter(link -> link.getProjectId().equals(projectId))
+                        .findFirst()
+                        .map(EmployeeProjectObject::getEmployeeId))
+                .orElse(null);
+
+        List<Employee> employees = readRecordsByIds(employeesFilePath, employeeIds, Employee.class);
+
+        Employee manager = employees.stream()
+                .filter(employee -> employee.getId().equals(managerId))
+                .findFirst()
+                .orElse(null);
+        return new Pair<>(employees, manager);
+    }
+
     /**
      * {@link IDataProvider#getTasksByProjectId(UUID)}
      */
@@ -799,10 +1078,10 @@ public class CsvDataProvider implements IDataProvider {
             return new Result<>(new ArrayList<>(), ResultCode.NOT_FOUND, checkProjectResult.getMessage());
 
         try {
-            List<Task> taskList = Optional.ofNullable(CsvUtil.readFile(tasksFilePath, Task.class))
+            List<Task> taskList = Optional.ofNullable(readRecordsByProjectId(tasksFilePath, projectId, Task.class))
                     .orElse(new ArrayList<>());
 
-            setTaskTags(taskList);
+            taskList = withTaskTags(taskList);
 
             return Optional.of(taskList)
                     .map(tasks -> tasks.stream()
@@ -824,23 +1103,34 @@ public class CsvDataProvider implements IDataProvider {
         }
     }
 
+    /**
+     * Tasks are read while the stream is consumed, tags are read once per batch of tasks
+     * {@link IDataProvider#streamTasksByProjectId(UUID)}
+     */
+    @Override
+    public Stream<Task> streamTasksByProjectId(UUID projectId) {
+        if (!isProjectStreamable(projectId))
+            return Stream.empty();
+
+        return mapBatches(streamRecordsByProjectId(tasksFilePath, projectId, Task.class), this::withTaskTags);
+    }
+
     /**
      * {@link IDataProvider#getTasksByEmployeeId(UUID)}
      */
     @Override
     public Result<List<Task>> getTasksByEmployeeId(UUID employeeId) {
-        if (CsvUtil.isRecordNotExists(employeesFilePath, employeeId, Employee.class))
+        if (isRecordNotExists(employeesFilePath, employeeId, Employee.class))
             return new Result<>(new ArrayList<>(), ResultCode.ERROR, String.format(
                     Constants.ENTITY_NOT_FOUND_MESSAGE,
                     Employee.class.getSimpleName(), employeeId
             ));
 
         try {
-            List<Task> taskList = Optional.ofNullable(CsvUtil.readFile(tasksFilePath, Task.class))
-                    .map(tasks -> tasks.stream().filter(task -> task.getEmployeeId().equals(employeeId)).toList())
+            List<Task> taskList = Optional.ofNullable(readRecordsByEmployeeId(tasksFilePath, employeeId, Task.class))
                     .orElse(new ArrayList<>());
 
-            setTaskTags(taskList);
+            taskList = withTaskTags(taskList);
 
             return Optional.of(taskList)
                     .map(tasks -> tasks.stream()
@@ -867,13 +1157,35 @@ public class CsvDataProvider implements IDataProvider {
         }
     }
 
+    /**
+     * {@link IDataProvider#getTasksByEmployeeIds(Collection)}
+     */
+    @Override
+    public Result<Map<UUID, List<Task>>> getTasksByEmployeeIds(Collection<UUID> employeeIds) {
+        try {
+            Set<UUID> ids = new HashSet<>(employeeIds);
+            List<Task> taskList = Optional.ofNullable(readRecords(tasksFilePath, Task.class))
+                    .map(tasks -> tasks.stream().filter(task -> ids.contains(task.getEmployeeId())).toList())
+                    .orElseThrow(() -> new IOException(Constants.READ_ERROR));
+
+            taskList = withTaskTags(taskList);
+            Map<UUID, List<Task>> tasks = taskList.stream().collect(Collectors.groupingBy(Task::getEmployeeId));
+            logger.debug("getTasksByEmployeeIds[1]: received tasks of {} employees", tasks.size());
+            return new Result<>(tasks, ResultCode.SUCCESS);
+        }
+        catch (Exception exception) {
+            logger.error("getTasksByEmployeeIds[2]: {}", exception.getMessage());
+            return new Result<>(new HashMap<>(), ResultCode.ERROR, exception.getMessage());
+        }
+    }
+
     /**
      * {@link IDataProvider#getTaskById(UUID)}
      */
     @Override
     public Result<Task> getTaskById(UUID taskId) {
         try {
-            List<Task> taskList = CsvUtil.readFile(tasksFilePath, Task.class);
+            List<Task> taskList = readRecordsById(tasksFilePath, taskId, Task.class);
             return Optional.ofNullable(taskList)
                 .map(tasks -> tasks.stream()
                         .filter(task -> task.getId().equals(taskId))
@@ -912,12 +1224,10 @@ public class CsvDataProvider implements IDataProvider {
             return new Result<>(new ArrayList<>(), ResultCode.NOT_FOUND, checkProjectResult.getMessage());
 
         try {
-            List<Task> taskList = Optional.ofNullable(CsvUtil.readFile(tasksFilePath, Task.class))
-                    .map(tasks -> tasks.stream()
-                            .filter(task -> task.getProjectId().equals(projectId)).toList())
+            List<Task> taskList = Optional.ofNullable(readRecordsByProjectId(tasksFilePath, projectId, Task.class))
                     .orElse(new ArrayList<>());
 
-            setTaskTags(taskList);
+            taskList = withTaskTags(taskList);
 
             return Optional.of(taskList)
                     .map(tasks -> tasks.stream()
@@ -950,7 +1260,7 @@ public class CsvDataProvider implements IDataProvider {
             return new Result<>(new ArrayList<>(), ResultCode.NOT_FOUND, checkProjectResult.getMessage());
 
         try {
-            List<BugReport> taskList = CsvUtil.readFile(bugReportsFilePath, BugReport.class);
+            List<BugReport> taskList = readRecordsByProjectId(bugReportsFilePath, projectId, BugReport.class);
             return Optional.ofNullable(taskList)
                     .map(bugreports -> bugreports.stream()
                             .filter(bugreport -> bugreport.getProjectId().equals(projectId))
@@ -971,13 +1281,23 @@ public class CsvDataProvider implements IDataProvider {
         }
     }
 
+    /**
+     * {@link IDataProvider#streamBugReportsByProjectId(UUID)}
+     */
+    @Override
+    public Stream<BugReport> streamBugReportsByProjectId(UUID projectId) {
+        if (!isProjectStreamable(projectId))
+            return Stream.empty();
+        return streamRecordsByProjectId(bugReportsFilePath, projectId, BugReport.class);
+    }
+
     /**
      * {@link IDataProvider#getBugReportById(UUID)}
      */
     @Override
     public Result<BugReport> getBugReportById(UUID bugReportId) {
         try {
-            List<BugReport> bugReportList = CsvUtil.readFile(bugReportsFilePath, BugReport.class);
+            List<BugReport> bugReportList = readRecordsById(bugReportsFilePath, bugReportId, BugReport.class);
             return Optional.ofNullable(bugReportList)
                     .map(bugReports -> bugReports.stream()
                             .filter(bugReport -> bugReport.getId().equals(bugReportId))
@@ -1014,7 +1334,7 @@ public class CsvDataProvider implements IDataProvider {
             return new Result<>(new ArrayList<>(), ResultCode.NOT_FOUND, checkProjectResult.getMessage());
 
         try {
-            List<Event> eventList = Optional.ofNullable(CsvUtil.readFile(eventsFilePath, Event.class))
+            List<Event> eventList = Optional.ofNullable(readRecordsByProjectId(eventsFilePath, projectId, Event.class))
                     .orElse(new ArrayList<>());
 
             return Optional.of(eventList)
@@ -1038,13 +1358,23 @@ public class CsvDataProvider implements IDataProvider {
         }
     }
 
+    /**
+     * {@link IDataProvider#streamEventsByProjectId(UUID)}
+     */
+    @Override
+    public Stream<Event> streamEventsByProjectId(UUID projectId) {
+        if (!isProjectStreamable(projectId))
+            return Stream.empty();
+        return streamRecordsByProjectId(eventsFilePath, projectId, Event.class);
+    }
+
     /**
      * {@link IDataProvider#getEventById(UUID)}
      */
     @Override
     public Result<Event> getEventById(UUID eventId) {
         try {
-            List<Event> bugReportList = CsvUtil.readFile(eventsFilePath, Event.class);
+            List<Event> bugReportList = readRecordsById(eventsFilePath, eventId, Event.class);
             return Optional.ofNullable(bugReportList)
                     .map(events -> events.stream()
                             .filter(event -> event.getId().equals(eventId))
@@ -1077,17 +1407,16 @@ public class CsvDataProvider implements IDataProvider {
     @Override
     public Result<Documentation> getDocumentationById(UUID docId) {
         try {
-            List<Documentation> documentationList = CsvUtil.readFile(documentationsFilePath, Documentation.class);
+            List<Documentation> documentationList = readRecordsById(documentationsFilePath, docId, Documentation.class);
             List<DocumentationData> documentationDataList = Optional.ofNullable(
-                    CsvUtil.readFile(documentationDataFilePath, DocumentationData.class)
-            )
-                    .map(docData -> docData.stream().filter(d -> d.getId().equals(docId)).toList())
-                    .orElse(new ArrayList<>());
+                    readRecordsById(documentationDataFilePath, docId, DocumentationData.class)
+            ).orElse(new ArrayList<>());
 
             return Optional.ofNullable(documentationList)
                     .map(docs -> docs.stream()
                             .filter(doc -> doc.getId().equals(docId))
                             .findFirst()
+                            .map(Documentation::new)
                             .map(doc -> {
                                 HashMap<String, String> body = new HashMap<>();
                                 documentationDataList.forEach(docData -> body.put(docData.getArticleTitle(), docData.getArticle()));
@@ -1125,27 +1454,11 @@ public class CsvDataProvider implements IDataProvider {
             return new Result<>(new ArrayList<>(), ResultCode.NOT_FOUND, checkProjectResult.getMessage());
 
         try {
-            List<Documentation> documentationList = Optional.ofNullable(CsvUtil.readFile(documentationsFilePath, Documentation.class))
-                    .orElse(new ArrayList<>());
-
-            List<DocumentationData> documentationDataList = Optional.ofNullable(
-                    CsvUtil.readFile(documentationDataFilePath, DocumentationData.class)
+            List<Documentation> documentationList = Optional.ofNullable(
+                    readRecordsByProjectId(documentationsFilePath, projectId, Documentation.class)
             ).orElse(new ArrayList<>());
 
-
-            documentationList = documentationList.stream().peek(
-                    doc -> {
-                        HashMap<String, String> body = new HashMap<>();
-                        List<DocumentationData> docData = documentationDataList.stream()
-                                .filter(data -> data.getId().equals(doc.getId()))
-                                .toList();
-
-                        docData.forEach(d -> {
-                            body.put(d.getArticleTitle(), d.getArticle());
-                            doc.setBody(body);
-                        });
-                    }
-            ).toList();
+            documentationList = withDocumentationBodies(documentationList);
 
             return Optional.of(documentationList)
                     .map(docs -> docs.stream()
@@ -1168,6 +1481,19 @@ public class CsvDataProvider implements IDataProvider {
         }
     }
 
+    /**
+     * Articles are read once per batch of documentations
+     * {@link IDataProvider#streamDocumentationsByProjectId(UUID)}
+     */
+    @Override
+    public Stream<Documentation> streamDocumentationsByProjectId(UUID projectId) {
+        if (!isProjectStreamable(projectId))
+            return Stream.empty();
+
+        return mapBatches(streamRecordsByProjectId(documentationsFilePath, projectId, Documentation.class),
+                this::withDocumentationBodies);
+    }
+
     /**
      * {@link IDataProvider#getProjectTeam(UUID)}
      */
@@ -1180,16 +1506,13 @@ public class CsvDataProvider implements IDataProvider {
         try {
             // filter and get list of employee's id
             List<UUID> employeeLinks = Optional.ofNullable(
-                    CsvUtil.readFile(employeeProjectFilePath, EmployeeProjectObject.class)
+                    readRecordsByProjectId(employeeProjectFilePath, projectId, EmployeeProjectObject.class)
             )
                     .map(eps -> eps.stream()
-                            .filter(ep -> ep.getProjectId().equals(projectId))
                             .map(EmployeeProjectObject::getEmployeeId).toList())
                     .orElse(new ArrayList<>());
 
-            return Optional.ofNullable(CsvUtil.readFile(employeesFilePath, Employee.class))
-                    .map(employees -> employees.stream()
-                            .filter(e -> employeeLinks.contains(e.getId())).collect(Collectors.toList()))
+            return Optional.of(readRecordsByIds(employeesFilePath, employeeLinks, Employee.class))
                     .map(employees -> {
                         List<Employee> result = new ArrayList<>(employees);
                         logger.debug("getProjectTeam[1]: received employees {}", result);
@@ -1206,13 +1529,44 @@ public class CsvDataProvider implements IDataProvider {
         }
     }
 
+    /**
+     * Employees are read once per batch of links to the project
+     * {@link IDataProvider#streamProjectTeam(UUID)}
+     */
+    @Override
+    public Stream<Employee> streamProjectTeam(UUID projectId) {
+        if (!isProjectStreamable(projectId))
+            return Stream.empty();
+
+        return mapBatches(
+                streamRecordsByProjectId(employeeProjectFilePath, projectId, EmployeeProjectObject.class),
+                links -> readRecordsByIds(
+                        employeesFilePath,
+                        links.stream().map(EmployeeProjectObject::getEmployeeId).toList(),
+                        Employee.class
+                )
+        );
+    }
+
+    /**
+     * @return true if the project exists, otherwise the reason is logged
+     */
+    private boolean isProjectStreamable(UUID projectId) {
+        Result<NoData> checkProjectResult = csvChecker.checkProjectExistence(projectId);
+        if (checkProjectResult.getCode() != ResultCode.SUCCESS) {
+            logger.debug("isProjectStreamable[1]: {}", checkProjectResult.getMessage());
+            return false;
+        }
+        return true;
+    }
+
     /**
      * {@link IDataProvider#getEmployeeById(UUID)}
      */
     @Override
     public Result<Employee> getEmployeeById(UUID employeeId) {
         try {
-            List<Employee> employees = CsvUtil.readFile(employeesFilePath, Employee.class);
+            List<Employee> employees = readRecordsById(employeesFilePath, employeeId, Employee.class);
             return Optional.ofNullable(employees)
                     .map(e -> e.stream().filter(employee -> employee.getId().equals(employeeId))
                     .map(employee -> {
@@ -1236,10 +1590,81 @@ public class CsvDataProvider implements IDataProvider {
         }
     }
 
+    /**
+     * Every file is read once and the files are read in parallel
+     * {@link IDataProvider#getPortfolio()}
+     */
+    @Override
+    public Result<Portfolio> getPortfolio() {
+        ParallelLoader loader = new ParallelLoader();
+        Future<List<Project>> projectsFuture = loader.submit(() -> readRecords(projectsFilePath, Project.class));
+        Future<List<Task>> tasksFuture = loader.submit(() -> {
+            List<Task> tasks = readRecords(tasksFilePath, Task.class);
+            return tasks == null ? null : withTaskTags(tasks);
+        });
+        Future<List<BugReport>> bugReportsFuture = loader.submit(() -> readRecords(bugReportsFilePath, BugReport.class));
+        Future<List<EmployeeProjectObject>> linksFuture = loader.submit(
+                () -> readRecords(employeeProjectFilePath, EmployeeProjectObject.class)
+        );
+        Future<List<Employee>> employeesFuture = loader.submit(() -> readRecords(employeesFilePath, Employee.class));
+
+        List<Project> projects = loader.get(Constants.PROJECT_ERROR_KEY, projectsFuture, null);
+        List<Task> tasks = loader.get(Constants.TASK_ERROR_KEY, tasksFuture, null);
+        List<BugReport> bugReports = loader.get(Constants.BUG_REPORT_ERROR_KEY, bugReportsFuture, null);
+        List<EmployeeProjectObject> links = loader.get(Constants.TEAM_ERROR_KEY, linksFuture, null);
+        List<Employee> employees = loader.get(Constants.EMPLOYEE_ERROR_KEY, employeesFuture, null);
+
+        if (loader.hasErrors() || projects == null || tasks == null || bugReports == null
+                || links == null || employees == null) {
+            logger.error("getPortfolio[1]: {} {}", Constants.READ_ERROR, loader.getErrors());
+            return new Result<>(null, ResultCode.ERROR, Constants.READ_ERROR);
+        }
+
+        Map<UUID, Employee> employeesById = employees.stream()
+                .collect(Collectors.toMap(Employee::getId, employee -> employee, (first, second) -> first));
+        Map<UUID, List<Employee>> teams = links.stream()
+                .filter(link -> employeesById.containsKey(link.getEmployeeId()))
+                .collect(Collectors.groupingBy(
+                        EmployeeProjectObject::getProjectId,
+                        Collectors.mapping(link -> employeesById.get(link.getEmployeeId()), Collectors.toList())
+                ));
+
+        Portfolio portfolio = new Portfolio(
+                projects.stream().map(Project::getId).toList(),
+                tasks,
+                bugReports,
+                teams
+        );
+        logger.debug("getPortfolio[2]: received {}", portfolio);
+        return new Result<>(portfolio, ResultCode.SUCCESS);
+    }
+
+    /**
+     * {@link IDataProvider#getProjectSummary(UUID)}
+     */
+    @Override
+    public Result<ProjectSummary> getProjectSummary(UUID projectId) {
+        ProjectSummary summary = summaryStore.get(projectId, () -> {
+            List<Task> tasks = readRecordsByProjectId(tasksFilePath, projectId, Task.class);
+            List<BugReport> bugReports = readRecordsByProjectId(bugReportsFilePath, projectId, BugReport.class);
+            return tasks == null || bugReports == null ? null : ProjectSummary.of(projectId, tasks, bugReports);
+        });
+
+        if (summary == null) {
+            logger.error("getProjectSummary[1]: {}", Constants.READ_ERROR);
+            return new Result<>(null, ResultCode.ERROR, Constants.READ_ERROR);
+        }
+        logger.debug("getProjectSummary[2]: {}", summary);
+        return new Result<>(summary, ResultCode.SUCCESS);
+    }
+
     @Override
     public Result<NoData> completeTask(UUID taskId) {
         Result<NoData> result = new Result<>(ResultCode.SUCCESS);
-        if (CsvUtil.isRecordNotExists(tasksFilePath, taskId, Task.class))
+        Optional<Task> task = Optional.ofNullable(readRecordsById(tasksFilePath, taskId, Task.class))
+                .flatMap(tasks -> tasks.stream().findFirst());
+
+        if (task.isEmpty())
             return new Result<>(ResultCode.NOT_FOUND, String.format(
                     Constants.ENTITY_NOT_FOUND_MESSAGE,
                     Task.class.getSimpleName(),
@@ -1247,15 +1672,16 @@ public class CsvDataProvider implements IDataProvider {
             ));
 
         try {
-            List<Task> taskList = Optional.ofNullable(CsvUtil.readFile(tasksFilePath, Task.class))
-                    .map(tasks -> tasks
-                            .stream()
-                            .peek(t -> {
-                                if (t.getId().equals(taskId)) t.completeTask();
-                            }).toList())
-                    .orElse(new ArrayList<>());
-
-            CsvUtil.createRecords(tasksFilePath, taskList, Task.class);
+            WorkStatus previousStatus = task.get().getStatus();
+            Task completed = new Task(task.get());
+            completed.completeTask();
+            summaryStore.write(
+                    () -> updateRecord(tasksFilePath, completed, Task.class),
+                    updated -> {
+                        if (updated)
+                            summaryStore.changeTask(completed.getProjectId(), previousStatus, WorkStatus.COMPLETED);
+                    }
+            );
             logger.debug("completeTask[1]: task with id {} was completed", taskId);
         }
         catch (Exception exception) {
@@ -0,0 +1,165 @@
+package ru.sfedu.projectmanagement.core.api;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bson.Document;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replays records of the history spool to the database in background. Position of the last written record
+ * is saved to the checkpoint of the spool, so records are neither lost nor replayed from the start after a restart.
+ * Failed batches are retried with growing delay until the database is available again
+ */
+class HistoryShipper {
+    private static final Logger logger = LogManager.getLogger(HistoryShipper.class);
+    static final String DB_NAME_KEY = "db";
+    static final String COLLECTION_KEY = "collection";
+    static final String DOCUMENT_KEY = "document";
+    private static final long MAX_RETRY_DELAY = 30_000;
+
+    private final HistorySpool spool;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final MongoHistoryWriter.BatchWriter batchWriter;
+    private final Thread thread;
+    private final Object progressLock = new Object();
+    private HistorySpool.Position checkpoint;
+    private volatile boolean closed;
+
+    /**
+     * @param spool spool with records
+     * @param batchSize max number of records written at once
+     * @param flushIntervalMillis time between checks of the spool when there are no new records
+     * @param batchWriter function which writes documents
+     */
+    HistoryShipper(
+            HistorySpool spool, int batchSize, long flushIntervalMillis, MongoHistoryWriter.BatchWriter batchWriter
+    ) throws IOException {
+        this.spool = spool;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.batchWriter = batchWriter;
+        this.checkpoint = spool.readCheckpoint();
+        this.thread = new Thread(this::run, "mongo-history-shipper");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * @param dbName database of the record
+     * @param collectionName collection of the record
+     * @param document history record
+     * @return line of the spool
+     */
+    static String toLine(String dbName, String collectionName, Document document) {
+        return new Document(DB_NAME_KEY, dbName)
+                .append(COLLECTION_KEY, collectionName)
+                .append(DOCUMENT_KEY, document)
+                .toJson();
+    }
+
+    /**
+     * Waits until records which were appended to the spool before are written to the database
+     * @param timeoutMillis max time of waiting
+     * @return true if all records were written
+     */
+    boolean flush(long timeoutMillis) throws InterruptedException {
+        HistorySpool.Position end = spool.getEnd();
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (progressLock) {
+            while (checkpoint.compareTo(end) < 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0)
+                    return false;
+                progressLock.wait(remaining);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stops replaying, records which are not written yet stay in the spool
+     * @param timeoutMillis max time of waiting for the current batch
+     */
+    void close(long timeoutMillis) throws InterruptedException {
+        closed = true;
+        thread.interrupt();
+        thread.join(timeoutMillis);
+    }
+
+    private void run() {
+        long retryDelay = flushIntervalMillis;
+        while (!closed) {
+            try {
+                HistorySpool.Chunk chunk = spool.read(checkpoint, batchSize);
+                if (chunk.getLines().isEmpty()) {
+                    if (chunk.getNext().equals(checkpoint))
+                        Thread.sleep(flushIntervalMillis);
+                    else
+                        advance(chunk.getNext());
+                    continue;
+                }
+
+                try {
+                    write(chunk.getLines());
+                    retryDelay = flushIntervalMillis;
+                }
+                catch (Exception exception) {
+                    logger.error("run[1]: history records were not saved, retry in {} ms: {}", retryDelay, exception.getMessage());
+                    Thread.sleep(retryDelay);
+                    retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY);
+                    continue;
+                }
+                advance(chunk.getNext());
+            }
+            catch (InterruptedException exception) {
+                return;
+            }
+            catch (IOException | RuntimeException exception) {
+                logger.error("run[2]: history spool can not be read: {}", exception.getMessage());
+                try {
+                    Thread.sleep(MAX_RETRY_DELAY);
+                }
+                catch (InterruptedException interruptedException) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void write(List<String> lines) throws Exception {
+        Map<List<String>, List<Document>> collections = new LinkedHashMap<>();
+        for (String line : lines) {
+            Document record;
+            try {
+                record = Document.parse(line);
+            }
+            catch (RuntimeException exception) {
+                logger.error("write[1]: broken history record is skipped: {}", line);
+                continue;
+            }
+            collections.computeIfAbsent(
+                    List.of(record.getString(DB_NAME_KEY), record.getString(COLLECTION_KEY)),
+                    key -> new ArrayList<>()
+            ).add(record.get(DOCUMENT_KEY, Document.class));
+        }
+
+        for (Map.Entry<List<String>, List<Document>> entry : collections.entrySet()) {
+            batchWriter.write(entry.getKey().get(0), entry.getKey().get(1), entry.getValue());
+            logger.debug("write[2]: {} history records were saved to {}", entry.getValue().size(), entry.getKey().get(1));
+        }
+    }
+
+    private void advance(HistorySpool.Position next) throws IOException {
+        spool.writeCheckpoint(next);
+        synchronized (progressLock) {
+            checkpoint = next;
+            progressLock.notifyAll();
+        }
+    }
+}
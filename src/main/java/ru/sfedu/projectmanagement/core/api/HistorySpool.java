@@ -0,0 +1,284 @@
+package ru.sfedu.projectmanagement.core.api;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Append-only local log of history records. Records are stored one per line (JSONL) in numbered segment files,
+ * a new segment is started when the current one reaches the segment size and on every opening of the spool,
+ * so a line torn by a crash is never continued. Progress of the reader is kept in the checkpoint file.
+ * <p>
+ * Only one process may use the directory, it is locked while the spool is open
+ */
+class HistorySpool implements Closeable {
+    private static final Logger logger = LogManager.getLogger(HistorySpool.class);
+    private static final String SEGMENT_PREFIX = "history-";
+    private static final String SEGMENT_SUFFIX = ".jsonl";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final String LOCK_FILE = "spool.lock";
+    private static final int READ_BUFFER_SIZE = 1 << 20;
+
+    /**
+     * Position in the spool: segment number and byte offset in the segment
+     */
+    static class Position implements Comparable<Position> {
+        private final long segment;
+        private final long offset;
+
+        Position(long segment, long offset) {
+            this.segment = segment;
+            this.offset = offset;
+        }
+
+        long getSegment() {
+            return segment;
+        }
+
+        long getOffset() {
+            return offset;
+        }
+
+        @Override
+        public int compareTo(Position position) {
+            return segment != position.segment
+                    ? Long.compare(segment, position.segment)
+                    : Long.compare(offset, position.offset);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) return true;
+            if (object == null || getClass() != object.getClass()) return false;
+            Position position = (Position) object;
+            return segment == position.segment && offset == position.offset;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(segment, offset);
+        }
+
+        @Override
+        public String toString() {
+            return segment + " " + offset;
+        }
+    }
+
+    /**
+     * Lines read from the spool and the position after the last of them
+     */
+    static class Chunk {
+        private final List<String> lines;
+        private final Position next;
+
+        private Chunk(List<String> lines, Position next) {
+            this.lines = lines;
+            this.next = next;
+        }
+
+        List<String> getLines() {
+            return lines;
+        }
+
+        Position getNext() {
+            return next;
+        }
+    }
+
+    private final Path directory;
+    private final long segmentSize;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private FileChannel channel;
+    private long segment;
+    private long size;
+
+    private HistorySpool(Path directory, long segmentSize, FileChannel lockChannel, FileLock lock) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.lockChannel = lockChannel;
+        this.lock = lock;
+
+        List<Long> segments = getSegments();
+        segment = segments.isEmpty() ? 0 : segments.get(segments.size() - 1);
+        openSegment(segment + 1);
+    }
+
+    /**
+     * @param directory directory of the spool, it is created if it does not exist
+     * @param segmentSize size in bytes after which a new segment is started
+     * @return opened spool
+     * @throws IOException if directory can not be created or it is used by another process
+     */
+    static HistorySpool open(Path directory, long segmentSize) throws IOException {
+        Files.createDirectories(directory);
+        FileChannel lockChannel = FileChannel.open(
+                directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE
+        );
+        FileLock lock;
+        try {
+            lock = lockChannel.tryLock();
+        }
+        catch (OverlappingFileLockException exception) {
+            lock = null;
+        }
+        if (lock == null) {
+            lockChannel.close();
+            throw new IOException("History spool " + directory + " is used by another process");
+        }
+        return new HistorySpool(directory, segmentSize, lockChannel, lock);
+    }
+
+    /**
+     * Appends record to the end of the current segment
+     * @param line record without line breaks
+     */
+    synchronized void append(String line) throws IOException {
+        byte[] bytes = (line + '\n').getBytes(StandardCharsets.UTF_8);
+        if (size > 0 && size + bytes.length > segmentSize)
+            openSegment(segment + 1);
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        size += bytes.length;
+    }
+
+    /**
+     * @return position after the last appended record
+     */
+    synchronized Position getEnd() {
+        return new Position(segment, size);
+    }
+
+    /**
+     * Reads complete records starting from the position. If the segment of the position has no more records
+     * and there is a newer segment, the returned chunk is empty and points to the start of the newer one
+     * @param from position of the first record
+     * @param maxLines max number of records
+     */
+    Chunk read(Position from, int maxLines) throws IOException {
+        Path path = getSegmentPath(from.getSegment());
+        List<String> lines = new ArrayList<>();
+        long offset = from.getOffset();
+
+        if (Files.exists(path)) {
+            try (FileChannel reader = FileChannel.open(path, StandardOpenOption.READ)) {
+                ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+                while (lines.size() < maxLines) {
+                    buffer.clear();
+                    int count = reader.read(buffer, offset);
+                    if (count <= 0)
+                        break;
+
+                    byte[] bytes = buffer.array();
+                    int start = 0;
+                    for (int i = 0; i < count && lines.size() < maxLines; i++) {
+                        if (bytes[i] != '\n')
+                            continue;
+                        lines.add(new String(bytes, start, i - start, StandardCharsets.UTF_8));
+                        start = i + 1;
+                    }
+                    if (start == 0) {
+                        if (count == buffer.capacity())
+                            buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+                        else
+                            break;
+                    }
+                    offset += start;
+                }
+            }
+        }
+
+        Position next = new Position(from.getSegment(), offset);
+        if (lines.isEmpty()) {
+            Long newer = getSegments().stream().filter(number -> number > from.getSegment()).findFirst().orElse(null);
+            if (newer != null) {
+                if (Files.exists(path) && Files.size(path) > offset)
+                    logger.warn("read[1]: incomplete record at the end of {} is skipped", path);
+                next = new Position(newer, 0);
+            }
+        }
+        return new Chunk(lines, next);
+    }
+
+    /**
+     * @return position saved by the reader, start of the oldest segment if there is no checkpoint
+     */
+    Position readCheckpoint() throws IOException {
+        Path path = directory.resolve(CHECKPOINT_FILE);
+        if (Files.exists(path)) {
+            String[] values = Files.readString(path).strip().split(" ");
+            return new Position(Long.parseLong(values[0]), Long.parseLong(values[1]));
+        }
+        List<Long> segments = getSegments();
+        return new Position(segments.isEmpty() ? 0 : segments.get(0), 0);
+    }
+
+    /**
+     * Saves position of the reader and deletes segments which are read completely
+     */
+    void writeCheckpoint(Position position) throws IOException {
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        Files.writeString(temp, position.toString());
+        Files.move(temp, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        for (long number : getSegments()) {
+            if (number >= position.getSegment())
+                break;
+            Files.deleteIfExists(getSegmentPath(number));
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            channel.close();
+        }
+        finally {
+            lock.release();
+            lockChannel.close();
+        }
+    }
+
+    private void openSegment(long number) throws IOException {
+        if (channel != null)
+            channel.close();
+        channel = FileChannel.open(
+                getSegmentPath(number), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND
+        );
+        segment = number;
+        size = channel.size();
+        logger.debug("openSegment[1]: history is written to segment {}", number);
+    }
+
+    private Path getSegmentPath(long number) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+
+    private List<Long> getSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+}
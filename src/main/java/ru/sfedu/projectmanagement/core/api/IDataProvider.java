@@ -7,14 +7,17 @@ import ru.sfedu.projectmanagement.core.model.enums.ChangeType;
 import ru.sfedu.projectmanagement.core.model.enums.WorkStatus;
 import ru.sfedu.projectmanagement.core.utils.types.HistoryRecord;
 import ru.sfedu.projectmanagement.core.utils.types.NoData;
+import ru.sfedu.projectmanagement.core.utils.types.Page;
 import ru.sfedu.projectmanagement.core.utils.types.Result;
 import ru.sfedu.projectmanagement.core.utils.types.TrackInfo;
 import ru.sfedu.projectmanagement.core.model.enums.ActionStatus;
+import ru.sfedu.projectmanagement.core.utils.Keyset;
 import ru.sfedu.projectmanagement.core.utils.ResultCode;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 public interface IDataProvider {
     Logger logger = LogManager.getLogger(IDataProvider.class);
@@ -77,6 +80,8 @@ public interface IDataProvider {
 
 
     /**
+     * Readiness is taken from the summary of the project, statuses are listed for every entity,
+     * so tasks and bug reports are still read
      * @param projectId id of the project
      * @param checkLaborEfficiency boolean flag which includes information about employees labor efficiency if true
      * @param trackBugs boolean flag which includes information about bug reports status if true
@@ -98,19 +103,63 @@ public interface IDataProvider {
         return statistics;
     }
 
+    /**
+     * Same statistics as {@link #monitorProjectCharacteristics(UUID, boolean, boolean)} kept in arrays,
+     * {@link TrackInfo} views are built only if they are requested.
+     * Readiness and numbers of entities by status are taken from the summary of the project
+     * @param projectId id of the project
+     * @param checkLaborEfficiency if true, labor efficiency of the team is calculated
+     * @param trackBugs if true, statuses of bug reports are tracked
+     * @return compact statistics of the project
+     */
+    default CompactProjectStatistics collectProjectStatistics(
+            UUID projectId, boolean checkLaborEfficiency, boolean trackBugs
+    ) {
+        List<Task> tasks = Optional.ofNullable(getTasksByProjectId(projectId).getData()).orElse(List.of());
+
+        List<Employee> team = null;
+        float[] laborEfficiency = null;
+        if (checkLaborEfficiency) {
+            team = Optional.ofNullable(getProjectTeam(projectId).getData()).orElse(List.of());
+            Map<UUID, List<Task>> tasksByEmployee = team.isEmpty() ? Map.of() : Optional.ofNullable(
+                    getTasksByEmployeeIds(team.stream().map(Employee::getId).toList()).getData()
+            ).orElse(Map.of());
+
+            laborEfficiency = new float[team.size()];
+            for (int i = 0; i < team.size(); i++) {
+                List<Task> employeeTasks = tasksByEmployee.getOrDefault(team.get(i).getId(), List.of());
+                laborEfficiency[i] = employeeTasks.isEmpty() ? 0f : calculateEmployeeEfficiency(employeeTasks);
+            }
+        }
+
+        List<BugReport> bugReports = trackBugs
+                ? Optional.ofNullable(getBugReportsByProjectId(projectId).getData()).orElse(List.of())
+                : null;
+        ProjectSummary summary = getProjectSummary(projectId).getData();
+        return summary == null
+                ? new CompactProjectStatistics(tasks, team, laborEfficiency, bugReports)
+                : new CompactProjectStatistics(summary, tasks, team, laborEfficiency, bugReports);
+    }
+
     /**
      * @param projectId id of the project
      * @return the percentage of the project readiness. It is calculated by number of completed tasks
      */
     default float calculateProjectReadiness(UUID projectId) {
-        List<Task> tasks = getTasksByProjectId(projectId).getData();
-        if (!tasks.isEmpty()) {
-            int countOfCompletedTasks = (int) tasks.stream()
-                    .filter(task -> task.getStatus() == WorkStatus.COMPLETED).count();
+        return Optional.ofNullable(getProjectSummary(projectId).getData())
+                .map(ProjectSummary::getReadiness)
+                .orElse(0f);
+    }
 
-            return ((float) countOfCompletedTasks / tasks.size()) * 100.0f;
-        }
-        return 0;
+    /**
+     * Providers should override it to keep the summary up to date instead of counting it on every call
+     * @param projectId id of the project
+     * @return Result with numbers of tasks and bug reports of the project by their statuses
+     */
+    default Result<ProjectSummary> getProjectSummary(UUID projectId) {
+        List<Task> tasks = Optional.ofNullable(getTasksByProjectId(projectId).getData()).orElse(List.of());
+        List<BugReport> bugReports = Optional.ofNullable(getBugReportsByProjectId(projectId).getData()).orElse(List.of());
+        return new Result<>(ProjectSummary.of(projectId, tasks, bugReports), ResultCode.SUCCESS);
     }
 
 
@@ -125,8 +174,13 @@ public interface IDataProvider {
 
         if (team.isEmpty()) return new TrackInfo<>();
 
+        // tasks of the whole team are read at once
+        Map<UUID, List<Task>> tasksByEmployee = Optional.ofNullable(
+                getTasksByEmployeeIds(team.stream().map(Employee::getId).toList()).getData()
+        ).orElse(Map.of());
+
         team.forEach(employee -> {
-            List<Task> employeeTasks = getTasksByEmployeeId(employee.getId()).getData();
+            List<Task> employeeTasks = tasksByEmployee.getOrDefault(employee.getId(), List.of());
             if (employeeTasks.isEmpty()) {
                 result.addData(employee, 0f);
                 return;
@@ -271,12 +325,50 @@ public interface IDataProvider {
      */
     Result<List<Task>> getTasksByProjectId(UUID projectId);
 
+    /**
+     * Reads tasks of the project one by one, providers override it to keep only a part of them in memory.
+     * The stream may hold a file or a connection open and must be closed
+     * @param projectId id of the project
+     * @return lazy stream of tasks, empty stream if the project doesn't exist or they can't be read
+     */
+    default Stream<Task> streamTasksByProjectId(UUID projectId) {
+        return Optional.ofNullable(getTasksByProjectId(projectId).getData()).orElse(List.of()).stream();
+    }
+
+    /**
+     * Page of tasks of the project ordered by creation date and id, see {@link Keyset}
+     * @param projectId id of the project
+     * @param cursor cursor of the page returned before, null for the first page
+     * @param limit max number of tasks on the page
+     * @return Result with the page, INVALID_DATA if the cursor or the limit is invalid
+     */
+    default Result<Page<Task>> getTasksByProjectId(UUID projectId, String cursor, int limit) {
+        try (Stream<Task> items = streamTasksByProjectId(projectId)) {
+            return Keyset.page(items, cursor, limit);
+        }
+    }
+
     /**
      * @param employeeId id of the employee
      * @return Result with ArrayList of tasks, execution code and message if it fails
      */
     Result<List<Task>> getTasksByEmployeeId(UUID employeeId);
 
+    /**
+     * Gets tasks of several employees. Providers should override it to read tasks once for all employees
+     * @param employeeIds ids of the employees
+     * @return Result with tasks grouped by id of the employee, employees without tasks have no entry
+     */
+    default Result<Map<UUID, List<Task>>> getTasksByEmployeeIds(Collection<UUID> employeeIds) {
+        Map<UUID, List<Task>> tasks = new HashMap<>();
+        for (UUID employeeId : employeeIds) {
+            List<Task> employeeTasks = getTasksByEmployeeId(employeeId).getData();
+            if (employeeTasks != null && !employeeTasks.isEmpty())
+                tasks.put(employeeId, employeeTasks);
+        }
+        return new Result<>(tasks, ResultCode.SUCCESS);
+    }
+
     /**
      * @param taskId id of the task you want to get by id
      * @return Result with Task, execution code and message if it fails
@@ -289,6 +381,29 @@ public interface IDataProvider {
      */
     Result<List<BugReport>> getBugReportsByProjectId(UUID projectId);
 
+    /**
+     * Reads bug reports of the project one by one, providers override it to keep only a part of them in memory.
+     * The stream may hold a file or a connection open and must be closed
+     * @param projectId id of the project
+     * @return lazy stream of bug reports, empty stream if the project doesn't exist or they can't be read
+     */
+    default Stream<BugReport> streamBugReportsByProjectId(UUID projectId) {
+        return Optional.ofNullable(getBugReportsByProjectId(projectId).getData()).orElse(List.of()).stream();
+    }
+
+    /**
+     * Page of bug reports of the project ordered by creation date and id, see {@link Keyset}
+     * @param projectId id of the project
+     * @param cursor cursor of the page returned before, null for the first page
+     * @param limit max number of bug reports on the page
+     * @return Result with the page, INVALID_DATA if the cursor or the limit is invalid
+     */
+    default Result<Page<BugReport>> getBugReportsByProjectId(UUID projectId, String cursor, int limit) {
+        try (Stream<BugReport> items = streamBugReportsByProjectId(projectId)) {
+            return Keyset.page(items, cursor, limit);
+        }
+    }
+
     /**
      * @param bugReportId id of BugReport you want to get
      * @return Result with BugReport, execution code and message if it fails
@@ -301,6 +416,29 @@ public interface IDataProvider {
      */
     Result<List<Event>> getEventsByProjectId(UUID projectId);
 
+    /**
+     * Reads events of the project one by one, providers override it to keep only a part of them in memory.
+     * The stream may hold a file or a connection open and must be closed
+     * @param projectId id of the project
+     * @return lazy stream of events, empty stream if the project doesn't exist or they can't be read
+     */
+    default Stream<Event> streamEventsByProjectId(UUID projectId) {
+        return Optional.ofNullable(getEventsByProjectId(projectId).getData()).orElse(List.of()).stream();
+    }
+
+    /**
+     * Page of events of the project ordered by creation date and id, see {@link Keyset}
+     * @param projectId id of the project
+     * @param cursor cursor of the page returned before, null for the first page
+     * @param limit max number of events on the page
+     * @return Result with the page, INVALID_DATA if the cursor or the limit is invalid
+     */
+    default Result<Page<Event>> getEventsByProjectId(UUID projectId, String cursor, int limit) {
+        try (Stream<Event> items = streamEventsByProjectId(projectId)) {
+            return Keyset.page(items, cursor, limit);
+        }
+    }
+
     /**
      * @param eventId id of the event
      * @return Result with Event, execution code and message if it fails
@@ -313,6 +451,29 @@ public interface IDataProvider {
      */
     Result<List<Documentation>> getDocumentationsByProjectId(UUID projectId);
 
+    /**
+     * Reads documentations of the project one by one, providers override it to keep only a part of them in memory.
+     * The stream may hold a file or a connection open and must be closed
+     * @param projectId id of the project
+     * @return lazy stream of documentations, empty stream if the project doesn't exist or they can't be read
+     */
+    default Stream<Documentation> streamDocumentationsByProjectId(UUID projectId) {
+        return Optional.ofNullable(getDocumentationsByProjectId(projectId).getData()).orElse(List.of()).stream();
+    }
+
+    /**
+     * Page of documentations of the project ordered by creation date and id, see {@link Keyset}
+     * @param projectId id of the project
+     * @param cursor cursor of the page returned before, null for the first page
+     * @param limit max number of documentations on the page
+     * @return Result with the page, INVALID_DATA if the cursor or the limit is invalid
+     */
+    default Result<Page<Documentation>> getDocumentationsByProjectId(UUID projectId, String cursor, int limit) {
+        try (Stream<Documentation> items = streamDocumentationsByProjectId(projectId)) {
+            return Keyset.page(items, cursor, limit);
+        }
+    }
+
     /**
      * @param docId id of the documentation
      * @return Result  with Documentation, execution code and message if it fails
@@ -325,12 +486,41 @@ public interface IDataProvider {
      */
     Result<List<Employee>> getProjectTeam(UUID projectId);
 
+    /**
+     * Reads employees of the project one by one, providers override it to keep only a part of them in memory.
+     * The stream may hold a file or a connection open and must be closed
+     * @param projectId id of the project
+     * @return lazy stream of employees, empty stream if the project doesn't exist or they can't be read
+     */
+    default Stream<Employee> streamProjectTeam(UUID projectId) {
+        return Optional.ofNullable(getProjectTeam(projectId).getData()).orElse(List.of()).stream();
+    }
+
+    /**
+     * Page of employees of the project ordered by id, see {@link Keyset}
+     * @param projectId id of the project
+     * @param cursor cursor of the page returned before, null for the first page
+     * @param limit max number of employees on the page
+     * @return Result with the page, INVALID_DATA if the cursor or the limit is invalid
+     */
+    default Result<Page<Employee>> getProjectTeam(UUID projectId, String cursor, int limit) {
+        try (Stream<Employee> items = streamProjectTeam(projectId)) {
+            return Keyset.pageEmployees(items, cursor, limit);
+        }
+    }
+
     /**
      * @param employeeId id of the employee whose data is being extracted
      * @return Result with Employee, execution code and message if it fails
      */
     Result<Employee> getEmployeeById(UUID employeeId);
 
+    /**
+     * Reads tasks, bug reports and teams of all projects, every store is read once
+     * @return Result with Portfolio, execution code and message if it fails
+     */
+    Result<Portfolio> getPortfolio();
+
     Result<NoData> completeTask(UUID taskId);
 
     default Result<NoData> initProjectEntities(Project project) {
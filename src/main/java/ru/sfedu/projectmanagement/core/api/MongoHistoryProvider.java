@@ -1,37 +1,289 @@
 package ru.sfedu.projectmanagement.core.api;
 
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoException;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Sorts;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.bson.Document;
+import org.bson.conversions.Bson;
+import ru.sfedu.projectmanagement.core.model.enums.ActionStatus;
+import ru.sfedu.projectmanagement.core.model.enums.ChangeType;
+import ru.sfedu.projectmanagement.core.utils.ResultCode;
+import ru.sfedu.projectmanagement.core.utils.bson.HistoryCodecs;
 import ru.sfedu.projectmanagement.core.utils.types.HistoryRecord;
+import ru.sfedu.projectmanagement.core.utils.types.Page;
+import ru.sfedu.projectmanagement.core.utils.types.Result;
 import ru.sfedu.projectmanagement.core.Constants;
 import ru.sfedu.projectmanagement.core.utils.config.ConfigPropertiesUtil;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
 public class MongoHistoryProvider {
     private static final Logger logger = LogManager.getLogger(MongoHistoryProvider.class);
 
+    public static final int DEFAULT_QUEUE_SIZE = 10_000;
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final long DEFAULT_FLUSH_INTERVAL = 1_000;
+    public static final long DEFAULT_SPOOL_SEGMENT_SIZE = 16L << 20;
+    private static final long CLOSE_TIMEOUT = 5_000;
+
+    private static final Object clientLock = new Object();
+    private static MongoClient client;
+    private static MongoHistoryWriter writer;
+    private static HistorySpool spool;
+    private static HistoryShipper shipper;
+    private static boolean shutdownHookAdded;
+    private static boolean spoolFailed;
+    private static final String ID_KEY = "_id";
+    private static final String COUNT_KEY = "count";
+    private static final String CURSOR_SEPARATOR = "_";
+    private static final Set<String> indexedCollections = ConcurrentHashMap.newKeySet();
+
     /**
-     * Method that saves entity history record in Mongo db
+     * Method that saves entity history record in Mongo db. The record is converted to a document at once
+     * and written in background, so the caller does not wait for the database.
+     * If the spool is enabled the record is appended to the local spool first and survives restarts and
+     * unavailability of the database, otherwise it waits for writing in memory
      * @param record history record object
      * @param <T> type of history record
      */
     public static <T> void save(HistoryRecord<T> record) {
-        String dbName = Environment.valueOf(ConfigPropertiesUtil.getEnvironmentVariable(Constants.ENVIRONMENT)) == Environment.TEST ?
-                Constants.MONGO_DB_NAME_TEST : Constants.MONGO_DB_NAME_PRODUCTION;
         try {
-            logger.debug("save[0]: record{\n{}\n}", record.toString());
-            MongoCollection<Document> collection = getCollection(dbName, record.getObject().getClass());
-            collection.insertOne(record.convertToDocument());
+            String dbName = getDbName();
+            logger.debug("save[0]: record{\n{}\n}", record);
+
+            String collectionName = record.getObject().getClass().getSimpleName().toLowerCase();
+            Document document = record.convertToDocument();
+            if (document == null)
+                return;
+            // id of the record makes replay of the spool idempotent
+            document.put(ID_KEY, record.getId().toString());
+
+            HistorySpool currentSpool = getSpool();
+            if (currentSpool != null) {
+                try {
+                    currentSpool.append(HistoryShipper.toLine(dbName, collectionName, document));
+                    return;
+                }
+                catch (IOException exception) {
+                    logger.error("save[1]: record {} was not written to spool: {}", record.getId(), exception.getMessage());
+                }
+            }
+
+            if (!getWriter().add(dbName, collectionName, document))
+                logger.warn("save[2]: history queue is full, record {} was dropped", record.getId());
         }
         catch (IllegalArgumentException | NullPointerException exception) {
             logger.error(exception);
         }
     }
 
+    /**
+     * Waits until saved history records are written to the database
+     * @param timeoutMillis max time of waiting
+     * @return true if all records were written or dropped
+     */
+    public static boolean flush(long timeoutMillis) {
+        try {
+            long deadline = System.currentTimeMillis() + timeoutMillis;
+            HistoryShipper currentShipper = getShipper();
+            if (currentShipper != null && !currentShipper.flush(timeoutMillis))
+                return false;
+            return getWriter().flush(Math.max(deadline - System.currentTimeMillis(), 0));
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * @return number of history records which were dropped because the queue was full or writing failed
+     */
+    public static long getDroppedCount() {
+        return getWriter().getDroppedCount();
+    }
+
+    /**
+     * @param entityClass class of the entity
+     * @param entityId id of the entity
+     * @return history records of the entity from the oldest to the newest
+     */
+    public static Result<List<Document>> getEntityHistory(Class<?> entityClass, UUID entityId) {
+        try {
+            List<Document> records = getHistoryCollection(entityClass)
+                    .find(Filters.eq(Constants.MONGO_HISTORY_ENTITY_ID, entityId.toString()))
+                    .sort(Sorts.ascending(Constants.MONGO_HISTORY_CREATED_AT))
+                    .into(new ArrayList<>());
+            logger.debug("getEntityHistory[1]: {} records of {} {}", records.size(), entityClass.getSimpleName(), entityId);
+            return new Result<>(records, ResultCode.SUCCESS);
+        }
+        catch (RuntimeException exception) {
+            logger.error("getEntityHistory[2]: {}", exception.getMessage());
+            return new Result<>(null, ResultCode.ERROR, exception.getMessage());
+        }
+    }
+
+    /**
+     * Lists history records of the time window ordered by creation time
+     * @param entityClass class of the entity
+     * @param from start of the window, inclusive, null if the window is not bounded
+     * @param to end of the window, exclusive, null if the window is not bounded
+     * @param cursor cursor of the page returned before, null for the first page
+     * @param limit max number of records in the page
+     * @return page of history records
+     */
+    public static Result<Page<Document>> getHistory(Class<?> entityClass, Date from, Date to, String cursor, int limit) {
+        if (limit <= 0)
+            return new Result<>(null, ResultCode.INVALID_DATA, String.format(Constants.INVALID_PAGE_LIMIT, limit));
+
+        try {
+            List<Bson> filters = new ArrayList<>(getTimeFilters(from, to));
+            if (cursor != null) {
+                int separator = cursor.indexOf(CURSOR_SEPARATOR);
+                if (separator < 0)
+                    return new Result<>(null, ResultCode.INVALID_DATA, String.format(Constants.INVALID_CURSOR, cursor));
+                Date createdAt = new Date(Long.parseLong(cursor.substring(0, separator)));
+                String id = cursor.substring(separator + 1);
+                filters.add(Filters.or(
+                        Filters.gt(Constants.MONGO_HISTORY_CREATED_AT, createdAt),
+                        Filters.and(Filters.eq(Constants.MONGO_HISTORY_CREATED_AT, createdAt), Filters.gt(ID_KEY, id))
+                ));
+            }
+
+            List<Document> records = getHistoryCollection(entityClass)
+                    .find(filters.isEmpty() ? new Document() : Filters.and(filters))
+                    .sort(Sorts.ascending(Constants.MONGO_HISTORY_CREATED_AT, ID_KEY))
+                    .limit(limit + 1)
+                    .into(new ArrayList<>());
+
+            String nextCursor = null;
+            if (records.size() > limit) {
+                records = records.subList(0, limit);
+                Document last = records.get(limit - 1);
+                nextCursor = last.getDate(Constants.MONGO_HISTORY_CREATED_AT).getTime() + CURSOR_SEPARATOR + last.get(ID_KEY);
+            }
+            logger.debug("getHistory[1]: {} records of {}", records.size(), entityClass.getSimpleName());
+            return new Result<>(new Page<>(records, nextCursor), ResultCode.SUCCESS);
+        }
+        catch (NumberFormatException exception) {
+            return new Result<>(null, ResultCode.INVALID_DATA, String.format(Constants.INVALID_CURSOR, cursor));
+        }
+        catch (RuntimeException exception) {
+            logger.error("getHistory[2]: {}", exception.getMessage());
+            return new Result<>(null, ResultCode.ERROR, exception.getMessage());
+        }
+    }
+
+    /**
+     * @param entityClass class of the entity
+     * @param from start of the window, inclusive, null if the window is not bounded
+     * @param to end of the window, exclusive, null if the window is not bounded
+     * @return number of history records of every change type
+     */
+    public static Result<Map<ChangeType, Long>> countByChangeType(Class<?> entityClass, Date from, Date to) {
+        return count(entityClass, from, to, Constants.MONGO_HISTORY_CHANGE_TYPE, ChangeType::valueOf);
+    }
+
+    /**
+     * @param entityClass class of the entity
+     * @param from start of the window, inclusive, null if the window is not bounded
+     * @param to end of the window, exclusive, null if the window is not bounded
+     * @return number of history records of every action status
+     */
+    public static Result<Map<ActionStatus, Long>> countByStatus(Class<?> entityClass, Date from, Date to) {
+        return count(entityClass, from, to, Constants.MONGO_HISTORY_STATUS, ActionStatus::valueOf);
+    }
+
+    private static <K> Result<Map<K, Long>> count(
+            Class<?> entityClass, Date from, Date to, String field, Function<String, K> keyMapper
+    ) {
+        try {
+            List<Bson> pipeline = new ArrayList<>();
+            List<Bson> filters = getTimeFilters(from, to);
+            if (!filters.isEmpty())
+                pipeline.add(Aggregates.match(Filters.and(filters)));
+            pipeline.add(Aggregates.group("$" + field, Accumulators.sum(COUNT_KEY, 1)));
+
+            Map<K, Long> counts = new TreeMap<>();
+            for (Document group : getHistoryCollection(entityClass).aggregate(pipeline)) {
+                String key = group.getString(ID_KEY);
+                if (key != null)
+                    counts.put(keyMapper.apply(key), ((Number) group.get(COUNT_KEY)).longValue());
+            }
+            logger.debug("count[1]: {} of {}: {}", field, entityClass.getSimpleName(), counts);
+            return new Result<>(counts, ResultCode.SUCCESS);
+        }
+        catch (RuntimeException exception) {
+            logger.error("count[2]: {}", exception.getMessage());
+            return new Result<>(null, ResultCode.ERROR, exception.getMessage());
+        }
+    }
+
+    private static List<Bson> getTimeFilters(Date from, Date to) {
+        List<Bson> filters = new ArrayList<>();
+        if (from != null)
+            filters.add(Filters.gte(Constants.MONGO_HISTORY_CREATED_AT, from));
+        if (to != null)
+            filters.add(Filters.lt(Constants.MONGO_HISTORY_CREATED_AT, to));
+        return filters;
+    }
+
+    private static MongoCollection<Document> getHistoryCollection(Class<?> entityClass) {
+        MongoCollection<Document> collection = getCollection(getDbName(), entityClass);
+        createIndexes(collection);
+        return collection;
+    }
+
+    /**
+     * Creates indexes of history lookups once per collection: by entity and by time
+     */
+    private static void createIndexes(MongoCollection<Document> collection) {
+        String key = collection.getNamespace().getFullName();
+        if (indexedCollections.contains(key))
+            return;
+
+        try {
+            collection.createIndexes(List.of(
+                    new IndexModel(Indexes.ascending(Constants.MONGO_HISTORY_ENTITY_ID, Constants.MONGO_HISTORY_CREATED_AT)),
+                    new IndexModel(Indexes.ascending(Constants.MONGO_HISTORY_CREATED_AT, ID_KEY))
+            ));
+            indexedCollections.add(key);
+            logger.debug("createIndexes[1]: indexes of {} are created", key);
+        }
+        catch (MongoException exception) {
+            // records are still written, indexes are created on the next access
+            logger.error("createIndexes[2]: {}", exception.getMessage());
+        }
+    }
+
+    private static String getDbName() {
+        return isTestEnvironment() ? Constants.MONGO_DB_NAME_TEST : Constants.MONGO_DB_NAME_PRODUCTION;
+    }
+
     /**
      * Method that gets collection of database with entity class name
      * @param dbName database name
@@ -49,13 +301,166 @@ public class MongoHistoryProvider {
      * @return MongoDB document
      */
     public static MongoCollection<Document> getCollection(String dbName, String collectionName) throws IllegalArgumentException, NullPointerException {
-        String mongoUrl = ConfigPropertiesUtil.getEnvironmentVariable(Constants.MONGO_URL);
-        logger.debug("getCollection[1]: mongo URL: {}", mongoUrl);
+        MongoDatabase db = getClient().getDatabase(dbName);
+        logger.debug("getCollection[1]: mongo database name is {}", db.getName());
+
+        return db.getCollection(collectionName.toLowerCase()).withCodecRegistry(HistoryCodecs.REGISTRY);
+    }
+
+    /**
+     * @return client shared by all collections, it is created on first access
+     */
+    private static MongoClient getClient() {
+        synchronized (clientLock) {
+            if (client == null) {
+                String mongoUrl = ConfigPropertiesUtil.getEnvironmentVariable(Constants.MONGO_URL);
+                logger.debug("getClient[1]: mongo URL: {}", mongoUrl);
+                client = MongoClients.create(mongoUrl);
+            }
+            return client;
+        }
+    }
+
+    private static synchronized MongoHistoryWriter getWriter() {
+        if (writer == null) {
+            writer = new MongoHistoryWriter(
+                    getInt(Constants.MONGO_HISTORY_QUEUE_SIZE, DEFAULT_QUEUE_SIZE),
+                    getInt(Constants.MONGO_HISTORY_BATCH_SIZE, DEFAULT_BATCH_SIZE),
+                    getLong(Constants.MONGO_HISTORY_FLUSH_INTERVAL, DEFAULT_FLUSH_INTERVAL),
+                    Optional.ofNullable(ConfigPropertiesUtil.getEnvironmentVariable(Constants.MONGO_HISTORY_OVERFLOW_POLICY))
+                            .map(MongoHistoryWriter.OverflowPolicy::valueOf)
+                            .orElse(MongoHistoryWriter.OverflowPolicy.DROP_NEWEST),
+                    MongoHistoryProvider::insertDocuments
+            );
+            addShutdownHook();
+        }
+        return writer;
+    }
+
+    /**
+     * @return spool of history records, null if it is disabled or can not be opened
+     */
+    private static synchronized HistorySpool getSpool() {
+        if (spool == null && getFlag(Constants.MONGO_HISTORY_SPOOL_ENABLED, true)) {
+            Path directory = Path.of(Optional.ofNullable(ConfigPropertiesUtil.getEnvironmentVariable(Constants.MONGO_HISTORY_SPOOL_PATH))
+                    .orElse(isTestEnvironment() ? Constants.HISTORY_SPOOL_TEST_PATH : Constants.HISTORY_SPOOL_PATH));
+            try {
+                spool = HistorySpool.open(
+                        directory, getLong(Constants.MONGO_HISTORY_SPOOL_SEGMENT_SIZE, DEFAULT_SPOOL_SEGMENT_SIZE)
+                );
+                shipper = new HistoryShipper(
+                        spool,
+                        getInt(Constants.MONGO_HISTORY_BATCH_SIZE, DEFAULT_BATCH_SIZE),
+                        getLong(Constants.MONGO_HISTORY_FLUSH_INTERVAL, DEFAULT_FLUSH_INTERVAL),
+                        MongoHistoryProvider::insertDocuments
+                );
+                addShutdownHook();
+                logger.info("getSpool[1]: history is spooled to {}", directory);
+            }
+            catch (IOException exception) {
+                logger.error("getSpool[2]: spool is disabled: {}", exception.getMessage());
+                closeSpool();
+                spoolFailed = true;
+            }
+        }
+        return spoolFailed ? null : spool;
+    }
+
+    private static synchronized HistoryShipper getShipper() {
+        getSpool();
+        return shipper;
+    }
+
+    /**
+     * Inserts documents, documents which were inserted before (for example by an interrupted replay of the spool)
+     * are skipped
+     */
+    private static void insertDocuments(String dbName, String collectionName, List<Document> documents) {
+        try {
+            MongoCollection<Document> collection = getCollection(dbName, collectionName);
+            createIndexes(collection);
+            collection.insertMany(documents, new InsertManyOptions().ordered(false));
+        }
+        catch (MongoBulkWriteException exception) {
+            boolean onlyDuplicates = exception.getWriteErrors().stream()
+                    .allMatch(error -> ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY);
+            if (!onlyDuplicates)
+                throw exception;
+        }
+    }
+
+    private static void addShutdownHook() {
+        if (!shutdownHookAdded) {
+            Runtime.getRuntime().addShutdownHook(new Thread(MongoHistoryProvider::close, "mongo-history-shutdown"));
+            shutdownHookAdded = true;
+        }
+    }
+
+    private static boolean isTestEnvironment() {
+        return Environment.valueOf(ConfigPropertiesUtil.getEnvironmentVariable(Constants.ENVIRONMENT)) == Environment.TEST;
+    }
+
+    /**
+     * Writes remaining history records and closes the client
+     */
+    public static void close() {
+        MongoHistoryWriter currentWriter;
+        synchronized (MongoHistoryProvider.class) {
+            currentWriter = writer;
+            writer = null;
+        }
+
+        try {
+            closeSpool();
+            if (currentWriter != null)
+                currentWriter.close(CLOSE_TIMEOUT);
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            synchronized (clientLock) {
+                if (client != null)
+                    client.close();
+                client = null;
+            }
+        }
+    }
+
+    private static synchronized void closeSpool() {
+        try {
+            if (shipper != null)
+                shipper.close(CLOSE_TIMEOUT);
+            if (spool != null)
+                spool.close();
+        }
+        catch (IOException exception) {
+            logger.error("closeSpool[1]: {}", exception.getMessage());
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            shipper = null;
+            spool = null;
+        }
+    }
 
-        MongoClient mongoClient = MongoClients.create(mongoUrl);
-        MongoDatabase db = mongoClient.getDatabase(dbName);
-        logger.debug("getCollection[2]: mongo database name is {}", db.getName());
+    private static boolean getFlag(String key, boolean defaultValue) {
+        return Optional.ofNullable(ConfigPropertiesUtil.getEnvironmentVariable(key))
+                .map(Boolean::parseBoolean)
+                .orElse(defaultValue);
+    }
+
+    private static int getInt(String key, int defaultValue) {
+        return Optional.ofNullable(ConfigPropertiesUtil.getEnvironmentVariable(key))
+                .map(Integer::parseInt)
+                .orElse(defaultValue);
+    }
 
-        return db.getCollection(collectionName.toLowerCase());
+    private static long getLong(String key, long defaultValue) {
+        return Optional.ofNullable(ConfigPropertiesUtil.getEnvironmentVariable(key))
+                .map(Long::parseLong)
+                .orElse(defaultValue);
     }
 }
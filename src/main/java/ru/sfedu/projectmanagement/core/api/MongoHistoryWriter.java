@@ -0,0 +1,241 @@
+package ru.sfedu.projectmanagement.core.api;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes history documents in background. Documents are kept in a bounded queue and written by one thread
+ * in batches, a batch is written when it is full or when flush interval has passed since its first document
+ */
+class MongoHistoryWriter {
+    private static final Logger logger = LogManager.getLogger(MongoHistoryWriter.class);
+
+    /**
+     * What happens with a new document when the queue is full
+     */
+    enum OverflowPolicy {
+        // caller waits for free space in the queue
+        BLOCK,
+        // new document is dropped
+        DROP_NEWEST,
+        // the oldest document of the queue is dropped
+        DROP_OLDEST
+    }
+
+    /**
+     * Writes documents to a collection of a database
+     */
+    @FunctionalInterface
+    interface BatchWriter {
+        void write(String dbName, String collectionName, List<Document> documents) throws Exception;
+    }
+
+    private static class PendingDocument {
+        private final String dbName;
+        private final String collectionName;
+        private final Document document;
+
+        private PendingDocument(String dbName, String collectionName, Document document) {
+            this.dbName = dbName;
+            this.collectionName = collectionName;
+            this.document = document;
+        }
+    }
+
+    private final BlockingQueue<PendingDocument> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final OverflowPolicy overflowPolicy;
+    private final BatchWriter batchWriter;
+    private final Thread thread;
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final Object pendingLock = new Object();
+    private long pendingCount;
+    private volatile boolean closed;
+
+    /**
+     * @param queueSize max number of documents which wait for writing
+     * @param batchSize max number of documents written at once
+     * @param flushIntervalMillis max time which a document waits for other documents of its batch
+     * @param overflowPolicy what happens with a new document when the queue is full
+     * @param batchWriter function which writes documents
+     */
+    MongoHistoryWriter(
+            int queueSize, int batchSize, long flushIntervalMillis, OverflowPolicy overflowPolicy, BatchWriter batchWriter
+    ) {
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.overflowPolicy = overflowPolicy;
+        this.batchWriter = batchWriter;
+        this.thread = new Thread(this::run, "mongo-history-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Puts document into the queue, it does not wait for writing
+     * @return false if the document was dropped
+     */
+    boolean add(String dbName, String collectionName, Document document) {
+        if (closed) {
+            droppedCount.incrementAndGet();
+            return false;
+        }
+
+        PendingDocument pending = new PendingDocument(dbName, collectionName, document);
+        synchronized (pendingLock) {
+            pendingCount++;
+        }
+
+        boolean added = switch (overflowPolicy) {
+            case BLOCK -> put(pending);
+            case DROP_NEWEST -> queue.offer(pending);
+            case DROP_OLDEST -> {
+                while (!queue.offer(pending)) {
+                    if (queue.poll() != null)
+                        onWritten(1, true);
+                }
+                yield true;
+            }
+        };
+
+        if (!added)
+            onWritten(1, true);
+        return added;
+    }
+
+    private boolean put(PendingDocument pending) {
+        try {
+            queue.put(pending);
+            return true;
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Waits until all documents which were added before are written or dropped
+     * @param timeoutMillis max time of waiting
+     * @return true if there are no documents left
+     */
+    boolean flush(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (pendingLock) {
+            while (pendingCount > 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0)
+                    return false;
+                pendingLock.wait(remaining);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes documents which are in the queue and stops the thread
+     * @param timeoutMillis max time of waiting for the queue to be written
+     */
+    void close(long timeoutMillis) throws InterruptedException {
+        closed = true;
+        thread.join(timeoutMillis);
+        if (thread.isAlive()) {
+            thread.interrupt();
+            logger.warn("close[1]: {} history records were not written", queue.size());
+        }
+    }
+
+    /**
+     * @return number of documents dropped because the queue was full or writing failed
+     */
+    long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private void run() {
+        List<PendingDocument> batch = new ArrayList<>(batchSize);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                PendingDocument first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null)
+                    continue;
+
+                batch.add(first);
+                long deadline = System.currentTimeMillis() + flushIntervalMillis;
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (queue.drainTo(batch, batchSize - batch.size()) == 0) {
+                        if (remaining <= 0 || closed)
+                            break;
+                        PendingDocument next = queue.poll(remaining, TimeUnit.MILLISECONDS);
+                        if (next == null)
+                            break;
+                        batch.add(next);
+                    }
+                }
+                write(batch);
+            }
+            catch (InterruptedException exception) {
+                write(batch);
+                // nothing will write the rest of the queue, so it is dropped and flush does not wait for it
+                closed = true;
+                List<PendingDocument> rest = new ArrayList<>();
+                queue.drainTo(rest);
+                if (!rest.isEmpty()) {
+                    logger.warn("run[1]: {} history records were dropped", rest.size());
+                    onWritten(rest.size(), true);
+                }
+                Thread.currentThread().interrupt();
+                return;
+            }
+            finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingDocument> batch) {
+        Map<List<String>, List<Document>> collections = new LinkedHashMap<>();
+        batch.forEach(pending -> collections
+                .computeIfAbsent(List.of(pending.dbName, pending.collectionName), key -> new ArrayList<>())
+                .add(pending.document)
+        );
+
+        collections.forEach((key, documents) -> {
+            boolean failed = false;
+            try {
+                batchWriter.write(key.get(0), key.get(1), documents);
+                logger.debug("write[1]: {} history records were saved to {}", documents.size(), key.get(1));
+            }
+            catch (Exception exception) {
+                failed = true;
+                if (exception instanceof InterruptedException)
+                    Thread.currentThread().interrupt();
+                logger.error("write[2]: {} history records were not saved: {}", documents.size(), exception.getMessage());
+            }
+            onWritten(documents.size(), failed);
+        });
+    }
+
+    private void onWritten(int count, boolean dropped) {
+        if (dropped)
+            droppedCount.addAndGet(count);
+        synchronized (pendingLock) {
+            pendingCount -= count;
+            if (pendingCount <= 0)
+                pendingLock.notifyAll();
+        }
+    }
+}
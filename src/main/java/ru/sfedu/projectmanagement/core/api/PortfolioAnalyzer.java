@@ -0,0 +1,200 @@
+package ru.sfedu.projectmanagement.core.api;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import ru.sfedu.projectmanagement.core.Constants;
+import ru.sfedu.projectmanagement.core.model.*;
+import ru.sfedu.projectmanagement.core.utils.ResultCode;
+import ru.sfedu.projectmanagement.core.utils.config.ConfigPropertiesUtil;
+import ru.sfedu.projectmanagement.core.utils.types.Result;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Statistics of many projects at once. The data source is read once by {@link IDataProvider#getPortfolio()},
+ * tasks and bug reports are grouped by project and statistics of the projects are calculated in parallel
+ * on a fork/join pool. Statistics of a project are the same as {@link IDataProvider#monitorProjectCharacteristics},
+ * {@link CompactProjectStatistics} keeps them without building maps keyed by entities
+ */
+public class PortfolioAnalyzer {
+    private static final Logger logger = LogManager.getLogger(PortfolioAnalyzer.class);
+    private static ForkJoinPool defaultPool;
+
+    private final IDataProvider provider;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates analyzer which runs on the shared pool,
+     * its parallelism is set by {@link Constants#PORTFOLIO_ANALYZER_THREADS}
+     * @param provider provider of the data, also calculates efficiency of employees
+     */
+    public PortfolioAnalyzer(IDataProvider provider) {
+        this(provider, getDefaultPool());
+    }
+
+    /**
+     * @param provider provider of the data, also calculates efficiency of employees
+     * @param pool pool where statistics are calculated
+     */
+    public PortfolioAnalyzer(IDataProvider provider, ForkJoinPool pool) {
+        this.provider = provider;
+        this.pool = pool;
+    }
+
+    /**
+     * @param checkLaborEfficiency if true, labor efficiency of the teams is calculated
+     * @param trackBugs if true, statuses of bug reports are tracked
+     * @return Result with statistics of every project by project id
+     */
+    public Result<Map<UUID, ProjectStatistics>> monitorPortfolioCharacteristics(
+            boolean checkLaborEfficiency, boolean trackBugs
+    ) {
+        return monitorPortfolioCharacteristics(null, checkLaborEfficiency, trackBugs);
+    }
+
+    /**
+     * @param projectIds ids of the projects, all projects if it is null
+     * @param checkLaborEfficiency if true, labor efficiency of the teams is calculated
+     * @param trackBugs if true, statuses of bug reports are tracked
+     * @return Result with statistics of the projects by project id
+     */
+    public Result<Map<UUID, ProjectStatistics>> monitorPortfolioCharacteristics(
+            Collection<UUID> projectIds, boolean checkLaborEfficiency, boolean trackBugs
+    ) {
+        Result<Map<UUID, CompactProjectStatistics>> statistics = collectPortfolioStatistics(
+                projectIds, checkLaborEfficiency, trackBugs
+        );
+        if (statistics.getCode() != ResultCode.SUCCESS)
+            return new Result<>(null, statistics.getCode(), statistics.getMessage());
+        return new Result<>(toProjectStatistics(statistics.getData()), ResultCode.SUCCESS);
+    }
+
+    /**
+     * @param projectIds ids of the projects, all projects if it is null
+     * @param checkLaborEfficiency if true, labor efficiency of the teams is calculated
+     * @param trackBugs if true, statuses of bug reports are tracked
+     * @return Result with compact statistics of the projects by project id
+     */
+    public Result<Map<UUID, CompactProjectStatistics>> collectPortfolioStatistics(
+            Collection<UUID> projectIds, boolean checkLaborEfficiency, boolean trackBugs
+    ) {
+        Result<Portfolio> portfolio = provider.getPortfolio();
+        if (portfolio.getCode() != ResultCode.SUCCESS) {
+            logger.error("collectPortfolioStatistics[1]: {}", portfolio.getMessage());
+            return new Result<>(null, portfolio.getCode(), portfolio.getMessage());
+        }
+
+        Map<UUID, CompactProjectStatistics> statistics = collect(
+                portfolio.getData(),
+                Optional.ofNullable(projectIds).orElse(portfolio.getData().getProjectIds()),
+                checkLaborEfficiency,
+                trackBugs
+        );
+        logger.debug("collectPortfolioStatistics[2]: statistics of {} projects are calculated", statistics.size());
+        return new Result<>(statistics, ResultCode.SUCCESS);
+    }
+
+    /**
+     * @param portfolio data of the projects
+     * @param projectIds ids of the projects whose statistics are calculated
+     * @param checkLaborEfficiency if true, labor efficiency of the teams is calculated
+     * @param trackBugs if true, statuses of bug reports are tracked
+     * @return statistics of the projects by project id
+     */
+    public Map<UUID, ProjectStatistics> calculate(
+            Portfolio portfolio, Collection<UUID> projectIds, boolean checkLaborEfficiency, boolean trackBugs
+    ) {
+        return toProjectStatistics(collect(portfolio, projectIds, checkLaborEfficiency, trackBugs));
+    }
+
+    /**
+     * @param portfolio data of the projects
+     * @param projectIds ids of the projects whose statistics are calculated
+     * @param checkLaborEfficiency if true, labor efficiency of the teams is calculated
+     * @param trackBugs if true, statuses of bug reports are tracked
+     * @return compact statistics of the projects by project id
+     */
+    public Map<UUID, CompactProjectStatistics> collect(
+            Portfolio portfolio, Collection<UUID> projectIds, boolean checkLaborEfficiency, boolean trackBugs
+    ) {
+        Set<UUID> selected = new HashSet<>(projectIds);
+        return pool.submit(() -> {
+            Map<UUID, List<Task>> tasks = groupByProject(portfolio.getTasks(), selected, Task::getProjectId);
+            Map<UUID, List<BugReport>> bugReports = trackBugs
+                    ? groupByProject(portfolio.getBugReports(), selected, BugReport::getProjectId)
+                    : Map.of();
+            Map<UUID, Float> efficiency = checkLaborEfficiency
+                    ? calculateEfficiency(portfolio, selected)
+                    : Map.of();
+
+            return selected.parallelStream().collect(Collectors.toMap(
+                    Function.identity(),
+                    projectId -> calculateProject(
+                            tasks.getOrDefault(projectId, List.of()),
+                            checkLaborEfficiency ? portfolio.getTeams().getOrDefault(projectId, List.of()) : null,
+                            efficiency,
+                            trackBugs ? bugReports.getOrDefault(projectId, List.of()) : null
+                    )
+            ));
+        }).join();
+    }
+
+    private static CompactProjectStatistics calculateProject(
+            List<Task> tasks, List<Employee> team, Map<UUID, Float> efficiency, List<BugReport> bugReports
+    ) {
+        float[] laborEfficiency = null;
+        if (team != null) {
+            laborEfficiency = new float[team.size()];
+            for (int i = 0; i < team.size(); i++)
+                laborEfficiency[i] = efficiency.getOrDefault(team.get(i).getId(), 0f);
+        }
+        return new CompactProjectStatistics(tasks, team, laborEfficiency, bugReports);
+    }
+
+    /**
+     * Views of the statistics are built in parallel
+     */
+    private Map<UUID, ProjectStatistics> toProjectStatistics(Map<UUID, CompactProjectStatistics> statistics) {
+        return pool.submit(() -> statistics.entrySet().parallelStream().collect(Collectors.toMap(
+                Map.Entry::getKey,
+                entry -> entry.getValue().toProjectStatistics()
+        ))).join();
+    }
+
+    /**
+     * Efficiency of an employee depends on all his tasks, so it is calculated once for every member of the teams
+     */
+    private Map<UUID, Float> calculateEfficiency(Portfolio portfolio, Set<UUID> projectIds) {
+        Set<UUID> employeeIds = projectIds.stream()
+                .flatMap(projectId -> portfolio.getTeams().getOrDefault(projectId, List.of()).stream())
+                .map(Employee::getId)
+                .collect(Collectors.toSet());
+
+        return portfolio.getTasks().parallelStream()
+                .filter(task -> task.getEmployeeId() != null && employeeIds.contains(task.getEmployeeId()))
+                .collect(Collectors.groupingByConcurrent(Task::getEmployeeId))
+                .entrySet()
+                .parallelStream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> provider.calculateEmployeeEfficiency(entry.getValue())));
+    }
+
+    private static <T> Map<UUID, List<T>> groupByProject(List<T> entities, Set<UUID> projectIds, Function<T, UUID> projectId) {
+        return entities.parallelStream()
+                .filter(entity -> projectId.apply(entity) != null && projectIds.contains(projectId.apply(entity)))
+                .collect(Collectors.groupingByConcurrent(projectId));
+    }
+
+    private static synchronized ForkJoinPool getDefaultPool() {
+        if (defaultPool == null) {
+            defaultPool = Optional.ofNullable(ConfigPropertiesUtil.getEnvironmentVariable(Constants.PORTFOLIO_ANALYZER_THREADS))
+                    .map(Integer::parseInt)
+                    .map(ForkJoinPool::new)
+                    .orElse(ForkJoinPool.commonPool());
+            logger.debug("getDefaultPool[1]: pool with parallelism {} is used", defaultPool.getParallelism());
+        }
+        return defaultPool;
+    }
+}
@@ -1,14 +1,23 @@
 package ru.sfedu.projectmanagement.core.api;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import ru.sfedu.projectmanagement.core.Queries;
 import ru.sfedu.projectmanagement.core.model.*;
+import ru.sfedu.projectmanagement.core.model.enums.BugStatus;
 import ru.sfedu.projectmanagement.core.model.enums.ChangeType;
 import ru.sfedu.projectmanagement.core.model.enums.WorkStatus;
+import ru.sfedu.projectmanagement.core.utils.Keyset;
+import ru.sfedu.projectmanagement.core.utils.PoolMetrics;
+import ru.sfedu.projectmanagement.core.utils.PostgresConnectionPool;
 import ru.sfedu.projectmanagement.core.utils.PostgresUtil;
 import ru.sfedu.projectmanagement.core.utils.types.NoData;
+import ru.sfedu.projectmanagement.core.utils.types.Page;
 import ru.sfedu.projectmanagement.core.utils.types.Result;
+import ru.sfedu.projectmanagement.core.utils.types.TrackInfo;
 import ru.sfedu.projectmanagement.core.Constants;
 import ru.sfedu.projectmanagement.core.utils.config.ConfigPropertiesUtil;
 import ru.sfedu.projectmanagement.core.utils.types.Pair;
@@ -16,15 +25,25 @@ import ru.sfedu.projectmanagement.core.utils.ResultCode;
 import ru.sfedu.projectmanagement.core.utils.ResultSetUtils;
 
 import java.sql.*;
-import java.sql.Date;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class PostgresDataProvider implements IDataProvider {
+    private static final int PROJECT_AGGREGATE_PARAMETERS = (int) Queries.GET_PROJECT_AGGREGATE_QUERY
+            .chars()
+            .filter(symbol -> symbol == '?')
+            .count();
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final int DEFAULT_FETCH_SIZE = 1000;
     private final Logger logger = LogManager.getLogger(PostgresDataProvider.class);
     private final Environment dbEnvironment;
+    private final int fetchSize = Optional.ofNullable(ConfigPropertiesUtil.getEnvironmentVariable(Constants.POSTGRES_FETCH_SIZE))
+            .map(Integer::parseInt)
+            .orElse(DEFAULT_FETCH_SIZE);
     private String dbName;
+    private volatile PostgresConnectionPool pool;
 
     public PostgresDataProvider() {
         dbEnvironment = Environment.valueOf(ConfigPropertiesUtil.getEnvironmentVariable(Constants.ENVIRONMENT));
@@ -58,32 +77,47 @@ public class PostgresDataProvider implements IDataProvider {
     }
 
     /**
-     * @return connection instance to database
+     * @return pool of connections to the database of the current environment
+     */
+    private PostgresConnectionPool getPool() {
+        if (pool == null) {
+            String dbUrl = ConfigPropertiesUtil.getEnvironmentVariable(Constants.POSTGRES_URL) + getDbName();
+            String dbUser = ConfigPropertiesUtil.getEnvironmentVariable(Constants.POSTGRES_USER);
+            String dbPassword = ConfigPropertiesUtil.getEnvironmentVariable(Constants.POSTGRES_PASSWORD);
+
+            logger.debug("getPool[1]: dbUrl = {}", dbUrl);
+            logger.debug("getPool[2]: dbUser = {}", dbUser);
+            pool = PostgresConnectionPool.get(dbUrl, dbUser, dbPassword);
+        }
+        return pool;
+    }
+
+    /**
+     * @return connection taken from the pool, it returns to the pool when it is closed
      */
     public Connection getConnection() {
-        String dbName = getDbName();
-        String dbUrl = ConfigPropertiesUtil.getEnvironmentVariable(Constants.POSTGRES_URL) + dbName;
-        String dbUser = ConfigPropertiesUtil.getEnvironmentVariable(Constants.POSTGRES_USER);
-        String dbPassword = ConfigPropertiesUtil.getEnvironmentVariable(Constants.POSTGRES_PASSWORD);
-
-        logger.debug("getConnection[1]: dbUrl = {}", dbUrl);
-        logger.debug("getConnection[2]: dbUser = {}", dbUser);
-        logger.debug("getConnection[3]: dbUrl = {}", dbPassword);
         Connection connection = null;
 
         try {
-            connection = DriverManager.getConnection(dbUrl, dbUser, dbPassword);
-            logger.debug("getConnection[4]: successful connection");
+            connection = getPool().getConnection();
+            logger.debug("getConnection[1]: successful connection");
         }
         catch (SQLException exception) {
-            logger.error("getConnection[5]: database error {}", exception.getMessage());
+            logger.error("getConnection[2]: database error {}", exception.getMessage());
         }
 
         return connection;
     }
 
     /**
-     * closes database connection
+     * @return usage statistics of the connection pool
+     */
+    public PoolMetrics getPoolMetrics() {
+        return getPool().getMetrics();
+    }
+
+    /**
+     * returns connection to the pool
      * @param connection current database connection
      */
     private void closeConnection(Connection connection) {
@@ -97,122 +131,359 @@ public class PostgresDataProvider implements IDataProvider {
     }
 
     /**
-     * prepares tables during initialization of postgres data provider
+     * prepares tables during initialization of postgres data provider,
+     * migrations which are newer than version of the database schema are applied
      */
     private void initDatabaseTables() {
-        ArrayList<String> queries = new ArrayList<>(List.of(
-                Queries.INIT_EMPLOYEE_TABLE_QUERY,
-                Queries.INIT_PROJECT_TABLE_QUERY,
-                Queries.INIT_TASK_TABLE_QUERY,
-                Queries.INIT_PROJECT_EMPLOYEE_TABLE_QUERY,
-                Queries.INIT_BUG_REPORT_TABLE_QUERY,
-                Queries.INIT_DOCUMENTATION_TABLE_QUERY,
-                Queries.INIT_EVENT_TABLE_QUERY
-        ));
-
         Connection currentConnection = getConnection();
-        queries.forEach(query -> {
-            try {
-                PreparedStatement statement = currentConnection.prepareStatement(query);
+        Result<NoData> result = runInTransaction(currentConnection, connection -> {
+            try (PreparedStatement statement = PostgresUtil.prepareStatement(
+                    connection, Queries.LOCK_SCHEMA_QUERY, Queries.SCHEMA_LOCK_KEY
+            )) {
                 statement.execute();
             }
-            catch (SQLException exception) {
-                logger.error("initDatabaseTables[1]: {}", exception.getMessage());
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(Queries.INIT_SCHEMA_VERSION_TABLE_QUERY);
             }
+
+            int version;
+            try (Statement statement = connection.createStatement()) {
+                ResultSet resultSet = statement.executeQuery(Queries.GET_SCHEMA_VERSION_QUERY);
+                resultSet.next();
+                version = resultSet.getInt(1);
+            }
+
+            for (int i = version; i < Queries.SCHEMA_MIGRATIONS.size(); i++) {
+                try (Statement statement = connection.createStatement()) {
+                    for (String query : Queries.SCHEMA_MIGRATIONS.get(i))
+                        statement.execute(query);
+                }
+                try (PreparedStatement statement = PostgresUtil.prepareStatement(
+                        connection, Queries.SET_SCHEMA_VERSION_QUERY, i + 1
+                )) {
+                    statement.executeUpdate();
+                }
+                logger.info("initDatabaseTables[1]: schema was migrated to version {}", i + 1);
+            }
+            return new Result<>(ResultCode.SUCCESS);
         });
 
-       closeConnection(currentConnection);
+        if (result.getCode() != ResultCode.SUCCESS)
+            logger.error("initDatabaseTables[2]: {}", result.getMessage());
+
+        closeConnection(currentConnection);
     }
 
     /**
-     *
-     * @param rawQuery string query which have ? symbol instead of data
-     * @param fields array of table fields data
-     * @return string query ready for execution
+     * {@link IDataProvider#processNewProject(Project)}
      */
-    public String generateSqlQuery(String rawQuery, Object ...fields) {
-        List<String> formattedData = Arrays.stream(fields)
-                .map(Optional::ofNullable)
-                .map(fieldOptional ->
-                    fieldOptional.map(field -> {
-                        String formatted = "'" + field.toString().strip() + "'";
-                        if (formatted.substring(1, formatted.length() - 1).matches(Constants.UUID_REGEX)) formatted += "::uuid";
-                        return formatted;
-                    }).orElse("NULL")
-                ).toList();
+    @Override
+    public Result<NoData> processNewProject(Project project) {
+        Connection connection = getConnection();
 
-        String resultQuery = formattedData.stream().reduce(
-                rawQuery, (query, field) -> query.replaceFirst("\\?", field)
-        ).strip();
+        // project and its entities are created all together or not created at all
+        Result<NoData> result = runInTransaction(connection, transaction -> {
+            try (PreparedStatement statement = PostgresUtil.prepareStatement(
+                    transaction,
+                    Queries.CREATE_PROJECT_QUERY,
+                    project.getId(),
+                    project.getName(),
+                    project.getDescription(),
+                    project.getStatus().name(),
+                    project.getDeadline() == null ? null :
+                            Timestamp.valueOf(project.getDeadline())
+            )) {
+                statement.executeUpdate();
+            }
+            return createProjectEntities(transaction, project);
+        });
 
-        logger.debug("generateSqlQuery[1]: {}", resultQuery);
-        return resultQuery;
-    }
+        if (result.getCode() == ResultCode.SUCCESS)
+            logger.debug("processNewProject[1]: project {} was created successfully", project);
 
+        closeConnection(connection);
+        logEntity(
+            project,
+            "processNewProject",
+            result.getCode(),
+            ChangeType.CREATE
+        );
+        logProjectEntities(project, result.getCode());
+        return result;
+    }
 
     /**
-     * {@link IDataProvider#processNewProject(Project)}
+     * Creates team, bug reports, documentations, events and tasks of the project in one transaction.
+     * Rows of every table are sent as one batch, or loaded with COPY if POSTGRES_BULK_COPY_ENABLED is set
+     * @param project project with entities
+     * @return Result with execution code, nothing is created if it fails
      */
     @Override
-    public Result<NoData> processNewProject(Project project) {
+    public Result<NoData> initProjectEntities(Project project) {
         Connection connection = getConnection();
-        Result<NoData> result = new Result<>(ResultCode.SUCCESS);
-        String query = generateSqlQuery(
-            Queries.CREATE_PROJECT_QUERY,
-            project.getId(),
-            project.getName(),
-            project.getDescription(),
-            project.getStatus().name(),
-            project.getDeadline() == null ? null :
-                    Timestamp.valueOf(project.getDeadline())
+        Result<NoData> result = runInTransaction(connection, transaction -> createProjectEntities(transaction, project));
+
+        closeConnection(connection);
+        logProjectEntities(project, result.getCode());
+        return result;
+    }
+
+    /**
+     * Inserts entities of the project using connection of the current transaction
+     * @return Result with execution code, it is not successful if some author is not a member of the project
+     * @throws SQLException throws if some rows can not be inserted
+     */
+    private Result<NoData> createProjectEntities(Connection connection, Project project) throws SQLException {
+        boolean copy = Boolean.parseBoolean(ConfigPropertiesUtil.getEnvironmentVariable(Constants.POSTGRES_BULK_COPY_ENABLED));
+        List<Employee> team = project.getTeam();
+
+        insertRows(
+                connection, Queries.EMPLOYEES_TABLE_NAME, Queries.EMPLOYEE_COLUMNS, Queries.CREATE_EMPLOYEE_QUERY,
+                team.stream().map(this::toRow).toList(), copy
+        );
+        insertRows(
+                connection, Queries.EMPLOYEE_PROJECT_TABLE_NAME, Queries.EMPLOYEE_PROJECT_COLUMNS,
+                Queries.CREATE_EMPLOYEE_PROJECT_LINK_QUERY,
+                team.stream().map(employee -> new Object[] {employee.getId(), project.getId()}).toList(), copy
         );
 
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.executeUpdate();
+        Set<UUID> members = team.stream().map(Employee::getId).collect(Collectors.toSet());
+        if (project.getManager() != null && members.contains(project.getManager().getId())) {
+            try (PreparedStatement statement = PostgresUtil.prepareStatement(
+                    connection,
+                    String.format(Queries.UPDATE_ENTITY, Queries.PROJECT_TABLE_NAME, "manager_id = ?"),
+                    project.getManager().getId(),
+                    project.getId()
+            )) {
+                statement.executeUpdate();
+            }
+        }
 
-            Result<NoData> initEntitiesResult = initProjectEntities(project);
-            if (initEntitiesResult.getCode() != ResultCode.SUCCESS)
-                return initEntitiesResult;
+        // authors which are not in the team must be linked to the project earlier
+        Set<List<UUID>> checkedAuthors = new HashSet<>();
+        for (ProjectEntity entity : getProjectEntities(project)) {
+            if (project.getId().equals(entity.getProjectId()) && members.contains(entity.getEmployeeId()))
+                continue;
+            if (!checkedAuthors.add(Arrays.asList(entity.getEmployeeId(), entity.getProjectId())))
+                continue;
 
-            logger.debug("processNewProject[1]: project {} was created successfully", project);
+            Result<NoData> checkConstraintResult = PostgresUtil.checkIfEmployeeBelongsToProject(
+                    connection, entity.getEmployeeId(), entity.getProjectId()
+            );
+            if (checkConstraintResult.getCode() != ResultCode.SUCCESS)
+                return checkConstraintResult;
+        }
+
+        insertRows(
+                connection, Queries.BUG_REPORTS_TABLE_NAME, Queries.BUG_REPORT_COLUMNS, Queries.CREATE_BUG_REPORT_QUERY,
+                project.getBugReports().stream().map(this::toRow).toList(), copy
+        );
+        insertRows(
+                connection, Queries.DOCUMENTATIONS_TABLE_NAME, Queries.DOCUMENTATION_COLUMNS,
+                Queries.CREATE_DOCUMENTATION_QUERY,
+                project.getDocumentations().stream().map(this::toRow).toList(),
+                copy
+        );
+        insertRows(
+                connection, Queries.EVENTS_TABLE_NAME, Queries.EVENT_COLUMNS, Queries.CREATE_EVENT_QUERY,
+                project.getEvents().stream().map(this::toRow).toList(), copy
+        );
+        insertRows(
+                connection, Queries.TASKS_TABLE_NAME, Queries.TASK_COLUMNS, Queries.CREATE_TASK_QUERY,
+                project.getTasks().stream().map(this::toRow).toList(), copy
+        );
+
+        logger.debug("createProjectEntities[1]: entities of the project {} were created", project.getId());
+        return new Result<>(ResultCode.SUCCESS);
+    }
+
+    /**
+     * @param query insert query of one row, used for batch
+     * @param rows values of the rows in order of the columns
+     * @param copy if true rows are loaded with COPY instead of batch of inserts
+     * @throws SQLException throws if some row can not be inserted
+     */
+    private void insertRows(
+            Connection connection, String table, String columns, String query, List<Object[]> rows, boolean copy
+    ) throws SQLException {
+        if (rows.isEmpty())
+            return;
+
+        if (copy) {
+            PostgresUtil.copyIn(connection, table, columns, rows);
+        }
+        else {
+            try (PreparedStatement statement = connection.prepareStatement(query)) {
+                for (Object[] row : rows) {
+                    PostgresUtil.bindParameters(statement, row);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        }
+        logger.debug("insertRows[1]: {} rows were inserted into {}", rows.size(), table);
+    }
+
+    /**
+     * Runs operations in one transaction, it is committed only if result of the operations is successful
+     * @param connection database connection
+     * @param operations operations which use the connection
+     * @return result of the operations or Result with error code if some operation throws
+     */
+    private Result<NoData> runInTransaction(Connection connection, Transaction operations) {
+        try {
+            connection.setAutoCommit(false);
+            Result<NoData> result = operations.run(connection);
+            if (result.getCode() == ResultCode.SUCCESS)
+                connection.commit();
+            else
+                connection.rollback();
+            return result;
         }
         catch (SQLException exception) {
-            logger.error("processNewProject[2]: {}", exception.getMessage());
-            result.setCode(ResultCode.ERROR);
-            result.setMessage(exception.getMessage());
+            logger.error("runInTransaction[1]: {}", exception.getMessage());
+            try {
+                connection.rollback();
+            }
+            catch (SQLException rollbackException) {
+                logger.error("runInTransaction[2]: {}", rollbackException.getMessage());
+            }
+            return new Result<>(ResultCode.ERROR, exception.getMessage());
         }
         finally {
-            closeConnection(connection);
-            logEntity(
-                project,
-                "processNewProject",
-                result.getCode(),
-                ChangeType.CREATE
-            );
+            try {
+                connection.setAutoCommit(true);
+            }
+            catch (SQLException exception) {
+                logger.error("runInTransaction[3]: {}", exception.getMessage());
+            }
         }
-        return result;
+    }
+
+    @FunctionalInterface
+    private interface Transaction {
+        Result<NoData> run(Connection connection) throws SQLException;
+    }
+
+    private List<ProjectEntity> getProjectEntities(Project project) {
+        List<ProjectEntity> entities = new ArrayList<>();
+        entities.addAll(project.getBugReports());
+        entities.addAll(project.getDocumentations());
+        entities.addAll(project.getEvents());
+        entities.addAll(project.getTasks());
+        return entities;
     }
 
     /**
-     * {@link IDataProvider#processNewEmployee(Employee)}
+     * saves creation of the team and entities of the project to history
      */
-    @Override
-    public Result<NoData> processNewEmployee(Employee employee) {
-        Connection connection = getConnection();
-        Result<NoData> result = new Result<>(ResultCode.SUCCESS);
-        String query = generateSqlQuery(
-                Queries.CREATE_EMPLOYEE_QUERY,
+    private void logProjectEntities(Project project, ResultCode code) {
+        project.getTeam().forEach(employee -> logEntity(employee, "initProjectEntities", code, ChangeType.CREATE));
+        getProjectEntities(project).forEach(entity -> logEntity(entity, "initProjectEntities", code, ChangeType.CREATE));
+    }
+
+    /**
+     * @return values of the employee in order of {@link Queries#EMPLOYEE_COLUMNS}
+     */
+    private Object[] toRow(Employee employee) {
+        return new Object[] {
                 employee.getId(),
                 employee.getFirstName(),
                 employee.getLastName(),
                 employee.getPatronymic(),
-                Date.valueOf(employee.getBirthday()),
+                employee.getBirthday(),
                 employee.getEmail(),
                 employee.getPhoneNumber(),
                 employee.getPosition()
-        );
+        };
+    }
 
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
+    /**
+     * @return values of the task in order of {@link Queries#TASK_COLUMNS}
+     */
+    private Object[] toRow(Task task) {
+        return new Object[] {
+                task.getId(),
+                task.getProjectId(),
+                task.getName(),
+                task.getDescription(),
+                task.getEmployeeId(),
+                task.getEmployeeFullName(),
+                task.getComment(),
+                task.getPriority(),
+                task.getTags().toArray(new String[0]),
+                task.getStatus(),
+                task.getDeadline(),
+                task.getCreatedAt(),
+                task.getCompletedAt()
+        };
+    }
+
+    /**
+     * @return values of the bug report in order of {@link Queries#BUG_REPORT_COLUMNS}
+     */
+    private Object[] toRow(BugReport bugReport) {
+        return new Object[] {
+                bugReport.getId(),
+                bugReport.getProjectId(),
+                bugReport.getStatus(),
+                bugReport.getPriority(),
+                bugReport.getName(),
+                bugReport.getDescription(),
+                bugReport.getEmployeeId(),
+                bugReport.getEmployeeFullName(),
+                bugReport.getCreatedAt()
+        };
+    }
+
+    /**
+     * @return values of the event in order of {@link Queries#EVENT_COLUMNS}
+     */
+    private Object[] toRow(Event event) {
+        return new Object[] {
+                event.getId(),
+                event.getName(),
+                event.getDescription(),
+                event.getProjectId(),
+                event.getEmployeeId(),
+                event.getEmployeeFullName(),
+                event.getStartDate(),
+                event.getEndDate(),
+                event.getCreatedAt()
+        };
+    }
+
+    /**
+     * @return values of the documentation in order of {@link Queries#DOCUMENTATION_COLUMNS}
+     */
+    private Object[] toRow(Documentation documentation) {
+        Pair<String[], String[]> documentationBody = splitDocumentationToArrays(documentation.getBody());
+        return new Object[] {
+                documentation.getId(),
+                documentation.getName(),
+                documentation.getDescription(),
+                documentation.getProjectId(),
+                documentation.getEmployeeId(),
+                documentation.getEmployeeFullName(),
+                documentationBody.getKey(),
+                documentationBody.getValue(),
+                documentation.getCreatedAt()
+        };
+    }
+
+    /**
+     * {@link IDataProvider#processNewEmployee(Employee)}
+     */
+    @Override
+    public Result<NoData> processNewEmployee(Employee employee) {
+        Connection connection = getConnection();
+        Result<NoData> result = new Result<>(ResultCode.SUCCESS);
+
+        try (PreparedStatement statement = PostgresUtil.prepareStatement(
+                connection,
+                Queries.CREATE_EMPLOYEE_QUERY,
+                toRow(employee)
+        )) {
             statement.executeUpdate();
             logger.debug("processNewEmployee[1]: employee {} was created successfully", employee);
         }
@@ -242,30 +513,16 @@ public class PostgresDataProvider implements IDataProvider {
         Result<NoData> result = new Result<>(ResultCode.SUCCESS);
         Result<NoData> validationResult = PostgresUtil.checkIfEmployeeBelongsToProject(connection, task.getEmployeeId(), task.getProjectId());
 
-        if (validationResult.getCode() != ResultCode.SUCCESS)
+        if (validationResult.getCode() != ResultCode.SUCCESS) {
+            closeConnection(connection);
             return validationResult;
+        }
 
-        try {
-            String query = generateSqlQuery(
-                    Queries.CREATE_TASK_QUERY,
-                    task.getId(),
-                    task.getProjectId(),
-                    task.getName(),
-                    task.getDescription(),
-                    task.getEmployeeId(),
-                    task.getEmployeeFullName(),
-                    task.getComment(),
-                    task.getPriority().name(),
-                    connection.createArrayOf("VARCHAR", task.getTags().toArray()),
-                    task.getStatus().name(),
-                    task.getDeadline() != null ?
-                            Timestamp.valueOf(task.getDeadline())
-                            : null,
-                    task.getCreatedAt(),
-                    task.getCompletedAt()
-            );
-
-            PreparedStatement statement = connection.prepareStatement(query);
+        try (PreparedStatement statement = PostgresUtil.prepareStatement(
+                connection,
+                Queries.CREATE_TASK_QUERY,
+                toRow(task)
+        )) {
             statement.executeUpdate();
 
             logger.debug("processNewTask[1]: {}", String.format(
@@ -297,27 +554,21 @@ public class PostgresDataProvider implements IDataProvider {
     public Result<NoData> processNewBugReport(BugReport bugReport) {
         Connection connection = getConnection();
         Result<NoData> result = new Result<>(ResultCode.SUCCESS);
-        String query = generateSqlQuery(
-            Queries.CREATE_BUG_REPORT_QUERY,
-            bugReport.getId(),
-            bugReport.getProjectId(),
-            bugReport.getStatus().name(),
-            bugReport.getPriority().name(),
-            bugReport.getName(),
-            bugReport.getDescription(),
-            bugReport.getEmployeeId(),
-            bugReport.getEmployeeFullName(),
-            bugReport.getCreatedAt()
-        );
 
         Result<NoData> checkConstraintResult = PostgresUtil.checkIfEmployeeBelongsToProject(
                 connection, bugReport.getEmployeeId(), bugReport.getProjectId()
         );
 
-        if (checkConstraintResult.getCode() != ResultCode.SUCCESS)
+        if (checkConstraintResult.getCode() != ResultCode.SUCCESS) {
+            closeConnection(connection);
             return checkConstraintResult;
+        }
 
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
+        try (PreparedStatement statement = PostgresUtil.prepareStatement(
+                connection,
+                Queries.CREATE_BUG_REPORT_QUERY,
+                toRow(bugReport)
+        )) {
             statement.executeUpdate();
 
             logger.debug("processNewBugReport[2]: {}", String.format(
@@ -348,46 +599,31 @@ public class PostgresDataProvider implements IDataProvider {
      */
     @Override
     public Result<NoData> processNewDocumentation(Documentation documentation) {
-        Pair<String[], String[]> documentationBody = splitDocumentationToArrays(documentation.getBody());
         Connection connection = getConnection();
-        String query;
         Result<NoData> result = new Result<>(ResultCode.SUCCESS);
 
         Result<NoData> checkConstraintResult = PostgresUtil.checkIfEmployeeBelongsToProject(
                 connection, documentation.getEmployeeId(), documentation.getProjectId()
         );
-        if (checkConstraintResult.getCode() != ResultCode.SUCCESS)
+        if (checkConstraintResult.getCode() != ResultCode.SUCCESS) {
+            closeConnection(connection);
             return checkConstraintResult;
-
-        try {
-            query = generateSqlQuery(
-                Queries.CREATE_DOCUMENTATION_QUERY,
-                documentation.getId(),
-                documentation.getName(),
-                documentation.getDescription(),
-                documentation.getProjectId(),
-                documentation.getEmployeeId(),
-                documentation.getEmployeeFullName(),
-                connection.createArrayOf("TEXT", documentationBody.getKey()),
-                connection.createArrayOf("TEXT", documentationBody.getValue()),
-                documentation.getCreatedAt()
-            );
-        }
-        catch (SQLException exception) {
-            logger.error("processNewDocumentation[1]: {}", exception.getMessage());
-            return new Result<>(ResultCode.ERROR, exception.getMessage());
         }
 
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
+        try (PreparedStatement statement = PostgresUtil.prepareStatement(
+                connection,
+                Queries.CREATE_DOCUMENTATION_QUERY,
+                toRow(documentation)
+        )) {
             statement.executeUpdate();
 
-            logger.debug("processNewDocumentation[2]: {}", String.format(
+            logger.debug("processNewDocumentation[1]: {}", String.format(
                     Constants.SUCCESSFUL_CREATED_ENTITY_MESSAGE,
                     "documentation", documentation
             ));
         }
         catch (SQLException exception) {
-            logger.error("processNewDocumentation[3]: {}", exception.getMessage());
+            logger.error("processNewDocumentation[2]: {}", exception.getMessage());
             result.setCode(ResultCode.ERROR);
             result.setMessage(exception.getMessage());
         }
@@ -410,26 +646,20 @@ public class PostgresDataProvider implements IDataProvider {
     public Result<NoData> processNewEvent(Event event) {
         Connection connection = getConnection();
         Result<NoData> result = new Result<>(ResultCode.SUCCESS);
-        String query = generateSqlQuery(
-            Queries.CREATE_EVENT_QUERY,
-            event.getId(),
-            event.getName(),
-            event.getDescription(),
-            event.getProjectId(),
-            event.getEmployeeId(),
-            event.getEmployeeFullName(),
-            event.getStartDate(),
-            event.getEndDate(),
-            event.getCreatedAt()
-        );
 
         Result<NoData> checkConstraintResult = PostgresUtil.checkIfEmployeeBelongsToProject(
                 connection, event.getEmployeeId(), event.getProjectId()
         );
-        if (checkConstraintResult.getCode() != ResultCode.SUCCESS)
+        if (checkConstraintResult.getCode() != ResultCode.SUCCESS) {
+            closeConnection(connection);
             return checkConstraintResult;
+        }
 
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
+        try (PreparedStatement statement = PostgresUtil.prepareStatement(
+                connection,
+                Queries.CREATE_EVENT_QUERY,
+                toRow(event)
+        )) {
             statement.executeUpdate();
 
             logger.debug("processNewEvent[1]: {}", String.format(
@@ -477,7 +707,6 @@ public class PostgresDataProvider implements IDataProvider {
      */
     @Override
     public Result<NoData> deleteProject(UUID projectId) {
-        Connection connection = getConnection();
         Result<NoData> result = new Result<>(ResultCode.SUCCESS);
         Result<Project> project = getProjectById(projectId);
 
@@ -487,12 +716,12 @@ public class PostgresDataProvider implements IDataProvider {
                     "project", projectId
             ));
 
-        String query = generateSqlQuery(
+        Connection connection = getConnection();
+        try (PreparedStatement statement = PostgresUtil.prepareStatement(
+                connection,
                 String.format(Queries.DELETE_ENTITY_QUERY, Queries.PROJECT_TABLE_NAME),
                 projectId
-        );
-
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
+        )) {
             statement.executeUpdate();
 
             logger.debug("deleteProject[1]: {}", String.format(
@@ -522,12 +751,7 @@ public class PostgresDataProvider implements IDataProvider {
      */
     @Override
     public Result<NoData> deleteTask(UUID taskId) {
-        Connection connection = getConnection();
         Result<NoData> result = new Result<>(ResultCode.SUCCESS);
-        String query = generateSqlQuery(
-                String.format(Queries.DELETE_ENTITY_QUERY, Queries.TASKS_TABLE_NAME),
-                taskId
-        );
 
         Result<Task> task = getTaskById(taskId);
         if (task.getCode() != ResultCode.SUCCESS)
@@ -536,7 +760,12 @@ public class PostgresDataProvider implements IDataProvider {
                 Task.class.getSimpleName(), taskId
             ));
 
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
+        Connection connection = getConnection();
+        try (PreparedStatement statement = PostgresUtil.prepareStatement(
+                connection,
+                String.format(Queries.DELETE_ENTITY_QUERY, Queries.TASKS_TABLE_NAME),
+                taskId
+        )) {
             statement.executeUpdate();
 
             logger.debug("deleteTask[1]: {}", String.format(
@@ -566,7 +795,6 @@ public class PostgresDataProvider implements IDataProvider {
      */
     @Override
     public Result<NoData> deleteBugReport(UUID bugReportId) {
-        Connection connection = getConnection();
         Result<NoData> result = new Result<>(ResultCode.SUCCESS);
         Result<BugReport> bugReportResult = getBugReportById(bugReportId);
         if (bugReportResult.getCode() != ResultCode.SUCCESS)
@@ -575,12 +803,12 @@ public class PostgresDataProvider implements IDataProvider {
                 "bug report", bugReportId
             ));
 
-        String query = generateSqlQuery(
+        Connection connection = getConnection();
+        try (PreparedStatement statement = PostgresUtil.prepareStatement(
+                connection,
                 String.format(Queries.DELETE_ENTITY_QUERY, Queries.BUG_REPORTS_TABLE_NAME),
                 bugReportId
-        );
-
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
+        )) {
             statement.executeUpdate();
 
             logger.debug("deleteBugReport[1]: {}", String.format(
@@ -610,18 +838,18 @@ public class PostgresDataProvider implements IDataProvider {
      */
     @Override
     public Result<NoData> deleteEvent(UUID eventId) {
-        Connection connection = getConnection();
         Result<NoData> result = new Result<>(ResultCode.SUCCESS);
-        String query = generateSqlQuery(
-            String.format(Queries.DELETE_ENTITY_QUERY, Queries.EVENTS_TABLE_NAME),
-            eventId
-        );
 
         Result<Event> eventResult = getEventById(eventId);
         if (eventResult.getCode() != ResultCode.SUCCESS)
             return new Result<>(null, ResultCode.NOT_FOUND);
 
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
+        Connection connection = getConnection();
+        try (PreparedStatement statement = PostgresUtil.prepareStatement(
+                connection,
+                String.format(Queries.DELETE_ENTITY_QUERY, Queries.EVENTS_TABLE_NAME),
+                eventId
+        )) {
             statement.executeUpdate();
 
             logger.debug("deleteEvent[1]: {}", String.format(
@@ -649,18 +877,18 @@ public class PostgresDataProvider implements IDataProvider {
 
     @Override
     public Result<NoData> deleteDocumentation(UUID docId) {
-        Connection connection = getConnection();
         Result<NoData> result = new Result<>(ResultCode.SUCCESS);
-        String query = generateSqlQuery(
-                String.format(Queries.DELETE_ENTITY_QUERY, Queries.DOCUMENTATIONS_TABLE_NAME),
-                docId
-        );
         Result<Documentation> documentationResult = getDocumentationById(docId);
         if (documentationResult.getCode() != ResultCode.SUCCESS)
             return new Result<>(null, ResultCode.NOT_FOUND);
 
 
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
+        Connection connection = getConnection();
+        try (PreparedStatement statement = PostgresUtil.prepareStatement(
+                connection,
+                String.format(Queries.DELETE_ENTITY_QUERY, Queries.DOCUMENTATIONS_TABLE_NAME),
+                docId
+        )) {
             statement.executeUpdate();
 
             logger.debug("deleteDocumentation[1]: {}", String.format(
@@ -690,18 +918,18 @@ public class PostgresDataProvider implements IDataProvider {
      */
     @Override
     public Result<NoData> deleteEmployee(UUID employeeId) {
-        Connection connection = getConnection();
         Result<NoData> result = new Result<>(ResultCode.SUCCESS);
-        String query = generateSqlQuery(
-                String.format(Queries.DELETE_ENTITY_QUERY, Queries.EMPLOYEES_TABLE_NAME),
-                employeeId
-        );
 
         Result<Employee> employeeResult = getEmployeeById(employeeId);
         if (employeeResult.getCode() != ResultCode.SUCCESS)
             return new Result<>(null, ResultCode.NOT_FOUND);
 
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
+        Connection connection = getConnection();
+        try (PreparedStatement statement = PostgresUtil.prepareStatement(
+                connection,
+                String.format(Queries.DELETE_ENTITY_QUERY, Queries.EMPLOYEES_TABLE_NAME),
+                employeeId
+        )) {
             statement.executeUpdate();
 
             logger.debug("deleteEmployee[1]: {}", String.format(
@@ -733,24 +961,26 @@ public class PostgresDataProvider implements IDataProvider {
     public Result<NoData> bindProjectManager(UUID managerId, UUID projectId) {
         Connection connection = getConnection();
         Result<NoData> result = new Result<>(ResultCode.SUCCESS);
-        String query = generateSqlQuery(
-                String.format(
-                        Queries.UPDATE_ENTITY,
-                        Queries.PROJECT_TABLE_NAME,
-                        "manager_id = ?"
-                ),
-                managerId,
-                projectId
-        );
 
         Result<NoData> validationResult = PostgresUtil.checkIfEmployeeBelongsToProject(
                 connection, managerId, projectId
         );
 
-        if (validationResult.getCode() != ResultCode.SUCCESS)
+        if (validationResult.getCode() != ResultCode.SUCCESS) {
+            closeConnection(connection);
             return validationResult;
+        }
 
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
+        try (PreparedStatement statement = PostgresUtil.prepareStatement(
+                connection,
+                String.format(
+                        Queries.UPDATE_ENTITY,
+                        Queries.PROJECT_TABLE_NAME,
+                        "manager_id = ?"
+                ),
+                managerId,
+                projectId
+        )) {
             statement.executeUpdate();
 
             logger.debug("bindProjectManager[1]: employee[{}] became manager of the project[{}]", managerId, projectId);
@@ -776,12 +1006,12 @@ public class PostgresDataProvider implements IDataProvider {
     public Result<NoData> bindEmployeeToProject(UUID employeeId, UUID projectId) {
         Connection connection = getConnection();
         Result<NoData> result = new Result<>(ResultCode.SUCCESS);
-        String query = generateSqlQuery(
+
+        try (PreparedStatement statement = PostgresUtil.prepareStatement(
+                connection,
                 Queries.CREATE_EMPLOYEE_PROJECT_LINK_QUERY,
                 employeeId, projectId
-        );
-
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
+        )) {
             statement.executeUpdate();
             logger.debug("bindEmployeeToProject[1]: employee[{}] was attached to the project[{}] successfully", employeeId, projectId);
         }
@@ -801,15 +1031,17 @@ public class PostgresDataProvider implements IDataProvider {
      */
     @Override
     public Result<Project> getProjectById(UUID id) {
-        String query = String.format(Queries.GET_ENTITY_BY_ID_QUERY, Queries.PROJECT_TABLE_NAME);
         Connection connection = getConnection();
 
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setObject(1, id);
-            ResultSet queryResult = statement.executeQuery();
-            Project project = null;
-            while (queryResult.next())
-                project = ResultSetUtils.extractProject(queryResult, this);
+        // every parameter of the aggregate query is the project id
+        Object[] parameters = new Object[PROJECT_AGGREGATE_PARAMETERS];
+        Arrays.fill(parameters, id);
+
+        try (PreparedStatement statement = PostgresUtil.prepareStatement(
+                connection, Queries.GET_PROJECT_AGGREGATE_QUERY, parameters
+        )) {
+            statement.execute();
+            Project project = ResultSetUtils.extractProject(statement);
 
             return Optional.ofNullable(project)
                 .map(p -> {
@@ -865,6 +1097,26 @@ public class PostgresDataProvider implements IDataProvider {
         }
     }
 
+    /**
+     * {@link IDataProvider#streamTasksByProjectId(UUID)}
+     */
+    @Override
+    public Stream<Task> streamTasksByProjectId(UUID projectId) {
+        return streamQuery(
+                String.format(Queries.GET_ORDERED_ENTITIES_BY_PROJECT_ID_QUERY, Queries.TASKS_TABLE_NAME),
+                ResultSetUtils::extractTask,
+                projectId
+        );
+    }
+
+    /**
+     * {@link IDataProvider#getTasksByProjectId(UUID, String, int)}
+     */
+    @Override
+    public Result<Page<Task>> getTasksByProjectId(UUID projectId, String cursor, int limit) {
+        return getEntityPage(Queries.TASKS_TABLE_NAME, ResultSetUtils::extractTask, projectId, cursor, limit);
+    }
+
 
     /**
      * {@link IDataProvider#getTasksByEmployeeId(UUID)}
@@ -900,20 +1152,207 @@ public class PostgresDataProvider implements IDataProvider {
         }
     }
 
+    /**
+     * {@link IDataProvider#getTasksByEmployeeIds(Collection)}
+     */
+    @Override
+    public Result<Map<UUID, List<Task>>> getTasksByEmployeeIds(Collection<UUID> employeeIds) {
+        Connection connection = getConnection();
+
+        try (PreparedStatement statement = PostgresUtil.prepareStatement(
+                connection, Queries.GET_TASKS_BY_EMPLOYEE_IDS_QUERY, (Object) toIdArray(employeeIds)
+        )) {
+            Map<UUID, List<Task>> tasks = new HashMap<>();
+            ResultSet resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                Task task = ResultSetUtils.extractTask(resultSet);
+                tasks.computeIfAbsent(task.getEmployeeId(), id -> new ArrayList<>()).add(task);
+            }
+
+            logger.debug("getTasksByEmployeeIds[1]: received tasks of {} employees", tasks.size());
+            return new Result<>(tasks, ResultCode.SUCCESS);
+        }
+        catch (SQLException exception) {
+            logger.error("getTasksByEmployeeIds[2]: {}", exception.getMessage());
+            return new Result<>(new HashMap<>(), ResultCode.ERROR, exception.getMessage());
+        }
+        finally {
+            closeConnection(connection);
+        }
+    }
+
+    /**
+     * Efficiency of the whole team is calculated by one grouped query, tasks are not sent to the client
+     * {@link IDataProvider#calculateLaborEfficiency(UUID)}
+     */
+    @Override
+    public TrackInfo<Employee, Float> calculateLaborEfficiency(UUID projectId) {
+        List<Employee> team = Optional.ofNullable(getProjectTeam(projectId).getData()).orElse(List.of());
+        if (team.isEmpty())
+            return new TrackInfo<>();
+
+        LocalDateTime now = LocalDateTime.now();
+        Connection connection = getConnection();
+
+        try (PreparedStatement statement = PostgresUtil.prepareStatement(
+                connection, Queries.GET_LABOR_EFFICIENCY_QUERY,
+                now, now, toIdArray(team.stream().map(Employee::getId).toList())
+        )) {
+            Map<UUID, Float> efficiency = new HashMap<>();
+            ResultSet resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                long taskCount = resultSet.getLong("task_count");
+                efficiency.put(
+                        resultSet.getObject("executor_id", UUID.class),
+                        (resultSet.getLong("efficiency_sum") * 1.0f) / taskCount
+                );
+            }
+
+            TrackInfo<Employee, Float> result = new TrackInfo<>();
+            team.forEach(employee -> result.addData(employee, efficiency.getOrDefault(employee.getId(), 0f)));
+            logger.debug("calculateLaborEfficiency[1]: labor efficiency of project {}: {}", projectId, result);
+            return result;
+        }
+        catch (SQLException exception) {
+            logger.error("calculateLaborEfficiency[2]: {}", exception.getMessage());
+            return new TrackInfo<>();
+        }
+        finally {
+            closeConnection(connection);
+        }
+    }
+
+    /**
+     * {@link IDataProvider#getPortfolio()}
+     */
+    @Override
+    public Result<Portfolio> getPortfolio() {
+        Connection connection = getConnection();
+
+        try (Statement statement = connection.createStatement()) {
+            List<UUID> projectIds = new ArrayList<>();
+            ResultSet resultSet = statement.executeQuery(Queries.GET_PROJECT_IDS_QUERY);
+            while (resultSet.next()) projectIds.add(resultSet.getObject("id", UUID.class));
+
+            List<Task> tasks = new ArrayList<>();
+            resultSet = statement.executeQuery(Queries.GET_ALL_TASKS_QUERY);
+            while (resultSet.next()) tasks.add(ResultSetUtils.extractTask(resultSet));
+
+            List<BugReport> bugReports = new ArrayList<>();
+            resultSet = statement.executeQuery(Queries.GET_ALL_BUG_REPORTS_QUERY);
+            while (resultSet.next()) bugReports.add(ResultSetUtils.extractBugReport(resultSet));
+
+            Map<UUID, List<Employee>> teams = new HashMap<>();
+            resultSet = statement.executeQuery(Queries.GET_ALL_PROJECT_TEAMS_QUERY);
+            while (resultSet.next()) {
+                teams.computeIfAbsent(resultSet.getObject("team_project_id", UUID.class), id -> new ArrayList<>())
+                        .add(ResultSetUtils.extractEmployee(resultSet));
+            }
+
+            Portfolio portfolio = new Portfolio(projectIds, tasks, bugReports, teams);
+            logger.debug("getPortfolio[1]: received {}", portfolio);
+            return new Result<>(portfolio, ResultCode.SUCCESS);
+        }
+        catch (SQLException exception) {
+            logger.error("getPortfolio[2]: {}", exception.getMessage());
+            return new Result<>(null, ResultCode.ERROR, exception.getMessage());
+        }
+        finally {
+            closeConnection(connection);
+        }
+    }
+
+    /**
+     * Summary is kept up to date by triggers on tasks and bug reports, so it is read by one row
+     * {@link IDataProvider#getProjectSummary(UUID)}
+     */
+    @Override
+    public Result<ProjectSummary> getProjectSummary(UUID projectId) {
+        Connection connection = getConnection();
+
+        try (PreparedStatement statement = PostgresUtil.prepareStatement(
+                connection, Queries.GET_PROJECT_SUMMARY_QUERY, projectId
+        )) {
+            ProjectSummary summary = new ProjectSummary(projectId);
+            ResultSet resultSet = statement.executeQuery();
+            if (resultSet.next()) {
+                summary.getTaskCounts().putAll(mapper.readValue(
+                        resultSet.getString("task_counts"), new TypeReference<Map<WorkStatus, Long>>() {}
+                ));
+                summary.getBugReportCounts().putAll(mapper.readValue(
+                        resultSet.getString("bug_report_counts"), new TypeReference<Map<BugStatus, Long>>() {}
+                ));
+            }
+
+            logger.debug("getProjectSummary[1]: {}", summary);
+            return new Result<>(summary, ResultCode.SUCCESS);
+        }
+        catch (SQLException | JsonProcessingException exception) {
+            logger.error("getProjectSummary[2]: {}", exception.getMessage());
+            return new Result<>(null, ResultCode.ERROR, exception.getMessage());
+        }
+        finally {
+            closeConnection(connection);
+        }
+    }
+
+    private static String[] toIdArray(Collection<UUID> ids) {
+        return ids.stream().map(UUID::toString).toArray(String[]::new);
+    }
+
     /**
      * {@link IDataProvider#getTasksByTags(List, UUID)}
      */
     @Override
     public Result<List<Task>> getTasksByTags(List<String> tags, UUID projectId) {
-        List<Task> tasks = getTasksByProjectId(projectId).getData();
-        List<Task> result = tasks.stream()
-                .filter(task -> !Collections.disjoint(task.getTags(), tags))
-                .collect(Collectors.toCollection(ArrayList::new));
+        return getTasksByTags(tags, projectId, false, 0, 0);
+    }
+
+    /**
+     * Selects tasks by tags on the server side, the tag index is used for the search
+     * @param tags task tags for which tasks are selected
+     * @param projectId id of the project
+     * @param matchAllTags if true task must have all of the tags, otherwise any of them
+     * @param limit max number of tasks, all tasks are returned if it is not positive
+     * @param offset number of tasks to skip, tasks are ordered by creation date if limit or offset is set
+     * @return Result with ArrayList of tasks, execution code and message if it fails
+     */
+    public Result<List<Task>> getTasksByTags(
+            List<String> tags, UUID projectId, boolean matchAllTags, int limit, int offset
+    ) {
+        String query = matchAllTags ? Queries.GET_TASKS_BY_ALL_TAGS_QUERY : Queries.GET_TASKS_BY_ANY_TAG_QUERY;
+        List<Object> parameters = new ArrayList<>(Arrays.asList(projectId, tags.toArray(new String[0])));
+        if (limit > 0 || offset > 0) {
+            query += Queries.PAGE_SUFFIX;
+            // null limit is the same as no limit
+            parameters.add(limit > 0 ? limit : null);
+            parameters.add(Math.max(offset, 0));
+        }
+        Connection connection = getConnection();
 
-        return Optional.of(result)
-                .filter(r -> !r.isEmpty())
-                .map(r -> new Result<>(r, ResultCode.SUCCESS))
-                .orElse(new Result<>(new ArrayList<>(), ResultCode.NOT_FOUND));
+        try (PreparedStatement statement = PostgresUtil.prepareStatement(connection, query, parameters.toArray())) {
+            List<Task> tasks = new ArrayList<>();
+            ResultSet resultSet = statement.executeQuery();
+            while (resultSet.next()) tasks.add(ResultSetUtils.extractTask(resultSet));
+
+            return Optional.of(tasks)
+                .filter(t -> !t.isEmpty())
+                .map(t -> {
+                    logger.debug("getTasksByTags[1]: received tasks {}", t);
+                    return new Result<>(t, ResultCode.SUCCESS);
+                })
+                .orElseGet(() -> {
+                    logger.debug("getTasksByTags[2]: tasks were not found");
+                    return new Result<>(tasks, ResultCode.NOT_FOUND);
+                });
+        }
+        catch (SQLException exception) {
+            logger.error("getTasksByTags[3]: {}", exception.getMessage());
+            return new Result<>(ResultCode.ERROR, exception.getMessage());
+        }
+        finally {
+            closeConnection(connection);
+        }
     }
 
     /**
@@ -979,6 +1418,26 @@ public class PostgresDataProvider implements IDataProvider {
         }
     }
 
+    /**
+     * {@link IDataProvider#streamBugReportsByProjectId(UUID)}
+     */
+    @Override
+    public Stream<BugReport> streamBugReportsByProjectId(UUID projectId) {
+        return streamQuery(
+                String.format(Queries.GET_ORDERED_ENTITIES_BY_PROJECT_ID_QUERY, Queries.BUG_REPORTS_TABLE_NAME),
+                ResultSetUtils::extractBugReport,
+                projectId
+        );
+    }
+
+    /**
+     * {@link IDataProvider#getBugReportsByProjectId(UUID, String, int)}
+     */
+    @Override
+    public Result<Page<BugReport>> getBugReportsByProjectId(UUID projectId, String cursor, int limit) {
+        return getEntityPage(Queries.BUG_REPORTS_TABLE_NAME, ResultSetUtils::extractBugReport, projectId, cursor, limit);
+    }
+
     /**
      * {@link IDataProvider#getBugReportById(UUID)}
      */
@@ -1044,6 +1503,26 @@ public class PostgresDataProvider implements IDataProvider {
         }
     }
 
+    /**
+     * {@link IDataProvider#streamEventsByProjectId(UUID)}
+     */
+    @Override
+    public Stream<Event> streamEventsByProjectId(UUID projectId) {
+        return streamQuery(
+                String.format(Queries.GET_ORDERED_ENTITIES_BY_PROJECT_ID_QUERY, Queries.EVENTS_TABLE_NAME),
+                ResultSetUtils::extractEvent,
+                projectId
+        );
+    }
+
+    /**
+     * {@link IDataProvider#getEventsByProjectId(UUID, String, int)}
+     */
+    @Override
+    public Result<Page<Event>> getEventsByProjectId(UUID projectId, String cursor, int limit) {
+        return getEntityPage(Queries.EVENTS_TABLE_NAME, ResultSetUtils::extractEvent, projectId, cursor, limit);
+    }
+
     /**
      * {@link IDataProvider#getEventById(UUID)}
      */
@@ -1145,6 +1624,26 @@ public class PostgresDataProvider implements IDataProvider {
         }
     }
 
+    /**
+     * {@link IDataProvider#streamDocumentationsByProjectId(UUID)}
+     */
+    @Override
+    public Stream<Documentation> streamDocumentationsByProjectId(UUID projectId) {
+        return streamQuery(
+                String.format(Queries.GET_ORDERED_ENTITIES_BY_PROJECT_ID_QUERY, Queries.DOCUMENTATIONS_TABLE_NAME),
+                ResultSetUtils::extractDocumentation,
+                projectId
+        );
+    }
+
+    /**
+     * {@link IDataProvider#getDocumentationsByProjectId(UUID, String, int)}
+     */
+    @Override
+    public Result<Page<Documentation>> getDocumentationsByProjectId(UUID projectId, String cursor, int limit) {
+        return getEntityPage(Queries.DOCUMENTATIONS_TABLE_NAME, ResultSetUtils::extractDocumentation, projectId, cursor, limit);
+    }
+
     /**
      * {@link IDataProvider#getProjectTeam(UUID)}
      */
@@ -1181,6 +1680,118 @@ public class PostgresDataProvider implements IDataProvider {
         }
     }
 
+    /**
+     * {@link IDataProvider#streamProjectTeam(UUID)}
+     */
+    @Override
+    public Stream<Employee> streamProjectTeam(UUID projectId) {
+        return streamQuery(Queries.GET_ORDERED_PROJECT_TEAM_QUERY, ResultSetUtils::extractEmployee, projectId);
+    }
+
+    /**
+     * {@link IDataProvider#getProjectTeam(UUID, String, int)}
+     */
+    @Override
+    public Result<Page<Employee>> getProjectTeam(UUID projectId, String cursor, int limit) {
+        Result<Keyset.Key> after = Keyset.validate(cursor, limit);
+        if (after.getCode() != ResultCode.SUCCESS)
+            return new Result<>(null, after.getCode(), after.getMessage());
+
+        return after.getData() == null
+                ? getPage(Queries.GET_FIRST_PROJECT_TEAM_PAGE_QUERY, ResultSetUtils::extractEmployee,
+                        resultSet -> new Keyset.Key(null, resultSet.getObject("id", UUID.class)),
+                        limit, projectId, (long) limit + 1)
+                : getPage(Queries.GET_NEXT_PROJECT_TEAM_PAGE_QUERY, ResultSetUtils::extractEmployee,
+                        resultSet -> new Keyset.Key(null, resultSet.getObject("id", UUID.class)),
+                        limit, projectId, after.getData().getId(), (long) limit + 1);
+    }
+
+    /**
+     * @param table table of the entities
+     * @return Result with the page of entities of the project ordered by creation date and id
+     */
+    private <T> Result<Page<T>> getEntityPage(
+            String table, ResultSetUtils.RowExtractor<T> extractor, UUID projectId, String cursor, int limit
+    ) {
+        Result<Keyset.Key> after = Keyset.validate(cursor, limit);
+        if (after.getCode() != ResultCode.SUCCESS)
+            return new Result<>(null, after.getCode(), after.getMessage());
+
+        // the key is taken from the row, created_at of the entity is truncated to seconds
+        ResultSetUtils.RowExtractor<Keyset.Key> keyOf = resultSet -> new Keyset.Key(
+                Optional.ofNullable(resultSet.getTimestamp("created_at")).map(Timestamp::toLocalDateTime).orElse(null),
+                resultSet.getObject("id", UUID.class)
+        );
+        Keyset.Key key = after.getData();
+        if (key == null)
+            return getPage(String.format(Queries.GET_FIRST_ENTITY_PAGE_QUERY, table), extractor, keyOf,
+                    limit, projectId, (long) limit + 1);
+        // a cursor without creation date points to rows without it, which are the last ones
+        if (key.getCreatedAt() == null)
+            return getPage(String.format(Queries.GET_NEXT_UNDATED_ENTITY_PAGE_QUERY, table), extractor, keyOf,
+                    limit, projectId, key.getId(), (long) limit + 1);
+        return getPage(String.format(Queries.GET_NEXT_ENTITY_PAGE_QUERY, table), extractor, keyOf,
+                limit, projectId, key.getCreatedAt(), key.getId(), (long) limit + 1);
+    }
+
+    /**
+     * One row more than the limit is selected to know if there is the next page
+     * @param query keyset query whose last parameter is the limit
+     * @param keyOf builds the key of the current row
+     * @param limit max number of entities on the page
+     * @param parameters values of the parameters of the query
+     * @return Result with the page
+     */
+    private <T> Result<Page<T>> getPage(
+            String query,
+            ResultSetUtils.RowExtractor<T> extractor,
+            ResultSetUtils.RowExtractor<Keyset.Key> keyOf,
+            int limit,
+            Object ...parameters
+    ) {
+        Connection connection = getConnection();
+
+        try (PreparedStatement statement = PostgresUtil.prepareStatement(connection, query, parameters)) {
+            List<T> items = new ArrayList<>();
+            Keyset.Key last = null;
+            ResultSet resultSet = statement.executeQuery();
+            while (items.size() < limit && resultSet.next()) {
+                items.add(extractor.extract(resultSet));
+                last = keyOf.extract(resultSet);
+            }
+
+            Page<T> page = new Page<>(items, resultSet.next() ? last.toCursor() : null);
+            logger.debug("getPage[1]: received {} entities, next cursor {}", items.size(), page.getNextCursor());
+            return new Result<>(page, ResultCode.SUCCESS);
+        }
+        catch (SQLException exception) {
+            logger.error("getPage[2]: {}", exception.getMessage());
+            return new Result<>(null, ResultCode.ERROR, exception.getMessage());
+        }
+        finally {
+            closeConnection(connection);
+        }
+    }
+
+    /**
+     * @return entities read from a server side cursor while the stream is consumed,
+     * empty stream if the query can't be executed
+     */
+    private <T> Stream<T> streamQuery(String query, ResultSetUtils.RowExtractor<T> extractor, Object ...parameters) {
+        Connection connection = getConnection();
+        if (connection == null)
+            return Stream.empty();
+
+        try {
+            return PostgresUtil.stream(connection, query, fetchSize, extractor, parameters);
+        }
+        catch (SQLException exception) {
+            logger.error("streamQuery[1]: {}", exception.getMessage());
+            closeConnection(connection);
+            return Stream.empty();
+        }
+    }
+
     /**
      * {@link IDataProvider#getEmployeeById(UUID)}
      */
@@ -1221,14 +1832,14 @@ public class PostgresDataProvider implements IDataProvider {
         Result<NoData> result = new Result<>(ResultCode.SUCCESS);
         Task task = null;
         Connection connection = getConnection();
-        String query = generateSqlQuery(
+
+        try (PreparedStatement statement = PostgresUtil.prepareStatement(
+                connection,
                 Queries.UPDATE_TASK_STATUS,
                 WorkStatus.COMPLETED,
                 LocalDateTime.now().withNano(0),
                 taskId
-        );
-
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
+        )) {
             int updatedRows = statement.executeUpdate();
             task = getTaskById(taskId).getData();
 
@@ -6,6 +6,10 @@ import org.apache.logging.log4j.Logger;
 import ru.sfedu.projectmanagement.core.Constants;
 import ru.sfedu.projectmanagement.core.model.*;
 import ru.sfedu.projectmanagement.core.model.enums.ChangeType;
+import ru.sfedu.projectmanagement.core.model.enums.WorkStatus;
+import ru.sfedu.projectmanagement.core.utils.FileStamp;
+import ru.sfedu.projectmanagement.core.utils.ParallelLoader;
+import ru.sfedu.projectmanagement.core.utils.ProjectSummaryStore;
 import ru.sfedu.projectmanagement.core.utils.config.ConfigPropertiesUtil;
 import ru.sfedu.projectmanagement.core.utils.types.NoData;
 import ru.sfedu.projectmanagement.core.utils.types.Result;
@@ -19,11 +23,14 @@ import static ru.sfedu.projectmanagement.core.utils.FileUtil.createFolderIfNotEx
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class XmlDataProvider implements IDataProvider {
     private final Logger logger = LogManager.getLogger(XmlDataProvider.class);
     private final XmlDataChecker xmlChecker;
+    private final ProjectSummaryStore summaryStore;
     private final String projectsFilePath;
     private final String employeesFilePath;
     private final String tasksFilePath;
@@ -64,6 +71,12 @@ public class XmlDataProvider implements IDataProvider {
                 .concat(Constants.EMPLOYEE_PROJECT_FILE_PATH)
                 .concat(Constants.FILE_XML_EXTENSION);
 
+        summaryStore = new ProjectSummaryStore(
+                datasourcePath.concat(Constants.PROJECT_SUMMARIES_FILE_PATH).concat(Constants.FILE_JSON_EXTENSION),
+                tasksFilePath,
+                bugReportsFilePath
+        );
+
         xmlChecker = new XmlDataChecker(
                 projectsFilePath,
                 employeesFilePath,
@@ -98,6 +111,15 @@ public class XmlDataProvider implements IDataProvider {
     }
 
 
+    /**
+     * Writes the record and tells the checker about it
+     */
+    private <T extends Entity> void createRecord(String filePath, T object) throws JAXBException {
+        FileStamp stamp = FileStamp.of(filePath);
+        XmlUtil.createRecord(filePath, object);
+        xmlChecker.onRecordCreated(filePath, object, stamp);
+    }
+
     /**
      * {@link IDataProvider#processNewProject(Project)}
      */
@@ -105,7 +127,7 @@ public class XmlDataProvider implements IDataProvider {
     public Result<NoData> processNewProject(Project project) {
         Result<NoData> result = new Result<>(ResultCode.SUCCESS);
         try {
-            XmlUtil.createRecord(projectsFilePath, project);
+            createRecord(projectsFilePath, project);
             result = initProjectEntities(project);
 
             logger.debug("processNewProject[1]: project was written in xml {}", project);
@@ -137,7 +159,10 @@ public class XmlDataProvider implements IDataProvider {
             if (validateResult.getCode() != ResultCode.SUCCESS)
                 return validateResult;
             
-            XmlUtil.createRecord(tasksFilePath, task);
+            summaryStore.write(
+                    () -> { createRecord(tasksFilePath, task); return task; },
+                    created -> summaryStore.changeTask(created.getProjectId(), null, created.getStatus())
+            );
             logger.debug("processNewTask[1]: task was written in xml {}", task);
         }
         catch (JAXBException exception) {
@@ -167,7 +192,10 @@ public class XmlDataProvider implements IDataProvider {
             if (validateResult.getCode() != ResultCode.SUCCESS)
                 return validateResult;
             
-            XmlUtil.createRecord(bugReportsFilePath, bugReport);
+            summaryStore.write(
+                    () -> { createRecord(bugReportsFilePath, bugReport); return bugReport; },
+                    created -> summaryStore.changeBugReport(created.getProjectId(), null, created.getStatus())
+            );
             logger.debug("processBugReport[1]: bug report was written in xml {}", bugReport);
         }
         catch (JAXBException exception) {
@@ -197,7 +225,7 @@ public class XmlDataProvider implements IDataProvider {
             if (validateResult.getCode() != ResultCode.SUCCESS)
                 return validateResult;
             
-            XmlUtil.createRecord(documentationsFilePath, documentation);
+            createRecord(documentationsFilePath, documentation);
             logger.debug("processNewDocumentation[1]: documentation was written in xml {}", documentation);
         }
         catch (JAXBException exception) {
@@ -227,7 +255,7 @@ public class XmlDataProvider implements IDataProvider {
             if (validateResult.getCode() != ResultCode.SUCCESS)
                 return validateResult;
             
-            XmlUtil.createRecord(employeesFilePath, employee);
+            createRecord(employeesFilePath, employee);
             logger.debug("processNewEmployee[1]: employee was written in xml {}", employee);
         }
         catch (JAXBException exception) {
@@ -257,7 +285,7 @@ public class XmlDataProvider implements IDataProvider {
             if (validateResult.getCode() != ResultCode.SUCCESS)
                 return validateResult;
                 
-            XmlUtil.createRecord(eventsFilePath, event);
+            createRecord(eventsFilePath, event);
             logger.debug("processNewEvent[1]: task was written in xml {}", event);
         }
         catch (JAXBException exception) {
@@ -281,31 +309,32 @@ public class XmlDataProvider implements IDataProvider {
      */
     @Override
     public Result<Project> getProjectById(UUID projectId) {
-        Wrapper<Project> projectWrapper = XmlUtil.readFile(projectsFilePath);
+        Optional<Project> project = XmlUtil.findFirst(projectsFilePath, p -> p.getId().equals(projectId));
+        if (project.isEmpty()) {
+            logger.debug("getProjectById[2]: project with id {} was not found", projectId);
+            return new Result<>(ResultCode.NOT_FOUND);
+        }
 
-        return projectWrapper.getList()
-            .stream()
-            .filter(p -> p.getId().equals(projectId))
-            .map(p -> {
-                List<Employee> team = getProjectTeam(projectId).getData();
-                List<Task> tasks = getTasksByProjectId(projectId).getData();
-                List<BugReport> bugReports = getBugReportsByProjectId(projectId).getData();
-                List<Event> events = getEventsByProjectId(projectId).getData();
-                List<Documentation> documentations = getDocumentationsByProjectId(projectId).getData();
-
-                p.setTeam(team);
-                p.setEvents(events);
-                p.setDocumentations(documentations);
-                p.setTasks(tasks);
-                p.setBugReports(bugReports);
-                logger.debug("getProjectById[1]: received project {}", p);
-                return new Result<>(p, ResultCode.SUCCESS);
-            })
-            .findFirst()
-            .orElseGet(() -> {
-                logger.debug("getProjectById[2]: project with id {} was not found", projectId);
-                return new Result<>(ResultCode.NOT_FOUND);
-            });
+        // every part of the project is in its own file, so they are read in parallel
+        ParallelLoader loader = new ParallelLoader();
+        Future<Result<List<Employee>>> teamFuture = loader.submit(() -> getProjectTeam(projectId));
+        Future<Result<List<Task>>> tasksFuture = loader.submit(() -> getTasksByProjectId(projectId));
+        Future<Result<List<BugReport>>> bugReportsFuture = loader.submit(() -> getBugReportsByProjectId(projectId));
+        Future<Result<List<Event>>> eventsFuture = loader.submit(() -> getEventsByProjectId(projectId));
+        Future<Result<List<Documentation>>> documentationsFuture = loader.submit(() -> getDocumentationsByProjectId(projectId));
+
+        Project p = project.get();
+        p.setTeam(loader.getData(Constants.EMPLOYEE_ERROR_KEY, teamFuture, new ArrayList<>()));
+        p.setTasks(loader.getData(Constants.TASK_ERROR_KEY, tasksFuture, new ArrayList<>()));
+        p.setBugReports(loader.getData(Constants.BUG_REPORT_ERROR_KEY, bugReportsFuture, new ArrayList<>()));
+        p.setEvents(loader.getData(Constants.EVENT_ERROR_KEY, eventsFuture, new ArrayList<>()));
+        p.setDocumentations(loader.getData(Constants.DOCUMENTATION_ERROR_KEY, documentationsFuture, new ArrayList<>()));
+        logger.debug("getProjectById[1]: received project {}", p);
+        if (loader.hasErrors()) {
+            logger.error("getProjectById[3]: project is loaded partially: {}", loader.getErrors());
+            return new Result<>(p, ResultCode.ERROR, loader.getErrors());
+        }
+        return new Result<>(p, ResultCode.SUCCESS);
     }
 
     /**
@@ -313,15 +342,11 @@ public class XmlDataProvider implements IDataProvider {
      */
     @Override
     public Result<Task> getTaskById(UUID taskId) {
-        Wrapper<Task> taskWrapper = XmlUtil.readFile(tasksFilePath);
-        return taskWrapper.getList()
-            .stream()
-            .filter(t -> t.getId().equals(taskId))
+        return XmlUtil.<Task>findFirst(tasksFilePath, t -> t.getId().equals(taskId))
             .map(t -> {
                 logger.debug("getTaskById[1]: received task {}", t);
                 return new Result<>(t, ResultCode.SUCCESS);
             })
-            .findFirst()
             .orElseGet(() -> {
                 logger.debug("getTaskById[2]: task with id {} was not found", taskId);
                 return new Result<>(ResultCode.NOT_FOUND);
@@ -333,15 +358,11 @@ public class XmlDataProvider implements IDataProvider {
      */
     @Override
     public Result<BugReport> getBugReportById(UUID bugReportId) {
-        Wrapper<BugReport> bugReportWrapper = XmlUtil.readFile(bugReportsFilePath);
-        return bugReportWrapper.getList()
-            .stream()
-            .filter(bg -> bg.getId().equals(bugReportId))
+        return XmlUtil.<BugReport>findFirst(bugReportsFilePath, bg -> bg.getId().equals(bugReportId))
             .map(bg -> {
                 logger.debug("getBugReportById[1]: received bug report {}", bg);
                 return new Result<>(bg, ResultCode.SUCCESS);
             })
-            .findFirst()
             .orElseGet(() -> {
                 logger.debug("getBugReportsById[2]: bug report with id {} was not found", bugReportId);
                 return new Result<>(ResultCode.NOT_FOUND);
@@ -353,15 +374,11 @@ public class XmlDataProvider implements IDataProvider {
      */
     @Override
     public Result<Documentation> getDocumentationById(UUID docId) {
-        Wrapper<Documentation> documentationWrapper = XmlUtil.readFile(documentationsFilePath);
-        return documentationWrapper.getList()
-            .stream()
-            .filter(doc -> doc.getId().equals(docId))
+        return XmlUtil.<Documentation>findFirst(documentationsFilePath, doc -> doc.getId().equals(docId))
             .map(doc -> {
                 logger.debug("getDocumentationById[1]: received documentation {}", doc);
                 return new Result<>(doc, ResultCode.SUCCESS);
             })
-            .findFirst()
             .orElseGet(() -> {
                 logger.debug("getDocumentationById[2]: documentation with id {} was not found", docId);
                 return new Result<>(ResultCode.NOT_FOUND);
@@ -373,15 +390,11 @@ public class XmlDataProvider implements IDataProvider {
      */
     @Override
     public Result<Event> getEventById(UUID eventId) {
-        Wrapper<Event> eventWrapper = XmlUtil.readFile(eventsFilePath);
-        return eventWrapper.getList()
-            .stream()
-            .filter(event -> event.getId().equals(eventId))
+        return XmlUtil.<Event>findFirst(eventsFilePath, event -> event.getId().equals(eventId))
             .map(event -> {
                 logger.debug("getEventById[1]: received event {}", event);
                 return new Result<>(event, ResultCode.SUCCESS);
             })
-            .findFirst()
             .orElseGet(() -> {
                 logger.debug("getEventById[2]: event with id {} was not found", eventId);
                 return new Result<>(ResultCode.NOT_FOUND);
@@ -393,15 +406,11 @@ public class XmlDataProvider implements IDataProvider {
      */
     @Override
     public Result<Employee> getEmployeeById(UUID employeeId) {
-        Wrapper<Employee> employeeWrapper = XmlUtil.readFile(employeesFilePath);
-        return employeeWrapper.getList()
-            .stream()
-            .filter(employee -> employee.getId().equals(employeeId))
+        return XmlUtil.<Employee>findFirst(employeesFilePath, employee -> employee.getId().equals(employeeId))
             .map(employee -> {
                 logger.debug("getEmployeeById[1]: received employee {}", employee);
                 return new Result<>(employee, ResultCode.SUCCESS);
             })
-            .findFirst()
             .orElseGet(() -> {
                 String message = String.format(
                         Constants.ENTITY_NOT_FOUND_MESSAGE,
@@ -413,6 +422,65 @@ public class XmlDataProvider implements IDataProvider {
             });
     }
 
+    /**
+     * Every file is read once and the files are read in parallel
+     * {@link IDataProvider#getPortfolio()}
+     */
+    @Override
+    public Result<Portfolio> getPortfolio() {
+        ParallelLoader loader = new ParallelLoader();
+        Future<Wrapper<Project>> projectsFuture = loader.submit(() -> XmlUtil.readFile(projectsFilePath));
+        Future<Wrapper<Task>> tasksFuture = loader.submit(() -> XmlUtil.readFile(tasksFilePath));
+        Future<Wrapper<BugReport>> bugReportsFuture = loader.submit(() -> XmlUtil.readFile(bugReportsFilePath));
+        Future<Wrapper<EmployeeProjectObject>> linksFuture = loader.submit(() -> XmlUtil.readFile(employeeProjectFilePath));
+        Future<Wrapper<Employee>> employeesFuture = loader.submit(() -> XmlUtil.readFile(employeesFilePath));
+
+        List<Project> projects = loader.get(Constants.PROJECT_ERROR_KEY, projectsFuture, new Wrapper<Project>()).getList();
+        List<Task> tasks = loader.get(Constants.TASK_ERROR_KEY, tasksFuture, new Wrapper<Task>()).getList();
+        List<BugReport> bugReports = loader.get(Constants.BUG_REPORT_ERROR_KEY, bugReportsFuture, new Wrapper<BugReport>()).getList();
+        List<EmployeeProjectObject> links = loader.get(
+                Constants.TEAM_ERROR_KEY, linksFuture, new Wrapper<EmployeeProjectObject>()
+        ).getList();
+        List<Employee> employees = loader.get(Constants.EMPLOYEE_ERROR_KEY, employeesFuture, new Wrapper<Employee>()).getList();
+
+        if (loader.hasErrors()) {
+            logger.error("getPortfolio[1]: {}", loader.getErrors());
+            return new Result<>(null, ResultCode.ERROR, loader.getErrors());
+        }
+
+        Map<UUID, Employee> employeesById = employees.stream()
+                .collect(Collectors.toMap(Employee::getId, employee -> employee, (first, second) -> first));
+        Map<UUID, List<Employee>> teams = links.stream()
+                .filter(link -> employeesById.containsKey(link.getEmployeeId()))
+                .collect(Collectors.groupingBy(
+                        EmployeeProjectObject::getProjectId,
+                        Collectors.mapping(link -> employeesById.get(link.getEmployeeId()), Collectors.toList())
+                ));
+
+        Portfolio portfolio = new Portfolio(
+                projects.stream().map(Project::getId).toList(),
+                tasks,
+                bugReports,
+                teams
+        );
+        logger.debug("getPortfolio[2]: received {}", portfolio);
+        return new Result<>(portfolio, ResultCode.SUCCESS);
+    }
+
+    /**
+     * {@link IDataProvider#getProjectSummary(UUID)}
+     */
+    @Override
+    public Result<ProjectSummary> getProjectSummary(UUID projectId) {
+        ProjectSummary summary = summaryStore.get(projectId, () -> ProjectSummary.of(
+                projectId,
+                XmlUtil.<Task>find(tasksFilePath, task -> projectId.equals(task.getProjectId())),
+                XmlUtil.<BugReport>find(bugReportsFilePath, bugReport -> projectId.equals(bugReport.getProjectId()))
+        ));
+        logger.debug("getProjectSummary[1]: {}", summary);
+        return new Result<>(summary, ResultCode.SUCCESS);
+    }
+
     @Override
     public Result<NoData> completeTask(UUID taskId) {
         Result<NoData> result = new Result<>(ResultCode.SUCCESS);
@@ -425,16 +493,27 @@ public class XmlDataProvider implements IDataProvider {
 
         try {
             Wrapper<Task> taskWrapper = XmlUtil.readFile(tasksFilePath);
+            List<Task> completed = new ArrayList<>();
+            List<WorkStatus> previousStatuses = new ArrayList<>();
             List<Task> taskList = taskWrapper.getList()
                     .stream()
                     .peek(task -> {
-                        if (task.getId().equals(taskId))
+                        if (task.getId().equals(taskId)) {
+                            previousStatuses.add(task.getStatus());
+                            completed.add(task);
                             task.completeTask();
+                        }
                     })
                     .toList();
 
             taskWrapper.setList(taskList);
-            XmlUtil.setContainer(tasksFilePath, taskWrapper);
+            summaryStore.write(
+                    () -> { XmlUtil.setContainer(tasksFilePath, taskWrapper); return completed; },
+                    written -> {
+                        for (int i = 0; i < written.size(); i++)
+                            summaryStore.changeTask(written.get(i).getProjectId(), previousStatuses.get(i), WorkStatus.COMPLETED);
+                    }
+            );
         }
         catch (JAXBException exception) {
             logger.error("completeTask[2]: {}", exception.getMessage());
@@ -454,13 +533,7 @@ public class XmlDataProvider implements IDataProvider {
         if (checkProjectResult.getCode() != ResultCode.SUCCESS)
             return new Result<>(new ArrayList<>(), ResultCode.NOT_FOUND, checkProjectResult.getMessage());
 
-        Wrapper<Task> taskWrapper = XmlUtil.readFile(tasksFilePath);
-        List<Task> taskList = taskWrapper.getList();
-
-        return Optional.of(taskList)
-                .map(tasks -> tasks.stream()
-                        .filter(task -> !Collections.disjoint(task.getTags(), tags))
-                        .collect(Collectors.toList()))
+        return Optional.of(XmlUtil.<Task>find(tasksFilePath, task -> !Collections.disjoint(task.getTags(), tags)))
                 .filter(tasks -> !tasks.isEmpty())
                 .map(tasks -> {
                     logger.debug("getTasksByTags[1]: received tasks {}", tasks);
@@ -482,15 +555,21 @@ public class XmlDataProvider implements IDataProvider {
         if (checkProjectResult.getCode() != ResultCode.SUCCESS)
             return new Result<>(new ArrayList<>(), ResultCode.NOT_FOUND, checkProjectResult.getMessage());
 
-        Wrapper<Task> taskWrapper = XmlUtil.readFile(tasksFilePath);
-        ArrayList<Task> tasks = taskWrapper.getList()
-                .stream()
-                .filter(task -> task.getProjectId().equals(projectId))
-                .collect(Collectors.toCollection(ArrayList::new));
+        List<Task> tasks = XmlUtil.find(tasksFilePath, task -> task.getProjectId().equals(projectId));
 
         return new Result<>(tasks, ResultCode.SUCCESS);
     }
 
+    /**
+     * {@link IDataProvider#streamTasksByProjectId(UUID)}
+     */
+    @Override
+    public Stream<Task> streamTasksByProjectId(UUID projectId) {
+        if (!isProjectStreamable(projectId))
+            return Stream.empty();
+        return XmlUtil.<Task>stream(tasksFilePath).filter(task -> projectId.equals(task.getProjectId()));
+    }
+
     /**
      * {@link IDataProvider#getTasksByEmployeeId(UUID)}
      */
@@ -503,12 +582,22 @@ public class XmlDataProvider implements IDataProvider {
                     employeeId
             ));
 
-        Wrapper<Task> taskWrapper = XmlUtil.readFile(tasksFilePath);
-        ArrayList<Task> tasks = taskWrapper.getList()
+        List<Task> tasks = XmlUtil.find(tasksFilePath, task -> task.getEmployeeId().equals(employeeId));
+
+        return new Result<>(tasks, ResultCode.SUCCESS);
+    }
+
+    /**
+     * {@link IDataProvider#getTasksByEmployeeIds(Collection)}
+     */
+    @Override
+    public Result<Map<UUID, List<Task>>> getTasksByEmployeeIds(Collection<UUID> employeeIds) {
+        Set<UUID> ids = new HashSet<>(employeeIds);
+        Map<UUID, List<Task>> tasks = XmlUtil.<Task>find(tasksFilePath, task -> ids.contains(task.getEmployeeId()))
                 .stream()
-                .filter(task -> task.getEmployeeId().equals(employeeId))
-                .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+                .collect(Collectors.groupingBy(Task::getEmployeeId));
 
+        logger.debug("getTasksByEmployeeIds[1]: received tasks of {} employees", tasks.size());
         return new Result<>(tasks, ResultCode.SUCCESS);
     }
 
@@ -521,15 +610,21 @@ public class XmlDataProvider implements IDataProvider {
         if (checkProjectResult.getCode() != ResultCode.SUCCESS)
             return new Result<>(new ArrayList<>(), ResultCode.NOT_FOUND, checkProjectResult.getMessage());
 
-        Wrapper<BugReport> bugReportWrapper = XmlUtil.readFile(bugReportsFilePath);
-        ArrayList<BugReport> bugReports = bugReportWrapper.getList()
-                .stream()
-                .filter(bugReport -> bugReport.getProjectId().equals(projectId))
-                .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+        List<BugReport> bugReports = XmlUtil.find(bugReportsFilePath, bugReport -> bugReport.getProjectId().equals(projectId));
 
         return new Result<>(bugReports, ResultCode.SUCCESS);
     }
 
+    /**
+     * {@link IDataProvider#streamBugReportsByProjectId(UUID)}
+     */
+    @Override
+    public Stream<BugReport> streamBugReportsByProjectId(UUID projectId) {
+        if (!isProjectStreamable(projectId))
+            return Stream.empty();
+        return XmlUtil.<BugReport>stream(bugReportsFilePath).filter(bugReport -> projectId.equals(bugReport.getProjectId()));
+    }
+
     /**
      * {@link IDataProvider#getEventsByProjectId(UUID)}
      */
@@ -539,15 +634,21 @@ public class XmlDataProvider implements IDataProvider {
         if (checkProjectResult.getCode() != ResultCode.SUCCESS)
             return new Result<>(new ArrayList<>(), ResultCode.NOT_FOUND, checkProjectResult.getMessage());
 
-        Wrapper<Event> eventWrapper = XmlUtil.readFile(eventsFilePath);
-        ArrayList<Event> events = eventWrapper.getList()
-                .stream()
-                .filter(event -> event.getProjectId().equals(projectId))
-                .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+        List<Event> events = XmlUtil.find(eventsFilePath, event -> event.getProjectId().equals(projectId));
 
         return new Result<>(events, ResultCode.SUCCESS);
     }
 
+    /**
+     * {@link IDataProvider#streamEventsByProjectId(UUID)}
+     */
+    @Override
+    public Stream<Event> streamEventsByProjectId(UUID projectId) {
+        if (!isProjectStreamable(projectId))
+            return Stream.empty();
+        return XmlUtil.<Event>stream(eventsFilePath).filter(event -> projectId.equals(event.getProjectId()));
+    }
+
     /**
      * {@link IDataProvider#getDocumentationsByProjectId(UUID)}
      */
@@ -557,15 +658,21 @@ public class XmlDataProvider implements IDataProvider {
         if (checkProjectResult.getCode() != ResultCode.SUCCESS)
             return new Result<>(new ArrayList<>(), ResultCode.NOT_FOUND, checkProjectResult.getMessage());
 
-        Wrapper<Documentation> documentationWrapper = XmlUtil.readFile(documentationsFilePath);
-        ArrayList<Documentation> documentations = documentationWrapper.getList()
-                .stream()
-                .filter(doc -> doc.getProjectId().equals(projectId))
-                .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+        List<Documentation> documentations = XmlUtil.find(documentationsFilePath, doc -> doc.getProjectId().equals(projectId));
 
         return new Result<>(documentations, ResultCode.SUCCESS);
     }
 
+    /**
+     * {@link IDataProvider#streamDocumentationsByProjectId(UUID)}
+     */
+    @Override
+    public Stream<Documentation> streamDocumentationsByProjectId(UUID projectId) {
+        if (!isProjectStreamable(projectId))
+            return Stream.empty();
+        return XmlUtil.<Documentation>stream(documentationsFilePath).filter(doc -> projectId.equals(doc.getProjectId()));
+    }
+
     /**
      * {@link IDataProvider#getProjectTeam(UUID)}
      */
@@ -575,10 +682,9 @@ public class XmlDataProvider implements IDataProvider {
         if (checkProjectResult.getCode() != ResultCode.SUCCESS)
             return new Result<>(new ArrayList<>(), ResultCode.NOT_FOUND, checkProjectResult.getMessage());
 
-        Wrapper<EmployeeProjectObject> employeeWrapper = XmlUtil.readFile(employeeProjectFilePath);
-        ArrayList<Employee> employees = employeeWrapper.getList()
+        List<EmployeeProjectObject> links = XmlUtil.find(employeeProjectFilePath, record -> record.getId().equals(projectId));
+        ArrayList<Employee> employees = links
             .stream()
-            .filter(record -> record.getId().equals(projectId))
             .map(record -> getEmployeeById(record.getEmployeeId()))
             .map(Result::getData)
             .collect(Collectors.toCollection(ArrayList::new));
@@ -586,6 +692,31 @@ public class XmlDataProvider implements IDataProvider {
         return new Result<>(employees, ResultCode.SUCCESS);
     }
 
+    /**
+     * {@link IDataProvider#streamProjectTeam(UUID)}
+     */
+    @Override
+    public Stream<Employee> streamProjectTeam(UUID projectId) {
+        if (!isProjectStreamable(projectId))
+            return Stream.empty();
+        return XmlUtil.<EmployeeProjectObject>stream(employeeProjectFilePath)
+                .filter(record -> record.getId().equals(projectId))
+                .map(record -> getEmployeeById(record.getEmployeeId()).getData())
+                .filter(Objects::nonNull);
+    }
+
+    /**
+     * @return true if the project exists, otherwise the reason is logged
+     */
+    private boolean isProjectStreamable(UUID projectId) {
+        Result<NoData> checkProjectResult = xmlChecker.checkProjectExistence(projectId);
+        if (checkProjectResult.getCode() != ResultCode.SUCCESS) {
+            logger.debug("isProjectStreamable[1]: {}", checkProjectResult.getMessage());
+            return false;
+        }
+        return true;
+    }
+
     /**
      * {@link IDataProvider#bindEmployeeToProject(UUID, UUID)}
      */
@@ -597,7 +728,7 @@ public class XmlDataProvider implements IDataProvider {
                 return validationResult;
 
             EmployeeProjectObject linkObject = new EmployeeProjectObject(employeeId, projectId);
-            XmlUtil.createRecord(employeeProjectFilePath, linkObject);
+            createRecord(employeeProjectFilePath, linkObject);
             return new Result<>(ResultCode.SUCCESS);
         }
         catch (JAXBException exception) {
@@ -623,11 +754,7 @@ public class XmlDataProvider implements IDataProvider {
         if (checkConstraintResult.getCode() != ResultCode.SUCCESS)
             return checkConstraintResult;
 
-        Wrapper<Project> projectWrapper = XmlUtil.readFile(projectsFilePath);
-        projectWrapper.getList()
-                .stream()
-                .filter(project -> project.getId().equals(projectId))
-                .findFirst()
+        XmlUtil.<Project>findFirst(projectsFilePath, project -> project.getId().equals(projectId))
                 .ifPresent(project -> {
                     project.setManager(employeeResult.getData());
                     try {
@@ -678,15 +805,16 @@ public class XmlDataProvider implements IDataProvider {
         ));
 
         Wrapper<Task> taskWrapper = XmlUtil.readFile(tasksFilePath);
-        taskWrapper.setList(
-                taskWrapper.getList()
-                    .stream()
-                    .filter(task -> !task.getId().equals(taskId))
-                    .collect(ArrayList::new, ArrayList::add, ArrayList::addAll)
-        );
+        Map<Boolean, List<Task>> partition = taskWrapper.getList()
+                .stream()
+                .collect(Collectors.partitioningBy(task -> task.getId().equals(taskId)));
+        taskWrapper.setList(partition.get(false));
 
         try {
-            XmlUtil.setContainer(tasksFilePath, taskWrapper);
+            summaryStore.write(
+                    () -> { XmlUtil.setContainer(tasksFilePath, taskWrapper); return partition.get(true); },
+                    deleted -> deleted.forEach(task -> summaryStore.changeTask(task.getProjectId(), task.getStatus(), null))
+            );
             logger.info("deleteTask[1]: task with id {} was deleted successfully", taskId);
             return new Result<>(ResultCode.SUCCESS);
         }
@@ -705,15 +833,17 @@ public class XmlDataProvider implements IDataProvider {
             return new Result<>(ResultCode.NOT_FOUND, String.format("bug report with id %s doesn't exist", bugReportId));
 
         Wrapper<BugReport> bugReportWrapper = XmlUtil.readFile(bugReportsFilePath);
-        bugReportWrapper.setList(
-                bugReportWrapper.getList()
-                        .stream()
-                        .filter(bugReport -> !bugReport.getId().equals(bugReportId))
-                        .collect(ArrayList::new, ArrayList::add, ArrayList::addAll)
-        );
+        Map<Boolean, List<BugReport>> partition = bugReportWrapper.getList()
+                .stream()
+                .collect(Collectors.partitioningBy(bugReport -> bugReport.getId().equals(bugReportId)));
+        bugReportWrapper.setList(partition.get(false));
 
         try {
-            XmlUtil.setContainer(bugReportsFilePath, bugReportWrapper);
+            summaryStore.write(
+                    () -> { XmlUtil.setContainer(bugReportsFilePath, bugReportWrapper); return partition.get(true); },
+                    deleted -> deleted.forEach(bugReport ->
+                            summaryStore.changeBugReport(bugReport.getProjectId(), bugReport.getStatus(), null))
+            );
             logger.info("deleteBugReport[1]: bug report with id {} was deleted successfully", bugReportId);
             return new Result<>(ResultCode.SUCCESS);
         }
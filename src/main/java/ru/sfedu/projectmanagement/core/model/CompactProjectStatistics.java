@@ -0,0 +1,251 @@
+package ru.sfedu.projectmanagement.core.model;
+
+import ru.sfedu.projectmanagement.core.model.enums.BugStatus;
+import ru.sfedu.projectmanagement.core.model.enums.WorkStatus;
+import ru.sfedu.projectmanagement.core.utils.types.TrackInfo;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Statistics of a project kept in arrays: entities are addressed by a dense index,
+ * statuses are stored as enum ordinals and efficiency as primitive floats.
+ * Readiness and numbers of entities by status are taken from the {@link ProjectSummary} of the project,
+ * entities themselves are still needed for statuses of every entity.
+ * {@link TrackInfo} views of {@link ProjectStatistics} are built only when they are requested
+ */
+public class CompactProjectStatistics {
+    private static final WorkStatus[] WORK_STATUSES = WorkStatus.values();
+    private static final BugStatus[] BUG_STATUSES = BugStatus.values();
+    private static final byte NO_STATUS = -1;
+
+    private final float projectReadiness;
+
+    private final List<Task> tasks;
+    private final UUID[] taskIds;
+    private final byte[] taskStatuses;
+    private final int[] taskStatusCounts = new int[WORK_STATUSES.length];
+
+    private final List<Employee> team;
+    private final UUID[] employeeIds;
+    private final float[] laborEfficiency;
+
+    private final List<BugReport> bugReports;
+    private final UUID[] bugReportIds;
+    private final byte[] bugReportStatuses;
+    private final int[] bugReportStatusCounts = new int[BUG_STATUSES.length];
+
+    private TrackInfo<Task, String> taskStatusView;
+    private TrackInfo<Employee, Float> laborEfficiencyView;
+    private TrackInfo<BugReport, String> bugReportStatusView;
+
+    /**
+     * @param tasks tasks of the project
+     * @param team employees of the project, null if labor efficiency is not calculated
+     * @param laborEfficiency efficiency of the employees in order of the team
+     * @param bugReports bug reports of the project, null if they are not tracked
+     */
+    public CompactProjectStatistics(List<Task> tasks, List<Employee> team, float[] laborEfficiency, List<BugReport> bugReports) {
+        this(
+                ProjectSummary.of(null, tasks, bugReports == null ? List.of() : bugReports),
+                tasks, team, laborEfficiency, bugReports
+        );
+    }
+
+    /**
+     * @param summary summary of the project which readiness and numbers of entities by status are taken from
+     * @param tasks tasks of the project
+     * @param team employees of the project, null if labor efficiency is not calculated
+     * @param laborEfficiency efficiency of the employees in order of the team
+     * @param bugReports bug reports of the project, null if they are not tracked
+     */
+    public CompactProjectStatistics(
+            ProjectSummary summary, List<Task> tasks, List<Employee> team, float[] laborEfficiency, List<BugReport> bugReports
+    ) {
+        projectReadiness = summary.getReadiness();
+        for (WorkStatus status : WORK_STATUSES)
+            taskStatusCounts[status.ordinal()] = (int) summary.getTaskCount(status);
+
+        this.tasks = tasks;
+        taskIds = new UUID[tasks.size()];
+        taskStatuses = new byte[tasks.size()];
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            taskIds[i] = task.getId();
+            taskStatuses[i] = task.getStatus() == null ? NO_STATUS : (byte) task.getStatus().ordinal();
+        }
+
+        this.team = team;
+        this.laborEfficiency = laborEfficiency;
+        employeeIds = team == null ? null : team.stream().map(Employee::getId).toArray(UUID[]::new);
+
+        this.bugReports = bugReports;
+        if (bugReports == null) {
+            bugReportIds = null;
+            bugReportStatuses = null;
+            return;
+        }
+        for (BugStatus status : BUG_STATUSES)
+            bugReportStatusCounts[status.ordinal()] = (int) summary.getBugReportCount(status);
+        bugReportIds = new UUID[bugReports.size()];
+        bugReportStatuses = new byte[bugReports.size()];
+        for (int i = 0; i < bugReports.size(); i++) {
+            BugReport bugReport = bugReports.get(i);
+            bugReportIds[i] = bugReport.getId();
+            bugReportStatuses[i] = bugReport.getStatus() == null ? NO_STATUS : (byte) bugReport.getStatus().ordinal();
+        }
+    }
+
+    /**
+     * @return the percentage of completed tasks, 0 if the project has no tasks
+     */
+    public float getProjectReadiness() {
+        return projectReadiness;
+    }
+
+    public int getTaskCount() {
+        return taskIds.length;
+    }
+
+    public UUID getTaskId(int index) {
+        return taskIds[index];
+    }
+
+    public WorkStatus getTaskStatus(int index) {
+        return taskStatuses[index] == NO_STATUS ? null : WORK_STATUSES[taskStatuses[index]];
+    }
+
+    public int countTasks(WorkStatus status) {
+        return taskStatusCounts[status.ordinal()];
+    }
+
+    public boolean hasLaborEfficiency() {
+        return team != null;
+    }
+
+    /**
+     * @return number of employees, 0 if labor efficiency is not calculated
+     */
+    public int getEmployeeCount() {
+        return employeeIds == null ? 0 : employeeIds.length;
+    }
+
+    public UUID getEmployeeId(int index) {
+        return employeeIds[index];
+    }
+
+    public float getLaborEfficiency(int index) {
+        return laborEfficiency[index];
+    }
+
+    public boolean hasBugReports() {
+        return bugReports != null;
+    }
+
+    /**
+     * @return number of bug reports, 0 if they are not tracked
+     */
+    public int getBugReportCount() {
+        return bugReportIds == null ? 0 : bugReportIds.length;
+    }
+
+    public UUID getBugReportId(int index) {
+        return bugReportIds[index];
+    }
+
+    public BugStatus getBugReportStatus(int index) {
+        return bugReportStatuses[index] == NO_STATUS ? null : BUG_STATUSES[bugReportStatuses[index]];
+    }
+
+    public int countBugReports(BugStatus status) {
+        return bugReportStatusCounts[status.ordinal()];
+    }
+
+    /**
+     * @return tasks with names of their statuses, the view is built once on the first call
+     */
+    public synchronized TrackInfo<Task, String> getTaskStatusView() {
+        if (taskStatusView == null) {
+            HashMap<Task, String> data = new HashMap<>(capacity(taskIds.length));
+            for (int i = 0; i < taskIds.length; i++)
+                data.put(tasks.get(i), taskStatuses[i] == NO_STATUS ? null : WORK_STATUSES[taskStatuses[i]].name());
+            taskStatusView = new TrackInfo<>(data);
+        }
+        return taskStatusView;
+    }
+
+    /**
+     * @return employees with their efficiency, null if labor efficiency is not calculated
+     */
+    public synchronized TrackInfo<Employee, Float> getLaborEfficiencyView() {
+        if (laborEfficiencyView == null && team != null) {
+            HashMap<Employee, Float> data = new HashMap<>(capacity(employeeIds.length));
+            for (int i = 0; i < employeeIds.length; i++)
+                data.put(team.get(i), laborEfficiency[i]);
+            laborEfficiencyView = new TrackInfo<>(data);
+        }
+        return laborEfficiencyView;
+    }
+
+    /**
+     * @return bug reports with names of their statuses, null if bug reports are not tracked
+     */
+    public synchronized TrackInfo<BugReport, String> getBugReportStatusView() {
+        if (bugReportStatusView == null && bugReports != null) {
+            HashMap<BugReport, String> data = new HashMap<>(capacity(bugReportIds.length));
+            for (int i = 0; i < bugReportIds.length; i++)
+                data.put(bugReports.get(i), bugReportStatuses[i] == NO_STATUS ? null : BUG_STATUSES[bugReportStatuses[i]].name());
+            bugReportStatusView = new TrackInfo<>(data);
+        }
+        return bugReportStatusView;
+    }
+
+    /**
+     * @return statistics in the shape returned by {@link ru.sfedu.projectmanagement.core.api.IDataProvider#monitorProjectCharacteristics}
+     */
+    public ProjectStatistics toProjectStatistics() {
+        ProjectStatistics statistics = new ProjectStatistics();
+        statistics.setProjectReadiness(getProjectReadiness());
+        statistics.setTaskStatus(getTaskStatusView());
+        statistics.setLaborEfficiency(getLaborEfficiencyView());
+        statistics.setBugReportStatus(getBugReportStatusView());
+        return statistics;
+    }
+
+    private static int capacity(int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) return true;
+        if (object == null || getClass() != object.getClass()) return false;
+        CompactProjectStatistics that = (CompactProjectStatistics) object;
+        return Arrays.equals(taskIds, that.taskIds) && Arrays.equals(taskStatuses, that.taskStatuses)
+                && Arrays.equals(employeeIds, that.employeeIds) && Arrays.equals(laborEfficiency, that.laborEfficiency)
+                && Arrays.equals(bugReportIds, that.bugReportIds) && Arrays.equals(bugReportStatuses, that.bugReportStatuses);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(taskIds);
+        result = 31 * result + Arrays.hashCode(taskStatuses);
+        result = 31 * result + Arrays.hashCode(employeeIds);
+        result = 31 * result + Arrays.hashCode(laborEfficiency);
+        result = 31 * result + Arrays.hashCode(bugReportIds);
+        result = 31 * result + Arrays.hashCode(bugReportStatuses);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactProjectStatistics{" +
+                "projectReadiness=" + getProjectReadiness() +
+                ", tasks=" + getTaskCount() +
+                ", employees=" + getEmployeeCount() +
+                ", bugReports=" + getBugReportCount() +
+                '}';
+    }
+}
@@ -60,6 +60,19 @@ public class Documentation extends ProjectEntity {
         this.body = body;
     }
 
+    public Documentation(Documentation documentation) {
+        this(
+            documentation.name,
+            documentation.description,
+            documentation.id,
+            documentation.projectId,
+            documentation.employeeId,
+            documentation.employeeFullName,
+            documentation.createdAt,
+            documentation.body == null ? null : new HashMap<>(documentation.body)
+        );
+    }
+
     public HashMap<String, String> getBody() {
         return body;
     }
@@ -0,0 +1,89 @@
+package ru.sfedu.projectmanagement.core.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Tasks, bug reports and teams of all projects, read from the data source at once
+ */
+public class Portfolio {
+    private List<UUID> projectIds = new ArrayList<>();
+    private List<Task> tasks = new ArrayList<>();
+    private List<BugReport> bugReports = new ArrayList<>();
+    private Map<UUID, List<Employee>> teams = new HashMap<>();
+
+    public Portfolio() {}
+
+    /**
+     * @param projectIds ids of all projects
+     * @param tasks tasks of all projects
+     * @param bugReports bug reports of all projects
+     * @param teams employees of the projects by project id
+     */
+    public Portfolio(List<UUID> projectIds, List<Task> tasks, List<BugReport> bugReports, Map<UUID, List<Employee>> teams) {
+        this.projectIds = projectIds;
+        this.tasks = tasks;
+        this.bugReports = bugReports;
+        this.teams = teams;
+    }
+
+    public List<UUID> getProjectIds() {
+        return projectIds;
+    }
+
+    public void setProjectIds(List<UUID> projectIds) {
+        this.projectIds = projectIds;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<Task> tasks) {
+        this.tasks = tasks;
+    }
+
+    public List<BugReport> getBugReports() {
+        return bugReports;
+    }
+
+    public void setBugReports(List<BugReport> bugReports) {
+        this.bugReports = bugReports;
+    }
+
+    public Map<UUID, List<Employee>> getTeams() {
+        return teams;
+    }
+
+    public void setTeams(Map<UUID, List<Employee>> teams) {
+        this.teams = teams;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) return true;
+        if (object == null || getClass() != object.getClass()) return false;
+        Portfolio portfolio = (Portfolio) object;
+        return Objects.equals(projectIds, portfolio.projectIds) && Objects.equals(tasks, portfolio.tasks)
+                && Objects.equals(bugReports, portfolio.bugReports) && Objects.equals(teams, portfolio.teams);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(projectIds, tasks, bugReports, teams);
+    }
+
+    @Override
+    public String toString() {
+        return "Portfolio{" +
+                "projectIds=" + projectIds.size() +
+                ", tasks=" + tasks.size() +
+                ", bugReports=" + bugReports.size() +
+                ", teams=" + teams.size() +
+                '}';
+    }
+}
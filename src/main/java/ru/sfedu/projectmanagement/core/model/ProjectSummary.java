@@ -0,0 +1,139 @@
+package ru.sfedu.projectmanagement.core.model;
+
+import ru.sfedu.projectmanagement.core.model.enums.BugStatus;
+import ru.sfedu.projectmanagement.core.model.enums.WorkStatus;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Numbers of tasks and bug reports of a project by their statuses.
+ * Providers keep it up to date when tasks and bug reports are changed, so it is read without reading the entities
+ */
+public class ProjectSummary {
+    private UUID projectId;
+    private EnumMap<WorkStatus, Long> taskCounts = new EnumMap<>(WorkStatus.class);
+    private EnumMap<BugStatus, Long> bugReportCounts = new EnumMap<>(BugStatus.class);
+
+    public ProjectSummary() {}
+
+    public ProjectSummary(UUID projectId) {
+        this.projectId = projectId;
+    }
+
+    public ProjectSummary(UUID projectId, Map<WorkStatus, Long> taskCounts, Map<BugStatus, Long> bugReportCounts) {
+        this.projectId = projectId;
+        this.taskCounts.putAll(taskCounts);
+        this.bugReportCounts.putAll(bugReportCounts);
+    }
+
+    /**
+     * @param projectId id of the project
+     * @param tasks tasks of the project
+     * @param bugReports bug reports of the project
+     * @return summary counted from the entities
+     */
+    public static ProjectSummary of(UUID projectId, Collection<Task> tasks, Collection<BugReport> bugReports) {
+        ProjectSummary summary = new ProjectSummary(projectId);
+        tasks.forEach(task -> summary.changeTask(null, task.getStatus()));
+        bugReports.forEach(bugReport -> summary.changeBugReport(null, bugReport.getStatus()));
+        return summary;
+    }
+
+    public UUID getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(UUID projectId) {
+        this.projectId = projectId;
+    }
+
+    public EnumMap<WorkStatus, Long> getTaskCounts() {
+        return taskCounts;
+    }
+
+    public void setTaskCounts(EnumMap<WorkStatus, Long> taskCounts) {
+        this.taskCounts = taskCounts;
+    }
+
+    public EnumMap<BugStatus, Long> getBugReportCounts() {
+        return bugReportCounts;
+    }
+
+    public void setBugReportCounts(EnumMap<BugStatus, Long> bugReportCounts) {
+        this.bugReportCounts = bugReportCounts;
+    }
+
+    public long getTaskCount() {
+        return taskCounts.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long getTaskCount(WorkStatus status) {
+        return taskCounts.getOrDefault(status, 0L);
+    }
+
+    public long getBugReportCount(BugStatus status) {
+        return bugReportCounts.getOrDefault(status, 0L);
+    }
+
+    /**
+     * @return the percentage of completed tasks, 0 if the project has no tasks
+     */
+    public float getReadiness() {
+        long taskCount = getTaskCount();
+        if (taskCount == 0)
+            return 0;
+        return ((float) getTaskCount(WorkStatus.COMPLETED) / taskCount) * 100.0f;
+    }
+
+    /**
+     * Moves a task from one status to another
+     * @param removed previous status of the task, null if the task is created
+     * @param added new status of the task, null if the task is deleted
+     */
+    public void changeTask(WorkStatus removed, WorkStatus added) {
+        change(taskCounts, removed, added);
+    }
+
+    /**
+     * Moves a bug report from one status to another
+     * @param removed previous status of the bug report, null if the bug report is created
+     * @param added new status of the bug report, null if the bug report is deleted
+     */
+    public void changeBugReport(BugStatus removed, BugStatus added) {
+        change(bugReportCounts, removed, added);
+    }
+
+    private static <S extends Enum<S>> void change(EnumMap<S, Long> counts, S removed, S added) {
+        if (removed != null)
+            counts.computeIfPresent(removed, (status, count) -> count > 1 ? count - 1 : null);
+        if (added != null)
+            counts.merge(added, 1L, Long::sum);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) return true;
+        if (object == null || getClass() != object.getClass()) return false;
+        ProjectSummary that = (ProjectSummary) object;
+        return Objects.equals(projectId, that.projectId) && Objects.equals(taskCounts, that.taskCounts)
+                && Objects.equals(bugReportCounts, that.bugReportCounts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(projectId, taskCounts, bugReportCounts);
+    }
+
+    @Override
+    public String toString() {
+        return "ProjectSummary{" +
+                "projectId=" + projectId +
+                ", taskCounts=" + taskCounts +
+                ", bugReportCounts=" + bugReportCounts +
+                '}';
+    }
+}
@@ -103,6 +103,24 @@ public class Task extends ProjectEntity {
         this.completedAt = completedAt;
     }
 
+    public Task(Task task) {
+        this(
+            task.name,
+            task.description,
+            task.id,
+            task.employeeId,
+            task.employeeFullName,
+            task.projectId,
+            task.deadline,
+            task.comment,
+            task.priority,
+            task.tags == null ? null : new ArrayList<>(task.tags),
+            task.status,
+            task.createdAt,
+            task.completedAt
+        );
+    }
+
 
     public Task(
             String name,
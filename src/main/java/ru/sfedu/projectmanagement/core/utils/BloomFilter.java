@@ -0,0 +1,79 @@
+package ru.sfedu.projectmanagement.core.utils;
+
+import java.util.UUID;
+
+/**
+ * Probabilistic set of UUIDs. {@link #mightContain(UUID)} never answers false for an added id,
+ * but may answer true for an id which was never added
+ */
+public class BloomFilter {
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final int capacity;
+    private int size = 0;
+
+    /**
+     * @param capacity number of ids after which the false positive probability exceeds the given one
+     * @param falsePositiveProbability wanted probability of a false positive answer, from 0 to 1 exclusive
+     */
+    public BloomFilter(int capacity, double falsePositiveProbability) {
+        if (capacity <= 0 || falsePositiveProbability <= 0 || falsePositiveProbability >= 1)
+            throw new IllegalArgumentException(String.format(
+                    "invalid bloom filter parameters: capacity %d, probability %s", capacity, falsePositiveProbability
+            ));
+
+        long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        this.bits = new long[(int) Math.max(1, (optimalBits + 63) / 64)];
+        this.bitCount = (long) bits.length * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+        this.capacity = capacity;
+    }
+
+    public void put(UUID id) {
+        long hash1 = mix(id.getMostSignificantBits() ^ Long.rotateLeft(id.getLeastSignificantBits(), 32));
+        long hash2 = mix(id.getLeastSignificantBits() + hash1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+        size++;
+    }
+
+    public boolean mightContain(UUID id) {
+        long hash1 = mix(id.getMostSignificantBits() ^ Long.rotateLeft(id.getLeastSignificantBits(), 32));
+        long hash2 = mix(id.getLeastSignificantBits() + hash1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((bits[(int) (bit >>> 6)] & 1L << bit) == 0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return number of added ids, including repeated ones
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return true if more ids were added than the filter was built for
+     */
+    public boolean isSaturated() {
+        return size > capacity;
+    }
+
+    /**
+     * Finalization step of MurmurHash3, spreads every input bit over the whole value
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
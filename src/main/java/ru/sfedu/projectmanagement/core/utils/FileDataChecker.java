@@ -7,8 +7,11 @@ import ru.sfedu.projectmanagement.core.model.*;
 import ru.sfedu.projectmanagement.core.utils.types.NoData;
 import ru.sfedu.projectmanagement.core.utils.types.Result;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 abstract public class FileDataChecker {
     private final Logger logger = LogManager.getLogger(FileDataChecker.class);
@@ -20,6 +23,18 @@ abstract public class FileDataChecker {
     protected final String documentationsFilePath;
     protected final String employeeProjectFilePath;
 
+    private static final int MIN_FILTER_CAPACITY = 1024;
+    private static final double FILTER_FALSE_POSITIVE_PROBABILITY = 0.01;
+    private final Map<String, KeyFilter> keyFilters = new ConcurrentHashMap<>();
+
+    /**
+     * Bloom filter of record keys of one file and the stamp of the file it matches
+     */
+    private static class KeyFilter {
+        private BloomFilter filter;
+        private FileStamp stamp = FileStamp.EMPTY;
+    }
+
     protected FileDataChecker(
             String projectsFilePath,
             String employeesFilePath,
@@ -98,4 +113,74 @@ abstract public class FileDataChecker {
 
     abstract public Result<NoData> checkIfEmployeeBelongsToProject(UUID employeeId, UUID projectId);
     abstract public Result<NoData> checkProjectExistence(UUID projectId);
+
+    /**
+     * Reads keys of all records of the file, used to build its filter
+     * @param filePath path of one of the checked files
+     */
+    abstract protected Collection<UUID> readKeys(String filePath) throws Exception;
+
+    /**
+     * @return key the existence of the record is checked by
+     */
+    protected UUID getKey(Entity entity) {
+        return entity.getId();
+    }
+
+    /**
+     * Answers from the in-memory Bloom filter of the file. The filter is built on the first call
+     * and rebuilt when the file was changed by something other than {@link #onRecordCreated(String, Entity, FileStamp)}
+     * @return true if the file surely has no record with such key, false if the exact lookup is needed
+     */
+    protected boolean isDefinitelyMissing(String filePath, UUID key) {
+        if (key == null)
+            return false;
+
+        KeyFilter keyFilter = keyFilters.computeIfAbsent(filePath, path -> new KeyFilter());
+        synchronized (keyFilter) {
+            FileStamp stamp = FileStamp.of(filePath);
+            if (keyFilter.filter == null || keyFilter.filter.isSaturated() || !keyFilter.stamp.equals(stamp)) {
+                try {
+                    Collection<UUID> keys = readKeys(filePath);
+                    BloomFilter filter = new BloomFilter(
+                            Math.max(MIN_FILTER_CAPACITY, keys.size() * 2), FILTER_FALSE_POSITIVE_PROBABILITY
+                    );
+                    keys.stream().filter(k -> k != null).forEach(filter::put);
+                    keyFilter.filter = filter;
+                    keyFilter.stamp = stamp;
+                    logger.debug("isDefinitelyMissing[1]: filter of {} is built with {} keys", filePath, keys.size());
+                }
+                catch (Exception exception) {
+                    logger.error("isDefinitelyMissing[2]: {}", exception.getMessage());
+                    keyFilter.filter = null;
+                    return false;
+                }
+            }
+            return !keyFilter.filter.mightContain(key);
+        }
+    }
+
+    /**
+     * Adds the key of the created record to the filter of the file, so the filter stays valid without rereading the file
+     * @param filePath path of the file the record was written to
+     * @param object created record
+     * @param previousStamp stamp of the file taken before the record was written
+     */
+    public <T extends Entity> void onRecordCreated(String filePath, T object, FileStamp previousStamp) {
+        KeyFilter keyFilter = keyFilters.get(filePath);
+        if (keyFilter == null)
+            return;
+
+        synchronized (keyFilter) {
+            if (keyFilter.filter == null || !keyFilter.stamp.equals(previousStamp)) {
+                // the file was changed by someone else, the filter is rebuilt on the next check
+                keyFilter.filter = null;
+                return;
+            }
+            UUID key = getKey(object);
+            if (key != null)
+                keyFilter.filter.put(key);
+            keyFilter.stamp = FileStamp.of(filePath);
+        }
+    }
 }
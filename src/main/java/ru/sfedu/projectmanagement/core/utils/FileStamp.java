@@ -0,0 +1,74 @@
+package ru.sfedu.projectmanagement.core.utils;
+
+import java.io.File;
+import java.util.Objects;
+
+/**
+ * Modification time and size of a file, used to find out that a file was changed since it was read
+ */
+public class FileStamp {
+    public static final FileStamp EMPTY = new FileStamp(-1, -1);
+
+    private final long lastModified;
+    private final long length;
+
+    private FileStamp(long lastModified, long length) {
+        this.lastModified = lastModified;
+        this.length = length;
+    }
+
+    /**
+     * @param filePath path of the file
+     * @return current stamp of the file, missing file has zero modification time and size
+     */
+    public static FileStamp of(String filePath) {
+        File file = new File(filePath);
+        return new FileStamp(file.lastModified(), file.length());
+    }
+
+    /**
+     * @param lastModified modification time of the file
+     * @param length size of the file
+     * @return stamp with given values, for example one which was stored somewhere earlier
+     */
+    public static FileStamp of(long lastModified, long length) {
+        return new FileStamp(lastModified, length);
+    }
+
+    /**
+     * @param filePath path of the file
+     * @return true if the file was not changed since this stamp was taken
+     */
+    public boolean isActual(String filePath) {
+        return this.equals(of(filePath));
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) return true;
+        if (object == null || getClass() != object.getClass()) return false;
+        FileStamp fileStamp = (FileStamp) object;
+        return lastModified == fileStamp.lastModified && length == fileStamp.length;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(lastModified, length);
+    }
+
+    @Override
+    public String toString() {
+        return "FileStamp{" +
+                "lastModified=" + lastModified +
+                ", length=" + length +
+                '}';
+    }
+}
@@ -5,6 +5,10 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 
 public class FileUtil {
     private static final Logger logger = LogManager.getLogger(FileUtil.class);
@@ -26,4 +30,18 @@ public class FileUtil {
         }
         else logger.debug("createFileIfNotExists[2]: file {} already exists", file.getAbsolutePath());
     }
+
+    /**
+     * Moves the written temporary file over the target, readers see either the old or the new content
+     * @param temporary completely written file
+     * @param target file which is replaced
+     */
+    public static void replaceFile(Path temporary, Path target) throws IOException {
+        try {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (AtomicMoveNotSupportedException exception) {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
 }
@@ -0,0 +1,184 @@
+package ru.sfedu.projectmanagement.core.utils;
+
+import ru.sfedu.projectmanagement.core.Constants;
+import ru.sfedu.projectmanagement.core.model.Employee;
+import ru.sfedu.projectmanagement.core.model.ProjectEntity;
+import ru.sfedu.projectmanagement.core.utils.types.Page;
+import ru.sfedu.projectmanagement.core.utils.types.Result;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Keyset pagination: entities of a project are ordered by creation date and id,
+ * employees by id, and the cursor of a page is the key of its last item.
+ * Ids are compared as unsigned numbers, in the same order as uuid columns of postgres,
+ * so pages of every provider are built the same way
+ */
+public final class Keyset {
+    public static final String CURSOR_SEPARATOR = "_";
+
+    public static final Comparator<Key> ORDER = Comparator
+            .comparing(Key::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Key::getId, Keyset::compareIds);
+
+    private Keyset() {}
+
+    /**
+     * Key of an item in the order of pages
+     */
+    public static final class Key {
+        private final LocalDateTime createdAt;
+        private final UUID id;
+
+        /**
+         * @param createdAt creation date, null for entities which are ordered by id only
+         * @param id id of the entity
+         */
+        public Key(LocalDateTime createdAt, UUID id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
+
+        public static Key of(ProjectEntity entity) {
+            return new Key(entity.getCreatedAt(), entity.getId());
+        }
+
+        public static Key of(Employee employee) {
+            return new Key(null, employee.getId());
+        }
+
+        /**
+         * @param cursor creation date and id separated by {@link #CURSOR_SEPARATOR} or only id
+         * @return key of the cursor
+         * @throws IllegalArgumentException if the cursor is malformed
+         */
+        public static Key parse(String cursor) {
+            try {
+                int separator = cursor.indexOf(CURSOR_SEPARATOR);
+                if (separator < 0)
+                    return new Key(null, UUID.fromString(cursor));
+                return new Key(
+                        LocalDateTime.parse(cursor.substring(0, separator)),
+                        UUID.fromString(cursor.substring(separator + 1))
+                );
+            }
+            catch (DateTimeParseException exception) {
+                throw new IllegalArgumentException(exception.getMessage(), exception);
+            }
+        }
+
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        public String toCursor() {
+            return createdAt == null ? id.toString() : createdAt + CURSOR_SEPARATOR + id;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) return true;
+            if (object == null || getClass() != object.getClass()) return false;
+            Key key = (Key) object;
+            return Objects.equals(createdAt, key.createdAt) && Objects.equals(id, key.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(createdAt, id);
+        }
+
+        @Override
+        public String toString() {
+            return toCursor();
+        }
+    }
+
+    /**
+     * @return Result with the key of the cursor, null key for the first page, or INVALID_DATA if the cursor or the limit is invalid
+     */
+    public static Result<Key> validate(String cursor, int limit) {
+        if (limit <= 0)
+            return new Result<>(null, ResultCode.INVALID_DATA, String.format(Constants.INVALID_PAGE_LIMIT, limit));
+        if (cursor == null)
+            return new Result<>(null, ResultCode.SUCCESS);
+
+        try {
+            return new Result<>(Key.parse(cursor), ResultCode.SUCCESS);
+        }
+        catch (IllegalArgumentException exception) {
+            return new Result<>(null, ResultCode.INVALID_DATA, String.format(Constants.INVALID_CURSOR, cursor));
+        }
+    }
+
+    /**
+     * @param entities entities in any order
+     * @param cursor cursor of the page returned before, null for the first page
+     * @param limit max number of entities on the page
+     * @return Result with the page or INVALID_DATA if the cursor or the limit is invalid
+     */
+    public static <T extends ProjectEntity> Result<Page<T>> page(Stream<T> entities, String cursor, int limit) {
+        return page(entities, Key::of, cursor, limit);
+    }
+
+    /**
+     * @param employees employees in any order
+     * @param cursor cursor of the page returned before, null for the first page
+     * @param limit max number of employees on the page
+     * @return Result with the page or INVALID_DATA if the cursor or the limit is invalid
+     */
+    public static Result<Page<Employee>> pageEmployees(Stream<Employee> employees, String cursor, int limit) {
+        return page(employees, Key::of, cursor, limit);
+    }
+
+    /**
+     * Selects the page in one pass over the items, only limit + 1 first items after the cursor are kept
+     */
+    private static <T> Result<Page<T>> page(Stream<T> items, Function<T, Key> keyOf, String cursor, int limit) {
+        Result<Key> after = validate(cursor, limit);
+        if (after.getCode() != ResultCode.SUCCESS)
+            return new Result<>(null, after.getCode(), after.getMessage());
+
+        Comparator<T> order = Comparator.comparing(keyOf, ORDER);
+        // head of the heap is the last of the items kept
+        PriorityQueue<T> first = new PriorityQueue<>(order.reversed());
+        items.filter(item -> after.getData() == null || ORDER.compare(keyOf.apply(item), after.getData()) > 0)
+                .forEach(item -> {
+                    if (first.size() <= limit)
+                        first.add(item);
+                    else if (order.compare(item, first.peek()) < 0) {
+                        first.poll();
+                        first.add(item);
+                    }
+                });
+
+        List<T> page = new ArrayList<>(first);
+        page.sort(order);
+        if (page.size() <= limit)
+            return new Result<>(new Page<>(page, null), ResultCode.SUCCESS);
+
+        page.remove(limit);
+        return new Result<>(new Page<>(page, keyOf.apply(page.get(limit - 1)).toCursor()), ResultCode.SUCCESS);
+    }
+
+    /**
+     * Compares ids as unsigned 128-bit numbers
+     */
+    public static int compareIds(UUID first, UUID second) {
+        int result = Long.compareUnsigned(first.getMostSignificantBits(), second.getMostSignificantBits());
+        return result != 0 ? result : Long.compareUnsigned(first.getLeastSignificantBits(), second.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,101 @@
+package ru.sfedu.projectmanagement.core.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import ru.sfedu.projectmanagement.core.Constants;
+import ru.sfedu.projectmanagement.core.utils.config.ConfigPropertiesUtil;
+import ru.sfedu.projectmanagement.core.utils.types.Result;
+
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs independent reads of one aggregate in parallel on a bounded pool of daemon threads
+ * and collects errors of the reads which failed
+ */
+public class ParallelLoader {
+    private static final Logger logger = LogManager.getLogger(ParallelLoader.class);
+    private static ExecutorService executor;
+
+    private final TreeMap<String, String> errors = new TreeMap<>();
+
+    /**
+     * Starts the read, the pool has {@link Constants#FILE_PROVIDER_LOAD_THREADS} threads
+     * @param task read
+     * @return future of the read
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        return getExecutor().submit(task);
+    }
+
+    /**
+     * Waits for the read. If it fails, the error is saved with the key
+     * @param errorKey key of the error
+     * @param future future of the read
+     * @param defaultValue value returned if the read failed
+     */
+    public <T> T get(String errorKey, Future<T> future, T defaultValue) {
+        try {
+            return future.get();
+        }
+        catch (ExecutionException exception) {
+            logger.error("get[1]: {}: {}", errorKey, exception.getCause().getMessage());
+            errors.put(errorKey, String.valueOf(exception.getCause().getMessage()));
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            errors.put(errorKey, exception.toString());
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Waits for the read which returns a result. Result with {@link ResultCode#ERROR} is saved as an error
+     * @param errorKey key of the error
+     * @param future future of the read
+     * @param defaultValue value returned if the read failed or has no data
+     */
+    public <T> T getData(String errorKey, Future<Result<T>> future, T defaultValue) {
+        Result<T> result = get(errorKey, future, null);
+        if (result == null)
+            return defaultValue;
+        if (result.getCode() == ResultCode.ERROR) {
+            errors.put(errorKey, String.valueOf(result.getMessage()));
+            return defaultValue;
+        }
+        return Optional.ofNullable(result.getData()).orElse(defaultValue);
+    }
+
+    /**
+     * @return errors of the failed reads by their keys
+     */
+    public TreeMap<String, String> getErrors() {
+        return errors;
+    }
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            int threads = Optional.ofNullable(ConfigPropertiesUtil.getEnvironmentVariable(Constants.FILE_PROVIDER_LOAD_THREADS))
+                    .map(Integer::parseInt)
+                    .orElse(Runtime.getRuntime().availableProcessors());
+            AtomicInteger counter = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "file-provider-loader-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            logger.debug("getExecutor[1]: loader with {} threads is created", threads);
+        }
+        return executor;
+    }
+}
@@ -0,0 +1,113 @@
+package ru.sfedu.projectmanagement.core.utils;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import ru.sfedu.projectmanagement.core.Constants;
+import ru.sfedu.projectmanagement.core.utils.config.ConfigPropertiesUtil;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pool of warm connections to one postgres database, shared by all providers which connect
+ * to the same database as the same user. Closing a connection returns it to the pool.
+ * <p>
+ * Pool size and timeouts are read from env.properties, see POSTGRES_POOL_* keys in {@link Constants}.
+ * Timeouts are in milliseconds
+ */
+public class PostgresConnectionPool {
+    private static final Logger logger = LogManager.getLogger(PostgresConnectionPool.class);
+    private static final Map<String, PostgresConnectionPool> pools = new ConcurrentHashMap<>();
+
+    public static final int DEFAULT_MIN_IDLE = 2;
+    public static final int DEFAULT_MAX_SIZE = 10;
+    public static final long DEFAULT_IDLE_TIMEOUT = 600_000;
+    public static final long DEFAULT_CONNECTION_TIMEOUT = 30_000;
+    public static final long DEFAULT_VALIDATION_TIMEOUT = 5_000;
+    public static final long DEFAULT_MAX_LIFETIME = 1_800_000;
+    public static final int DEFAULT_PREPARE_THRESHOLD = 5;
+    public static final int DEFAULT_STATEMENT_CACHE_QUERIES = 256;
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE_MIB = 5;
+
+    private final HikariDataSource dataSource;
+    private final PoolMetrics metrics = new PoolMetrics();
+
+    private PostgresConnectionPool(String url, String user, String password) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("postgres-" + pools.size());
+        config.setJdbcUrl(url);
+        config.setUsername(user);
+        config.setPassword(password);
+        config.setMinimumIdle(getInt(Constants.POSTGRES_POOL_MIN_IDLE, DEFAULT_MIN_IDLE));
+        config.setMaximumPoolSize(getInt(Constants.POSTGRES_POOL_MAX_SIZE, DEFAULT_MAX_SIZE));
+        config.setIdleTimeout(getLong(Constants.POSTGRES_POOL_IDLE_TIMEOUT, DEFAULT_IDLE_TIMEOUT));
+        config.setConnectionTimeout(getLong(Constants.POSTGRES_POOL_CONNECTION_TIMEOUT, DEFAULT_CONNECTION_TIMEOUT));
+        // connections are validated with Connection.isValid when they are taken from the pool
+        config.setValidationTimeout(getLong(Constants.POSTGRES_POOL_VALIDATION_TIMEOUT, DEFAULT_VALIDATION_TIMEOUT));
+        config.setMaxLifetime(getLong(Constants.POSTGRES_POOL_MAX_LIFETIME, DEFAULT_MAX_LIFETIME));
+        config.setLeakDetectionThreshold(getLong(Constants.POSTGRES_POOL_LEAK_DETECTION_THRESHOLD, 0));
+        // an unavailable database must not break creation of providers, getConnection fails instead
+        config.setInitializationFailTimeout(-1);
+        // the driver keeps prepared statements of every connection in its own cache and switches a query
+        // to a server side prepared statement after it was executed prepareThreshold times
+        config.addDataSourceProperty("prepareThreshold", getInt(Constants.POSTGRES_PREPARE_THRESHOLD, DEFAULT_PREPARE_THRESHOLD));
+        config.addDataSourceProperty(
+                "preparedStatementCacheQueries",
+                getInt(Constants.POSTGRES_STATEMENT_CACHE_QUERIES, DEFAULT_STATEMENT_CACHE_QUERIES)
+        );
+        config.addDataSourceProperty(
+                "preparedStatementCacheSizeMiB",
+                getInt(Constants.POSTGRES_STATEMENT_CACHE_SIZE_MIB, DEFAULT_STATEMENT_CACHE_SIZE_MIB)
+        );
+        config.setMetricsTrackerFactory((poolName, poolStats) -> {
+            metrics.setPoolStats(poolStats);
+            return metrics;
+        });
+
+        dataSource = new HikariDataSource(config);
+        logger.info("PostgresConnectionPool[1]: pool {} for {} is created", config.getPoolName(), url);
+    }
+
+    /**
+     * @return pool of the database, it is created on first access
+     */
+    public static PostgresConnectionPool get(String url, String user, String password) {
+        return pools.computeIfAbsent(url + '\n' + user, key -> new PostgresConnectionPool(url, user, password));
+    }
+
+    /**
+     * Waits for a free connection up to the connection timeout
+     */
+    public Connection getConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    public PoolMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Closes all pools, open connections are closed when they are returned
+     */
+    public static void closeAll() {
+        pools.values().forEach(pool -> pool.dataSource.close());
+        pools.clear();
+    }
+
+    private static int getInt(String key, int defaultValue) {
+        return Optional.ofNullable(ConfigPropertiesUtil.getEnvironmentVariable(key))
+                .map(Integer::parseInt)
+                .orElse(defaultValue);
+    }
+
+    private static long getLong(String key, long defaultValue) {
+        return Optional.ofNullable(ConfigPropertiesUtil.getEnvironmentVariable(key))
+                .map(Long::parseLong)
+                .orElse(defaultValue);
+    }
+}
@@ -9,15 +9,153 @@ import ru.sfedu.projectmanagement.core.Queries;
 import ru.sfedu.projectmanagement.core.utils.types.NoData;
 import ru.sfedu.projectmanagement.core.utils.types.Result;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class PostgresUtil {
     private final static Logger logger = LogManager.getLogger(PostgresUtil.class);
 
+    /**
+     * Prepares statement and binds values to its parameters, so text of the query does not depend on the values
+     * and the driver can reuse server side prepared statement of the connection
+     * @param connection database connection
+     * @param query query which has ? symbol instead of every value
+     * @param fields values of the parameters in order of their appearance in the query
+     * @return statement ready for execution
+     * @throws SQLException throws exception if query can not be prepared or value can not be bound
+     */
+    public static PreparedStatement prepareStatement(Connection connection, String query, Object ...fields) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(query);
+        try {
+            bindParameters(statement, fields);
+        }
+        catch (SQLException exception) {
+            statement.close();
+            throw exception;
+        }
+        return statement;
+    }
+
+    /**
+     * Reads rows of the query while the stream is consumed. The driver fetches rows from a server side cursor
+     * by fetchSize rows, cursors work only inside a transaction, so autocommit is off until the stream is closed.
+     * Closing the stream closes the statement and the connection
+     * @param connection database connection owned by the stream
+     * @param query query which has ? symbol instead of every value
+     * @param fetchSize number of rows fetched at once
+     * @param extractor builds an entity from the current row
+     * @param fields values of the parameters in order of their appearance in the query
+     * @return lazy stream of entities
+     * @throws SQLException throws exception if the query can not be executed, the connection is not closed then
+     */
+    public static <T> Stream<T> stream(
+            Connection connection, String query, int fetchSize, ResultSetUtils.RowExtractor<T> extractor, Object ...fields
+    ) throws SQLException {
+        connection.setAutoCommit(false);
+        PreparedStatement statement = null;
+        ResultSet resultSet;
+        try {
+            statement = prepareStatement(connection, query, fields);
+            statement.setFetchSize(fetchSize);
+            resultSet = statement.executeQuery();
+        }
+        catch (SQLException exception) {
+            if (statement != null)
+                statement.close();
+            connection.rollback();
+            connection.setAutoCommit(true);
+            throw exception;
+        }
+
+        PreparedStatement openStatement = statement;
+        Iterator<T> rows = new Iterator<>() {
+            private boolean fetched = false;
+            private boolean hasRow = false;
+
+            @Override
+            public boolean hasNext() {
+                if (!fetched) {
+                    try {
+                        hasRow = resultSet.next();
+                    }
+                    catch (SQLException exception) {
+                        throw new IllegalStateException(exception.getMessage(), exception);
+                    }
+                    fetched = true;
+                }
+                return hasRow;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                fetched = false;
+                try {
+                    return extractor.extract(resultSet);
+                }
+                catch (SQLException exception) {
+                    throw new IllegalStateException(exception.getMessage(), exception);
+                }
+            }
+        };
+
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL), false
+        ).onClose(() -> {
+            try (connection; openStatement) {
+                // the transaction only reads, the cursor is released with it
+                connection.commit();
+                connection.setAutoCommit(true);
+            }
+            catch (SQLException exception) {
+                logger.error("stream[1]: {}", exception.getMessage());
+            }
+        });
+    }
+
+    /**
+     * @param statement prepared statement, for example one which is filled for a batch
+     * @param fields values of the parameters in order of their appearance in the query
+     * @throws SQLException throws exception if value can not be bound
+     */
+    public static void bindParameters(PreparedStatement statement, Object ...fields) throws SQLException {
+        for (int i = 0; i < fields.length; i++)
+            bindParameter(statement, i + 1, fields[i]);
+    }
+
+    private static void bindParameter(PreparedStatement statement, int index, Object field) throws SQLException {
+        if (field == null)
+            statement.setNull(index, Types.NULL);
+        else if (field instanceof LocalDateTime dateTime)
+            statement.setTimestamp(index, Timestamp.valueOf(dateTime));
+        else if (field instanceof LocalDate date)
+            statement.setDate(index, Date.valueOf(date));
+        else if (field instanceof Enum<?> value)
+            statement.setString(index, value.name());
+        else if (field instanceof Array array)
+            statement.setArray(index, array);
+        else if (field instanceof String[] values)
+            statement.setArray(index, statement.getConnection().createArrayOf("VARCHAR", values));
+        else
+            statement.setObject(index, field);
+    }
+
     /**
      *
      * @param connection database connection necessary for making row count extracting queries
@@ -27,13 +165,11 @@ public class PostgresUtil {
      * @throws SQLException throws exception if something goes wrong while executing query
      */
     public static boolean isRecordExists(Connection connection, String table, UUID uuid) throws SQLException {
-        String query = String.format("SELECT COUNT(*) FROM %s WHERE id = '%s'", table, uuid);
-        PreparedStatement statement = connection.prepareStatement(query);
-        ResultSet resultSet = statement.executeQuery();
-        resultSet.next();
-
-        int result =  resultSet.getInt(1);
-        return result > 0;
+        String query = String.format(Queries.CHECK_RECORD_EXISTENCE_QUERY, table);
+        try (PreparedStatement statement = prepareStatement(connection, query, uuid)) {
+            ResultSet resultSet = statement.executeQuery();
+            return resultSet.next();
+        }
     }
 
     /**
@@ -44,20 +180,13 @@ public class PostgresUtil {
      * @return Result object with execution code and message if it fails
      */
     public static Result<NoData> checkIfEmployeeBelongsToProject(Connection connection, UUID employeeId, UUID projectId) {
-        String query = String.format(
-                Queries.CHECK_EMPLOYEE_LINK_EXISTENCE_QUERY,
-                Queries.EMPLOYEE_PROJECT_TABLE_NAME, employeeId, projectId
-        );
-
         Result<NoData> result = new Result<>(ResultCode.SUCCESS);
 
-        try {
-            PreparedStatement statement = connection.prepareStatement(query);
+        try (PreparedStatement statement = prepareStatement(
+                connection, Queries.CHECK_EMPLOYEE_LINK_EXISTENCE_QUERY, employeeId, projectId
+        )) {
             ResultSet resultSet = statement.executeQuery();
-            int rowCount = 0;
-            while (resultSet.next()) rowCount = resultSet.getInt(1);
-
-            if (rowCount == 0)
+            if (!resultSet.next())
                 return new Result<>(ResultCode.ERROR, String.format(
                         Constants.EMPLOYEE_IS_NOT_LINKED_TO_PROJECT, employeeId)
                 );
@@ -69,4 +198,74 @@ public class PostgresUtil {
         }
         return result;
     }
+
+    /**
+     * Loads rows into the table with COPY FROM STDIN, which is much faster than inserts for large imports
+     * @param connection database connection
+     * @param table name of the table
+     * @param columns comma separated columns of the table in order of values of the rows
+     * @param rows values of the rows, the same as values of insert query
+     * @return number of loaded rows
+     * @throws SQLException throws exception if rows can not be loaded
+     */
+    public static long copyIn(Connection connection, String table, String columns, List<Object[]> rows) throws SQLException {
+        StringBuilder data = new StringBuilder();
+        for (Object[] row : rows) {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) data.append(',');
+                appendCsvValue(data, row[i]);
+            }
+            data.append('\n');
+        }
+
+        try {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            return copyManager.copyIn(
+                    String.format(Queries.COPY_ENTITIES_QUERY, table, columns),
+                    new StringReader(data.toString())
+            );
+        }
+        catch (IOException exception) {
+            throw new SQLException(exception.getMessage(), exception);
+        }
+    }
+
+    /**
+     * Appends value in csv format of COPY, null is written as an empty unquoted value
+     */
+    private static void appendCsvValue(StringBuilder data, Object field) {
+        if (field == null)
+            return;
+
+        String value;
+        if (field instanceof LocalDateTime dateTime)
+            value = dateTime.atZone(ZoneId.systemDefault()).toOffsetDateTime().toString();
+        else if (field instanceof Timestamp timestamp)
+            value = timestamp.toLocalDateTime().atZone(ZoneId.systemDefault()).toOffsetDateTime().toString();
+        else if (field instanceof Enum<?> enumValue)
+            value = enumValue.name();
+        else if (field instanceof String[] values)
+            value = toArrayLiteral(values);
+        else
+            value = field.toString();
+
+        data.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    /**
+     * @return postgres array literal, for example {"first","second"}
+     */
+    private static String toArrayLiteral(String[] values) {
+        StringBuilder literal = new StringBuilder("{");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) literal.append(',');
+            if (values[i] == null)
+                literal.append("NULL");
+            else
+                literal.append('"')
+                        .append(values[i].replace("\\", "\\\\").replace("\"", "\\\""))
+                        .append('"');
+        }
+        return literal.append('}').toString();
+    }
 }
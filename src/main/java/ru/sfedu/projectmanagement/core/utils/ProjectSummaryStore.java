@@ -0,0 +1,187 @@
+package ru.sfedu.projectmanagement.core.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import ru.sfedu.projectmanagement.core.model.ProjectSummary;
+import ru.sfedu.projectmanagement.core.model.enums.BugStatus;
+import ru.sfedu.projectmanagement.core.model.enums.WorkStatus;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Summaries of projects kept up to date by the file providers and saved next to the data files.
+ * The store remembers stamps of the files the summaries are counted from. If one of them was changed
+ * not through {@link #write(Write, Consumer)}, all summaries are dropped and counted again when they are requested
+ */
+public class ProjectSummaryStore {
+    private static final Logger logger = LogManager.getLogger(ProjectSummaryStore.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String STAMPS_FIELD = "stamps";
+    private static final String SUMMARIES_FIELD = "summaries";
+    private static final String TASKS_FIELD = "tasks";
+    private static final String BUG_REPORTS_FIELD = "bugReports";
+
+    private final String storeFilePath;
+    private final List<String> sourceFilePaths;
+    private final Map<UUID, ProjectSummary> summaries = new HashMap<>();
+    private Map<String, FileStamp> stamps;
+
+    /**
+     * @param storeFilePath file where the summaries are saved
+     * @param sourceFilePaths files of tasks and bug reports which the summaries are counted from
+     */
+    public ProjectSummaryStore(String storeFilePath, String... sourceFilePaths) {
+        this.storeFilePath = storeFilePath;
+        this.sourceFilePaths = List.of(sourceFilePaths);
+    }
+
+    /**
+     * @param projectId id of the project
+     * @param loader counts the summary from the entities if the store doesn't have it
+     * @return copy of the summary, null if the loader returned null
+     */
+    public synchronized ProjectSummary get(UUID projectId, Supplier<ProjectSummary> loader) {
+        if (!isActual()) {
+            summaries.clear();
+            stamp();
+        }
+
+        ProjectSummary summary = summaries.get(projectId);
+        if (summary == null) {
+            summary = loader.get();
+            if (summary == null)
+                return null;
+            summaries.put(projectId, summary);
+            save();
+            logger.debug("get[1]: summary of project {} is counted", projectId);
+        }
+        return copy(summary);
+    }
+
+    /**
+     * Runs the write of tasks or bug reports and applies its changes to the summaries.
+     * If the files were changed by someone else before the write or the write failed, summaries are dropped
+     * @param write write of the data files
+     * @param change applies the result of the write by {@link #changeTask} and {@link #changeBugReport}
+     * @return result of the write
+     */
+    public synchronized <T, E extends Exception> T write(Write<T, E> write, Consumer<T> change) throws E {
+        boolean actual = isActual();
+        T written;
+        try {
+            written = write.call();
+        }
+        catch (Exception exception) {
+            summaries.clear();
+            stamps = null;
+            throw exception;
+        }
+
+        if (actual)
+            change.accept(written);
+        else
+            summaries.clear();
+        stamp();
+        save();
+        return written;
+    }
+
+    /**
+     * Moves a task of the project from one status to another, called from the change of {@link #write}
+     */
+    public synchronized void changeTask(UUID projectId, WorkStatus removed, WorkStatus added) {
+        Optional.ofNullable(summaries.get(projectId)).ifPresent(summary -> summary.changeTask(removed, added));
+    }
+
+    /**
+     * Moves a bug report of the project from one status to another, called from the change of {@link #write}
+     */
+    public synchronized void changeBugReport(UUID projectId, BugStatus removed, BugStatus added) {
+        Optional.ofNullable(summaries.get(projectId)).ifPresent(summary -> summary.changeBugReport(removed, added));
+    }
+
+    private boolean isActual() {
+        if (stamps == null)
+            load();
+        return sourceFilePaths.stream().allMatch(path ->
+                Optional.ofNullable(stamps.get(path)).map(stamp -> stamp.isActual(path)).orElse(false));
+    }
+
+    private void stamp() {
+        stamps = new HashMap<>();
+        sourceFilePaths.forEach(path -> stamps.put(path, FileStamp.of(path)));
+    }
+
+    private void load() {
+        stamps = new HashMap<>();
+        summaries.clear();
+        File file = new File(storeFilePath);
+        if (!file.exists() || file.length() == 0)
+            return;
+
+        try {
+            JsonNode root = mapper.readTree(file);
+            root.path(STAMPS_FIELD).fields().forEachRemaining(entry -> stamps.put(
+                    entry.getKey(),
+                    FileStamp.of(entry.getValue().get(0).asLong(), entry.getValue().get(1).asLong())
+            ));
+            root.path(SUMMARIES_FIELD).fields().forEachRemaining(entry -> {
+                UUID projectId = UUID.fromString(entry.getKey());
+                summaries.put(projectId, new ProjectSummary(
+                        projectId,
+                        mapper.convertValue(entry.getValue().path(TASKS_FIELD), new TypeReference<Map<WorkStatus, Long>>() {}),
+                        mapper.convertValue(entry.getValue().path(BUG_REPORTS_FIELD), new TypeReference<Map<BugStatus, Long>>() {})
+                ));
+            });
+            logger.debug("load[1]: {} summaries are loaded from {}", summaries.size(), storeFilePath);
+        }
+        catch (IOException | RuntimeException exception) {
+            logger.error("load[2]: {}", exception.getMessage());
+            stamps.clear();
+            summaries.clear();
+        }
+    }
+
+    private void save() {
+        ObjectNode root = mapper.createObjectNode();
+        ObjectNode stampsNode = root.putObject(STAMPS_FIELD);
+        stamps.forEach((path, stamp) -> stampsNode.putArray(path).add(stamp.getLastModified()).add(stamp.getLength()));
+        ObjectNode summariesNode = root.putObject(SUMMARIES_FIELD);
+        summaries.forEach((projectId, summary) -> {
+            ObjectNode summaryNode = summariesNode.putObject(projectId.toString());
+            summaryNode.set(TASKS_FIELD, mapper.valueToTree(summary.getTaskCounts()));
+            summaryNode.set(BUG_REPORTS_FIELD, mapper.valueToTree(summary.getBugReportCounts()));
+        });
+
+        Path target = Path.of(storeFilePath);
+        Path temporary = Path.of(storeFilePath + ".tmp");
+        try {
+            mapper.writeValue(temporary.toFile(), root);
+            FileUtil.replaceFile(temporary, target);
+        }
+        catch (IOException exception) {
+            logger.error("save[1]: {}", exception.getMessage());
+        }
+    }
+
+    private static ProjectSummary copy(ProjectSummary summary) {
+        return new ProjectSummary(summary.getProjectId(), summary.getTaskCounts(), summary.getBugReportCounts());
+    }
+
+    /**
+     * Write of the data files which may throw a checked exception of the provider
+     */
+    @FunctionalInterface
+    public interface Write<T, E extends Exception> {
+        T call() throws E;
+    }
+}
@@ -1,6 +1,5 @@
 package ru.sfedu.projectmanagement.core.utils;
 
-import ru.sfedu.projectmanagement.core.api.PostgresDataProvider;
 import ru.sfedu.projectmanagement.core.model.*;
 import ru.sfedu.projectmanagement.core.model.enums.BugStatus;
 import ru.sfedu.projectmanagement.core.model.enums.Priority;
@@ -9,6 +8,7 @@ import ru.sfedu.projectmanagement.core.model.enums.WorkStatus;
 import java.sql.Date;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -218,27 +218,21 @@ public class ResultSetUtils {
     }
 
     /**
-     * @param resultSet ResultSet of the executed query
-     * @param postgresProvider instance of the postgres provider for doing extra queries
-     * @return Project instance
+     * Builds project from results of {@link ru.sfedu.projectmanagement.core.Queries#GET_PROJECT_AGGREGATE_QUERY},
+     * which returns the project and all of its entities in one round trip
+     * @param statement executed statement with the aggregate query
+     * @return Project instance or null if there is no such project
      * @throws SQLException throws if something goes wrong when building an entity
      */
-    public static Project extractProject(ResultSet resultSet, PostgresDataProvider postgresProvider) throws SQLException {
+    public static Project extractProject(Statement statement) throws SQLException {
+        ResultSet resultSet = statement.getResultSet();
+        if (!resultSet.next())
+            return null;
+
         UUID projectId = (UUID) resultSet.getObject("id");
         String projectName = resultSet.getString("name");
         String projectDescription = resultSet.getString("description");
         WorkStatus projectStatus = WorkStatus.valueOf(resultSet.getString("status"));
-        UUID managerId = (UUID) resultSet.getObject("manager_id");
-        Employee projectManager = postgresProvider.getEmployeeById(managerId).getData();
-
-        List<Employee> projectTeam = postgresProvider.getProjectTeam(projectId).getData();
-        List<Task> projectTasks = postgresProvider.getTasksByProjectId(projectId).getData();
-        List<ProjectEntity> projectDocumentation = new ArrayList<>(List.copyOf(
-                postgresProvider.getDocumentationsByProjectId(projectId).getData()
-            )
-        );
-        List<Event> projectEvents = postgresProvider.getEventsByProjectId(projectId).getData();
-        List<BugReport> projectBugReports = postgresProvider.getBugReportsByProjectId(projectId).getData();
 
         LocalDateTime projectDeadline = null;
         Timestamp gotTimestamp = resultSet.getTimestamp("deadline");
@@ -246,6 +240,16 @@ public class ResultSetUtils {
             projectDeadline = gotTimestamp.toLocalDateTime();
         }
 
+        Employee projectManager = extractNextResult(statement, ResultSetUtils::extractEmployee)
+                .stream()
+                .findFirst()
+                .orElse(null);
+        List<Employee> projectTeam = extractNextResult(statement, ResultSetUtils::extractEmployee);
+        List<Task> projectTasks = extractNextResult(statement, ResultSetUtils::extractTask);
+        List<Documentation> projectDocumentation = extractNextResult(statement, ResultSetUtils::extractDocumentation);
+        List<Event> projectEvents = extractNextResult(statement, ResultSetUtils::extractEvent);
+        List<BugReport> projectBugReports = extractNextResult(statement, ResultSetUtils::extractBugReport);
+
         return new Project(
                 projectName,
                 projectDescription,
@@ -258,10 +262,33 @@ public class ResultSetUtils {
                 new ArrayList<>(){{ addAll(projectTasks); }},
                 new ArrayList<>(){{ addAll(projectBugReports); }},
                 new ArrayList<>(){{ addAll(projectEvents); }},
-                projectDocumentation
+                new ArrayList<>(){{ addAll(projectDocumentation); }}
         );
     }
 
+    /**
+     * @param statement statement which returns several results
+     * @param extractor function which builds an entity from the current row
+     * @return entities of the next result of the statement
+     * @throws SQLException throws if statement has no more results or entity can not be built
+     */
+    private static <T> List<T> extractNextResult(Statement statement, RowExtractor<T> extractor) throws SQLException {
+        if (!statement.getMoreResults())
+            throw new SQLException("Statement has fewer results than expected");
+
+        List<T> entities = new ArrayList<>();
+        try (ResultSet resultSet = statement.getResultSet()) {
+            while (resultSet.next())
+                entities.add(extractor.extract(resultSet));
+        }
+        return entities;
+    }
+
+    @FunctionalInterface
+    public interface RowExtractor<T> {
+        T extract(ResultSet resultSet) throws SQLException;
+    }
+
     /**
      * @param articleTitles array of article identificators such as titles or short explanation of the article
      * @param articles array of articles
@@ -0,0 +1,106 @@
+package ru.sfedu.projectmanagement.core.utils.bson;
+
+import org.bson.BsonWriter;
+import org.bson.codecs.Encoder;
+import org.bson.codecs.EncoderContext;
+import ru.sfedu.projectmanagement.core.model.Entity;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes an entity as a BSON document with one field per non-static field of the class and its superclasses.
+ * Fields of the class are looked up once when the codec is created.
+ * Ids are written as strings, dates as UTC date time and enums by name, so history can be queried by them.
+ * History is only written, so entities are never decoded and the encoder is not a codec of the registry
+ * @param <T> type of the entity
+ */
+public class EntityEncoder<T> implements Encoder<T> {
+    private final Class<T> tClass;
+    private final String[] names;
+    private final Field[] fields;
+
+    EntityEncoder(Class<T> tClass) {
+        this.tClass = tClass;
+
+        List<Field> classFields = new ArrayList<>();
+        for (Class<?> type = tClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            List<Field> declared = new ArrayList<>();
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers()) || field.isSynthetic())
+                    continue;
+                field.setAccessible(true);
+                declared.add(field);
+            }
+            // fields of the superclass go first
+            classFields.addAll(0, declared);
+        }
+
+        this.fields = classFields.toArray(Field[]::new);
+        this.names = classFields.stream().map(Field::getName).toArray(String[]::new);
+    }
+
+    @Override
+    public void encode(BsonWriter writer, T value, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        for (int i = 0; i < fields.length; i++) {
+            writer.writeName(names[i]);
+            try {
+                writeValue(writer, fields[i].get(value), encoderContext);
+            }
+            catch (IllegalAccessException exception) {
+                throw new IllegalStateException(exception);
+            }
+        }
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Class<T> getEncoderClass() {
+        return tClass;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeValue(BsonWriter writer, Object value, EncoderContext encoderContext) {
+        if (value == null)
+            writer.writeNull();
+        else if (value instanceof String string)
+            writer.writeString(string);
+        else if (value instanceof UUID uuid)
+            writer.writeString(uuid.toString());
+        else if (value instanceof Enum<?> enumValue)
+            writer.writeString(enumValue.name());
+        else if (value instanceof LocalDateTime dateTime)
+            writer.writeDateTime(dateTime.toInstant(ZoneOffset.UTC).toEpochMilli());
+        else if (value instanceof LocalDate date)
+            writer.writeDateTime(date.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli());
+        else if (value instanceof Collection<?> collection) {
+            writer.writeStartArray();
+            for (Object item : collection)
+                writeValue(writer, item, encoderContext);
+            writer.writeEndArray();
+        }
+        else if (value instanceof Map<?, ?> map) {
+            writer.writeStartDocument();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writer.writeName(String.valueOf(entry.getKey()));
+                writeValue(writer, entry.getValue(), encoderContext);
+            }
+            writer.writeEndDocument();
+        }
+        else {
+            Encoder<Object> encoder = value instanceof Entity
+                    ? (Encoder<Object>) HistoryCodecs.getEncoder(value.getClass())
+                    : (Encoder<Object>) HistoryCodecs.REGISTRY.get(value.getClass());
+            encoderContext.encodeWithChildContext(encoder, writer, value);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package ru.sfedu.projectmanagement.core.utils.bson;
+
+import com.mongodb.MongoClientSettings;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentWriter;
+import org.bson.codecs.Encoder;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecConfigurationException;
+import org.bson.codecs.configuration.CodecRegistry;
+import ru.sfedu.projectmanagement.core.model.Entity;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of BSON codecs of the history and encoders of the model classes,
+ * an encoder is created once per class
+ */
+public class HistoryCodecs {
+    public static final CodecRegistry REGISTRY = MongoClientSettings.getDefaultCodecRegistry();
+
+    private static final Map<Class<?>, EntityEncoder<?>> ENCODERS = new ConcurrentHashMap<>();
+
+    private HistoryCodecs() {}
+
+    /**
+     * @param tClass class of the entity
+     * @return encoder of the entity class, null if the class is not an entity
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Encoder<T> getEncoder(Class<T> tClass) {
+        if (!Entity.class.isAssignableFrom(tClass))
+            return null;
+        return (Encoder<T>) ENCODERS.computeIfAbsent(tClass, EntityEncoder::new);
+    }
+
+    /**
+     * @param object object of the history record
+     * @return object written as BSON document, null if there is no codec of the object
+     */
+    @SuppressWarnings("unchecked")
+    public static BsonDocument toBsonDocument(Object object) {
+        Encoder<Object> encoder = (Encoder<Object>) getEncoder(object.getClass());
+        if (encoder == null) {
+            try {
+                encoder = (Encoder<Object>) REGISTRY.get(object.getClass());
+            }
+            catch (CodecConfigurationException exception) {
+                return null;
+            }
+        }
+
+        BsonDocument document = new BsonDocument();
+        encoder.encode(new BsonDocumentWriter(document), object, EncoderContext.builder().build());
+        return document;
+    }
+}
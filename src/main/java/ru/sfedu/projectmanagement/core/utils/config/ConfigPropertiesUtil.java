@@ -7,7 +7,9 @@ import ru.sfedu.projectmanagement.core.Constants;
 import java.io.*;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Optional;
 import java.util.Properties;
+import java.util.function.Function;
 
 public class ConfigPropertiesUtil {
     private static final Logger logger = LogManager.getLogger(ConfigPropertiesUtil.class);
@@ -72,6 +74,43 @@ public class ConfigPropertiesUtil {
         return null;
     }
 
+    /**
+     * @param key key of the properties file
+     * @param defaultValue value returned if the key is missing or can't be read
+     * @return boolean value of properties key
+     */
+    public static boolean getFlag(String key, boolean defaultValue) {
+        return getValue(key, Boolean::parseBoolean, defaultValue);
+    }
+
+    /**
+     * @param key key of the properties file
+     * @param defaultValue value returned if the key is missing or can't be read
+     * @return int value of properties key
+     */
+    public static int getInt(String key, int defaultValue) {
+        return getValue(key, Integer::parseInt, defaultValue);
+    }
+
+    /**
+     * @param key key of the properties file
+     * @param defaultValue value returned if the key is missing or can't be read
+     * @return long value of properties key
+     */
+    public static long getLong(String key, long defaultValue) {
+        return getValue(key, Long::parseLong, defaultValue);
+    }
+
+    private static <T> T getValue(String key, Function<String, T> parser, T defaultValue) {
+        try {
+            return Optional.ofNullable(getEnvironmentVariable(key)).map(String::trim).map(parser).orElse(defaultValue);
+        }
+        catch (RuntimeException exception) {
+            logger.error("getValue[1]: {}: {}", key, exception.getMessage());
+            return defaultValue;
+        }
+    }
+
     /**
      * @param key key of the properties file
      * @return array of values of properties key if it exists else null
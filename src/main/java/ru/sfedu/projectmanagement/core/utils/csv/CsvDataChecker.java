@@ -6,18 +6,25 @@ import ru.sfedu.projectmanagement.core.Constants;
 import ru.sfedu.projectmanagement.core.model.*;
 import ru.sfedu.projectmanagement.core.utils.FileDataChecker;
 import ru.sfedu.projectmanagement.core.utils.ResultCode;
+import ru.sfedu.projectmanagement.core.utils.csv.codec.CsvCodec;
+import ru.sfedu.projectmanagement.core.utils.csv.codec.CsvCodecs;
+import ru.sfedu.projectmanagement.core.utils.index.EntityIndex;
+import ru.sfedu.projectmanagement.core.utils.index.IndexEntry;
 import ru.sfedu.projectmanagement.core.utils.types.NoData;
 import ru.sfedu.projectmanagement.core.utils.types.Result;
 
+import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.TreeMap;
 import java.util.UUID;
 
-import static ru.sfedu.projectmanagement.core.utils.csv.CsvUtil.readFile;
-
 public class CsvDataChecker extends FileDataChecker {
     private final Logger logger = LogManager.getLogger(CsvDataChecker.class);
+    private final CsvTableCache tableCache;
+    private final CsvIndexCache indexCache;
+    private final Map<String, Class<? extends Entity>> fileTypes;
 
     public CsvDataChecker(
             String projectsFilePath,
@@ -27,25 +34,84 @@ public class CsvDataChecker extends FileDataChecker {
             String eventsFilePath,
             String documentationsFilePath,
             String employeeProjectFilePath
+    ) {
+        this(projectsFilePath, employeesFilePath, tasksFilePath, bugReportsFilePath, eventsFilePath, documentationsFilePath, employeeProjectFilePath, null, null);
+    }
+
+    /**
+     * @param tableCache cache of the provider, lookups go through it if it is not null
+     * @param indexCache indexes of the provider, used for lookups if there is no table cache
+     */
+    public CsvDataChecker(
+            String projectsFilePath,
+            String employeesFilePath,
+            String tasksFilePath,
+            String bugReportsFilePath,
+            String eventsFilePath,
+            String documentationsFilePath,
+            String employeeProjectFilePath,
+            CsvTableCache tableCache,
+            CsvIndexCache indexCache
     ) {
         super(projectsFilePath, employeesFilePath, tasksFilePath, bugReportsFilePath, eventsFilePath, documentationsFilePath, employeeProjectFilePath);
+        this.tableCache = tableCache;
+        this.indexCache = indexCache;
+        this.fileTypes = Map.of(
+                projectsFilePath, Project.class,
+                employeesFilePath, Employee.class,
+                tasksFilePath, Task.class,
+                bugReportsFilePath, BugReport.class,
+                eventsFilePath, Event.class,
+                documentationsFilePath, Documentation.class,
+                employeeProjectFilePath, EmployeeProjectObject.class
+        );
+    }
+
+    private <T extends Entity> boolean isRecordNotExists(String filePath, UUID id, Class<T> tClass) {
+        if (tableCache != null)
+            return !tableCache.getTable(filePath, tClass).contains(id);
+        if (isDefinitelyMissing(filePath, id))
+            return true;
+
+        CsvIndex<T> index = indexCache == null ? null : indexCache.getIndex(filePath, tClass);
+        if (index != null) {
+            try {
+                return !index.contains(EntityIndex.Key.ID, id);
+            }
+            catch (Exception exception) {
+                logger.error("isRecordNotExists[1]: {}", exception.getMessage());
+            }
+        }
+        return CsvUtil.isRecordNotExists(filePath, id, tClass);
+    }
+
+    @Override
+    protected Collection<UUID> readKeys(String filePath) throws Exception {
+        return readIds(filePath, fileTypes.get(filePath));
+    }
+
+    private <T extends Entity> List<UUID> readIds(String filePath, Class<T> tClass) throws Exception {
+        CsvCodec<T> codec = CsvCodecs.get(tClass);
+        if (codec != null && codec.getIdColumn() >= 0 && CsvScanner.isScannable())
+            return CsvScanner.readIndexEntries(filePath, codec).stream().map(IndexEntry::getId).toList();
+
+        List<T> records = CsvUtil.readFile(filePath, tClass);
+        if (records == null)
+            throw new IOException(Constants.READ_ERROR);
+        return records.stream().map(Entity::getId).toList();
     }
 
     @Override
     public Result<NoData> checkProjectAndEmployeeExistence(ProjectEntity entity) {
         logger.debug("checkProjectAndEmployeeExistence[1]: creating {} {}", entity.getClass().getSimpleName(), entity);
         TreeMap<String, String> errors = new TreeMap<>();
-        if (CsvUtil.isRecordNotExists(employeesFilePath, entity.getEmployeeId(), Employee.class))
+        if (isRecordNotExists(employeesFilePath, entity.getEmployeeId(), Employee.class))
             errors.put(Constants.EMPLOYEE_ERROR_KEY, String.format(Constants.EMPLOYEE_DOES_NOT_EXISTS, entity.getEmployeeId()));
-        if (CsvUtil.isRecordNotExists(projectsFilePath, entity.getProjectId(), Project.class))
+        if (isRecordNotExists(projectsFilePath, entity.getProjectId(), Project.class))
             errors.put(Constants.PROJECT_ERROR_KEY, String.format(Constants.PROJECT_DOES_NOT_EXISTS, entity.getProjectId()));
 
-        List<EmployeeProjectObject> data = readFile(employeeProjectFilePath, EmployeeProjectObject.class);
-        boolean isEmployeeLinkExists = Optional.ofNullable(data)
-                .map(d -> d.stream().anyMatch(e -> e.getId().equals(entity.getProjectId())))
-                .orElse(false);
-
-        if (!isEmployeeLinkExists)
+        // id of a link is the id of its project
+        if (isRecordNotExists(employeeProjectFilePath, entity.getProjectId(), EmployeeProjectObject.class))
             errors.put(Constants.EMPLOYEE_ERROR_KEY, String.format(
                     Constants.EMPLOYEE_IS_NOT_LINKED_TO_PROJECT, entity.getEmployeeId()
             ));
@@ -61,9 +127,9 @@ public class CsvDataChecker extends FileDataChecker {
     @Override
     public Result<NoData> checkProjectAndEmployeeExistence(UUID employeeId, UUID projectId) {
         TreeMap<String, String> errors = new TreeMap<>();
-        if (CsvUtil.isRecordNotExists(employeesFilePath, employeeId, Employee.class))
+        if (isRecordNotExists(employeesFilePath, employeeId, Employee.class))
             errors.put(Constants.EMPLOYEE_ERROR_KEY, String.format(Constants.EMPLOYEE_DOES_NOT_EXISTS, employeeId));
-        if (CsvUtil.isRecordNotExists(projectsFilePath, projectId, Project.class))
+        if (isRecordNotExists(projectsFilePath, projectId, Project.class))
             errors.put(Constants.PROJECT_ERROR_KEY, String.format(Constants.PROJECT_DOES_NOT_EXISTS, projectId));
 
         if (!errors.isEmpty()) {
@@ -76,7 +142,7 @@ public class CsvDataChecker extends FileDataChecker {
 
     @Override
     public Result<NoData> checkProjectExistence(UUID projectId) {
-        if (CsvUtil.isRecordNotExists(projectsFilePath, projectId, Project.class))
+        if (isRecordNotExists(projectsFilePath, projectId, Project.class))
             return new Result<>(ResultCode.ERROR, String.format(
                     Constants.ENTITY_NOT_FOUND_MESSAGE,
                     Project.class.getSimpleName(),
@@ -92,13 +158,13 @@ public class CsvDataChecker extends FileDataChecker {
         logger.debug("checkEntitiesBeforeBindTaskExecutor[1]: start validating");
         TreeMap<String, String> errors = new TreeMap<>();
 
-        if (CsvUtil.isRecordNotExists(tasksFilePath, taskId, Task.class))
+        if (isRecordNotExists(tasksFilePath, taskId, Task.class))
             errors.put(Constants.TASK_ERROR_KEY, Constants.TASK_DOES_NOT_EXISTS);
-        if (CsvUtil.isRecordNotExists(employeesFilePath, executorId, Employee.class))
+        if (isRecordNotExists(employeesFilePath, executorId, Employee.class))
             errors.put(Constants.EMPLOYEE_ERROR_KEY, Constants.EMPLOYEE_DOES_NOT_EXISTS);
-        if (CsvUtil.isRecordNotExists(projectsFilePath, projectId, Project.class))
+        if (isRecordNotExists(projectsFilePath, projectId, Project.class))
             errors.put(Constants.PROJECT_ERROR_KEY, Constants.PROJECT_DOES_NOT_EXISTS);
-        if (CsvUtil.isRecordNotExists(employeeProjectFilePath, executorId, EmployeeProjectObject.class))
+        if (isRecordNotExists(employeeProjectFilePath, executorId, EmployeeProjectObject.class))
             errors.put(Constants.EMPLOYEE_ERROR_KEY, Constants.EMPLOYEE_DOES_NOT_EXISTS);
 
         if (!errors.isEmpty())
@@ -113,7 +179,7 @@ public class CsvDataChecker extends FileDataChecker {
         logger.debug("createProjectValidation[1]: creating project {}", project);
         TreeMap<String, String> errors = new TreeMap<>();
 
-        if (project.getManager() != null && CsvUtil.isRecordNotExists(employeesFilePath, project.getManager().getId(), Employee.class)) {
+        if (project.getManager() != null && isRecordNotExists(employeesFilePath, project.getManager().getId(), Employee.class)) {
             errors.put(Constants.EMPLOYEE_ERROR_KEY, String.format(Constants.EMPLOYEE_DOES_NOT_EXISTS, project.getManager()));
             return new Result<>(null, ResultCode.ERROR, errors);
         }
@@ -126,9 +192,9 @@ public class CsvDataChecker extends FileDataChecker {
     public Result<NoData> checkIfEmployeeBelongsToProject(UUID employeeId, UUID projectId) {
         logger.debug("checkIfEmployeeBelongsToProject[1]: object {}", employeeId);
         TreeMap<String, String> errors = new TreeMap<>();
-        if (CsvUtil.isRecordNotExists(employeesFilePath, employeeId, Employee.class))
+        if (isRecordNotExists(employeesFilePath, employeeId, Employee.class))
             errors.put(Constants.EMPLOYEE_ERROR_KEY, Constants.EMPLOYEE_DOES_NOT_EXISTS);
-        if (CsvUtil.isRecordNotExists(employeeProjectFilePath, projectId, EmployeeProjectObject.class))
+        if (isRecordNotExists(employeeProjectFilePath, projectId, EmployeeProjectObject.class))
             errors.put(Constants.EMPLOYEE_ERROR_KEY, Constants.EMPLOYEE_IS_NOT_LINKED_TO_PROJECT);
 
         if (!errors.isEmpty())
@@ -0,0 +1,112 @@
+package ru.sfedu.projectmanagement.core.utils.csv;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import ru.sfedu.projectmanagement.core.Constants;
+import ru.sfedu.projectmanagement.core.model.Entity;
+import ru.sfedu.projectmanagement.core.model.EmployeeProjectObject;
+import ru.sfedu.projectmanagement.core.model.enums.EntityType;
+import ru.sfedu.projectmanagement.core.utils.FileStamp;
+import ru.sfedu.projectmanagement.core.utils.csv.codec.CsvCodec;
+import ru.sfedu.projectmanagement.core.utils.index.EntityIndex;
+import ru.sfedu.projectmanagement.core.utils.index.IndexEntry;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Csv file with a persistent {@link EntityIndex} of byte offsets of its records.
+ * Lookups read the memory-mapped index and decode only the records it points to
+ */
+public class CsvIndex<T extends Entity> {
+    private final Logger logger = LogManager.getLogger(CsvIndex.class);
+    private final String filePath;
+    private final Class<T> tClass;
+    private final CsvCodec<T> codec;
+    private final EntityIndex index;
+
+    CsvIndex(String filePath, Class<T> tClass, CsvCodec<T> codec) {
+        this.filePath = filePath;
+        this.tClass = tClass;
+        this.codec = codec;
+        this.index = new EntityIndex(filePath, () -> CsvScanner.readIndexEntries(filePath, codec));
+    }
+
+    public Class<T> getType() {
+        return tClass;
+    }
+
+    /**
+     * @param key indexed key
+     * @param value wanted value of the key
+     * @return records with such key in file order
+     */
+    public List<T> find(EntityIndex.Key key, UUID value) throws Exception {
+        List<T> records = read(key, value);
+        if (records == null) {
+            // the data file was rewritten without changing its size and modification time
+            logger.debug("find[1]: index of {} does not match the file", filePath);
+            index.invalidate();
+            records = read(key, value);
+        }
+        if (records == null)
+            throw new IOException(Constants.READ_ERROR);
+        return records;
+    }
+
+    public boolean contains(EntityIndex.Key key, UUID value) throws Exception {
+        return index.contains(key, value);
+    }
+
+    /**
+     * Appends the record to the file and the index.
+     * Duplicates are checked like in {@link CsvUtil#createRecord(String, Entity, Class)}
+     */
+    public void append(T object) throws Exception {
+        List<EntityType> secondaryEntities = List.of(EntityType.TaskTag, EntityType.DocumentationData);
+        if (object.getEntityType() == EntityType.EmployeeProject)
+            CsvUtil.checkDuplicate(
+                    find(EntityIndex.Key.EMPLOYEE_ID, ((EmployeeProjectObject) object).getEmployeeId()), object
+            );
+        else if (!secondaryEntities.contains(object.getEntityType()))
+            CsvUtil.checkDuplicate(find(EntityIndex.Key.ID, object.getId()), object);
+
+        FileStamp stamp = FileStamp.of(filePath);
+        CsvUtil.appendRecord(filePath, object, tClass);
+        index.append(new IndexEntry(
+                object.getId(), CsvUtil.getProjectIdOf(object), CsvUtil.getEmployeeIdOf(object), stamp.getLength()
+        ), stamp);
+    }
+
+    /**
+     * Makes the index rebuild on the next lookup, must be called after the file was rewritten
+     */
+    public void invalidate() {
+        index.invalidate();
+    }
+
+    /**
+     * @return records the index points to or null if some of them don't have the wanted key
+     */
+    private List<T> read(EntityIndex.Key key, UUID value) throws Exception {
+        long[] positions = index.find(key, value);
+        try {
+            List<T> records = CsvScanner.readAt(filePath, codec, positions);
+            if (records != null && records.stream().allMatch(record -> value.equals(getKey(key, record))))
+                return records;
+        }
+        catch (RuntimeException exception) {
+            logger.debug("read[1]: {}", exception.getMessage());
+        }
+        return null;
+    }
+
+    private UUID getKey(EntityIndex.Key key, T record) {
+        return switch (key) {
+            case ID -> record.getId();
+            case PROJECT_ID -> CsvUtil.getProjectIdOf(record);
+            case EMPLOYEE_ID -> CsvUtil.getEmployeeIdOf(record);
+        };
+    }
+}
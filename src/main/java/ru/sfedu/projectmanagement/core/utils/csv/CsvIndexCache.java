@@ -0,0 +1,38 @@
+package ru.sfedu.projectmanagement.core.utils.csv;
+
+import ru.sfedu.projectmanagement.core.model.Entity;
+import ru.sfedu.projectmanagement.core.utils.csv.codec.CsvCodec;
+import ru.sfedu.projectmanagement.core.utils.csv.codec.CsvCodecs;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds one {@link CsvIndex} per datasource file
+ */
+public class CsvIndexCache {
+    private final Map<String, CsvIndex<?>> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * @param filePath path of the csv file
+     * @param tClass type of records stored in the file
+     * @return index of the file or null if records of this type can't be indexed
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Entity> CsvIndex<T> getIndex(String filePath, Class<T> tClass) {
+        CsvCodec<T> codec = CsvCodecs.get(tClass);
+        if (codec == null || codec.getIdColumn() < 0 || !CsvScanner.isScannable())
+            return null;
+
+        CsvIndex<?> index = indexes.computeIfAbsent(filePath, path -> new CsvIndex<>(path, tClass, codec));
+        if (!index.getType().equals(tClass))
+            throw new IllegalArgumentException(String.format(
+                    "file %s is indexed with type %s", filePath, index.getType().getSimpleName()
+            ));
+        return (CsvIndex<T>) index;
+    }
+
+    public void invalidate() {
+        indexes.values().forEach(CsvIndex::invalidate);
+    }
+}
@@ -0,0 +1,451 @@
+package ru.sfedu.projectmanagement.core.utils.csv;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import ru.sfedu.projectmanagement.core.model.Entity;
+import ru.sfedu.projectmanagement.core.utils.csv.codec.CsvCodec;
+import ru.sfedu.projectmanagement.core.utils.csv.codec.CsvCodecs;
+import ru.sfedu.projectmanagement.core.utils.csv.codec.CsvRecordReader;
+import ru.sfedu.projectmanagement.core.utils.index.IndexEntry;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Selective reads of csv files.
+ * The file is memory-mapped and scanned byte by byte, the key column of every record is compared
+ * with the wanted id in place, so rejected records are neither decoded nor copied.
+ * Only matching records are decoded with the {@link CsvCodec} of the entity.
+ * <p>
+ * Entities without a codec, files larger than 2 GB and charsets where the csv control characters
+ * may be a part of a multibyte character are read with {@link CsvUtil#readFile(String, Class)} and filtered
+ */
+public class CsvScanner {
+    private static final Logger logger = LogManager.getLogger(CsvScanner.class);
+    private static final Charset charset = Charset.defaultCharset();
+    private static final boolean asciiCompatible = isAsciiCompatible(charset);
+    private static final int UUID_LENGTH = 36;
+
+    private static final byte SEPARATOR = ',';
+    private static final byte QUOTE = '"';
+    private static final byte ESCAPE = '\\';
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+
+    private CsvScanner() {}
+
+    /**
+     * @return records with such id or null if the file can't be read
+     */
+    public static <T extends Entity> List<T> findById(String filePath, UUID id, Class<T> tClass) {
+        return find(filePath, id, tClass, CsvCodec::getIdColumn, Entity::getId);
+    }
+
+    /**
+     * @return records bound to the project or null if the file can't be read
+     */
+    public static <T extends Entity> List<T> findByProjectId(String filePath, UUID projectId, Class<T> tClass) {
+        return find(filePath, projectId, tClass, CsvCodec::getProjectIdColumn, CsvUtil::getProjectIdOf);
+    }
+
+    /**
+     * @return records bound to the employee or null if the file can't be read
+     */
+    public static <T extends Entity> List<T> findByEmployeeId(String filePath, UUID employeeId, Class<T> tClass) {
+        return find(filePath, employeeId, tClass, CsvCodec::getEmployeeIdColumn, CsvUtil::getEmployeeIdOf);
+    }
+
+    /**
+     * @return records with any of the ids or null if the file can't be read
+     */
+    public static <T extends Entity> List<T> findByIds(String filePath, Set<UUID> ids, Class<T> tClass) {
+        return Optional.ofNullable(stream(
+                        filePath, tClass, CsvCodec::getIdColumn,
+                        column -> (buffer, bounds) -> ids.contains(parseUuid(buffer, bounds, column)),
+                        record -> ids.contains(record.getId())
+                ))
+                .map(records -> records.collect(Collectors.toList()))
+                .orElse(null);
+    }
+
+    /**
+     * Reads records bound to the project lazily: the mapped file is walked while the stream is consumed
+     * and matching records are decoded by small batches, so only one batch is kept in memory
+     * @return records bound to the project or null if the file can't be read
+     */
+    public static <T extends Entity> Stream<T> streamByProjectId(String filePath, UUID projectId, Class<T> tClass) {
+        byte[] expected = projectId.toString().getBytes(StandardCharsets.US_ASCII);
+        return stream(
+                filePath, tClass, CsvCodec::getProjectIdColumn,
+                column -> (buffer, bounds) -> bounds[column * 2] >= 0
+                        && fieldEquals(buffer, bounds[column * 2], bounds[column * 2 + 1], expected),
+                record -> projectId.equals(CsvUtil.getProjectIdOf(record))
+        );
+    }
+
+    private static <T extends Entity> List<T> find(
+            String filePath,
+            UUID value,
+            Class<T> tClass,
+            ToIntFunction<CsvCodec<T>> columnOf,
+            Function<Entity, UUID> keyOf
+    ) {
+        byte[] expected = value.toString().getBytes(StandardCharsets.US_ASCII);
+        return Optional.ofNullable(stream(
+                        filePath, tClass, columnOf,
+                        column -> (buffer, bounds) -> bounds[column * 2] >= 0
+                                && fieldEquals(buffer, bounds[column * 2], bounds[column * 2 + 1], expected),
+                        record -> value.equals(keyOf.apply(record))
+                ))
+                .map(records -> records.collect(Collectors.toList()))
+                .orElse(null);
+    }
+
+    /**
+     * @param filterOf raw filter of records by the key column
+     * @param predicate filter of decoded records, used if the file can't be scanned
+     * @return matching records or null if the file can't be read
+     */
+    private static <T extends Entity> Stream<T> stream(
+            String filePath,
+            Class<T> tClass,
+            ToIntFunction<CsvCodec<T>> columnOf,
+            IntFunction<RecordFilter> filterOf,
+            Predicate<T> predicate
+    ) {
+        CsvCodec<T> codec = CsvCodecs.get(tClass);
+        int column = codec == null ? -1 : columnOf.applyAsInt(codec);
+
+        if (column >= 0 && asciiCompatible) {
+            try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+                // the mapping stays valid after the channel is closed
+                if (channel.size() <= Integer.MAX_VALUE) {
+                    int limit = (int) channel.size();
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, limit);
+                    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                            new ScanIterator<>(buffer, limit, codec, column, filterOf.apply(column)),
+                            Spliterator.ORDERED | Spliterator.NONNULL
+                    ), false);
+                }
+            }
+            catch (IOException exception) {
+                logger.error("stream[1]: error: {}", exception.getMessage());
+                return null;
+            }
+        }
+
+        logger.debug("stream[2]: {} is read completely", filePath);
+        return Optional.ofNullable(CsvUtil.readFile(filePath, tClass))
+                .map(records -> records.stream().filter(predicate))
+                .orElse(null);
+    }
+
+    @FunctionalInterface
+    private interface RecordFilter {
+        /**
+         * @param bounds start and end of the fields of the record up to the key column
+         */
+        boolean matches(MappedByteBuffer buffer, int[] bounds);
+    }
+
+    /**
+     * Walks the mapped file and decodes matching records by batches
+     */
+    private static class ScanIterator<T extends Entity> implements Iterator<T> {
+        private static final int BATCH_SIZE = 256;
+
+        private final MappedByteBuffer buffer;
+        private final int limit;
+        private final CsvCodec<T> codec;
+        private final RecordFilter filter;
+        private final int[] bounds;
+        private int position = 0;
+        private Iterator<T> batch = Collections.emptyIterator();
+
+        ScanIterator(MappedByteBuffer buffer, int limit, CsvCodec<T> codec, int column, RecordFilter filter) {
+            this.buffer = buffer;
+            this.limit = limit;
+            this.codec = codec;
+            this.filter = filter;
+            bounds = new int[(column + 1) * 2];
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!batch.hasNext() && position < limit)
+                batch = nextBatch().iterator();
+            return batch.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            return batch.next();
+        }
+
+        private List<T> nextBatch() {
+            RecordBuffer matched = new RecordBuffer();
+            int count = 0;
+            while (position < limit && count < BATCH_SIZE) {
+                int recordStart = position;
+                position = walkRecord(buffer, position, limit, bounds);
+                if (position > recordStart && filter.matches(buffer, bounds)) {
+                    matched.add(buffer, recordStart, position);
+                    count++;
+                }
+                position = skipLineBreak(buffer, position, limit);
+            }
+
+            try {
+                return matched.decode(codec);
+            }
+            catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+    }
+
+    /**
+     * Reads id, project id and employee id of every record of the file with their byte offsets
+     * @return entries in file order, empty list if the file does not exist
+     */
+    static <T extends Entity> List<IndexEntry> readIndexEntries(String filePath, CsvCodec<T> codec) throws IOException {
+        List<IndexEntry> entries = new ArrayList<>();
+        if (!new File(filePath).exists())
+            return entries;
+
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE)
+                throw new IOException(String.format("%s is too large to be indexed", filePath));
+            int limit = (int) channel.size();
+            if (limit == 0)
+                return entries;
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, limit);
+            int idColumn = codec.getIdColumn();
+            int projectIdColumn = codec.getProjectIdColumn();
+            int employeeIdColumn = codec.getEmployeeIdColumn();
+            int[] bounds = new int[(Math.max(idColumn, Math.max(projectIdColumn, employeeIdColumn)) + 1) * 2];
+
+            int position = 0;
+            while (position < limit) {
+                int recordStart = position;
+                position = walkRecord(buffer, position, limit, bounds);
+                // blank lines are skipped by the readers as well
+                if (position > recordStart) {
+                    entries.add(new IndexEntry(
+                            parseUuid(buffer, bounds, idColumn),
+                            parseUuid(buffer, bounds, projectIdColumn),
+                            parseUuid(buffer, bounds, employeeIdColumn),
+                            recordStart
+                    ));
+                }
+                position = skipLineBreak(buffer, position, limit);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Decodes records which start at the given byte offsets
+     * @return records in order of offsets or null if one of offsets is out of the file
+     */
+    static <T extends Entity> List<T> readAt(String filePath, CsvCodec<T> codec, long[] positions) throws IOException {
+        if (positions.length == 0)
+            return new ArrayList<>();
+
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            long size = Math.min(channel.size(), Integer.MAX_VALUE);
+            if (Arrays.stream(positions).anyMatch(position -> position < 0 || position >= size))
+                return null;
+
+            int limit = (int) size;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, limit);
+            int[] bounds = new int[0];
+            RecordBuffer records = new RecordBuffer();
+            for (long position : positions) {
+                int recordEnd = walkRecord(buffer, (int) position, limit, bounds);
+                records.add(buffer, (int) position, recordEnd);
+            }
+            return records.decode(codec);
+        }
+    }
+
+    /**
+     * Walks one record starting at the position, line breaks inside quoted values belong to the record
+     * @param bounds receives start and end of the first {@code bounds.length / 2} fields, -1 for missing fields
+     * @return position of the line break which ends the record or the limit
+     */
+    private static int walkRecord(MappedByteBuffer buffer, int position, int limit, int[] bounds) {
+        Arrays.fill(bounds, -1);
+        int fieldStart = position;
+        int column = 0;
+        boolean inQuotes = false;
+
+        while (position < limit) {
+            byte b = buffer.get(position);
+            if (inQuotes) {
+                if (b == QUOTE) {
+                    if (position + 1 < limit && buffer.get(position + 1) == QUOTE) position++;
+                    else inQuotes = false;
+                }
+                else if (b == ESCAPE) {
+                    position += isEscapable(buffer, position + 1, limit) ? 1 : 0;
+                }
+            }
+            else if (b == SEPARATOR || b == CR || b == LF) {
+                setBounds(bounds, column, fieldStart, position);
+                if (b != SEPARATOR)
+                    return position;
+                column++;
+                fieldStart = position + 1;
+            }
+            else if (b == QUOTE && position == fieldStart) {
+                inQuotes = true;
+            }
+            else if (b == ESCAPE) {
+                position += isEscapable(buffer, position + 1, limit) ? 1 : 0;
+            }
+            position++;
+        }
+
+        setBounds(bounds, column, fieldStart, position);
+        return position;
+    }
+
+    private static void setBounds(int[] bounds, int column, int start, int end) {
+        if (column * 2 < bounds.length) {
+            bounds[column * 2] = start;
+            bounds[column * 2 + 1] = end;
+        }
+    }
+
+    private static int skipLineBreak(MappedByteBuffer buffer, int position, int limit) {
+        if (position < limit && buffer.get(position) == CR) position++;
+        if (position < limit && buffer.get(position) == LF) position++;
+        return position;
+    }
+
+    private static boolean isEscapable(MappedByteBuffer buffer, int position, int limit) {
+        if (position >= limit) return false;
+        byte next = buffer.get(position);
+        return next == QUOTE || next == ESCAPE;
+    }
+
+    /**
+     * Compares the raw field with the lowercase id, the field may be quoted and the id may be in upper case
+     */
+    private static boolean fieldEquals(MappedByteBuffer buffer, int start, int end, byte[] expected) {
+        if (end - start == expected.length + 2 && buffer.get(start) == QUOTE && buffer.get(end - 1) == QUOTE) {
+            start++;
+            end--;
+        }
+        if (end - start != UUID_LENGTH)
+            return false;
+
+        for (int i = 0; i < UUID_LENGTH; i++) {
+            byte actual = buffer.get(start + i);
+            byte wanted = expected[i];
+            if (actual != wanted && !(wanted >= 'a' && wanted <= 'f' && actual == wanted - ('a' - 'A')))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return id stored in the column, null if the column is missing or empty
+     */
+    private static UUID parseUuid(MappedByteBuffer buffer, int[] bounds, int column) {
+        if (column < 0 || bounds[column * 2] < 0)
+            return null;
+        int start = bounds[column * 2];
+        int end = bounds[column * 2 + 1];
+        if (end - start >= 2 && buffer.get(start) == QUOTE && buffer.get(end - 1) == QUOTE) {
+            start++;
+            end--;
+        }
+        if (start == end)
+            return null;
+
+        byte[] value = new byte[end - start];
+        buffer.get(start, value);
+        return UUID.fromString(new String(value, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @return true if the scanner can work with the default charset
+     */
+    static boolean isScannable() {
+        return asciiCompatible;
+    }
+
+    /**
+     * @return true if csv control characters are single bytes which never occur inside other characters
+     */
+    private static boolean isAsciiCompatible(Charset charset) {
+        if (charset.equals(StandardCharsets.UTF_8))
+            return true;
+        String controls = ",\"\\\r\n-0123456789abcdefABCDEF";
+        return charset.newEncoder().maxBytesPerChar() == 1
+                && Arrays.equals(controls.getBytes(charset), controls.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Raw bytes of selected records, every record is terminated with a line break
+     */
+    private static class RecordBuffer {
+        private byte[] bytes = new byte[0];
+        private int length = 0;
+
+        void add(MappedByteBuffer buffer, int start, int end) {
+            int recordLength = end - start + 1;
+            if (length + recordLength > bytes.length)
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + recordLength));
+            buffer.get(start, bytes, length, recordLength - 1);
+            bytes[length + recordLength - 1] = LF;
+            length += recordLength;
+        }
+
+        <T extends Entity> List<T> decode(CsvCodec<T> codec) throws IOException {
+            List<T> records = new ArrayList<>();
+            if (length == 0)
+                return records;
+
+            try (CsvRecordReader reader = new CsvRecordReader(
+                    new InputStreamReader(new ByteArrayInputStream(bytes, 0, length), charset)
+            )) {
+                while (reader.next())
+                    records.add(codec.decode(reader));
+            }
+            return records;
+        }
+    }
+}
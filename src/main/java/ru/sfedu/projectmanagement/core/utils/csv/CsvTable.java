@@ -0,0 +1,391 @@
+package ru.sfedu.projectmanagement.core.utils.csv;
+
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import ru.sfedu.projectmanagement.core.model.DocumentationData;
+import ru.sfedu.projectmanagement.core.model.EmployeeProjectObject;
+import ru.sfedu.projectmanagement.core.model.Entity;
+import ru.sfedu.projectmanagement.core.model.TaskTag;
+import ru.sfedu.projectmanagement.core.model.enums.EntityType;
+import ru.sfedu.projectmanagement.core.utils.FileStamp;
+import ru.sfedu.projectmanagement.core.utils.FileUtil;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of one csv datasource file.
+ * Records are loaded once and indexed by id, project id and employee id,
+ * writes go to the file first and then to the indexes.
+ * The file is reloaded when its modification time or size changes.
+ * <p>
+ * In append-only mode updates and deletes never rewrite the file. An update appends the new
+ * version of the row and the latest row with the same id wins on load. A delete appends a tombstone
+ * {@code (id, version)} to the tombstone file, where version is the count of data rows at the moment
+ * of deletion, so every row with such id before that position is dead. Several rows of entities whose
+ * id is not unique (task tags, documentation data, links to projects) are all live, so their update
+ * appends a tombstone before the new row.
+ * The file is rewritten through a temporary file which replaces it atomically,
+ * tombstones are reset only after that.
+ * The file is compacted when the share of dead rows reaches the threshold of the cache.
+ * Lists returned by getters are copies, but the records in them are shared by every reader
+ * of the table, so a record must be copied before it is changed
+ * @param <T> type of the stored entity
+ */
+public class CsvTable<T extends Entity> {
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+    private final Logger logger = LogManager.getLogger(CsvTable.class);
+
+    private final String filePath;
+    private final String tombstonesFilePath;
+    private final Class<T> tClass;
+    private final CsvTableCache cache;
+    private final boolean unique;
+
+    private final Map<UUID, List<T>> byId = new LinkedHashMap<>();
+    private final Map<UUID, List<T>> byProjectId = new HashMap<>();
+    private final Map<UUID, List<T>> byEmployeeId = new HashMap<>();
+
+    private long rowCount = 0;
+    private long liveCount = 0;
+    private FileStamp fileStamp = FileStamp.EMPTY;
+    private FileStamp tombstonesStamp = FileStamp.EMPTY;
+
+    public CsvTable(String filePath, Class<T> tClass) {
+        this(filePath, tClass, null);
+    }
+
+    CsvTable(String filePath, Class<T> tClass, CsvTableCache cache) {
+        this.filePath = filePath;
+        this.tombstonesFilePath = getTombstonesFilePath(filePath);
+        this.tClass = tClass;
+        this.cache = cache;
+        unique = !(EmployeeProjectObject.class.isAssignableFrom(tClass)
+                || TaskTag.class.equals(tClass)
+                || DocumentationData.class.equals(tClass));
+    }
+
+    /**
+     * @return path of the file where tombstones of the datasource file are stored
+     */
+    public static String getTombstonesFilePath(String filePath) {
+        return filePath.concat(CsvTableCache.TOMBSTONES_FILE_SUFFIX);
+    }
+
+    public Class<T> getType() {
+        return tClass;
+    }
+
+    /**
+     * @return all records of the file, the list itself is a copy but records are shared with the cache
+     * and must not be changed
+     */
+    public synchronized List<T> getAll() {
+        refresh();
+        return byId.values().stream()
+                .flatMap(Collection::stream)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    public synchronized Optional<T> getById(UUID id) {
+        refresh();
+        return byId.getOrDefault(id, List.of()).stream().findFirst();
+    }
+
+    /**
+     * @return all records with such id, some entities (task tags, documentation data) share the same id
+     */
+    public synchronized List<T> getAllById(UUID id) {
+        refresh();
+        return new ArrayList<>(byId.getOrDefault(id, List.of()));
+    }
+
+    public synchronized List<T> getByProjectId(UUID projectId) {
+        refresh();
+        return new ArrayList<>(byProjectId.getOrDefault(projectId, List.of()));
+    }
+
+    public synchronized List<T> getByEmployeeId(UUID employeeId) {
+        refresh();
+        return new ArrayList<>(byEmployeeId.getOrDefault(employeeId, List.of()));
+    }
+
+    public synchronized boolean contains(UUID id) {
+        refresh();
+        return byId.containsKey(id);
+    }
+
+    /**
+     * Checks duplicates against the cached records and appends the record to the file
+     * @param object record to append
+     */
+    public synchronized void append(T object) throws Exception {
+        refresh();
+        List<T> candidates = object.getEntityType() == EntityType.EmployeeProject
+                ? byEmployeeId.get(((EmployeeProjectObject) object).getEmployeeId())
+                : byId.get(object.getId());
+        CsvUtil.checkDuplicate(candidates, object);
+
+        CsvUtil.appendRecord(filePath, object, tClass);
+        rowCount++;
+        index(object);
+        fileStamp = FileStamp.of(filePath);
+    }
+
+    /**
+     * Replaces the record with the same id.
+     * In append-only mode the new version is appended to the file, otherwise the file is rewritten
+     * @param object new version of the record
+     * @return false if there is no record with such id
+     */
+    public synchronized boolean update(T object) throws Exception {
+        refresh();
+        if (!byId.containsKey(object.getId()))
+            return false;
+
+        if (isAppendOnly()) {
+            // other rows with such id stay live on load unless they are tombstoned
+            if (!unique)
+                appendTombstone(object.getId());
+            CsvUtil.appendRecord(filePath, object, tClass);
+            rowCount++;
+            fileStamp = FileStamp.of(filePath);
+            reindex(object);
+            compactIfNeeded();
+        }
+        else {
+            // all rows with such id are replaced by one row, the same as in append-only mode
+            List<T> records = new ArrayList<>();
+            boolean replaced = false;
+            for (T record : getAll()) {
+                if (!record.getId().equals(object.getId()))
+                    records.add(record);
+                else if (!replaced) {
+                    records.add(object);
+                    replaced = true;
+                }
+            }
+            replaceAll(records);
+        }
+        return true;
+    }
+
+    /**
+     * Removes all records with such id.
+     * In append-only mode a tombstone is appended, otherwise the file is rewritten
+     * @param id id of records to delete
+     * @return removed records
+     */
+    public synchronized List<T> delete(UUID id) throws Exception {
+        refresh();
+        if (!byId.containsKey(id))
+            return new ArrayList<>();
+
+        if (isAppendOnly()) {
+            appendTombstone(id);
+            List<T> removed = unindex(id);
+            compactIfNeeded();
+            return removed;
+        }
+
+        List<T> removed = new ArrayList<>(byId.get(id));
+        List<T> records = getAll().stream()
+                .filter(record -> !record.getId().equals(id))
+                .collect(Collectors.toList());
+        replaceAll(records);
+        return removed;
+    }
+
+    /**
+     * Rewrites the file with given records
+     * @param objects new content of the file
+     */
+    public synchronized void replaceAll(List<T> objects) throws Exception {
+        dropTombstonesOf(objects);
+        Path temporary = Path.of(filePath + TEMPORARY_FILE_SUFFIX);
+        CsvUtil.createRecords(temporary.toString(), objects, tClass);
+        FileUtil.replaceFile(temporary, Path.of(filePath));
+        clearTombstones();
+        load(objects);
+        rowCount = liveCount;
+        fileStamp = FileStamp.of(filePath);
+    }
+
+    /**
+     * Rewrites the file with live records only and drops tombstones.
+     * Compaction is skipped if the file was changed by someone else since it was loaded
+     */
+    public synchronized void compact() throws Exception {
+        if (!fileStamp.isActual(filePath) || !tombstonesStamp.isActual(tombstonesFilePath)) {
+            logger.debug("compact[2]: {} was changed outside, compaction is skipped", filePath);
+            return;
+        }
+        logger.debug("compact[1]: compacting {}, {} of {} rows are dead", filePath, rowCount - liveCount, rowCount);
+        replaceAll(getAll());
+    }
+
+    /**
+     * @return count of rows in the file which are superseded or deleted
+     */
+    public synchronized long getDeadRowCount() {
+        refresh();
+        return rowCount - liveCount;
+    }
+
+    public synchronized void invalidate() {
+        fileStamp = FileStamp.EMPTY;
+    }
+
+    private boolean isAppendOnly() {
+        return cache != null && cache.isAppendOnly();
+    }
+
+    private void compactIfNeeded() {
+        long deadRows = rowCount - liveCount;
+        if (deadRows == 0 || (double) deadRows / rowCount < cache.getCompactionThreshold())
+            return;
+        cache.scheduleCompaction(this);
+    }
+
+    private void refresh() {
+        if (fileStamp.isActual(filePath) && tombstonesStamp.isActual(tombstonesFilePath))
+            return;
+
+        logger.debug("refresh[1]: loading {}", filePath);
+        List<T> data = Optional.ofNullable(CsvUtil.readFile(filePath, tClass)).orElse(new ArrayList<>());
+        Map<UUID, Long> tombstones = readTombstones();
+
+        // resolving versions: tombstoned rows are skipped, for unique entities the latest row wins
+        Map<UUID, List<T>> live = new LinkedHashMap<>();
+        for (int i = 0; i < data.size(); i++) {
+            T record = data.get(i);
+            if (tombstones.getOrDefault(record.getId(), -1L) > i)
+                continue;
+
+            List<T> versions = live.computeIfAbsent(record.getId(), id -> new ArrayList<>());
+            if (unique) versions.clear();
+            versions.add(record);
+        }
+
+        load(live.values().stream().flatMap(Collection::stream).toList());
+        rowCount = data.size();
+        fileStamp = FileStamp.of(filePath);
+        tombstonesStamp = FileStamp.of(tombstonesFilePath);
+    }
+
+    private Map<UUID, Long> readTombstones() {
+        Map<UUID, Long> tombstones = new HashMap<>();
+        if (!new File(tombstonesFilePath).exists())
+            return tombstones;
+
+        try (CSVReader csvReader = new CSVReader(new FileReader(tombstonesFilePath))) {
+            for (String[] row : csvReader) {
+                if (row.length < 2) continue;
+                tombstones.merge(UUID.fromString(row[0]), Long.parseLong(row[1]), Math::max);
+            }
+        }
+        catch (Exception exception) {
+            logger.error("readTombstones[1]: {}", exception.getMessage());
+        }
+        return tombstones;
+    }
+
+    private void appendTombstone(UUID id) throws IOException {
+        try (CSVWriter csvWriter = new CSVWriter(new FileWriter(tombstonesFilePath, true))) {
+            csvWriter.writeNext(new String[] { id.toString(), String.valueOf(rowCount) });
+        }
+        tombstonesStamp = FileStamp.of(tombstonesFilePath);
+    }
+
+    /**
+     * Positions of tombstones refer to rows of the current file. If the process stops after the file is replaced
+     * but before tombstones are reset, tombstones of records which are stored again would hide them in the new file.
+     * Such tombstones of unique entities are dropped beforehand, the old file stays consistent without them
+     * because the latest row with the id wins
+     */
+    private void dropTombstonesOf(List<T> objects) throws IOException {
+        if (!unique)
+            return;
+        Map<UUID, Long> tombstones = readTombstones();
+        Set<UUID> ids = objects.stream().map(Entity::getId).collect(Collectors.toSet());
+        if (!tombstones.keySet().removeAll(ids))
+            return;
+
+        Path temporary = Path.of(tombstonesFilePath + TEMPORARY_FILE_SUFFIX);
+        try (CSVWriter csvWriter = new CSVWriter(new FileWriter(temporary.toFile(), false))) {
+            tombstones.forEach((id, version) -> csvWriter.writeNext(new String[] { id.toString(), String.valueOf(version) }));
+        }
+        FileUtil.replaceFile(temporary, Path.of(tombstonesFilePath));
+    }
+
+    private void clearTombstones() throws IOException {
+        File tombstones = new File(tombstonesFilePath);
+        if (tombstones.exists() && tombstones.length() > 0)
+            new FileWriter(tombstones, false).close();
+        tombstonesStamp = FileStamp.of(tombstonesFilePath);
+    }
+
+    private void load(List<T> data) {
+        byId.clear();
+        byProjectId.clear();
+        byEmployeeId.clear();
+        liveCount = 0;
+        data.forEach(this::index);
+    }
+
+    private void index(T object) {
+        byId.computeIfAbsent(object.getId(), id -> new ArrayList<>()).add(object);
+        indexSecondary(object);
+        liveCount++;
+    }
+
+    /**
+     * Replaces records with the same id keeping their position
+     */
+    private void reindex(T object) {
+        List<T> previous = byId.put(object.getId(), new ArrayList<>(List.of(object)));
+        Optional.ofNullable(previous).ifPresent(records -> {
+            records.forEach(this::unindexSecondary);
+            liveCount -= records.size();
+        });
+        indexSecondary(object);
+        liveCount++;
+    }
+
+    private List<T> unindex(UUID id) {
+        List<T> removed = Optional.ofNullable(byId.remove(id)).orElse(new ArrayList<>());
+        removed.forEach(this::unindexSecondary);
+        liveCount -= removed.size();
+        return removed;
+    }
+
+    private void indexSecondary(T object) {
+        UUID projectId = CsvUtil.getProjectIdOf(object);
+        UUID employeeId = CsvUtil.getEmployeeIdOf(object);
+
+        if (projectId != null)
+            byProjectId.computeIfAbsent(projectId, id -> new ArrayList<>()).add(object);
+        if (employeeId != null)
+            byEmployeeId.computeIfAbsent(employeeId, id -> new ArrayList<>()).add(object);
+    }
+
+    private void unindexSecondary(T object) {
+        removeFrom(byProjectId, CsvUtil.getProjectIdOf(object), object);
+        removeFrom(byEmployeeId, CsvUtil.getEmployeeIdOf(object), object);
+    }
+
+    private void removeFrom(Map<UUID, List<T>> index, UUID key, T object) {
+        if (key == null) return;
+        List<T> bucket = index.get(key);
+        if (bucket == null) return;
+        bucket.removeIf(record -> record == object);
+        if (bucket.isEmpty()) index.remove(key);
+    }
+}
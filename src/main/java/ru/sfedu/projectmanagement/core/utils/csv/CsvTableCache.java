@@ -0,0 +1,97 @@
+package ru.sfedu.projectmanagement.core.utils.csv;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import ru.sfedu.projectmanagement.core.model.Entity;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Holds one {@link CsvTable} per datasource file
+ */
+public class CsvTableCache {
+    private final Logger logger = LogManager.getLogger(CsvTableCache.class);
+    public static final String TOMBSTONES_FILE_SUFFIX = ".tombstones";
+    public static final double DEFAULT_COMPACTION_THRESHOLD = 0.5;
+
+    private final Map<String, CsvTable<?>> tables = new ConcurrentHashMap<>();
+    private final boolean appendOnly;
+    private final double compactionThreshold;
+    private final ExecutorService compactionExecutor;
+    private final Set<CsvTable<?>> scheduledCompactions = ConcurrentHashMap.newKeySet();
+
+    public CsvTableCache() {
+        this(false, DEFAULT_COMPACTION_THRESHOLD, false);
+    }
+
+    /**
+     * @param appendOnly if true, updates and deletes are appended to files instead of rewriting them
+     * @param compactionThreshold share of dead rows in a file after which the file is compacted
+     * @param backgroundCompaction if true, compaction runs on a separate thread, otherwise right after the write
+     */
+    public CsvTableCache(boolean appendOnly, double compactionThreshold, boolean backgroundCompaction) {
+        this.appendOnly = appendOnly;
+        this.compactionThreshold = compactionThreshold;
+        this.compactionExecutor = backgroundCompaction
+                ? Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "csv-compaction");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+    }
+
+    /**
+     * @param filePath path of the csv file
+     * @param tClass type of records stored in the file
+     * @return cached table of the file, it is created on first access
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Entity> CsvTable<T> getTable(String filePath, Class<T> tClass) {
+        CsvTable<?> table = tables.computeIfAbsent(filePath, path -> new CsvTable<>(path, tClass, this));
+        if (!table.getType().equals(tClass))
+            throw new IllegalArgumentException(String.format(
+                    "file %s is cached with type %s", filePath, table.getType().getSimpleName()
+            ));
+        return (CsvTable<T>) table;
+    }
+
+    public boolean isAppendOnly() {
+        return appendOnly;
+    }
+
+    public double getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    public void invalidate() {
+        tables.values().forEach(CsvTable::invalidate);
+    }
+
+    void scheduleCompaction(CsvTable<?> table) {
+        if (compactionExecutor == null) {
+            compact(table);
+            return;
+        }
+
+        if (scheduledCompactions.add(table)) {
+            compactionExecutor.submit(() -> {
+                scheduledCompactions.remove(table);
+                compact(table);
+            });
+        }
+    }
+
+    private void compact(CsvTable<?> table) {
+        try {
+            table.compact();
+        }
+        catch (Exception exception) {
+            logger.error("compact[1]: {}", exception.getMessage());
+        }
+    }
+}
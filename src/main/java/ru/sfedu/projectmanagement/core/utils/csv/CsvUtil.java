@@ -14,29 +14,56 @@ import org.apache.logging.log4j.Logger;
 
 import ru.sfedu.projectmanagement.core.model.*;
 import ru.sfedu.projectmanagement.core.model.enums.EntityType;
+import ru.sfedu.projectmanagement.core.utils.csv.codec.CsvCodec;
+import ru.sfedu.projectmanagement.core.utils.csv.codec.CsvCodecs;
+import ru.sfedu.projectmanagement.core.utils.csv.codec.CsvRecordReader;
+import ru.sfedu.projectmanagement.core.utils.csv.codec.CsvRecordWriter;
 
+import java.io.BufferedWriter;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.Reader;
 import java.lang.reflect.Field;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class CsvUtil {
     private static final Logger logger = LogManager.getLogger(CsvUtil.class);
+    private static final Map<Class<?>, String[]> objectFields = new ConcurrentHashMap<>();
 
     public static <T extends Entity> List<T> readFile(String filePath, Class<T> tClass) {
+        CsvCodec<T> codec = CsvCodecs.get(tClass);
+        if (codec == null)
+            return readBeans(filePath, tClass);
+
+        try (CsvRecordReader reader = new CsvRecordReader(new FileReader(filePath))) {
+            List<T> data = new ArrayList<>();
+            while (reader.next()) {
+                try {
+                    data.add(codec.decode(reader));
+                }
+                catch (RuntimeException exception) {
+                    throw new IllegalStateException(String.format(
+                            "error parsing csv line %d of %s: %s", reader.getLineNumber(), filePath, exception.getMessage()
+                    ), exception);
+                }
+            }
+            return data;
+        } catch (IOException e) {
+            logger.error("readFile[1]: error: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Reads the file with OpenCSV bean mapping, used for entities without a codec
+     */
+    static <T extends Entity> List<T> readBeans(String filePath, Class<T> tClass) {
         try (Reader reader = new FileReader(filePath)) {
             CSVReader csvReader = new CSVReaderBuilder(reader).build();
-
-            ColumnPositionMappingStrategy<T> mappingStrategy = new ColumnPositionMappingStrategy<>();
-            mappingStrategy.setType(tClass);
-
-            String[] mapping = getObjectFields(tClass);
-            mappingStrategy.setColumnMapping(mapping);
-
             CsvToBean<T> csvToBean = new CsvToBeanBuilder<T>(csvReader)
                     .withType(tClass)
-                    .withMappingStrategy(mappingStrategy)
+                    .withMappingStrategy(getMappingStrategy(tClass))
                     .build();
 
             return csvToBean.parse();
@@ -61,14 +88,25 @@ public class CsvUtil {
     }
 
     public static <T extends Entity> boolean isRecordNotExists(String filePath, UUID id, Class<T> tClass) {
-        List<T> data = readFile(filePath, tClass);
-        return !Optional.ofNullable(data)
-                .map(d-> d.stream().anyMatch(entity -> entity.getId().equals(id)))
-                .orElse(false);
+        return Optional.ofNullable(CsvScanner.findById(filePath, id, tClass))
+                .map(List::isEmpty)
+                .orElse(true);
     }
 
     public static <T extends Entity> void createRecord(String filePath, T object, Class<T> classT) throws Exception {
         List<T> data = readFile(filePath, classT);
+        checkDuplicate(data, object);
+        appendRecord(filePath, object, classT);
+    }
+
+    /**
+     * Throws if {@code object} collides with one of the already stored records.
+     * Employee-project links are unique by employee id, task tags and documentation data
+     * are never treated as duplicates, other entities are unique by id
+     * @param data records that are already stored, may be null
+     * @param object record that is going to be stored
+     */
+    public static <T extends Entity> void checkDuplicate(Collection<T> data, T object) throws Exception {
         String errorMessage = "%s with id %s already exists";
         List<EntityType> secondaryEntities = List.of(EntityType.TaskTag, EntityType.DocumentationData);
 
@@ -90,42 +128,92 @@ public class CsvUtil {
                             ? ((EmployeeProjectObject) object).getEmployeeId()
                             : object.getId()));
         }
+    }
+
+    /**
+     * Appends record to the end of file without any duplicate checks
+     */
+    public static <T extends Entity> void appendRecord(String filePath, T object, Class<T> classT) throws Exception {
+        CsvCodec<T> codec = CsvCodecs.get(classT);
+        if (codec == null) {
+            writeBeans(filePath, List.of(object), classT, true);
+            return;
+        }
+
+        try (CsvRecordWriter writer = new CsvRecordWriter(new FileWriter(filePath, true))) {
+            codec.encode(object, writer);
+            writer.endRecord();
+        }
+    }
+
+    public static <T extends Entity> void createRecords(String filePath, List<T> objects, Class<T> classT) throws Exception {
+        CsvCodec<T> codec = CsvCodecs.get(classT);
+        if (codec == null) {
+            writeBeans(filePath, objects, classT, false);
+            return;
+        }
 
-        try (CSVWriter csvWriter = new CSVWriter(new FileWriter(filePath, true))) {
-            ColumnPositionMappingStrategy<T> mappingStrategy = new ColumnPositionMappingStrategy<>();
-            mappingStrategy.setType(classT);
-            String[] columns = getObjectFields(classT);
-            mappingStrategy.setColumnMapping(columns);
+        try (CsvRecordWriter writer = new CsvRecordWriter(new BufferedWriter(new FileWriter(filePath, false)))) {
+            for (T object : objects) {
+                codec.encode(object, writer);
+                writer.endRecord();
+            }
+        }
+    }
 
+    /**
+     * Writes records with OpenCSV bean mapping, used for entities without a codec
+     */
+    static <T extends Entity> void writeBeans(String filePath, List<T> objects, Class<T> classT, boolean append) throws Exception {
+        try (CSVWriter csvWriter = new CSVWriter(new FileWriter(filePath, append))) {
             StatefulBeanToCsv<T> beanToCsv = new StatefulBeanToCsvBuilder<T>(csvWriter)
                     .withSeparator(CSVWriter.DEFAULT_SEPARATOR)
-                    .withQuotechar(CSVWriter.NO_QUOTE_CHARACTER)
                     .withEscapechar(CSVWriter.DEFAULT_ESCAPE_CHARACTER)
-                    .withMappingStrategy(mappingStrategy)
+                    .withQuotechar(CSVWriter.DEFAULT_QUOTE_CHARACTER)
+                    .withMappingStrategy(getMappingStrategy(classT))
                     .build();
-
-            beanToCsv.write(object);
+            beanToCsv.write(objects);
         }
     }
 
-    public static <T extends Entity> void createRecords(String filePath, List<T> objects, Class<T> classT) throws Exception {
-        CSVWriter csvWriter = new CSVWriter(new FileWriter(filePath, false));
+    private static <T> ColumnPositionMappingStrategy<T> getMappingStrategy(Class<T> tClass) {
         ColumnPositionMappingStrategy<T> mappingStrategy = new ColumnPositionMappingStrategy<>();
-        mappingStrategy.setType(classT);
-        mappingStrategy.setColumnMapping(getObjectFields(classT));
-
-        StatefulBeanToCsv<T> beanToCsv = new StatefulBeanToCsvBuilder<T>(csvWriter)
-                .withSeparator(CSVWriter.DEFAULT_SEPARATOR)
-                .withEscapechar(CSVWriter.DEFAULT_ESCAPE_CHARACTER)
-                .withQuotechar(CSVWriter.DEFAULT_QUOTE_CHARACTER)
-                .withMappingStrategy(mappingStrategy)
-                .build();
-        beanToCsv.write(objects);
-        csvWriter.close();
+        mappingStrategy.setType(tClass);
+        mappingStrategy.setColumnMapping(getObjectFields(tClass));
+        return mappingStrategy;
     }
 
 
+    /**
+     * @return project id of the record or null if the entity is not bound to a project
+     */
+    public static UUID getProjectIdOf(Entity entity) {
+        if (entity instanceof ProjectEntity projectEntity)
+            return projectEntity.getProjectId();
+        if (entity instanceof EmployeeProjectObject link)
+            return link.getProjectId();
+        return null;
+    }
+
+    /**
+     * @return employee id of the record or null if the entity is not bound to an employee
+     */
+    public static UUID getEmployeeIdOf(Entity entity) {
+        if (entity instanceof ProjectEntity projectEntity)
+            return projectEntity.getEmployeeId();
+        if (entity instanceof EmployeeProjectObject link)
+            return link.getEmployeeId();
+        return null;
+    }
+
+    /**
+     * @return names of the fields stored in csv files in column order, the result is cached per class
+     */
     public static <T> String[] getObjectFields(Class<T> object) {
+        return objectFields.computeIfAbsent(object, CsvUtil::readObjectFields).clone();
+    }
+
+    private static String[] readObjectFields(Class<?> object) {
         List<Field> childFields = Arrays.stream(object.getDeclaredFields()).toList();
         List<Field> parentFields = Arrays.stream(object.getSuperclass().getDeclaredFields()).toList();
 
@@ -139,4 +227,4 @@ public class CsvUtil {
 
         return columns;
     }
-}
\ No newline at end of file
+}
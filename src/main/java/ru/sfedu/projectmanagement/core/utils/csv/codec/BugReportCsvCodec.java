@@ -0,0 +1,34 @@
+package ru.sfedu.projectmanagement.core.utils.csv.codec;
+
+import ru.sfedu.projectmanagement.core.model.BugReport;
+import ru.sfedu.projectmanagement.core.model.enums.BugStatus;
+import ru.sfedu.projectmanagement.core.model.enums.Priority;
+
+class BugReportCsvCodec extends ProjectEntityCsvCodec<BugReport> {
+    private static final int PRIORITY = COLUMN_COUNT;
+    private static final int STATUS = COLUMN_COUNT + 1;
+
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final BugStatus[] STATUSES = BugStatus.values();
+
+    @Override
+    public BugReport decode(CsvRecordReader reader) {
+        return new BugReport(
+                reader.getString(NAME),
+                reader.getString(DESCRIPTION),
+                reader.getUuid(ID),
+                reader.getUuid(PROJECT_ID),
+                reader.getUuid(EMPLOYEE_ID),
+                reader.getString(EMPLOYEE_FULL_NAME),
+                reader.getLocalDateTime(CREATED_AT, CsvDateFormat.LOCAL_DATE_TIME),
+                reader.getEnum(PRIORITY, PRIORITIES),
+                reader.getEnum(STATUS, STATUSES)
+        );
+    }
+
+    @Override
+    void encodeColumns(BugReport object, CsvRecordWriter writer) {
+        writer.writeEnum(object.getPriority())
+                .writeEnum(object.getStatus());
+    }
+}
@@ -0,0 +1,43 @@
+package ru.sfedu.projectmanagement.core.utils.csv.codec;
+
+import ru.sfedu.projectmanagement.core.model.Entity;
+
+/**
+ * Converts one entity type to a csv record and back without reflection.
+ * Column order must match {@link ru.sfedu.projectmanagement.core.utils.csv.CsvUtil#getObjectFields(Class)}
+ * so files stay readable by the OpenCSV bean mapping
+ * @param <T> type of the entity
+ */
+public interface CsvCodec<T extends Entity> {
+    /**
+     * @param reader reader positioned at a record
+     * @return entity built from the current record
+     */
+    T decode(CsvRecordReader reader);
+
+    /**
+     * Writes all columns of the entity, the record is finished by the caller
+     */
+    void encode(T object, CsvRecordWriter writer);
+
+    /**
+     * @return index of the column which holds {@link Entity#getId()}, -1 if there is no such column
+     */
+    default int getIdColumn() {
+        return -1;
+    }
+
+    /**
+     * @return index of the project id column, -1 if the entity is not bound to a project
+     */
+    default int getProjectIdColumn() {
+        return -1;
+    }
+
+    /**
+     * @return index of the employee id column, -1 if the entity is not bound to an employee
+     */
+    default int getEmployeeIdColumn() {
+        return -1;
+    }
+}
@@ -0,0 +1,34 @@
+package ru.sfedu.projectmanagement.core.utils.csv.codec;
+
+import ru.sfedu.projectmanagement.core.model.*;
+
+import java.util.Map;
+
+/**
+ * Registry of csv codecs of the model
+ */
+public class CsvCodecs {
+    private static final Map<Class<?>, CsvCodec<?>> codecs = Map.of(
+            Task.class, new TaskCsvCodec(),
+            BugReport.class, new BugReportCsvCodec(),
+            Event.class, new EventCsvCodec(),
+            Documentation.class, new DocumentationCsvCodec(),
+            Project.class, new ProjectCsvCodec(),
+            Employee.class, new EmployeeCsvCodec(),
+            TaskTag.class, new TaskTagCsvCodec(),
+            DocumentationData.class, new DocumentationDataCsvCodec(),
+            EmployeeProjectObject.class, new EmployeeProjectCsvCodec<>(EmployeeProjectObject::new),
+            ManagerProjectObject.class, new EmployeeProjectCsvCodec<>(ManagerProjectObject::new)
+    );
+
+    private CsvCodecs() {}
+
+    /**
+     * @param tClass type of the entity
+     * @return codec of the type or null if the type has no codec
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Entity> CsvCodec<T> get(Class<T> tClass) {
+        return (CsvCodec<T>) codecs.get(tClass);
+    }
+}
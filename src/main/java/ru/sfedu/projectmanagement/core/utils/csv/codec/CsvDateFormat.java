@@ -0,0 +1,105 @@
+package ru.sfedu.projectmanagement.core.utils.csv.codec;
+
+import ru.sfedu.projectmanagement.core.Constants;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Date formats used in csv datasource files.
+ * Values of the exact pattern length are parsed and written digit by digit,
+ * anything else goes through {@link DateTimeFormatter}
+ */
+public enum CsvDateFormat {
+    /** {@link Constants#LOCAL_DATETIME_FORMAT} */
+    LOCAL_DATE_TIME(Constants.LOCAL_DATETIME_FORMAT, new int[] { 0, 5, 8, 11, 14, 17 }),
+    /** {@link Constants#LOCAL_DATE_FORMAT} */
+    LOCAL_DATE(Constants.LOCAL_DATE_FORMAT, new int[] { 0, 5, 8 }),
+    /** default format of {@code @CsvDate} without a pattern */
+    DEFAULT("yyyyMMdd'T'HHmmss", new int[] { 0, 4, 6, 9, 11, 13 });
+
+    private final DateTimeFormatter formatter;
+    private final String pattern;
+    private final int[] offsets;
+    private final String[] separators;
+
+    /**
+     * @param pattern pattern of the format
+     * @param offsets positions of year, month, day and optionally hour, minute and second in formatted value
+     */
+    CsvDateFormat(String pattern, int[] offsets) {
+        this.formatter = DateTimeFormatter.ofPattern(pattern);
+        this.pattern = pattern.replace("'", "");
+        this.offsets = offsets;
+        this.separators = new String[offsets.length];
+        for (int part = 0; part < offsets.length; part++) {
+            int previousEnd = part == 0 ? 0 : offsets[part - 1] + width(part - 1);
+            separators[part] = this.pattern.substring(previousEnd, offsets[part]);
+        }
+    }
+
+    LocalDateTime parseDateTime(char[] chars, int start, int end) {
+        if (offsets.length != 6 || !matches(chars, start, end))
+            return LocalDateTime.parse(new String(chars, start, end - start), formatter);
+        return LocalDateTime.of(
+                number(chars, start, 0), number(chars, start, 1), number(chars, start, 2),
+                number(chars, start, 3), number(chars, start, 4), number(chars, start, 5)
+        );
+    }
+
+    LocalDate parseDate(char[] chars, int start, int end) {
+        if (!matches(chars, start, end))
+            return LocalDate.parse(new String(chars, start, end - start), formatter);
+        return LocalDate.of(number(chars, start, 0), number(chars, start, 1), number(chars, start, 2));
+    }
+
+    void format(LocalDateTime value, StringBuilder builder) {
+        if (offsets.length != 6 || value.getYear() < 0 || value.getYear() > 9999) {
+            builder.append(formatter.format(value));
+            return;
+        }
+        append(builder,
+                value.getYear(), value.getMonthValue(), value.getDayOfMonth(),
+                value.getHour(), value.getMinute(), value.getSecond());
+    }
+
+    void format(LocalDate value, StringBuilder builder) {
+        if (offsets.length != 3 || value.getYear() < 0 || value.getYear() > 9999) {
+            builder.append(formatter.format(value));
+            return;
+        }
+        append(builder, value.getYear(), value.getMonthValue(), value.getDayOfMonth());
+    }
+
+    private void append(StringBuilder builder, int... parts) {
+        for (int part = 0; part < parts.length; part++) {
+            builder.append(separators[part]);
+            for (int divisor = part == 0 ? 1000 : 10; divisor > 0; divisor /= 10)
+                builder.append((char) ('0' + parts[part] / divisor % 10));
+        }
+    }
+
+    private static int width(int part) {
+        return part == 0 ? 4 : 2;
+    }
+
+    private boolean matches(char[] chars, int start, int end) {
+        if (end - start != pattern.length())
+            return false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char expected = pattern.charAt(i);
+            boolean digit = expected != 'T' && Character.isLetter(expected);
+            if (digit ? chars[start + i] < '0' || chars[start + i] > '9' : chars[start + i] != expected)
+                return false;
+        }
+        return true;
+    }
+
+    private int number(char[] chars, int start, int part) {
+        int result = 0;
+        for (int i = start + offsets[part]; i < start + offsets[part] + width(part); i++)
+            result = result * 10 + chars[i] - '0';
+        return result;
+    }
+}
@@ -0,0 +1,267 @@
+package ru.sfedu.projectmanagement.core.utils.csv.codec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Streaming csv parser which reads records into one reusable char buffer.
+ * Values are handed out by column index and converted straight from the buffer,
+ * so only strings which are really needed by the model are allocated.
+ * <p>
+ * Parsing rules follow the default OpenCSV parser the datasource files were written for:
+ * {@code ""} inside quotes is a quote, backslash escapes a quote or a backslash
+ * and is dropped before any other character, line breaks inside quotes become {@code \n}
+ */
+public class CsvRecordReader implements Closeable {
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private static final char ESCAPE = '\\';
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private final char[] input = new char[8192];
+    private int inputPosition = 0;
+    private int inputLength = 0;
+
+    private char[] values = new char[256];
+    private int valuesLength = 0;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private int columnCount = 0;
+    private long lineNumber = 0;
+    private long recordLineNumber = 0;
+
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next record, values of the previous one are no longer available after the call.
+     * Blank lines are skipped
+     * @return false if the end of input is reached
+     */
+    public boolean next() throws IOException {
+        int c;
+        do {
+            c = read();
+            if (c == EOF) return false;
+            lineNumber++;
+            if (c == '\r') skipLineFeed();
+        } while (c == '\n' || c == '\r');
+
+        recordLineNumber = lineNumber;
+        valuesLength = 0;
+        columnCount = 0;
+        startColumn();
+
+        boolean inQuotes = false;
+        boolean quoted = false;
+        while (true) {
+            if (c == EOF) {
+                endColumn();
+                return true;
+            }
+
+            if (inQuotes) {
+                if (c == QUOTE) {
+                    int next = read();
+                    if (next == QUOTE) {
+                        append(QUOTE);
+                    }
+                    else {
+                        inQuotes = false;
+                        c = next;
+                        continue;
+                    }
+                }
+                else if (c == ESCAPE) {
+                    c = escaped();
+                    continue;
+                }
+                else if (c == '\r' || c == '\n') {
+                    if (c == '\r') skipLineFeed();
+                    lineNumber++;
+                    append('\n');
+                }
+                else {
+                    append((char) c);
+                }
+            }
+            else if (c == SEPARATOR) {
+                endColumn();
+                startColumn();
+                quoted = false;
+            }
+            else if (c == '\r' || c == '\n') {
+                if (c == '\r') skipLineFeed();
+                endColumn();
+                return true;
+            }
+            else if (c == QUOTE && !quoted && starts[columnCount] == valuesLength) {
+                inQuotes = true;
+                quoted = true;
+            }
+            else if (c == ESCAPE) {
+                c = escaped();
+                continue;
+            }
+            else {
+                append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * @return number of the line where the current record starts
+     */
+    public long getLineNumber() {
+        return recordLineNumber;
+    }
+
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    public boolean isEmpty(int column) {
+        return column >= columnCount || starts[column] == ends[column];
+    }
+
+    /**
+     * @return value of the column, missing column is read as an empty string
+     */
+    public String getString(int column) {
+        if (isEmpty(column)) return "";
+        return new String(values, starts[column], ends[column] - starts[column]);
+    }
+
+    /**
+     * @return value of the column or null if it is empty
+     */
+    public UUID getUuid(int column) {
+        if (isEmpty(column)) return null;
+        int start = starts[column];
+        int length = ends[column] - start;
+        if (length != 36
+                || values[start + 8] != '-' || values[start + 13] != '-'
+                || values[start + 18] != '-' || values[start + 23] != '-')
+            return UUID.fromString(getString(column));
+
+        long mostSigBits = hex(start, 8) << 32 | hex(start + 9, 4) << 16 | hex(start + 14, 4);
+        long leastSigBits = hex(start + 19, 4) << 48 | hex(start + 24, 12);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * @return value of the column or null if it is empty
+     */
+    public LocalDateTime getLocalDateTime(int column, CsvDateFormat format) {
+        if (isEmpty(column)) return null;
+        return format.parseDateTime(values, starts[column], ends[column]);
+    }
+
+    /**
+     * @return value of the column or null if it is empty
+     */
+    public LocalDate getLocalDate(int column, CsvDateFormat format) {
+        if (isEmpty(column)) return null;
+        return format.parseDate(values, starts[column], ends[column]);
+    }
+
+    /**
+     * @param constants constants of the enum, usually {@code Enum.values()} cached by the caller
+     * @return constant with the same name as the value of the column or null if the column is empty
+     */
+    public <E extends Enum<E>> E getEnum(int column, E[] constants) {
+        if (isEmpty(column)) return null;
+        int start = starts[column];
+        int length = ends[column] - start;
+        for (E constant : constants) {
+            String name = constant.name();
+            if (name.length() == length && regionMatches(name, start, false))
+                return constant;
+        }
+        for (E constant : constants) {
+            if (constant.name().length() == length && regionMatches(constant.name(), start, true))
+                return constant;
+        }
+        throw new IllegalArgumentException(String.format(
+                "%s is not a constant of %s", getString(column), constants.getClass().getComponentType().getSimpleName()
+        ));
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private int escaped() throws IOException {
+        int next = read();
+        if (next == QUOTE || next == ESCAPE) {
+            append((char) next);
+            return read();
+        }
+        return next;
+    }
+
+    private boolean regionMatches(String name, int start, boolean ignoreCase) {
+        for (int i = 0; i < name.length(); i++) {
+            char expected = name.charAt(i);
+            char actual = values[start + i];
+            if (expected == actual) continue;
+            if (!ignoreCase || Character.toUpperCase(expected) != Character.toUpperCase(actual))
+                return false;
+        }
+        return true;
+    }
+
+    private long hex(int start, int length) {
+        long result = 0;
+        for (int i = start; i < start + length; i++) {
+            int digit = Character.digit(values[i], 16);
+            if (digit < 0)
+                throw new IllegalArgumentException("invalid UUID string: " + new String(values, start, length));
+            result = result << 4 | digit;
+        }
+        return result;
+    }
+
+    private void startColumn() {
+        if (columnCount == starts.length) {
+            starts = Arrays.copyOf(starts, columnCount * 2);
+            ends = Arrays.copyOf(ends, columnCount * 2);
+        }
+        starts[columnCount] = valuesLength;
+    }
+
+    private void endColumn() {
+        ends[columnCount++] = valuesLength;
+    }
+
+    private void append(char c) {
+        if (valuesLength == values.length)
+            values = Arrays.copyOf(values, valuesLength * 2);
+        values[valuesLength++] = c;
+    }
+
+    private void skipLineFeed() throws IOException {
+        if (fill() && input[inputPosition] == '\n')
+            inputPosition++;
+    }
+
+    private int read() throws IOException {
+        return fill() ? input[inputPosition++] : EOF;
+    }
+
+    private boolean fill() throws IOException {
+        if (inputPosition < inputLength) return true;
+        inputLength = reader.read(input);
+        inputPosition = 0;
+        return inputLength > 0;
+    }
+}
@@ -0,0 +1,100 @@
+package ru.sfedu.projectmanagement.core.utils.csv.codec;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Writes records in the same shape as OpenCSV {@code CSVWriter} with default settings:
+ * every value is quoted, quotes are doubled, null is written as an empty value
+ * and every record ends with {@code \n}
+ */
+public class CsvRecordWriter implements Closeable, Flushable {
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private static final char LINE_END = '\n';
+
+    private final Writer writer;
+    private final StringBuilder record = new StringBuilder(256);
+    private boolean firstColumn = true;
+
+    public CsvRecordWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    public CsvRecordWriter writeString(String value) {
+        startColumn();
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == QUOTE) record.append(QUOTE);
+                record.append(c);
+            }
+        }
+        return endColumn();
+    }
+
+    public CsvRecordWriter writeUuid(UUID value) {
+        return writeString(value == null ? null : value.toString());
+    }
+
+    public <E extends Enum<E>> CsvRecordWriter writeEnum(E value) {
+        return writeString(value == null ? null : value.name());
+    }
+
+    public CsvRecordWriter writeLocalDateTime(LocalDateTime value, CsvDateFormat format) {
+        startColumn();
+        if (value != null) format.format(value, record);
+        return endColumn();
+    }
+
+    public CsvRecordWriter writeLocalDate(LocalDate value, CsvDateFormat format) {
+        startColumn();
+        if (value != null) format.format(value, record);
+        return endColumn();
+    }
+
+    /**
+     * Writes empty values for columns which exist in files but are not stored there
+     * @param count count of columns
+     */
+    public CsvRecordWriter writeEmpty(int count) {
+        for (int i = 0; i < count; i++) writeString(null);
+        return this;
+    }
+
+    /**
+     * Finishes the current record and passes it to the underlying writer
+     */
+    public void endRecord() throws IOException {
+        record.append(LINE_END);
+        writer.append(record);
+        record.setLength(0);
+        firstColumn = true;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void startColumn() {
+        if (!firstColumn) record.append(SEPARATOR);
+        record.append(QUOTE);
+        firstColumn = false;
+    }
+
+    private CsvRecordWriter endColumn() {
+        record.append(QUOTE);
+        return this;
+    }
+}
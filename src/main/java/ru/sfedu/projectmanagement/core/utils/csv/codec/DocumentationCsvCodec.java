@@ -0,0 +1,25 @@
+package ru.sfedu.projectmanagement.core.utils.csv.codec;
+
+import ru.sfedu.projectmanagement.core.model.Documentation;
+
+class DocumentationCsvCodec extends ProjectEntityCsvCodec<Documentation> {
+    @Override
+    public Documentation decode(CsvRecordReader reader) {
+        // body is stored in the documentation data file
+        return new Documentation(
+                reader.getString(NAME),
+                reader.getString(DESCRIPTION),
+                reader.getUuid(ID),
+                reader.getUuid(PROJECT_ID),
+                reader.getUuid(EMPLOYEE_ID),
+                reader.getString(EMPLOYEE_FULL_NAME),
+                reader.getLocalDateTime(CREATED_AT, CsvDateFormat.LOCAL_DATE_TIME),
+                null
+        );
+    }
+
+    @Override
+    void encodeColumns(Documentation object, CsvRecordWriter writer) {
+        writer.writeEmpty(1);
+    }
+}
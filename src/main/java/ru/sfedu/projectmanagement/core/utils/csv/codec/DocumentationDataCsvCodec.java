@@ -0,0 +1,30 @@
+package ru.sfedu.projectmanagement.core.utils.csv.codec;
+
+import ru.sfedu.projectmanagement.core.model.DocumentationData;
+
+class DocumentationDataCsvCodec implements CsvCodec<DocumentationData> {
+    private static final int ID = 0;
+    private static final int ARTICLE_TITLE = 1;
+    private static final int ARTICLE = 2;
+
+    @Override
+    public DocumentationData decode(CsvRecordReader reader) {
+        return new DocumentationData(
+                reader.getUuid(ID),
+                reader.getString(ARTICLE_TITLE),
+                reader.getString(ARTICLE)
+        );
+    }
+
+    @Override
+    public int getIdColumn() {
+        return ID;
+    }
+
+    @Override
+    public void encode(DocumentationData object, CsvRecordWriter writer) {
+        writer.writeUuid(object.getId())
+                .writeString(object.getArticleTitle())
+                .writeString(object.getArticle());
+    }
+}
@@ -0,0 +1,50 @@
+package ru.sfedu.projectmanagement.core.utils.csv.codec;
+
+import ru.sfedu.projectmanagement.core.model.Employee;
+
+class EmployeeCsvCodec implements CsvCodec<Employee> {
+    private static final int ID = 0;
+    private static final int FIRST_NAME = 1;
+    private static final int LAST_NAME = 2;
+    private static final int PATRONYMIC = 3;
+    private static final int FULL_NAME = 4;
+    private static final int BIRTHDAY = 5;
+    private static final int EMAIL = 6;
+    private static final int PHONE_NUMBER = 7;
+    private static final int POSITION = 8;
+
+    @Override
+    public Employee decode(CsvRecordReader reader) {
+        Employee employee = new Employee(
+                reader.getString(FIRST_NAME),
+                reader.getString(LAST_NAME),
+                reader.getString(PATRONYMIC),
+                reader.getLocalDate(BIRTHDAY, CsvDateFormat.LOCAL_DATE),
+                reader.getString(EMAIL),
+                reader.getString(PHONE_NUMBER),
+                reader.getUuid(ID),
+                reader.getString(POSITION)
+        );
+        // stored full name wins over the computed one
+        employee.setFullName(reader.getString(FULL_NAME));
+        return employee;
+    }
+
+    @Override
+    public int getIdColumn() {
+        return ID;
+    }
+
+    @Override
+    public void encode(Employee object, CsvRecordWriter writer) {
+        writer.writeUuid(object.getId())
+                .writeString(object.getFirstName())
+                .writeString(object.getLastName())
+                .writeString(object.getPatronymic())
+                .writeString(object.getFullName())
+                .writeLocalDate(object.getBirthday(), CsvDateFormat.LOCAL_DATE)
+                .writeString(object.getEmail())
+                .writeString(object.getPhoneNumber())
+                .writeString(object.getPosition());
+    }
+}
@@ -0,0 +1,49 @@
+package ru.sfedu.projectmanagement.core.utils.csv.codec;
+
+import ru.sfedu.projectmanagement.core.model.EmployeeProjectObject;
+
+import java.util.function.Supplier;
+
+/**
+ * Codec of employee-project links, the same layout is used for team members and managers
+ * @param <T> type of the link
+ */
+class EmployeeProjectCsvCodec<T extends EmployeeProjectObject> implements CsvCodec<T> {
+    private static final int EMPLOYEE_ID = 0;
+    private static final int PROJECT_ID = 1;
+
+    private final Supplier<T> constructor;
+
+    EmployeeProjectCsvCodec(Supplier<T> constructor) {
+        this.constructor = constructor;
+    }
+
+    @Override
+    public T decode(CsvRecordReader reader) {
+        T link = constructor.get();
+        link.setEmployeeId(reader.getUuid(EMPLOYEE_ID));
+        link.setProjectId(reader.getUuid(PROJECT_ID));
+        return link;
+    }
+
+    @Override
+    public int getIdColumn() {
+        return PROJECT_ID;
+    }
+
+    @Override
+    public int getProjectIdColumn() {
+        return PROJECT_ID;
+    }
+
+    @Override
+    public int getEmployeeIdColumn() {
+        return EMPLOYEE_ID;
+    }
+
+    @Override
+    public void encode(T object, CsvRecordWriter writer) {
+        writer.writeUuid(object.getEmployeeId())
+                .writeUuid(object.getProjectId());
+    }
+}
@@ -0,0 +1,29 @@
+package ru.sfedu.projectmanagement.core.utils.csv.codec;
+
+import ru.sfedu.projectmanagement.core.model.Event;
+
+class EventCsvCodec extends ProjectEntityCsvCodec<Event> {
+    private static final int START_DATE = COLUMN_COUNT;
+    private static final int END_DATE = COLUMN_COUNT + 1;
+
+    @Override
+    public Event decode(CsvRecordReader reader) {
+        return new Event(
+                reader.getString(NAME),
+                reader.getString(DESCRIPTION),
+                reader.getUuid(ID),
+                reader.getUuid(PROJECT_ID),
+                reader.getUuid(EMPLOYEE_ID),
+                reader.getString(EMPLOYEE_FULL_NAME),
+                reader.getLocalDateTime(CREATED_AT, CsvDateFormat.LOCAL_DATE_TIME),
+                reader.getLocalDateTime(START_DATE, CsvDateFormat.DEFAULT),
+                reader.getLocalDateTime(END_DATE, CsvDateFormat.DEFAULT)
+        );
+    }
+
+    @Override
+    void encodeColumns(Event object, CsvRecordWriter writer) {
+        writer.writeLocalDateTime(object.getStartDate(), CsvDateFormat.DEFAULT)
+                .writeLocalDateTime(object.getEndDate(), CsvDateFormat.DEFAULT);
+    }
+}
@@ -0,0 +1,50 @@
+package ru.sfedu.projectmanagement.core.utils.csv.codec;
+
+import ru.sfedu.projectmanagement.core.model.Project;
+import ru.sfedu.projectmanagement.core.model.enums.WorkStatus;
+
+import java.util.ArrayList;
+
+class ProjectCsvCodec implements CsvCodec<Project> {
+    private static final int DEADLINE = 0;
+    private static final int NAME = 1;
+    private static final int DESCRIPTION = 2;
+    private static final int ID = 3;
+    private static final int STATUS = 4;
+    // manager, team and project entities are stored in their own files
+    private static final int IGNORED_COLUMN_COUNT = 6;
+
+    private static final WorkStatus[] STATUSES = WorkStatus.values();
+
+    @Override
+    public Project decode(CsvRecordReader reader) {
+        return new Project(
+                reader.getString(NAME),
+                reader.getString(DESCRIPTION),
+                reader.getUuid(ID),
+                reader.getLocalDateTime(DEADLINE, CsvDateFormat.DEFAULT),
+                reader.getEnum(STATUS, STATUSES),
+                null,
+                new ArrayList<>(),
+                new ArrayList<>(),
+                new ArrayList<>(),
+                new ArrayList<>(),
+                new ArrayList<>()
+        );
+    }
+
+    @Override
+    public int getIdColumn() {
+        return ID;
+    }
+
+    @Override
+    public void encode(Project object, CsvRecordWriter writer) {
+        writer.writeLocalDateTime(object.getDeadline(), CsvDateFormat.DEFAULT)
+                .writeString(object.getName())
+                .writeString(object.getDescription())
+                .writeUuid(object.getId())
+                .writeEnum(object.getStatus())
+                .writeEmpty(IGNORED_COLUMN_COUNT);
+    }
+}
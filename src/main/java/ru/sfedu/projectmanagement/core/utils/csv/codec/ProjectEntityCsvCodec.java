@@ -0,0 +1,50 @@
+package ru.sfedu.projectmanagement.core.utils.csv.codec;
+
+import ru.sfedu.projectmanagement.core.model.ProjectEntity;
+
+/**
+ * Base codec for project entities, the first seven columns are shared by all of them
+ * @param <T> type of the project entity
+ */
+abstract class ProjectEntityCsvCodec<T extends ProjectEntity> implements CsvCodec<T> {
+    static final int ID = 0;
+    static final int NAME = 1;
+    static final int DESCRIPTION = 2;
+    static final int PROJECT_ID = 3;
+    static final int EMPLOYEE_ID = 4;
+    static final int EMPLOYEE_FULL_NAME = 5;
+    static final int CREATED_AT = 6;
+    static final int COLUMN_COUNT = 7;
+
+    @Override
+    public int getIdColumn() {
+        return ID;
+    }
+
+    @Override
+    public int getProjectIdColumn() {
+        return PROJECT_ID;
+    }
+
+    @Override
+    public int getEmployeeIdColumn() {
+        return EMPLOYEE_ID;
+    }
+
+    @Override
+    public void encode(T object, CsvRecordWriter writer) {
+        writer.writeUuid(object.getId())
+                .writeString(object.getName())
+                .writeString(object.getDescription())
+                .writeUuid(object.getProjectId())
+                .writeUuid(object.getEmployeeId())
+                .writeString(object.getEmployeeFullName())
+                .writeLocalDateTime(object.getCreatedAt(), CsvDateFormat.LOCAL_DATE_TIME);
+        encodeColumns(object, writer);
+    }
+
+    /**
+     * Writes columns of the concrete entity which follow the shared ones
+     */
+    abstract void encodeColumns(T object, CsvRecordWriter writer);
+}
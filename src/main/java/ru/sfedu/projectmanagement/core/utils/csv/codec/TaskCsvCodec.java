@@ -0,0 +1,52 @@
+package ru.sfedu.projectmanagement.core.utils.csv.codec;
+
+import ru.sfedu.projectmanagement.core.model.Task;
+import ru.sfedu.projectmanagement.core.model.enums.Priority;
+import ru.sfedu.projectmanagement.core.model.enums.WorkStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+class TaskCsvCodec extends ProjectEntityCsvCodec<Task> {
+    private static final int DEADLINE = COLUMN_COUNT;
+    private static final int COMMENT = COLUMN_COUNT + 1;
+    private static final int PRIORITY = COLUMN_COUNT + 2;
+    private static final int STATUS = COLUMN_COUNT + 4;
+    private static final int COMPLETED_AT = COLUMN_COUNT + 5;
+
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final WorkStatus[] STATUSES = WorkStatus.values();
+
+    @Override
+    public Task decode(CsvRecordReader reader) {
+        Task task = new Task(
+                reader.getString(NAME),
+                reader.getString(DESCRIPTION),
+                reader.getUuid(ID),
+                reader.getUuid(EMPLOYEE_ID),
+                reader.getString(EMPLOYEE_FULL_NAME),
+                reader.getUuid(PROJECT_ID),
+                reader.getLocalDateTime(DEADLINE, CsvDateFormat.LOCAL_DATE_TIME),
+                reader.getString(COMMENT),
+                reader.getEnum(PRIORITY, PRIORITIES),
+                new ArrayList<>(),
+                reader.getEnum(STATUS, STATUSES),
+                reader.getLocalDateTime(CREATED_AT, CsvDateFormat.LOCAL_DATE_TIME),
+                null
+        );
+        // tags are stored in a separate file, completion date also completes the task
+        LocalDateTime completedAt = reader.getLocalDateTime(COMPLETED_AT, CsvDateFormat.LOCAL_DATE_TIME);
+        if (completedAt != null) task.setCompletedAt(completedAt);
+        return task;
+    }
+
+    @Override
+    void encodeColumns(Task object, CsvRecordWriter writer) {
+        writer.writeLocalDateTime(object.getDeadline(), CsvDateFormat.LOCAL_DATE_TIME)
+                .writeString(object.getComment())
+                .writeEnum(object.getPriority())
+                .writeEmpty(1)
+                .writeEnum(object.getStatus())
+                .writeLocalDateTime(object.getCompletedAt(), CsvDateFormat.LOCAL_DATE_TIME);
+    }
+}
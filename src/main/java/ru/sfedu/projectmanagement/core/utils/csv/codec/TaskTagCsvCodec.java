@@ -0,0 +1,24 @@
+package ru.sfedu.projectmanagement.core.utils.csv.codec;
+
+import ru.sfedu.projectmanagement.core.model.TaskTag;
+
+class TaskTagCsvCodec implements CsvCodec<TaskTag> {
+    private static final int TASK_ID = 0;
+    private static final int TAG = 1;
+
+    @Override
+    public TaskTag decode(CsvRecordReader reader) {
+        return new TaskTag(reader.getUuid(TASK_ID), reader.getString(TAG));
+    }
+
+    @Override
+    public int getIdColumn() {
+        return TASK_ID;
+    }
+
+    @Override
+    public void encode(TaskTag object, CsvRecordWriter writer) {
+        writer.writeUuid(object.getTaskId())
+                .writeString(object.getTag());
+    }
+}
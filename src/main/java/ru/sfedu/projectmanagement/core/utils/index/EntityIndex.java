@@ -0,0 +1,334 @@
+package ru.sfedu.projectmanagement.core.utils.index;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import ru.sfedu.projectmanagement.core.utils.FileStamp;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Persistent index of a datasource file, stored next to it in a sidecar file.
+ * The index maps record ids, project ids and employee ids to positions of records in the data file.
+ * <p>
+ * The sidecar file is memory-mapped and searched in place, so opening an index costs nothing but a header read.
+ * It consists of a header, three sections of {@code (key, position)} pairs sorted by key and a tail of
+ * unsorted entries which were appended after the last rewrite. The tail is merged into the sections
+ * when it grows too big.
+ * <p>
+ * The header keeps modification time and size of the data file at the moment the index was written.
+ * If they don't match the data file, the index is rebuilt with the loader on the next lookup.
+ * Nil UUID is reserved for missing keys
+ */
+public class EntityIndex {
+    private final Logger logger = LogManager.getLogger(EntityIndex.class);
+    public static final String INDEX_FILE_SUFFIX = ".idx";
+
+    private static final int MAGIC = 0x504D4958;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 48;
+    private static final int COUNTS_OFFSET = 24;
+    private static final int KEY_ENTRY_SIZE = 24;
+    private static final int TAIL_ENTRY_SIZE = 56;
+    private static final int MIN_MERGED_TAIL_SIZE = 64;
+    private static final long[] EMPTY = new long[0];
+
+    public enum Key { ID, PROJECT_ID, EMPLOYEE_ID }
+
+    /**
+     * Reads entries of all records from the data file
+     */
+    @FunctionalInterface
+    public interface Loader {
+        List<IndexEntry> load() throws Exception;
+    }
+
+    private final String dataFilePath;
+    private final String indexFilePath;
+    private final Loader loader;
+
+    private MappedByteBuffer buffer;
+    private final int[] sectionCounts = new int[Key.values().length];
+    private int tailCount = 0;
+    private FileStamp dataStamp = FileStamp.EMPTY;
+    private boolean stale = false;
+
+    /**
+     * @param dataFilePath path of the indexed file
+     * @param loader reads entries from the data file when the index is missing or stale
+     */
+    public EntityIndex(String dataFilePath, Loader loader) {
+        this.dataFilePath = dataFilePath;
+        this.indexFilePath = getIndexFilePath(dataFilePath);
+        this.loader = loader;
+    }
+
+    /**
+     * @return path of the sidecar file of the data file
+     */
+    public static String getIndexFilePath(String dataFilePath) {
+        return dataFilePath.concat(INDEX_FILE_SUFFIX);
+    }
+
+    /**
+     * @param key indexed key
+     * @param value wanted value of the key
+     * @return positions of records with such key in ascending order
+     */
+    public synchronized long[] find(Key key, UUID value) throws Exception {
+        ensureActual();
+        long[] positions = EMPTY;
+        int found = 0;
+
+        int sectionStart = getSectionStart(key);
+        int count = sectionCounts[key.ordinal()];
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(sectionStart + middle * KEY_ENTRY_SIZE, value) < 0) low = middle + 1;
+            else high = middle;
+        }
+        for (int i = low; i < count && compare(sectionStart + i * KEY_ENTRY_SIZE, value) == 0; i++) {
+            if (found == positions.length) positions = Arrays.copyOf(positions, Math.max(4, found * 2));
+            positions[found++] = buffer.getLong(sectionStart + i * KEY_ENTRY_SIZE + 16);
+        }
+
+        int tailStart = getTailStart();
+        int keyOffset = key.ordinal() * 16;
+        for (int i = 0; i < tailCount; i++) {
+            int entry = tailStart + i * TAIL_ENTRY_SIZE;
+            if (compare(entry + keyOffset, value) != 0) continue;
+            if (found == positions.length) positions = Arrays.copyOf(positions, Math.max(4, found * 2));
+            positions[found++] = buffer.getLong(entry + 48);
+        }
+
+        long[] result = Arrays.copyOf(positions, found);
+        Arrays.sort(result);
+        return result;
+    }
+
+    public synchronized boolean contains(Key key, UUID value) throws Exception {
+        return find(key, value).length > 0;
+    }
+
+    /**
+     * @return number of indexed records which have an id
+     */
+    public synchronized int size() throws Exception {
+        ensureActual();
+        return sectionCounts[Key.ID.ordinal()] + tailCount;
+    }
+
+    /**
+     * Adds an entry of the record which was just appended to the data file.
+     * If the index did not match the data file before the append, it is left to be rebuilt
+     * @param entry entry of the appended record
+     * @param previousDataStamp stamp of the data file taken before the append
+     */
+    public synchronized void append(IndexEntry entry, FileStamp previousDataStamp) throws IOException {
+        if (stale)
+            return;
+        if (buffer == null || !dataStamp.equals(previousDataStamp)) open();
+        if (buffer == null || !dataStamp.equals(previousDataStamp)) {
+            logger.debug("append[1]: index of {} is stale, it will be rebuilt", dataFilePath);
+            buffer = null;
+            return;
+        }
+
+        int total = Arrays.stream(sectionCounts).max().orElse(0) + tailCount;
+        if (tailCount >= Math.max(MIN_MERGED_TAIL_SIZE, total / 8)) {
+            List<IndexEntry> entries = readAll();
+            entries.add(entry);
+            write(entries, FileStamp.of(dataFilePath));
+            return;
+        }
+
+        FileStamp stamp = FileStamp.of(dataFilePath);
+        try (FileChannel channel = FileChannel.open(Path.of(indexFilePath), StandardOpenOption.WRITE)) {
+            ByteBuffer tail = ByteBuffer.allocate(TAIL_ENTRY_SIZE);
+            putUuid(tail, entry.getId());
+            putUuid(tail, entry.getProjectId());
+            putUuid(tail, entry.getEmployeeId());
+            tail.putLong(entry.getPosition());
+            channel.write(tail.flip(), getTailStart() + (long) tailCount * TAIL_ENTRY_SIZE);
+            channel.write(header(stamp, sectionCounts, tailCount + 1).flip(), 0);
+        }
+        map();
+    }
+
+    /**
+     * Replaces all entries of the index, used after the data file was rewritten
+     * @param entries entries of all records of the data file
+     */
+    public synchronized void rewrite(List<IndexEntry> entries) throws IOException {
+        write(entries, FileStamp.of(dataFilePath));
+    }
+
+    /**
+     * Makes the index rebuild on the next lookup, used after the data file was rewritten.
+     * Modification time and size alone may miss a rewrite which keeps the size of the file
+     */
+    public synchronized void invalidate() {
+        stale = true;
+    }
+
+    private void ensureActual() throws Exception {
+        FileStamp current = FileStamp.of(dataFilePath);
+        if (!stale && buffer != null && dataStamp.equals(current))
+            return;
+
+        // the sidecar file may have been updated by another instance
+        if (!stale) open();
+        if (stale || buffer == null || !dataStamp.equals(current)) {
+            logger.debug("ensureActual[1]: rebuilding index of {}", dataFilePath);
+            write(loader.load(), current);
+        }
+    }
+
+    /**
+     * Maps the sidecar file if it exists and is valid
+     */
+    private void open() throws IOException {
+        buffer = null;
+        File file = new File(indexFilePath);
+        if (!file.exists() || file.length() < HEADER_SIZE)
+            return;
+        map();
+    }
+
+    private void map() throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(indexFilePath), StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+                logger.warn("map[1]: {} is not an index file of version {}", indexFilePath, VERSION);
+                buffer = null;
+                return;
+            }
+
+            for (int i = 0; i < sectionCounts.length; i++)
+                sectionCounts[i] = mapped.getInt(COUNTS_OFFSET + i * 4);
+            tailCount = mapped.getInt(COUNTS_OFFSET + sectionCounts.length * 4);
+            dataStamp = FileStamp.of(mapped.getLong(8), mapped.getLong(16));
+            buffer = mapped;
+
+            if (getTailStart() + (long) tailCount * TAIL_ENTRY_SIZE > channel.size()) {
+                logger.warn("map[2]: {} is truncated", indexFilePath);
+                buffer = null;
+            }
+        }
+    }
+
+    private void write(List<IndexEntry> entries, FileStamp stamp) throws IOException {
+        int[] counts = new int[sectionCounts.length];
+        List<List<IndexEntry>> sections = new ArrayList<>();
+        for (Key key : Key.values()) {
+            List<IndexEntry> section = entries.stream()
+                    .filter(entry -> entry.getKey(key) != null)
+                    .sorted(Comparator.comparing((IndexEntry entry) -> entry.getKey(key), EntityIndex::compare)
+                            .thenComparingLong(IndexEntry::getPosition))
+                    .toList();
+            counts[key.ordinal()] = section.size();
+            sections.add(section);
+        }
+
+        int size = HEADER_SIZE + Arrays.stream(counts).sum() * KEY_ENTRY_SIZE;
+        ByteBuffer content = ByteBuffer.allocate(size);
+        content.put(header(stamp, counts, 0).flip());
+        for (Key key : Key.values()) {
+            for (IndexEntry entry : sections.get(key.ordinal())) {
+                putUuid(content, entry.getKey(key));
+                content.putLong(entry.getPosition());
+            }
+        }
+
+        Path target = Path.of(indexFilePath);
+        Path temporary = Path.of(indexFilePath + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            content.flip();
+            while (content.hasRemaining()) channel.write(content);
+        }
+        try {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (AtomicMoveNotSupportedException exception) {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        map();
+        stale = false;
+    }
+
+    /**
+     * @return all entries of the index joined by position
+     */
+    private List<IndexEntry> readAll() {
+        Map<Long, UUID[]> keys = new TreeMap<>();
+        for (Key key : Key.values()) {
+            int sectionStart = getSectionStart(key);
+            for (int i = 0; i < sectionCounts[key.ordinal()]; i++) {
+                int entry = sectionStart + i * KEY_ENTRY_SIZE;
+                keys.computeIfAbsent(buffer.getLong(entry + 16), position -> new UUID[3])[key.ordinal()] = getUuid(entry);
+            }
+        }
+
+        int tailStart = getTailStart();
+        for (int i = 0; i < tailCount; i++) {
+            int entry = tailStart + i * TAIL_ENTRY_SIZE;
+            keys.put(buffer.getLong(entry + 48), new UUID[] { getUuid(entry), getUuid(entry + 16), getUuid(entry + 32) });
+        }
+
+        List<IndexEntry> entries = new ArrayList<>();
+        keys.forEach((position, uuids) -> entries.add(new IndexEntry(uuids[0], uuids[1], uuids[2], position)));
+        return entries;
+    }
+
+    private static ByteBuffer header(FileStamp stamp, int[] counts, int tailCount) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putLong(stamp.getLastModified()).putLong(stamp.getLength());
+        for (int count : counts) header.putInt(count);
+        header.putInt(tailCount);
+        header.position(HEADER_SIZE);
+        return header;
+    }
+
+    private int getSectionStart(Key key) {
+        int start = HEADER_SIZE;
+        for (int i = 0; i < key.ordinal(); i++) start += sectionCounts[i] * KEY_ENTRY_SIZE;
+        return start;
+    }
+
+    private int getTailStart() {
+        return HEADER_SIZE + Arrays.stream(sectionCounts).sum() * KEY_ENTRY_SIZE;
+    }
+
+    private UUID getUuid(int offset) {
+        long mostSigBits = buffer.getLong(offset);
+        long leastSigBits = buffer.getLong(offset + 8);
+        return mostSigBits == 0 && leastSigBits == 0 ? null : new UUID(mostSigBits, leastSigBits);
+    }
+
+    private int compare(int offset, UUID value) {
+        int result = Long.compare(buffer.getLong(offset), value.getMostSignificantBits());
+        return result != 0 ? result : Long.compare(buffer.getLong(offset + 8), value.getLeastSignificantBits());
+    }
+
+    private static int compare(UUID first, UUID second) {
+        int result = Long.compare(first.getMostSignificantBits(), second.getMostSignificantBits());
+        return result != 0 ? result : Long.compare(first.getLeastSignificantBits(), second.getLeastSignificantBits());
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID uuid) {
+        buffer.putLong(uuid == null ? 0 : uuid.getMostSignificantBits());
+        buffer.putLong(uuid == null ? 0 : uuid.getLeastSignificantBits());
+    }
+}
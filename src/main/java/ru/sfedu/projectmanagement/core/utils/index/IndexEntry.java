@@ -0,0 +1,76 @@
+package ru.sfedu.projectmanagement.core.utils.index;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Keys of one record of a datasource file and its position in the file.
+ * Position is a byte offset for csv files and an ordinal of the element for xml files
+ */
+public class IndexEntry {
+    private final UUID id;
+    private final UUID projectId;
+    private final UUID employeeId;
+    private final long position;
+
+    /**
+     * @param id id of the record
+     * @param projectId project of the record, null if the record is not bound to a project
+     * @param employeeId employee of the record, null if the record is not bound to an employee
+     * @param position position of the record in the file
+     */
+    public IndexEntry(UUID id, UUID projectId, UUID employeeId, long position) {
+        this.id = id;
+        this.projectId = projectId;
+        this.employeeId = employeeId;
+        this.position = position;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getProjectId() {
+        return projectId;
+    }
+
+    public UUID getEmployeeId() {
+        return employeeId;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    UUID getKey(EntityIndex.Key key) {
+        return switch (key) {
+            case ID -> id;
+            case PROJECT_ID -> projectId;
+            case EMPLOYEE_ID -> employeeId;
+        };
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) return true;
+        if (object == null || getClass() != object.getClass()) return false;
+        IndexEntry that = (IndexEntry) object;
+        return position == that.position && Objects.equals(id, that.id)
+                && Objects.equals(projectId, that.projectId) && Objects.equals(employeeId, that.employeeId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, projectId, employeeId, position);
+    }
+
+    @Override
+    public String toString() {
+        return "IndexEntry{" +
+                "id=" + id +
+                ", projectId=" + projectId +
+                ", employeeId=" + employeeId +
+                ", position=" + position +
+                '}';
+    }
+}
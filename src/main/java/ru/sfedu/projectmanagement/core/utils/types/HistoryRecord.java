@@ -6,10 +6,13 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.bson.BsonDocument;
 import org.bson.Document;
 import ru.sfedu.projectmanagement.core.model.enums.ChangeType;
 import ru.sfedu.projectmanagement.core.Constants;
 import ru.sfedu.projectmanagement.core.model.enums.ActionStatus;
+import ru.sfedu.projectmanagement.core.model.Entity;
+import ru.sfedu.projectmanagement.core.utils.bson.HistoryCodecs;
 
 import java.util.Date;
 import java.util.Objects;
@@ -122,11 +125,13 @@ public class HistoryRecord<T> {
             document.put(Constants.MONGO_HISTORY_ID, id.toString());
             document.put(Constants.MONGO_HISTORY_CLASSNAME, className);
             document.put(Constants.MONGO_HISTORY_METHOD_NAME, methodName);
-            document.put(Constants.MONGO_HISTORY_CREATED_AT, createdAt.toString());
+            document.put(Constants.MONGO_HISTORY_CREATED_AT, createdAt);
             document.put(Constants.MONGO_HISTORY_ACTOR, Constants.MONGO_HISTORY_ACTOR);
             document.put(Constants.MONGO_HISTORY_STATUS, status.toString());
             document.put(Constants.MONGO_HISTORY_CHANGE_TYPE, changeType.toString());
-            document.put(Constants.MONGO_HISTORY_OBJECT, mapper.writeValueAsString(object));
+            if (object instanceof Entity entity && entity.getId() != null)
+                document.put(Constants.MONGO_HISTORY_ENTITY_ID, entity.getId().toString());
+            document.put(Constants.MONGO_HISTORY_OBJECT, convertObject());
 
             return document;
         }
@@ -136,6 +141,21 @@ public class HistoryRecord<T> {
         }
     }
 
+    /**
+     * Entities are written as embedded documents, so history can be queried by their fields.
+     * Other objects are written as JSON strings
+     */
+    private Object convertObject() throws JsonProcessingException {
+        if (object == null)
+            return null;
+        if (object instanceof Entity) {
+            BsonDocument document = HistoryCodecs.toBsonDocument(object);
+            if (document != null)
+                return document;
+        }
+        return mapper.writeValueAsString(object);
+    }
+
     @Override
     public String toString() {
         try {
@@ -4,13 +4,16 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import ru.sfedu.projectmanagement.core.Constants;
 import ru.sfedu.projectmanagement.core.model.EmployeeProjectObject;
+import ru.sfedu.projectmanagement.core.model.Entity;
 import ru.sfedu.projectmanagement.core.model.Project;
 import ru.sfedu.projectmanagement.core.model.ProjectEntity;
+import ru.sfedu.projectmanagement.core.model.enums.EntityType;
 import ru.sfedu.projectmanagement.core.utils.FileDataChecker;
 import ru.sfedu.projectmanagement.core.utils.ResultCode;
 import ru.sfedu.projectmanagement.core.utils.types.NoData;
 import ru.sfedu.projectmanagement.core.utils.types.Result;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.TreeMap;
 import java.util.UUID;
@@ -30,15 +33,34 @@ public class XmlDataChecker extends FileDataChecker {
         super(projectsFilePath, employeesFilePath, tasksFilePath, bugReportsFilePath, eventsFilePath, documentationsFilePath, employeeProjectFilePath);
     }
 
+    private boolean isRecordNotExists(String filePath, UUID id) {
+        return isDefinitelyMissing(filePath, id) || XmlUtil.isRecordNotExists(filePath, id);
+    }
+
+    @Override
+    protected Collection<UUID> readKeys(String filePath) {
+        return XmlUtil.readRecordKeys(filePath);
+    }
+
+    /**
+     * Links are checked by employee id, see {@link XmlUtil#isRecordNotExists(String, UUID)}
+     */
+    @Override
+    protected UUID getKey(Entity entity) {
+        if (entity.getEntityType() == EntityType.EmployeeProject)
+            return ((EmployeeProjectObject) entity).getEmployeeId();
+        return entity.getId();
+    }
+
     @Override
     public Result<NoData> checkProjectAndEmployeeExistence(ProjectEntity entity) {
         logger.debug("checkProjectAndEmployeeExistence[1]: creating {} {}", entity.getClass().getSimpleName(), entity);
         TreeMap<String, String> errors = new TreeMap<>();
-        if (XmlUtil.isRecordNotExists(employeesFilePath, entity.getEmployeeId()))
+        if (isRecordNotExists(employeesFilePath, entity.getEmployeeId()))
             errors.put(Constants.EMPLOYEE_ERROR_KEY, String.format(Constants.EMPLOYEE_DOES_NOT_EXISTS, entity.getEmployeeId()));
-        if (XmlUtil.isRecordNotExists(projectsFilePath, entity.getProjectId()))
+        if (isRecordNotExists(projectsFilePath, entity.getProjectId()))
             errors.put(Constants.PROJECT_ERROR_KEY, String.format(Constants.PROJECT_DOES_NOT_EXISTS, entity.getProjectId()));
-        if (XmlUtil.isRecordNotExists(employeeProjectFilePath, entity.getEmployeeId()))
+        if (isRecordNotExists(employeeProjectFilePath, entity.getEmployeeId()))
             errors.put(Constants.EMPLOYEE_ERROR_KEY, Constants.EMPLOYEE_IS_NOT_LINKED_TO_PROJECT);
 
         if (!errors.isEmpty()) {
@@ -51,9 +73,9 @@ public class XmlDataChecker extends FileDataChecker {
 
     public Result<NoData> checkProjectAndEmployeeExistence(UUID employeeId, UUID projectId) {
         TreeMap<String, String> errors = new TreeMap<>();
-        if (XmlUtil.isRecordNotExists(employeesFilePath, employeeId))
+        if (isRecordNotExists(employeesFilePath, employeeId))
             errors.put(Constants.EMPLOYEE_ERROR_KEY, String.format(Constants.EMPLOYEE_DOES_NOT_EXISTS, employeeId));
-        if (XmlUtil.isRecordNotExists(projectsFilePath, projectId))
+        if (isRecordNotExists(projectsFilePath, projectId))
             errors.put(Constants.PROJECT_ERROR_KEY, String.format(Constants.PROJECT_DOES_NOT_EXISTS, projectId));
 
         if (!errors.isEmpty()) {
@@ -70,13 +92,13 @@ public class XmlDataChecker extends FileDataChecker {
         logger.debug("checkEntitiesBeforeBindTaskExecutor[1]: start validating");
         TreeMap<String, String> errors = new TreeMap<>();
 
-        if (XmlUtil.isRecordNotExists(tasksFilePath, taskId))
+        if (isRecordNotExists(tasksFilePath, taskId))
             errors.put(Constants.TASK_ERROR_KEY, Constants.TASK_DOES_NOT_EXISTS);
-        if (XmlUtil.isRecordNotExists(employeesFilePath, executorId))
+        if (isRecordNotExists(employeesFilePath, executorId))
             errors.put(Constants.EMPLOYEE_ERROR_KEY, Constants.EMPLOYEE_DOES_NOT_EXISTS);
-        if (XmlUtil.isRecordNotExists(projectsFilePath, projectId))
+        if (isRecordNotExists(projectsFilePath, projectId))
             errors.put(Constants.PROJECT_ERROR_KEY, Constants.PROJECT_DOES_NOT_EXISTS);
-        if (XmlUtil.isRecordNotExists(employeeProjectFilePath, executorId))
+        if (isRecordNotExists(employeeProjectFilePath, executorId))
             errors.put(Constants.EMPLOYEE_ERROR_KEY, Constants.EMPLOYEE_DOES_NOT_EXISTS);
 
         if (!errors.isEmpty())
@@ -91,7 +113,7 @@ public class XmlDataChecker extends FileDataChecker {
         logger.debug("createProjectValidation[1]: creating project {}", project);
         TreeMap<String, String> errors = new TreeMap<>();
 
-        if (project.getManager() != null && !XmlUtil.isRecordNotExists(employeesFilePath, project.getManager().getId())) {
+        if (project.getManager() != null && !isRecordNotExists(employeesFilePath, project.getManager().getId())) {
             errors.put(Constants.EMPLOYEE_ERROR_KEY, String.format(Constants.EMPLOYEE_DOES_NOT_EXISTS, project.getManager()));
             return new Result<>(null, ResultCode.ERROR, errors);
         }
@@ -104,10 +126,12 @@ public class XmlDataChecker extends FileDataChecker {
     public Result<NoData> checkIfEmployeeBelongsToProject(UUID employeeId, UUID projectId) {
         logger.debug("checkIfEmployeeBelongsToProject[1]: object {}", employeeId);
         TreeMap<String, String> errors = new TreeMap<>();
-        if (XmlUtil.isRecordNotExists(employeesFilePath, employeeId))
+        if (isRecordNotExists(employeesFilePath, employeeId))
             errors.put(Constants.EMPLOYEE_ERROR_KEY, String.format(Constants.EMPLOYEE_DOES_NOT_EXISTS, employeeId));
 
-        Wrapper<EmployeeProjectObject> employeeLinks = XmlUtil.readFile(employeeProjectFilePath);
+        Wrapper<EmployeeProjectObject> employeeLinks = isDefinitelyMissing(employeeProjectFilePath, employeeId)
+                ? new Wrapper<>()
+                : XmlUtil.readFile(employeeProjectFilePath);
         Optional.of(employeeLinks.getList())
                 .map(links -> links
                         .stream()
@@ -128,7 +152,7 @@ public class XmlDataChecker extends FileDataChecker {
 
     @Override
     public Result<NoData> checkProjectExistence(UUID projectId) {
-        if (XmlUtil.isRecordNotExists(projectsFilePath, projectId))
+        if (isRecordNotExists(projectsFilePath, projectId))
             return new Result<>(ResultCode.ERROR, String.format(
                     Constants.ENTITY_NOT_FOUND_MESSAGE,
                     Project.class.getSimpleName(),
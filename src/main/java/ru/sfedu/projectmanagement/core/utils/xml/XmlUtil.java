@@ -1,24 +1,55 @@
 package ru.sfedu.projectmanagement.core.utils.xml;
 
 import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBElement;
 import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.Marshaller;
 import jakarta.xml.bind.Unmarshaller;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlElements;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import ru.sfedu.projectmanagement.core.Constants;
 import ru.sfedu.projectmanagement.core.model.*;
 import ru.sfedu.projectmanagement.core.model.enums.EntityType;
+import ru.sfedu.projectmanagement.core.utils.FileStamp;
+import ru.sfedu.projectmanagement.core.utils.config.ConfigPropertiesUtil;
+import ru.sfedu.projectmanagement.core.utils.index.EntityIndex;
+import ru.sfedu.projectmanagement.core.utils.index.IndexEntry;
 
-import java.io.File;
-import java.io.StringWriter;
-import java.util.List;
-import java.util.UUID;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class XmlUtil {
     private static final Logger logger = LogManager.getLogger(XmlUtil.class);
-    private static Marshaller marshaller;
     private static JAXBContext context;
+    private static Boolean formattedOutput;
+    // marshallers and unmarshallers are not thread-safe, every thread gets its own ones
+    private static final ThreadLocal<Marshaller> marshallers = ThreadLocal.withInitial(() -> createMarshaller(false));
+    private static final ThreadLocal<Marshaller> fragmentMarshallers = ThreadLocal.withInitial(() -> createMarshaller(true));
+    private static final ThreadLocal<Unmarshaller> unmarshallers = ThreadLocal.withInitial(XmlUtil::createUnmarshaller);
+    private static final XMLInputFactory inputFactory = XMLInputFactory.newFactory();
+    private static final Map<String, Class<?>> elementTypes = new HashMap<>();
+    private static final Map<Class<?>, String> elementNames = new HashMap<>();
+    private static final int TAIL_SEARCH_LENGTH = 256;
+    private static final Pattern CLOSING_TAG = Pattern.compile("</wrapper\\s*>\\s*$");
+    private static final Pattern EMPTY_ELEMENT = Pattern.compile("<wrapper\\s*/>\\s*$");
+    private static final Map<String, EntityIndex> indexes = new ConcurrentHashMap<>();
+    private static Boolean indexEnabled;
 
     static {
         try {
@@ -32,12 +63,23 @@ public class XmlUtil {
                     Documentation.class,
                     EmployeeProjectObject.class
             );
-
-            marshaller = context.createMarshaller();
-            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
         } catch (JAXBException e) {
             logger.error("XmlUtil: {}", e.getMessage());
         }
+
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        // element names of records are declared once on the list of the wrapper
+        try {
+            XmlElements elements = Wrapper.class.getDeclaredField("list").getAnnotation(XmlElements.class);
+            for (XmlElement element : elements.value()) {
+                elementTypes.put(element.name(), element.type());
+                elementNames.put(element.type(), element.name());
+            }
+        } catch (NoSuchFieldException e) {
+            logger.error("XmlUtil: {}", e.getMessage());
+        }
     }
 
     /**
@@ -47,6 +89,16 @@ public class XmlUtil {
      * @return true if object with such id exists else false
      */
     public static <T extends Entity> boolean isRecordNotExists(String filePath, UUID id) {
+        EntityIndex index = getIndex(filePath);
+        if (index != null) {
+            try {
+                return !index.contains(EntityIndex.Key.ID, id);
+            }
+            catch (Exception exception) {
+                logger.error("isRecordNotExists[1]: {}", exception.getMessage());
+            }
+        }
+
         Wrapper<T> wrapper = XmlUtil.readFile(filePath);
         if (!wrapper.getList().isEmpty() && wrapper.getList().stream().allMatch(entity -> entity.getEntityType() == EntityType.EmployeeProject)) {
             return wrapper.getList()
@@ -60,9 +112,8 @@ public class XmlUtil {
 
     public static void truncateFile(String entityFilePath) throws JAXBException {
         File file = new File(entityFilePath);
-        JAXBContext context = JAXBContext.newInstance(Wrapper.class);
-        Marshaller marshaller = context.createMarshaller();
-        marshaller.marshal(new Wrapper<>(), file);
+        marshallers.get().marshal(new Wrapper<>(), file);
+        updateIndex(entityFilePath, List.of());
     }
 
     /**
@@ -74,8 +125,7 @@ public class XmlUtil {
         File file = new File(entityFilePath);
         logger.debug("readFile[1]: file path {}", file.getAbsolutePath());
         try {
-            Unmarshaller unmarshaller = context.createUnmarshaller();
-            Wrapper<T> wrapper = (Wrapper<T>) unmarshaller.unmarshal(file);
+            Wrapper<T> wrapper = (Wrapper<T>) unmarshallers.get().unmarshal(file);
             logger.debug("readRecord[2]: read record {}", wrapper.toString());
 
             return wrapper;
@@ -93,17 +143,224 @@ public class XmlUtil {
      * @throws JAXBException throws if something goes wrong when saving an entity to xml
      */
     public static <T extends Entity> void createRecord(String filePath, T object) throws JAXBException {
-        Wrapper<T> wrapper = readFile(filePath);
-        List<T> list = wrapper.getList();
-        logger.debug("createRecord[1]: {}", list);
         String errorMessage = "record with id = %s already exists";
-
-        if (list.stream().anyMatch(el -> el.getId().equals(object.getId()) && el.getEntityType() != EntityType.EmployeeProject))
+        if (object.getEntityType() != EntityType.EmployeeProject && containsId(filePath, object.getId()))
             throw new JAXBException(String.format(errorMessage, object.getId()));
 
+        FileStamp stamp = FileStamp.of(filePath);
+        EntityIndex index = getIndex(filePath);
+        long ordinal = getIndexSize(index);
+        try {
+            if (appendElement(filePath, object)) {
+                logger.debug("createRecord[1]: {} appended to {}", object, filePath);
+                appendToIndex(index, object, ordinal, stamp);
+                return;
+            }
+        }
+        catch (IOException exception) {
+            throw new JAXBException(exception.getMessage(), exception);
+        }
+
+        Wrapper<T> wrapper = readFile(filePath);
+        logger.debug("createRecord[2]: {}", wrapper.getList());
         wrapper.addNode(object);
 
-        marshaller.marshal(wrapper, new File(filePath));
+        marshallers.get().marshal(wrapper, new File(filePath));
+        updateIndex(filePath, wrapper.getList());
+    }
+
+    /**
+     * Reads records of the file one by one, only the current record is kept in memory.
+     * The stream holds the file open and must be closed
+     * @param filePath path of the xml file
+     * @param <T> T type of entities implemented by Entity
+     * @return lazy stream of records, empty stream if the file can't be opened
+     */
+    public static <T extends Entity> Stream<T> stream(String filePath) {
+        try {
+            RecordIterator<T> iterator = new RecordIterator<>(filePath);
+            return StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false
+            ).onClose(iterator::close);
+        }
+        catch (IOException | XMLStreamException exception) {
+            logger.error("stream[1]: {}", exception.getMessage());
+            return Stream.empty();
+        }
+    }
+
+    /**
+     * @param filePath path of the xml file
+     * @param predicate condition records are selected by
+     * @param <T> T type of entities implemented by Entity
+     * @return matching records, empty list if the file can't be read
+     */
+    public static <T extends Entity> List<T> find(String filePath, Predicate<T> predicate) {
+        try (Stream<T> records = stream(filePath)) {
+            return records.filter(predicate).collect(Collectors.toCollection(ArrayList::new));
+        }
+        catch (IllegalStateException exception) {
+            logger.error("find[1]: {}", exception.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Stops reading the file at the first matching record
+     * @param filePath path of the xml file
+     * @param predicate condition the record is selected by
+     * @param <T> T type of entities implemented by Entity
+     * @return first matching record
+     */
+    public static <T extends Entity> Optional<T> findFirst(String filePath, Predicate<T> predicate) {
+        try (Stream<T> records = stream(filePath)) {
+            return records.filter(predicate).findFirst();
+        }
+        catch (IllegalStateException exception) {
+            logger.error("findFirst[1]: {}", exception.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static boolean containsId(String filePath, UUID id) {
+        EntityIndex index = getIndex(filePath);
+        if (index != null) {
+            try {
+                return index.contains(EntityIndex.Key.ID, id);
+            }
+            catch (Exception exception) {
+                logger.error("containsId[1]: {}", exception.getMessage());
+            }
+        }
+        return findFirst(filePath, entity -> entity.getId().equals(id)).isPresent();
+    }
+
+    /**
+     * Inserts the record right before the closing tag of the wrapper without rewriting the file
+     * @return false if the file does not end with the wrapper element or the record has no element name
+     */
+    private static <T extends Entity> boolean appendElement(String filePath, T object) throws IOException, JAXBException {
+        String name = elementNames.get(object.getClass());
+        if (name == null)
+            return false;
+
+        try (RandomAccessFile file = new RandomAccessFile(filePath, "rw")) {
+            long length = file.length();
+            int tailLength = (int) Math.min(length, TAIL_SEARCH_LENGTH);
+            byte[] tail = new byte[tailLength];
+            file.seek(length - tailLength);
+            file.readFully(tail);
+
+            // single byte charset keeps indexes of the string equal to byte offsets
+            String tailText = new String(tail, StandardCharsets.ISO_8859_1);
+            Matcher closingTag = CLOSING_TAG.matcher(tailText);
+            Matcher emptyElement = EMPTY_ELEMENT.matcher(tailText);
+            int start;
+            String opening;
+            if (closingTag.find()) {
+                start = closingTag.start();
+                opening = "";
+            }
+            else if (emptyElement.find()) {
+                start = emptyElement.start();
+                opening = "<wrapper>";
+            }
+            else return false;
+
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            content.writeBytes(opening.getBytes(StandardCharsets.UTF_8));
+            @SuppressWarnings("unchecked")
+            JAXBElement<T> element = new JAXBElement<>(new QName(name), (Class<T>) object.getClass(), object);
+            fragmentMarshallers.get().marshal(element, content);
+            content.writeBytes("\n</wrapper>\n".getBytes(StandardCharsets.UTF_8));
+
+            file.seek(length - tailLength + start);
+            file.write(content.toByteArray());
+            file.setLength(file.getFilePointer());
+        }
+        return true;
+    }
+
+    /**
+     * Lazily unmarshals child elements of the wrapper, unknown elements are skipped
+     */
+    private static class RecordIterator<T> implements Iterator<T>, Closeable {
+        private final InputStream input;
+        private final XMLStreamReader reader;
+        private final Unmarshaller unmarshaller;
+        private T next;
+
+        RecordIterator(String filePath) throws IOException, XMLStreamException {
+            input = new BufferedInputStream(new FileInputStream(filePath));
+            try {
+                reader = inputFactory.createXMLStreamReader(input);
+                unmarshaller = unmarshallers.get();
+                // the root element, records are its children
+                reader.nextTag();
+                reader.next();
+            }
+            catch (XMLStreamException | RuntimeException exception) {
+                input.close();
+                throw exception;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null)
+                next = readNext();
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            T record = next;
+            next = null;
+            return record;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T readNext() {
+            try {
+                int event = reader.getEventType();
+                while (event != XMLStreamConstants.END_ELEMENT && event != XMLStreamConstants.END_DOCUMENT) {
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        Class<?> type = elementTypes.get(reader.getLocalName());
+                        // the reader stops right after the end of the unmarshalled element
+                        if (type != null)
+                            return (T) unmarshaller.unmarshal(reader, type).getValue();
+                        skipElement();
+                    }
+                    event = reader.next();
+                }
+                return null;
+            }
+            catch (XMLStreamException | JAXBException exception) {
+                throw new IllegalStateException(exception.getMessage(), exception);
+            }
+        }
+
+        private void skipElement() throws XMLStreamException {
+            int depth = 1;
+            while (depth > 0) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) depth++;
+                else if (event == XMLStreamConstants.END_ELEMENT) depth--;
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                reader.close();
+                input.close();
+            }
+            catch (XMLStreamException | IOException exception) {
+                logger.error("close[1]: {}", exception.getMessage());
+            }
+        }
     }
 
 
@@ -134,11 +391,14 @@ public class XmlUtil {
         if (!isFound.get())
             wrapper.addNode(object);
 
-        StringWriter logStringWriter = new StringWriter();
+        marshallers.get().marshal(wrapper, new File(filePath));
+        updateIndex(filePath, wrapper.getList());
 
-        marshaller.marshal(wrapper, new File(filePath));
-        marshaller.marshal(wrapper, logStringWriter);
-        logger.debug("createOrUpdateRecord[1]: content {}", logStringWriter);
+        if (logger.isDebugEnabled()) {
+            StringWriter logStringWriter = new StringWriter();
+            marshallers.get().marshal(wrapper, logStringWriter);
+            logger.debug("createOrUpdateRecord[1]: content {}", logStringWriter);
+        }
     }
 
     /**
@@ -148,7 +408,152 @@ public class XmlUtil {
      * @throws JAXBException throws if something goes wrong when saving an entity to xml
      */
     public static <T> void setContainer(String filePath, Wrapper<T> wrapper) throws JAXBException {
-        marshaller.marshal(wrapper, new File(filePath));
+        marshallers.get().marshal(wrapper, new File(filePath));
+        updateIndex(filePath, wrapper.getList());
+    }
+
+    /**
+     * Turns persistent indexes of xml files on or off, by default the value of
+     * {@link Constants#XML_INDEX_ENABLED} from env.properties is used
+     */
+    public static synchronized void setIndexEnabled(boolean enabled) {
+        indexEnabled = enabled;
+    }
+
+    private static synchronized boolean isIndexEnabled() {
+        if (indexEnabled == null)
+            indexEnabled = getFlag(Constants.XML_INDEX_ENABLED, false);
+        return indexEnabled;
+    }
+
+    /**
+     * Turns pretty-printing of written files on or off, by default the value of
+     * {@link Constants#XML_FORMATTED_OUTPUT} from env.properties is used and output is formatted if it is missing.
+     * Marshallers which were already created by other threads keep their setting
+     */
+    public static synchronized void setFormattedOutput(boolean formatted) {
+        formattedOutput = formatted;
+        marshallers.remove();
+        fragmentMarshallers.remove();
+    }
+
+    private static synchronized boolean isFormattedOutput() {
+        if (formattedOutput == null)
+            formattedOutput = getFlag(Constants.XML_FORMATTED_OUTPUT, true);
+        return formattedOutput;
+    }
+
+    /**
+     * @return value of the key from env.properties or the default value if it is missing or can't be read
+     */
+    private static boolean getFlag(String key, boolean defaultValue) {
+        try {
+            return Optional.ofNullable(ConfigPropertiesUtil.getEnvironmentVariable(key))
+                    .map(Boolean::parseBoolean)
+                    .orElse(defaultValue);
+        }
+        catch (RuntimeException exception) {
+            logger.error("getFlag[1]: {}", exception.getMessage());
+            return defaultValue;
+        }
+    }
+
+    private static Marshaller createMarshaller(boolean fragment) {
+        try {
+            Marshaller marshaller = context.createMarshaller();
+            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, isFormattedOutput());
+            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, fragment);
+            return marshaller;
+        }
+        catch (JAXBException exception) {
+            throw new IllegalStateException(exception.getMessage(), exception);
+        }
+    }
+
+    private static Unmarshaller createUnmarshaller() {
+        try {
+            return context.createUnmarshaller();
+        }
+        catch (JAXBException exception) {
+            throw new IllegalStateException(exception.getMessage(), exception);
+        }
+    }
+
+    /**
+     * @return index of the file or null if indexes are disabled
+     */
+    private static EntityIndex getIndex(String filePath) {
+        if (!isIndexEnabled())
+            return null;
+        return indexes.computeIfAbsent(filePath, path -> new EntityIndex(path, () -> getIndexEntries(readFile(path).getList())));
+    }
+
+    private static long getIndexSize(EntityIndex index) {
+        if (index == null)
+            return 0;
+        try {
+            return index.size();
+        }
+        catch (Exception exception) {
+            logger.error("getIndexSize[1]: {}", exception.getMessage());
+            index.invalidate();
+            return 0;
+        }
+    }
+
+    private static void appendToIndex(EntityIndex index, Entity object, long ordinal, FileStamp previousStamp) {
+        if (index == null)
+            return;
+
+        IndexEntry entry = getIndexEntries(List.of(object)).get(0);
+        try {
+            index.append(new IndexEntry(entry.getId(), entry.getProjectId(), entry.getEmployeeId(), ordinal), previousStamp);
+        }
+        catch (Exception exception) {
+            logger.error("appendToIndex[1]: {}", exception.getMessage());
+            index.invalidate();
+        }
+    }
+
+    private static void updateIndex(String filePath, List<?> list) {
+        EntityIndex index = getIndex(filePath);
+        if (index == null)
+            return;
+
+        try {
+            index.rewrite(getIndexEntries(list));
+        }
+        catch (Exception exception) {
+            logger.error("updateIndex[1]: {}", exception.getMessage());
+            index.invalidate();
+        }
+    }
+
+    /**
+     * @return keys {@link #isRecordNotExists(String, UUID)} checks records of the file by
+     */
+    static List<UUID> readRecordKeys(String filePath) {
+        return getIndexEntries(readFile(filePath).getList()).stream().map(IndexEntry::getId).toList();
+    }
+
+    /**
+     * Position of an entry is the ordinal of the element in the file. Records of files with
+     * employee-project links are keyed by employee id, like in {@link #isRecordNotExists(String, UUID)}
+     */
+    private static List<IndexEntry> getIndexEntries(List<?> list) {
+        boolean links = !list.isEmpty() && list.stream()
+                .allMatch(object -> object instanceof Entity entity && entity.getEntityType() == EntityType.EmployeeProject);
+        List<IndexEntry> entries = new ArrayList<>(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            Object object = list.get(i);
+            if (object instanceof EmployeeProjectObject link)
+                entries.add(new IndexEntry(links ? link.getEmployeeId() : link.getId(), link.getProjectId(), link.getEmployeeId(), i));
+            else if (object instanceof ProjectEntity entity)
+                entries.add(new IndexEntry(entity.getId(), entity.getProjectId(), entity.getEmployeeId(), i));
+            else if (object instanceof Entity entity)
+                entries.add(new IndexEntry(entity.getId(), null, null, i));
+        }
+        return entries;
     }
 }
 
@@ -5,11 +5,18 @@ import ru.sfedu.projectmanagement.core.model.*;
 import ru.sfedu.projectmanagement.core.model.enums.BugStatus;
 import ru.sfedu.projectmanagement.core.model.enums.Priority;
 import ru.sfedu.projectmanagement.core.model.enums.WorkStatus;
+import ru.sfedu.projectmanagement.core.utils.ResultCode;
+import ru.sfedu.projectmanagement.core.utils.types.Page;
+import ru.sfedu.projectmanagement.core.utils.types.Result;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.util.*;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public class BaseProviderTest {
     protected static final ArrayList<Employee> team = new ArrayList<>();
@@ -397,4 +404,53 @@ public class BaseProviderTest {
         provider.bindEmployeeToProject(employee1.getId(), project1.getId());
 
     }
+
+    /**
+     * Adds events, documentations and the second member of the team to project1
+     */
+    public void initDataForPages(IDataProvider provider) {
+        provider.processNewEmployee(employee2);
+        provider.bindEmployeeToProject(employee2.getId(), project1.getId());
+        for (int i = 0; i < 3; i++) {
+            provider.processNewEvent(createEvent(
+                    "Event " + i, "Description for Event " + i, project1.getId(),
+                    employee1.getId(), employee1.getFullName(),
+                    LocalDateTime.of(2024, Month.JANUARY, i + 1, 10, 0),
+                    LocalDateTime.of(2024, Month.JANUARY, i + 1, 12, 0)
+            ));
+
+            provider.processNewDocumentation(createDocumentation(
+                    "Documentation " + i, "Description for Documentation " + i, project1.getId(),
+                    employee1.getId(), employee1.getFullName(), new HashMap<>(Map.of("Article " + i, "Text " + i))
+            ));
+        }
+    }
+
+    /**
+     * Reads pages one after another until there is no next cursor
+     * @param pages returns the page by the cursor and the limit
+     * @param stream all items, the order of the stream is not checked
+     * @param order order of the pages
+     */
+    protected static <T> void assertPagesMatchStream(
+            BiFunction<String, Integer, Result<Page<T>>> pages, Stream<T> stream, Comparator<T> order
+    ) {
+        List<T> expected;
+        try (stream) {
+            expected = stream.sorted(order).toList();
+        }
+
+        List<T> actual = new ArrayList<>();
+        String cursor = null;
+        do {
+            Result<Page<T>> page = pages.apply(cursor, 2);
+            assertEquals(ResultCode.SUCCESS, page.getCode());
+            assertTrue(page.getData().getItems().size() <= 2);
+            actual.addAll(page.getData().getItems());
+            cursor = page.getData().getNextCursor();
+        } while (cursor != null);
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, actual);
+    }
 }
@@ -7,18 +7,25 @@ import ru.sfedu.projectmanagement.core.Constants;
 import ru.sfedu.projectmanagement.core.model.*;
 import ru.sfedu.projectmanagement.core.model.enums.Priority;
 import ru.sfedu.projectmanagement.core.model.enums.WorkStatus;
+import ru.sfedu.projectmanagement.core.utils.Keyset;
 import ru.sfedu.projectmanagement.core.utils.ResultCode;
 import ru.sfedu.projectmanagement.core.utils.csv.CsvUtil;
 import ru.sfedu.projectmanagement.core.utils.types.NoData;
+import ru.sfedu.projectmanagement.core.utils.types.Page;
 import ru.sfedu.projectmanagement.core.utils.types.Result;
 import ru.sfedu.projectmanagement.core.utils.types.TrackInfo;
 
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -343,6 +350,117 @@ class CsvDataProviderTest extends BaseProviderTest implements IDataProviderTest
         assertEquals(expectedData, result);
     }
 
+    @Test
+    public void monitorProjectCharacteristicsAsync() {
+        initDataForMonitorProjectCharacteristics(csvProvider);
+        AsyncDataProvider asyncProvider = new AsyncDataProvider(csvProvider);
+
+        ProjectStatistics expectedData = csvProvider.monitorProjectCharacteristics(project1.getId(), true, true);
+        ProjectStatistics result = asyncProvider.monitorProjectCharacteristics(project1.getId(), true, true).join();
+
+        assertEquals(expectedData, result);
+        assertEquals(
+                csvProvider.getTasksByProjectId(project1.getId()).getData(),
+                asyncProvider.getTasksByProjectId(project1.getId()).join().getData()
+        );
+    }
+
+    @Test
+    public void monitorPortfolioCharacteristics() {
+        project1.setTasks(new ArrayList<>());
+        csvProvider.processNewProject(project1);
+        initDataForMonitorProjectCharacteristics(csvProvider);
+        bugReports.forEach(csvProvider::processNewBugReport);
+
+        ProjectStatistics expectedData = csvProvider.monitorProjectCharacteristics(project1.getId(), true, true);
+        Result<Map<UUID, ProjectStatistics>> result = new PortfolioAnalyzer(csvProvider)
+                .monitorPortfolioCharacteristics(true, true);
+        logger.debug("monitorPortfolioCharacteristics[1]: actual {}", result.getData());
+        logger.debug("monitorPortfolioCharacteristics[2]: expected {}", expectedData);
+
+        assertEquals(ResultCode.SUCCESS, result.getCode());
+        assertEquals(expectedData, result.getData().get(project1.getId()));
+        assertFalse(expectedData.getTaskStatus().getData().isEmpty());
+    }
+
+    @Test
+    public void collectProjectStatistics() {
+        project1.setTasks(new ArrayList<>());
+        csvProvider.processNewProject(project1);
+        initDataForMonitorProjectCharacteristics(csvProvider);
+        bugReports.forEach(csvProvider::processNewBugReport);
+
+        ProjectStatistics expectedData = csvProvider.monitorProjectCharacteristics(project1.getId(), true, true);
+        CompactProjectStatistics actual = csvProvider.collectProjectStatistics(project1.getId(), true, true);
+        logger.debug("collectProjectStatistics[1]: actual {}", actual);
+        logger.debug("collectProjectStatistics[2]: expected {}", expectedData);
+
+        assertEquals(expectedData, actual.toProjectStatistics());
+        assertEquals(tasks.size(), actual.getTaskCount());
+        assertEquals(
+                tasks.stream().filter(task -> task.getStatus() == WorkStatus.COMPLETED).count(),
+                actual.countTasks(WorkStatus.COMPLETED)
+        );
+    }
+
+    @Test
+    public void getProjectEntitiesByPages() {
+        project1.setTasks(new ArrayList<>());
+        csvProvider.processNewProject(project1);
+        initDataForPages(csvProvider);
+
+        assertPagesMatchStream(
+                (cursor, limit) -> csvProvider.getEventsByProjectId(project1.getId(), cursor, limit),
+                csvProvider.streamEventsByProjectId(project1.getId()),
+                Comparator.comparing(Keyset.Key::of, Keyset.ORDER)
+        );
+        assertPagesMatchStream(
+                (cursor, limit) -> csvProvider.getDocumentationsByProjectId(project1.getId(), cursor, limit),
+                csvProvider.streamDocumentationsByProjectId(project1.getId()),
+                Comparator.comparing(Keyset.Key::of, Keyset.ORDER)
+        );
+        assertPagesMatchStream(
+                (cursor, limit) -> csvProvider.getProjectTeam(project1.getId(), cursor, limit),
+                csvProvider.streamProjectTeam(project1.getId()),
+                Comparator.comparing(Keyset.Key::of, Keyset.ORDER)
+        );
+        assertEquals(2, csvProvider.getProjectTeam(project1.getId(), null, 2).getData().getItems().size());
+    }
+
+    @Test
+    public void getTasksByProjectIdByPages() {
+        project1.setTasks(new ArrayList<>());
+        csvProvider.processNewProject(project1);
+        initDataForMonitorProjectCharacteristics(csvProvider);
+
+        List<Task> expected = new ArrayList<>(csvProvider.getTasksByProjectId(project1.getId()).getData());
+        expected.sort(Comparator.comparing(Keyset.Key::of, Keyset.ORDER));
+
+        List<Task> actual = new ArrayList<>();
+        String cursor = null;
+        do {
+            Result<Page<Task>> page = csvProvider.getTasksByProjectId(project1.getId(), cursor, 2);
+            assertEquals(ResultCode.SUCCESS, page.getCode());
+            assertTrue(page.getData().getItems().size() <= 2);
+            actual.addAll(page.getData().getItems());
+            cursor = page.getData().getNextCursor();
+        } while (cursor != null);
+        logger.debug("getTasksByProjectIdByPages[1]: actual {}", actual);
+
+        assertEquals(expected, actual);
+        try (Stream<Task> stream = csvProvider.streamTasksByProjectId(project1.getId())) {
+            assertEquals(new HashSet<>(expected), stream.collect(Collectors.toSet()));
+        }
+        assertEquals(
+                ResultCode.INVALID_DATA,
+                csvProvider.getTasksByProjectId(project1.getId(), null, 0).getCode()
+        );
+        assertEquals(
+                ResultCode.INVALID_DATA,
+                csvProvider.getTasksByProjectId(project1.getId(), "not a cursor", 2).getCode()
+        );
+    }
+
     @Override
     @Test
     public void monitorNonExistentProjectCharacteristicsWithBugStatusAndLaborEfficiency() {
@@ -454,6 +572,32 @@ class CsvDataProviderTest extends BaseProviderTest implements IDataProviderTest
         assertEquals(expectedReadiness, actualReadiness);
     }
 
+    @Test
+    public void getProjectSummaryAfterChanges() {
+        project1.setTasks(new ArrayList<>());
+        csvProvider.processNewProject(project1);
+        tasks.forEach(csvProvider::processNewTask);
+        assertEquals(tasks.size(), csvProvider.getProjectSummary(project1.getId()).getData().getTaskCount());
+
+        bugReports.forEach(csvProvider::processNewBugReport);
+        csvProvider.completeTask(tasks.get(0).getId());
+        csvProvider.deleteTask(tasks.get(1).getId());
+        csvProvider.deleteBugReport(bugReports.get(0).getId());
+
+        ProjectSummary expected = ProjectSummary.of(
+                project1.getId(),
+                csvProvider.getTasksByProjectId(project1.getId()).getData(),
+                csvProvider.getBugReportsByProjectId(project1.getId()).getData()
+        );
+        Result<ProjectSummary> actual = csvProvider.getProjectSummary(project1.getId());
+        logger.debug("getProjectSummaryAfterChanges[1]: actual {}", actual);
+        logger.debug("getProjectSummaryAfterChanges[2]: expected {}", expected);
+
+        assertEquals(ResultCode.SUCCESS, actual.getCode());
+        assertEquals(expected, actual.getData());
+        assertEquals(expected, new CsvDataProvider().getProjectSummary(project1.getId()).getData());
+    }
+
     @Override
     @Test
     public void calculateLaborEfficiency() {
@@ -1326,4 +1470,18 @@ class CsvDataProviderTest extends BaseProviderTest implements IDataProviderTest
         logger.debug("completeTask[3]: result {}", actual);
         assertEquals(ResultCode.NOT_FOUND, actual.getCode());
     }
+
+    @Test
+    void completeTaskDoesNotChangeCachedRecords() {
+        CsvDataProvider cachedProvider = new CsvDataProvider(Constants.DATASOURCE_TEST_PATH_CSV, true);
+        assertEquals(ResultCode.SUCCESS, cachedProvider.processNewProject(project1).getCode());
+        assertEquals(ResultCode.SUCCESS, cachedProvider.processNewTask(task).getCode());
+
+        Task received = cachedProvider.getTaskById(task.getId()).getData();
+        assertEquals(ResultCode.SUCCESS, cachedProvider.completeTask(task.getId()).getCode());
+
+        assertEquals(task.getStatus(), received.getStatus());
+        assertNull(received.getCompletedAt());
+        assertEquals(WorkStatus.COMPLETED, cachedProvider.getTaskById(task.getId()).getData().getStatus());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package ru.sfedu.projectmanagement.core.api;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoryShipperTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shipsRecordsAcrossSegmentsAfterFailure() throws Exception {
+        List<Integer> shipped = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean failed = new AtomicBoolean();
+        HistorySpool spool = HistorySpool.open(tempDir, 256);
+        for (int i = 0; i < 20; i++)
+            spool.append(HistoryShipper.toLine("history_test", "task", new Document("i", i)));
+
+        HistoryShipper shipper = new HistoryShipper(spool, 7, 20, (dbName, collectionName, documents) -> {
+            if (failed.compareAndSet(false, true))
+                throw new IllegalStateException("database is unavailable");
+            documents.forEach(document -> shipped.add(document.getInteger("i")));
+        });
+
+        assertTrue(shipper.flush(10_000));
+        shipper.close(1_000);
+        spool.close();
+        assertEquals(20, shipped.size());
+        assertEquals(20, shipped.stream().distinct().count());
+    }
+
+    @Test
+    void keepsRecordsWhichWereNotShippedBeforeRestart() throws Exception {
+        HistorySpool spool = HistorySpool.open(tempDir, 256);
+        for (int i = 0; i < 5; i++)
+            spool.append(HistoryShipper.toLine("history_test", "task", new Document("i", i)));
+        HistorySpool.Chunk chunk = spool.read(spool.readCheckpoint(), 2);
+        spool.writeCheckpoint(chunk.getNext());
+        spool.close();
+
+        HistorySpool reopened = HistorySpool.open(tempDir, 256);
+        List<Integer> shipped = Collections.synchronizedList(new ArrayList<>());
+        HistoryShipper shipper = new HistoryShipper(reopened, 10, 20, (dbName, collectionName, documents) ->
+                documents.forEach(document -> shipped.add(document.getInteger("i")))
+        );
+
+        assertTrue(shipper.flush(10_000));
+        shipper.close(1_000);
+        reopened.close();
+        assertEquals(List.of(2, 3, 4), shipped);
+    }
+}
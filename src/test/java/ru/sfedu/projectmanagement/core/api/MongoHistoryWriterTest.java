@@ -0,0 +1,79 @@
+package ru.sfedu.projectmanagement.core.api;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MongoHistoryWriterTest {
+
+    @Test
+    void writesDocumentsInBatchesGroupedByCollection() throws Exception {
+        List<String> writes = Collections.synchronizedList(new ArrayList<>());
+        MongoHistoryWriter writer = new MongoHistoryWriter(
+                100, 10, 50, MongoHistoryWriter.OverflowPolicy.BLOCK,
+                (dbName, collectionName, documents) -> writes.add(collectionName + ":" + documents.size())
+        );
+
+        for (int i = 0; i < 15; i++)
+            writer.add("history_test", "task", new Document("i", i));
+        writer.add("history_test", "project", new Document());
+
+        assertTrue(writer.flush(5_000));
+        assertEquals(16, writes.stream().mapToInt(write -> Integer.parseInt(write.split(":")[1])).sum());
+        assertTrue(writes.stream().allMatch(write -> Integer.parseInt(write.split(":")[1]) <= 10));
+        assertEquals(0, writer.getDroppedCount());
+        writer.close(1_000);
+    }
+
+    @Test
+    void dropsNewDocumentsWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MongoHistoryWriter writer = new MongoHistoryWriter(
+                2, 1, 10, MongoHistoryWriter.OverflowPolicy.DROP_NEWEST,
+                (dbName, collectionName, documents) -> {
+                    started.countDown();
+                    release.await();
+                }
+        );
+
+        writer.add("history_test", "task", new Document());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(writer.add("history_test", "task", new Document()));
+        assertTrue(writer.add("history_test", "task", new Document()));
+        assertFalse(writer.add("history_test", "task", new Document()));
+
+        release.countDown();
+        assertTrue(writer.flush(5_000));
+        assertEquals(1, writer.getDroppedCount());
+        writer.close(1_000);
+    }
+
+    @Test
+    void dropsQueuedDocumentsWhenWriterIsInterrupted() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        MongoHistoryWriter writer = new MongoHistoryWriter(
+                10, 1, 10, MongoHistoryWriter.OverflowPolicy.BLOCK,
+                (dbName, collectionName, documents) -> {
+                    started.countDown();
+                    new CountDownLatch(1).await();
+                }
+        );
+
+        writer.add("history_test", "task", new Document());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        writer.add("history_test", "task", new Document());
+        writer.add("history_test", "task", new Document());
+
+        writer.close(100);
+        assertTrue(writer.flush(1_000));
+        assertEquals(3, writer.getDroppedCount());
+    }
+}
@@ -0,0 +1,152 @@
+package ru.sfedu.projectmanagement.core.api;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.sfedu.projectmanagement.core.Constants;
+import ru.sfedu.projectmanagement.core.model.*;
+import ru.sfedu.projectmanagement.core.model.enums.BugStatus;
+import ru.sfedu.projectmanagement.core.model.enums.Priority;
+import ru.sfedu.projectmanagement.core.model.enums.WorkStatus;
+import ru.sfedu.projectmanagement.core.utils.csv.CsvUtil;
+import ru.sfedu.projectmanagement.core.utils.types.Result;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares statistics of every project calculated by one call of {@link IDataProvider#monitorProjectCharacteristics}
+ * per project with {@link PortfolioAnalyzer} on one thread and on all processors,
+ * and with compact statistics which don't build maps keyed by entities.
+ * The synthetic portfolio is written to csv files and read through the table cache.
+ * Run {@link #main(String[])} or {@code org.openjdk.jmh.Main PortfolioAnalyzerBenchmark} on the test classpath
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PortfolioAnalyzerBenchmark {
+    private static final int TASKS_PER_PROJECT = 10;
+    private static final int BUG_REPORTS_PER_PROJECT = 2;
+    private static final int TEAM_SIZE = 5;
+
+    @Param({"1000", "10000"})
+    public int projects;
+
+    private Path directory;
+    private CsvDataProvider provider;
+    private List<UUID> projectIds;
+    private ForkJoinPool singleThreadPool;
+
+    @Setup
+    public void createPortfolio() throws Exception {
+        directory = Files.createTempDirectory("portfolio");
+        String datasourcePath = directory.toString() + File.separator;
+
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < projects / 10 + TEAM_SIZE; i++) {
+            employees.add(new Employee("Nikolay", "Eremeev " + i, "Ivanovich", LocalDate.of(1990, 1, 1), "developer"));
+        }
+
+        List<Project> projectList = new ArrayList<>();
+        List<Task> tasks = new ArrayList<>();
+        List<BugReport> bugReports = new ArrayList<>();
+        List<EmployeeProjectObject> links = new ArrayList<>();
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < projects; i++) {
+            Project project = new Project("project " + i, "description of project " + i, UUID.randomUUID(), null);
+            projectList.add(project);
+
+            for (int j = 0; j < TEAM_SIZE; j++)
+                links.add(new EmployeeProjectObject(employees.get((i + j * 7) % employees.size()).getId(), project.getId()));
+
+            for (int j = 0; j < TASKS_PER_PROJECT; j++) {
+                Employee executor = employees.get((i + j % TEAM_SIZE * 7) % employees.size());
+                WorkStatus status = WorkStatus.values()[(i + j) % WorkStatus.values().length];
+                LocalDateTime deadline = createdAt.plusDays((i + j) % 365);
+                tasks.add(new Task(
+                        "task " + j, "description of task " + j, UUID.randomUUID(),
+                        executor.getId(), executor.getFullName(), project.getId(), deadline,
+                        "comment", Priority.values()[j % Priority.values().length], new ArrayList<>(),
+                        status, createdAt, status == WorkStatus.COMPLETED ? deadline.plusDays(j - 5) : null
+                ));
+            }
+
+            for (int j = 0; j < BUG_REPORTS_PER_PROJECT; j++) {
+                Employee author = employees.get(i % employees.size());
+                bugReports.add(new BugReport(
+                        "bug " + j, "description of bug " + j, UUID.randomUUID(), project.getId(),
+                        author.getId(), author.getFullName(), createdAt, Priority.LOW,
+                        BugStatus.values()[(i + j) % BugStatus.values().length]
+                ));
+            }
+        }
+
+        CsvUtil.createRecords(filePath(datasourcePath, Constants.EMPLOYEES_FILE_PATH), employees, Employee.class);
+        CsvUtil.createRecords(filePath(datasourcePath, Constants.PROJECTS_FILE_PATH), projectList, Project.class);
+        CsvUtil.createRecords(filePath(datasourcePath, Constants.TASKS_FILE_PATH), tasks, Task.class);
+        CsvUtil.createRecords(filePath(datasourcePath, Constants.BUG_REPORTS_FILE_PATH), bugReports, BugReport.class);
+        CsvUtil.createRecords(
+                filePath(datasourcePath, Constants.EMPLOYEE_PROJECT_FILE_PATH), links, EmployeeProjectObject.class
+        );
+
+        provider = new CsvDataProvider(datasourcePath, true);
+        projectIds = projectList.stream().map(Project::getId).toList();
+        singleThreadPool = new ForkJoinPool(1);
+        // the first call fills the table cache
+        provider.getPortfolio();
+    }
+
+    @TearDown
+    public void deletePortfolio() throws Exception {
+        singleThreadPool.shutdown();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public void monitorEachProject(Blackhole blackhole) {
+        projectIds.forEach(projectId -> blackhole.consume(provider.monitorProjectCharacteristics(projectId, true, true)));
+    }
+
+    @Benchmark
+    public Result<Map<UUID, ProjectStatistics>> analyzePortfolioSequentially() {
+        return new PortfolioAnalyzer(provider, singleThreadPool).monitorPortfolioCharacteristics(true, true);
+    }
+
+    @Benchmark
+    public Result<Map<UUID, ProjectStatistics>> analyzePortfolioInParallel() {
+        return new PortfolioAnalyzer(provider, ForkJoinPool.commonPool()).monitorPortfolioCharacteristics(true, true);
+    }
+
+    @Benchmark
+    public Result<Map<UUID, CompactProjectStatistics>> collectPortfolioInParallel() {
+        return new PortfolioAnalyzer(provider, ForkJoinPool.commonPool()).collectPortfolioStatistics(null, true, true);
+    }
+
+    private static String filePath(String datasourcePath, String fileName) {
+        return datasourcePath.concat(fileName).concat(Constants.FILE_CSV_EXTENSION);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(PortfolioAnalyzerBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
@@ -8,17 +8,21 @@ import ru.sfedu.projectmanagement.core.Queries;
 import ru.sfedu.projectmanagement.core.model.*;
 import ru.sfedu.projectmanagement.core.model.enums.WorkStatus;
 
+import ru.sfedu.projectmanagement.core.utils.Keyset;
 import ru.sfedu.projectmanagement.core.utils.ResultCode;
 import ru.sfedu.projectmanagement.core.utils.types.NoData;
+import ru.sfedu.projectmanagement.core.utils.types.Page;
 import ru.sfedu.projectmanagement.core.utils.types.Result;
 import ru.sfedu.projectmanagement.core.utils.types.TrackInfo;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -66,6 +70,57 @@ class PostgresDataProviderTest extends BaseProviderTest implements IDataProvider
     static void truncateTable(Statement statement, String dbName) throws SQLException {
         statement.executeUpdate("TRUNCATE TABLE " + dbName + " CASCADE");
     }
+
+    @Test
+    public void getTasksByProjectIdByPages() throws SQLException {
+        project1.setTasks(new ArrayList<>());
+        initDataForMonitorProjectCharacteristics(postgresProvider);
+        // rows without creation date go last and their cursor is an id only
+        try (PreparedStatement statement = connection.prepareStatement(
+                String.format("UPDATE %s SET created_at = NULL WHERE id = ANY(?::uuid[])", Queries.TASKS_TABLE_NAME)
+        )) {
+            statement.setArray(1, connection.createArrayOf("uuid", new Object[] {tasks.get(0).getId(), tasks.get(1).getId()}));
+            statement.executeUpdate();
+        }
+
+        Comparator<Task> order = Comparator.comparing(Keyset.Key::of, Keyset.ORDER);
+        try (Stream<Task> stream = postgresProvider.streamTasksByProjectId(project1.getId())) {
+            List<Task> streamed = stream.toList();
+            assertEquals(streamed.stream().sorted(order).toList(), streamed);
+            assertNull(streamed.get(streamed.size() - 1).getCreatedAt());
+        }
+        assertPagesMatchStream(
+                (cursor, limit) -> postgresProvider.getTasksByProjectId(project1.getId(), cursor, limit),
+                postgresProvider.streamTasksByProjectId(project1.getId()),
+                order
+        );
+
+        UUID firstUndatedId = tasks.stream().limit(2).map(Task::getId).min(Keyset::compareIds).orElseThrow();
+        Result<Page<Task>> afterUndated = postgresProvider.getTasksByProjectId(project1.getId(), firstUndatedId.toString(), 2);
+        assertEquals(ResultCode.SUCCESS, afterUndated.getCode());
+        assertEquals(1, afterUndated.getData().getItems().size());
+    }
+
+    @Test
+    public void getProjectEntitiesByPages() {
+        initDataForPages(postgresProvider);
+
+        assertPagesMatchStream(
+                (cursor, limit) -> postgresProvider.getEventsByProjectId(project1.getId(), cursor, limit),
+                postgresProvider.streamEventsByProjectId(project1.getId()),
+                Comparator.comparing(Keyset.Key::of, Keyset.ORDER)
+        );
+        assertPagesMatchStream(
+                (cursor, limit) -> postgresProvider.getDocumentationsByProjectId(project1.getId(), cursor, limit),
+                postgresProvider.streamDocumentationsByProjectId(project1.getId()),
+                Comparator.comparing(Keyset.Key::of, Keyset.ORDER)
+        );
+        assertPagesMatchStream(
+                (cursor, limit) -> postgresProvider.getProjectTeam(project1.getId(), cursor, limit),
+                postgresProvider.streamProjectTeam(project1.getId()),
+                Comparator.comparing(Keyset.Key::of, Keyset.ORDER)
+        );
+    }
     
     @Override
     @Test
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.*;
 import ru.sfedu.projectmanagement.core.Constants;
 import ru.sfedu.projectmanagement.core.model.*;
 import ru.sfedu.projectmanagement.core.model.enums.WorkStatus;
+import ru.sfedu.projectmanagement.core.utils.Keyset;
 import ru.sfedu.projectmanagement.core.utils.ResultCode;
 import ru.sfedu.projectmanagement.core.utils.config.ConfigPropertiesUtil;
 import ru.sfedu.projectmanagement.core.utils.types.NoData;
@@ -17,8 +18,10 @@ import ru.sfedu.projectmanagement.core.utils.xml.XmlUtil;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -907,6 +910,60 @@ class XmlDataProviderTest extends BaseProviderTest implements IDataProviderTest
         logger.debug("calculateProjectReadinessIfHasNoTasks[2]: expected project readiness {}", expectedReadiness);
     }
 
+    @Test
+    public void getProjectEntitiesByPages() {
+        project1.setTasks(new ArrayList<>());
+        xmlDataProvider.processNewProject(project1);
+        initDataForPages(xmlDataProvider);
+
+        assertPagesMatchStream(
+                (cursor, limit) -> xmlDataProvider.getEventsByProjectId(project1.getId(), cursor, limit),
+                xmlDataProvider.streamEventsByProjectId(project1.getId()),
+                Comparator.comparing(Keyset.Key::of, Keyset.ORDER)
+        );
+        assertPagesMatchStream(
+                (cursor, limit) -> xmlDataProvider.getDocumentationsByProjectId(project1.getId(), cursor, limit),
+                xmlDataProvider.streamDocumentationsByProjectId(project1.getId()),
+                Comparator.comparing(Keyset.Key::of, Keyset.ORDER)
+        );
+        assertPagesMatchStream(
+                (cursor, limit) -> xmlDataProvider.getProjectTeam(project1.getId(), cursor, limit),
+                xmlDataProvider.streamProjectTeam(project1.getId()),
+                Comparator.comparing(Keyset.Key::of, Keyset.ORDER)
+        );
+        assertEquals(2, xmlDataProvider.getProjectTeam(project1.getId(), null, 2).getData().getItems().size());
+    }
+
+    @Test
+    public void getProjectSummaryAfterChanges() {
+        project1.setTasks(new ArrayList<>());
+        xmlDataProvider.processNewProject(project1);
+        tasks.forEach(xmlDataProvider::processNewTask);
+        assertEquals(tasks.size(), xmlDataProvider.getProjectSummary(project1.getId()).getData().getTaskCount());
+
+        bugReports.forEach(xmlDataProvider::processNewBugReport);
+        xmlDataProvider.completeTask(tasks.get(0).getId());
+        xmlDataProvider.deleteTask(tasks.get(1).getId());
+        xmlDataProvider.deleteBugReport(bugReports.get(0).getId());
+
+        ProjectSummary expected = ProjectSummary.of(
+                project1.getId(),
+                xmlDataProvider.getTasksByProjectId(project1.getId()).getData(),
+                xmlDataProvider.getBugReportsByProjectId(project1.getId()).getData()
+        );
+        Result<ProjectSummary> actual = xmlDataProvider.getProjectSummary(project1.getId());
+        logger.debug("getProjectSummaryAfterChanges[1]: actual {}", actual);
+        logger.debug("getProjectSummaryAfterChanges[2]: expected {}", expected);
+
+        assertEquals(ResultCode.SUCCESS, actual.getCode());
+        assertEquals(expected, actual.getData());
+        assertEquals(expected, new XmlDataProvider().getProjectSummary(project1.getId()).getData());
+
+        CompactProjectStatistics statistics = xmlDataProvider.collectProjectStatistics(project1.getId(), false, true);
+        assertEquals(expected.getReadiness(), statistics.getProjectReadiness());
+        assertEquals(expected.getTaskCount(WorkStatus.COMPLETED), statistics.countTasks(WorkStatus.COMPLETED));
+    }
+
     @Override
     @Test
     public void calculateLaborEfficiency() {
@@ -1034,6 +1091,35 @@ class XmlDataProviderTest extends BaseProviderTest implements IDataProviderTest
         assertEquals(ResultCode.SUCCESS, bindEmployeeResult.getCode());
     }
 
+    @Test
+    public void getPortfolio() {
+        project1.setTasks(new ArrayList<>());
+        xmlDataProvider.processNewProject(project1);
+        xmlDataProvider.processNewProject(project2);
+        xmlDataProvider.bindEmployeeToProject(employee1.getId(), project1.getId());
+        tasks.forEach(xmlDataProvider::processNewTask);
+        bugReports.forEach(xmlDataProvider::processNewBugReport);
+
+        Result<Portfolio> actual = xmlDataProvider.getPortfolio();
+        logger.debug("getPortfolio[1]: actual result {}", actual);
+        assertEquals(ResultCode.SUCCESS, actual.getCode());
+
+        Portfolio portfolio = actual.getData();
+        assertEquals(Set.of(project1.getId(), project2.getId()), Set.copyOf(portfolio.getProjectIds()));
+        assertEquals(
+                Set.copyOf(xmlDataProvider.getTasksByProjectId(project1.getId()).getData()),
+                Set.copyOf(portfolio.getTasks())
+        );
+        assertEquals(
+                Set.copyOf(xmlDataProvider.getBugReportsByProjectId(project1.getId()).getData()),
+                Set.copyOf(portfolio.getBugReports())
+        );
+        assertEquals(
+                Set.copyOf(xmlDataProvider.getProjectTeam(project1.getId()).getData()),
+                Set.copyOf(portfolio.getTeams().get(project1.getId()))
+        );
+    }
+
     @Override
     @Test
     public void bindEmployeeToMultipleProjects() {
@@ -0,0 +1,28 @@
+package ru.sfedu.projectmanagement.core.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+    @Test
+    void mightContainAnswersTrueForAddedIds() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        List<UUID> ids = IntStream.range(0, 10_000).mapToObj(i -> UUID.randomUUID()).toList();
+        ids.forEach(filter::put);
+
+        assertTrue(ids.stream().allMatch(filter::mightContain));
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> filter.mightContain(UUID.randomUUID()))
+                .count();
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+        assertFalse(filter.isSaturated());
+
+        filter.put(UUID.randomUUID());
+        assertTrue(filter.isSaturated());
+    }
+}
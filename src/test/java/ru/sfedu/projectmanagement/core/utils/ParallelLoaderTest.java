@@ -0,0 +1,29 @@
+package ru.sfedu.projectmanagement.core.utils;
+
+import org.junit.jupiter.api.Test;
+import ru.sfedu.projectmanagement.core.utils.types.Result;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelLoaderTest {
+
+    @Test
+    void collectsErrorsOfFailedReads() {
+        ParallelLoader loader = new ParallelLoader();
+        Future<Result<List<String>>> tasks = loader.submit(() -> new Result<>(List.of("task"), ResultCode.SUCCESS));
+        Future<Result<List<String>>> events = loader.submit(() -> new Result<>(null, ResultCode.ERROR, "events are broken"));
+        Future<List<String>> team = loader.submit(() -> {
+            throw new IOException("team is broken");
+        });
+
+        assertEquals(List.of("task"), loader.getData("task", tasks, List.of()));
+        assertEquals(List.of(), loader.getData("event", events, List.of()));
+        assertEquals(List.of(), loader.get("employee", team, List.of()));
+        assertEquals(List.of("employee", "event"), List.copyOf(loader.getErrors().keySet()));
+        assertEquals("team is broken", loader.getErrors().get("employee"));
+    }
+}
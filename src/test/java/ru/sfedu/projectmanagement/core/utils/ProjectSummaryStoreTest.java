@@ -0,0 +1,64 @@
+package ru.sfedu.projectmanagement.core.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.sfedu.projectmanagement.core.model.ProjectSummary;
+import ru.sfedu.projectmanagement.core.model.enums.WorkStatus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectSummaryStoreTest {
+    private final UUID projectId = UUID.randomUUID();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void summaryIsCountedAgainWhenSourceFileIsChangedOutside() throws IOException {
+        Path tasksFile = Files.writeString(directory.resolve("tasks.csv"), "id\n");
+        ProjectSummaryStore store = new ProjectSummaryStore(directory.resolve("summaries.json").toString(), tasksFile.toString());
+
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<ProjectSummary> loader = () -> {
+            loads.incrementAndGet();
+            return new ProjectSummary(projectId, Map.of(WorkStatus.IN_PROGRESS, (long) loads.get()), Map.of());
+        };
+
+        assertEquals(1, store.get(projectId, loader).getTaskCount());
+        assertEquals(1, store.get(projectId, loader).getTaskCount());
+        assertEquals(1, loads.get());
+
+        Files.writeString(tasksFile, "row\n", StandardOpenOption.APPEND);
+
+        assertEquals(2, store.get(projectId, loader).getTaskCount());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void summaryIsChangedBySavedWriteAndReloaded() throws IOException {
+        Path tasksFile = Files.writeString(directory.resolve("tasks.csv"), "id\n");
+        String storeFilePath = directory.resolve("summaries.json").toString();
+        ProjectSummaryStore store = new ProjectSummaryStore(storeFilePath, tasksFile.toString());
+        store.get(projectId, () -> new ProjectSummary(projectId));
+
+        store.write(
+                () -> Files.writeString(tasksFile, "row\n", StandardOpenOption.APPEND),
+                written -> store.changeTask(projectId, null, WorkStatus.COMPLETED)
+        );
+
+        Supplier<ProjectSummary> failingLoader = () -> fail("summary must not be counted again");
+        assertEquals(1, store.get(projectId, failingLoader).getTaskCount(WorkStatus.COMPLETED));
+        assertEquals(1, new ProjectSummaryStore(storeFilePath, tasksFile.toString())
+                .get(projectId, failingLoader)
+                .getTaskCount(WorkStatus.COMPLETED));
+    }
+}
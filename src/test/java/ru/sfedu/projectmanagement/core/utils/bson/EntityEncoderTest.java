@@ -0,0 +1,75 @@
+package ru.sfedu.projectmanagement.core.utils.bson;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import ru.sfedu.projectmanagement.core.Constants;
+import ru.sfedu.projectmanagement.core.model.Employee;
+import ru.sfedu.projectmanagement.core.model.Project;
+import ru.sfedu.projectmanagement.core.model.Task;
+import ru.sfedu.projectmanagement.core.model.enums.ActionStatus;
+import ru.sfedu.projectmanagement.core.model.enums.ChangeType;
+import ru.sfedu.projectmanagement.core.model.enums.Priority;
+import ru.sfedu.projectmanagement.core.utils.types.HistoryRecord;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityEncoderTest {
+
+    @Test
+    void writesEntityFieldsAsQueryableValues() {
+        Employee manager = new Employee();
+        manager.setId(UUID.randomUUID());
+        manager.setFirstName("Nikita");
+
+        Task task = new Task();
+        task.setId(UUID.randomUUID());
+        task.setProjectId(UUID.randomUUID());
+        task.setPriority(Priority.HIGH);
+        task.setTags(new ArrayList<>(List.of("backend", "db")));
+        task.setDeadline(LocalDateTime.of(2024, Month.JANUARY, 1, 12, 0));
+
+        Project project = new Project();
+        project.setId(UUID.randomUUID());
+        project.setManager(manager);
+        project.setTasks(new ArrayList<>(List.of(task)));
+
+        BsonDocument document = HistoryCodecs.toBsonDocument(project);
+
+        assertNotNull(document);
+        assertEquals(project.getId().toString(), document.getString("id").getValue());
+        assertEquals("Nikita", document.getDocument("manager").getString("firstName").getValue());
+
+        BsonDocument taskDocument = document.getArray("tasks").get(0).asDocument();
+        assertEquals(task.getProjectId().toString(), taskDocument.getString("projectId").getValue());
+        assertEquals("HIGH", taskDocument.getString("priority").getValue());
+        assertEquals(List.of("backend", "db"), taskDocument.getArray("tags").stream()
+                .map(value -> value.asString().getValue()).toList());
+        assertEquals(
+                task.getDeadline().toInstant(ZoneOffset.UTC).toEpochMilli(),
+                taskDocument.getDateTime("deadline").getValue()
+        );
+        assertTrue(taskDocument.isNull("completedAt"));
+    }
+
+    @Test
+    void historyRecordEmbedsEntityAndSurvivesJson() {
+        Task task = new Task();
+        task.setId(UUID.randomUUID());
+        HistoryRecord<Task> record = new HistoryRecord<>(task, "createTask", ActionStatus.SUCCESS, ChangeType.CREATE);
+
+        Document document = Document.parse(record.convertToDocument().toJson());
+        Document object = document.get(Constants.MONGO_HISTORY_OBJECT, Document.class);
+
+        assertEquals(task.getId().toString(), object.getString("id"));
+        assertEquals(task.getId().toString(), document.getString(Constants.MONGO_HISTORY_ENTITY_ID));
+        assertEquals(record.getCreatedAt(), document.getDate(Constants.MONGO_HISTORY_CREATED_AT));
+    }
+}
@@ -0,0 +1,103 @@
+package ru.sfedu.projectmanagement.core.utils.csv;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.sfedu.projectmanagement.core.model.Task;
+import ru.sfedu.projectmanagement.core.model.enums.Priority;
+import ru.sfedu.projectmanagement.core.model.enums.WorkStatus;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares OpenCSV bean mapping with csv codecs on a task file
+ * and full reads with {@link CsvScanner} for selective queries.
+ * Run {@link #main(String[])} or {@code org.openjdk.jmh.Main CsvCodecBenchmark} on the test classpath
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvCodecBenchmark {
+    @Param({"1000", "100000"})
+    public int rows;
+
+    private File file;
+    private List<Task> tasks;
+    private UUID projectId;
+
+    @Setup
+    public void createFile() throws Exception {
+        file = Files.createTempFile("tasks", ".csv").toFile();
+        file.deleteOnExit();
+
+        // a hundred projects, so a project owns one percent of the rows
+        List<UUID> projectIds = new ArrayList<>();
+        for (int i = 0; i < 100; i++) projectIds.add(UUID.randomUUID());
+        projectId = projectIds.get(0);
+        UUID employeeId = UUID.randomUUID();
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+        tasks = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            tasks.add(new Task(
+                    "task " + i, "description of task, number " + i, UUID.randomUUID(),
+                    employeeId, "Eremeev Nikolay Ivanovich", projectIds.get(i % projectIds.size()), createdAt.plusDays(i % 365),
+                    "comment", Priority.values()[i % Priority.values().length], new ArrayList<>(),
+                    WorkStatus.IN_PROGRESS, createdAt, null
+            ));
+        }
+        CsvUtil.createRecords(file.getPath(), tasks, Task.class);
+    }
+
+    @TearDown
+    public void deleteFile() {
+        file.delete();
+    }
+
+    @Benchmark
+    public List<Task> readBeans() {
+        return CsvUtil.readBeans(file.getPath(), Task.class);
+    }
+
+    @Benchmark
+    public List<Task> readCodec() {
+        return CsvUtil.readFile(file.getPath(), Task.class);
+    }
+
+    @Benchmark
+    public void writeBeans() throws Exception {
+        CsvUtil.writeBeans(file.getPath(), tasks, Task.class, false);
+    }
+
+    @Benchmark
+    public void writeCodec() throws Exception {
+        CsvUtil.createRecords(file.getPath(), tasks, Task.class);
+    }
+
+    @Benchmark
+    public List<Task> filterByProjectId() {
+        return CsvUtil.readFile(file.getPath(), Task.class).stream()
+                .filter(task -> task.getProjectId().equals(projectId))
+                .toList();
+    }
+
+    @Benchmark
+    public List<Task> scanByProjectId() {
+        return CsvScanner.findByProjectId(file.getPath(), projectId, Task.class);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(CsvCodecBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
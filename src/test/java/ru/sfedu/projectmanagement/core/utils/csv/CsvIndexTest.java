@@ -0,0 +1,97 @@
+package ru.sfedu.projectmanagement.core.utils.csv;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.sfedu.projectmanagement.core.model.BugReport;
+import ru.sfedu.projectmanagement.core.model.EmployeeProjectObject;
+import ru.sfedu.projectmanagement.core.model.enums.BugStatus;
+import ru.sfedu.projectmanagement.core.model.enums.Priority;
+import ru.sfedu.projectmanagement.core.utils.index.EntityIndex;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvIndexTest {
+    @TempDir
+    Path tempDir;
+    private String filePath;
+
+    private final UUID projectId = UUID.randomUUID();
+    private final UUID employeeId = UUID.randomUUID();
+    private final LocalDateTime createdAt = LocalDateTime.of(2024, Month.JANUARY, 1, 0, 0);
+
+    @BeforeEach
+    void setFilePath() {
+        filePath = tempDir.resolve("bug_reports.csv").toString();
+    }
+
+    private BugReport createBugReport(UUID projectId, String description) {
+        return new BugReport(
+                "crash", description, UUID.randomUUID(), projectId, employeeId, "Eremeev N.I.",
+                createdAt, Priority.HIGH, BugStatus.OPENED
+        );
+    }
+
+    @Test
+    void findReadsRecordsAppendedThroughIndex() throws Exception {
+        CsvIndex<BugReport> index = new CsvIndexCache().getIndex(filePath, BugReport.class);
+        List<BugReport> bugReports = new ArrayList<>();
+        // enough records to merge the tail of the index several times
+        for (int i = 0; i < 300; i++) {
+            BugReport bugReport = createBugReport(i % 3 == 0 ? projectId : UUID.randomUUID(), "line\n" + i);
+            index.append(bugReport);
+            bugReports.add(bugReport);
+        }
+
+        assertEquals(
+                CsvScanner.findByProjectId(filePath, projectId, BugReport.class),
+                index.find(EntityIndex.Key.PROJECT_ID, projectId)
+        );
+        assertEquals(List.of(bugReports.get(150)), index.find(EntityIndex.Key.ID, bugReports.get(150).getId()));
+        assertThrows(Exception.class, () -> index.append(bugReports.get(7)));
+
+        // the index is read from the sidecar file by a new cache
+        CsvIndex<BugReport> reopened = new CsvIndexCache().getIndex(filePath, BugReport.class);
+        assertEquals(bugReports, reopened.find(EntityIndex.Key.EMPLOYEE_ID, employeeId));
+        assertTrue(new File(EntityIndex.getIndexFilePath(filePath)).exists());
+    }
+
+    @Test
+    void findRebuildsIndexOfChangedFile() throws Exception {
+        BugReport bugReport = createBugReport(projectId, "first");
+        CsvUtil.createRecords(filePath, List.of(bugReport), BugReport.class);
+        CsvIndex<BugReport> index = new CsvIndexCache().getIndex(filePath, BugReport.class);
+        assertEquals(List.of(bugReport), index.find(EntityIndex.Key.PROJECT_ID, projectId));
+
+        BugReport other = createBugReport(projectId, "second, longer description");
+        CsvUtil.createRecords(filePath, List.of(other, bugReport), BugReport.class);
+        assertEquals(List.of(other, bugReport), index.find(EntityIndex.Key.PROJECT_ID, projectId));
+
+        // same size of the file, the changed record is found by key verification
+        BugReport replaced = createBugReport(projectId, "second, longer descriptioN");
+        CsvUtil.createRecords(filePath, List.of(replaced, bugReport), BugReport.class);
+        assertFalse(index.contains(EntityIndex.Key.ID, UUID.randomUUID()));
+        assertEquals(List.of(replaced), index.find(EntityIndex.Key.ID, replaced.getId()));
+    }
+
+    @Test
+    void findReadsLinksByEmployeeId() throws Exception {
+        String linksPath = tempDir.resolve("employee_project.csv").toString();
+        CsvIndex<EmployeeProjectObject> index = new CsvIndexCache().getIndex(linksPath, EmployeeProjectObject.class);
+        EmployeeProjectObject link = new EmployeeProjectObject(employeeId, projectId);
+        index.append(new EmployeeProjectObject(UUID.randomUUID(), projectId));
+        index.append(link);
+
+        assertEquals(List.of(link), index.find(EntityIndex.Key.EMPLOYEE_ID, employeeId));
+        assertEquals(2, index.find(EntityIndex.Key.ID, projectId).size());
+        assertThrows(Exception.class, () -> index.append(new EmployeeProjectObject(employeeId, UUID.randomUUID())));
+    }
+}
@@ -0,0 +1,84 @@
+package ru.sfedu.projectmanagement.core.utils.csv;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.sfedu.projectmanagement.core.model.BugReport;
+import ru.sfedu.projectmanagement.core.model.EmployeeProjectObject;
+import ru.sfedu.projectmanagement.core.model.enums.BugStatus;
+import ru.sfedu.projectmanagement.core.model.enums.Priority;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvScannerTest {
+    @TempDir
+    Path tempDir;
+    private String filePath;
+
+    private final UUID projectId = UUID.randomUUID();
+    private final UUID otherProjectId = UUID.randomUUID();
+    private final UUID employeeId = UUID.randomUUID();
+    private final LocalDateTime createdAt = LocalDateTime.of(2024, Month.JANUARY, 1, 0, 0);
+
+    private BugReport bugReport;
+    private BugReport otherBugReport;
+
+    @BeforeEach
+    void createFile() {
+        filePath = tempDir.resolve("bug_reports.csv").toString();
+        bugReport = new BugReport(
+                "crash", "app crashes, \"sometimes\"", UUID.randomUUID(), projectId, employeeId, "Eremeev N.I.",
+                createdAt, Priority.HIGH, BugStatus.OPENED
+        );
+        // the wanted id inside a quoted multiline value must not match
+        otherBugReport = new BugReport(
+                "typo", "see\n" + projectId + "\n", UUID.randomUUID(), otherProjectId, employeeId, "Eremeev N.I.",
+                createdAt, Priority.LOW, BugStatus.OPENED
+        );
+    }
+
+    @Test
+    void findByProjectIdDecodesOnlyMatchingRecords() throws Exception {
+        CsvUtil.createRecords(filePath, List.of(otherBugReport, bugReport), BugReport.class);
+
+        assertEquals(List.of(bugReport), CsvScanner.findByProjectId(filePath, projectId, BugReport.class));
+        assertEquals(List.of(otherBugReport), CsvScanner.findById(filePath, otherBugReport.getId(), BugReport.class));
+        assertEquals(
+                List.of(otherBugReport, bugReport),
+                CsvScanner.findByEmployeeId(filePath, employeeId, BugReport.class)
+        );
+        assertTrue(CsvScanner.findByProjectId(filePath, UUID.randomUUID(), BugReport.class).isEmpty());
+    }
+
+    @Test
+    void findByProjectIdAcceptsUpperCaseIdsAndCrLf() throws Exception {
+        CsvUtil.createRecords(filePath, List.of(bugReport, otherBugReport), BugReport.class);
+        String content = Files.readString(Path.of(filePath))
+                .replace(projectId.toString(), projectId.toString().toUpperCase())
+                .replace("\"\n", "\"\r\n");
+        Files.writeString(Path.of(filePath), content);
+
+        assertEquals(List.of(bugReport), CsvScanner.findByProjectId(filePath, projectId, BugReport.class));
+        assertEquals(CsvUtil.readFile(filePath, BugReport.class).get(1), otherBugReport);
+    }
+
+    @Test
+    void findByProjectIdReadsLinks() throws Exception {
+        String linksPath = tempDir.resolve("employee_project.csv").toString();
+        EmployeeProjectObject link = new EmployeeProjectObject(employeeId, projectId);
+        CsvUtil.createRecords(linksPath, List.of(
+                new EmployeeProjectObject(UUID.randomUUID(), otherProjectId), link
+        ), EmployeeProjectObject.class);
+
+        assertEquals(List.of(link), CsvScanner.findByProjectId(linksPath, projectId, EmployeeProjectObject.class));
+        assertEquals(List.of(link), CsvScanner.findByEmployeeId(linksPath, employeeId, EmployeeProjectObject.class));
+        assertNull(CsvScanner.findByProjectId(tempDir.resolve("missing.csv").toString(), projectId, BugReport.class));
+    }
+}
@@ -0,0 +1,129 @@
+package ru.sfedu.projectmanagement.core.utils.csv;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.sfedu.projectmanagement.core.model.Employee;
+import ru.sfedu.projectmanagement.core.model.TaskTag;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvTableTest {
+    @TempDir
+    Path tempDir;
+    private String filePath;
+
+    private final Employee employee1 = new Employee(
+            UUID.randomUUID(), "Nikolay", "Eremeev", "Ivanovich", LocalDate.of(1999, Month.MAY, 6), "developer"
+    );
+    private final Employee employee2 = new Employee(
+            UUID.randomUUID(), "Petr", "Zaycev", "Alexeevich", LocalDate.of(1999, Month.MAY, 6), "developer"
+    );
+
+    @BeforeEach
+    void createFile() throws Exception {
+        filePath = tempDir.resolve("employees.csv").toString();
+        employee1.setEmail("mail@mail.ru");
+        employee1.setPhoneNumber("+79882458565");
+        employee2.setEmail("zaycev@mail.ru");
+        employee2.setPhoneNumber("+79882258565");
+        assertTrue(new File(filePath).createNewFile());
+    }
+
+    @Test
+    void updateAppendsNewVersion() throws Exception {
+        CsvTableCache cache = new CsvTableCache(true, 1, false);
+        CsvTable<Employee> table = cache.getTable(filePath, Employee.class);
+        table.append(employee1);
+        table.append(employee2);
+
+        employee1.setPosition("team lead");
+        assertTrue(table.update(employee1));
+
+        assertEquals(3, CsvUtil.readFile(filePath, Employee.class).size());
+        assertEquals(1, table.getDeadRowCount());
+
+        // a fresh table resolves the latest version of the row
+        CsvTable<Employee> reloaded = new CsvTableCache(true, 1, false).getTable(filePath, Employee.class);
+        assertEquals("team lead", reloaded.getById(employee1.getId()).orElseThrow().getPosition());
+        assertEquals(2, reloaded.getAll().size());
+    }
+
+    @Test
+    void deleteAppendsTombstone() throws Exception {
+        CsvTableCache cache = new CsvTableCache(true, 1, false);
+        CsvTable<Employee> table = cache.getTable(filePath, Employee.class);
+        table.append(employee1);
+        table.append(employee2);
+
+        List<Employee> removed = table.delete(employee1.getId());
+
+        assertEquals(List.of(employee1), removed);
+        assertEquals(2, CsvUtil.readFile(filePath, Employee.class).size());
+        assertTrue(new File(CsvTable.getTombstonesFilePath(filePath)).length() > 0);
+
+        CsvTable<Employee> reloaded = new CsvTableCache(true, 1, false).getTable(filePath, Employee.class);
+        assertFalse(reloaded.contains(employee1.getId()));
+        assertEquals(List.of(employee2), reloaded.getAll());
+
+        // the same id can be stored again after deletion
+        reloaded.append(employee1);
+        assertTrue(new CsvTableCache(true, 1, false).getTable(filePath, Employee.class).contains(employee1.getId()));
+    }
+
+    @Test
+    void compactionRewritesFileWhenThresholdIsReached() throws Exception {
+        CsvTableCache cache = new CsvTableCache(true, 0.5, false);
+        CsvTable<Employee> table = cache.getTable(filePath, Employee.class);
+        table.append(employee1);
+        table.append(employee2);
+
+        table.delete(employee1.getId());
+
+        assertEquals(0, table.getDeadRowCount());
+        assertEquals(List.of(employee2), CsvUtil.readFile(filePath, Employee.class));
+        assertEquals(0, new File(CsvTable.getTombstonesFilePath(filePath)).length());
+    }
+
+    @Test
+    void updateOfRecordsWithSharedIdSurvivesReload() throws Exception {
+        String tagsFilePath = tempDir.resolve("task_tags.csv").toString();
+        assertTrue(new File(tagsFilePath).createNewFile());
+        UUID taskId = UUID.randomUUID();
+        CsvTable<TaskTag> table = new CsvTableCache(true, 1, false).getTable(tagsFilePath, TaskTag.class);
+        table.append(new TaskTag(taskId, "backend"));
+        table.append(new TaskTag(taskId, "api"));
+
+        TaskTag updated = new TaskTag(taskId, "frontend");
+        assertTrue(table.update(updated));
+        assertEquals(List.of(updated), table.getAllById(taskId));
+
+        CsvTable<TaskTag> reloaded = new CsvTableCache(true, 1, false).getTable(tagsFilePath, TaskTag.class);
+        assertEquals(List.of(updated), reloaded.getAllById(taskId));
+    }
+
+    @Test
+    void replaceAllKeepsRecordsStoredAgainAfterDeletion() throws Exception {
+        CsvTableCache cache = new CsvTableCache(true, 1, false);
+        CsvTable<Employee> table = cache.getTable(filePath, Employee.class);
+        table.append(employee1);
+        table.append(employee2);
+        table.delete(employee1.getId());
+        table.append(employee1);
+
+        table.compact();
+
+        assertFalse(new File(filePath + ".tmp").exists());
+        assertEquals(0, new File(CsvTable.getTombstonesFilePath(filePath)).length());
+        CsvTable<Employee> reloaded = new CsvTableCache(true, 1, false).getTable(filePath, Employee.class);
+        assertEquals(2, reloaded.getAll().size());
+        assertTrue(reloaded.contains(employee1.getId()));
+    }
+}
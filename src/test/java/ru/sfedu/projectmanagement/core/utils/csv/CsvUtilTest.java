@@ -0,0 +1,108 @@
+package ru.sfedu.projectmanagement.core.utils.csv;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.sfedu.projectmanagement.core.model.*;
+import ru.sfedu.projectmanagement.core.model.enums.BugStatus;
+import ru.sfedu.projectmanagement.core.model.enums.Priority;
+import ru.sfedu.projectmanagement.core.model.enums.WorkStatus;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvUtilTest {
+    @TempDir
+    Path tempDir;
+
+    private final UUID projectId = UUID.randomUUID();
+    private final UUID employeeId = UUID.randomUUID();
+    private final LocalDateTime createdAt = LocalDateTime.of(2024, Month.JANUARY, 2, 3, 4, 5);
+
+    @Test
+    void tasksAreWrittenAsOpenCsvDoes() throws Exception {
+        Task completed = new Task(
+                "quoted \"name\"", "multi\nline, with comma", UUID.randomUUID(), employeeId, "Eremeev N.I.", projectId,
+                LocalDateTime.of(2025, Month.MARCH, 1, 12, 30), null, Priority.HIGH,
+                new ArrayList<>(), WorkStatus.IN_PROGRESS, createdAt, null
+        );
+        completed.setCompletedAt(createdAt.plusDays(1));
+        Task empty = new Task(
+                "", null, UUID.randomUUID(), employeeId, "Eremeev N.I.", projectId,
+                null, "", Priority.LOW, new ArrayList<>(), WorkStatus.IN_PROGRESS, createdAt, null
+        );
+
+        assertCompatible(List.of(completed, empty), Task.class);
+    }
+
+    @Test
+    void projectEntitiesAreWrittenAsOpenCsvDoes() throws Exception {
+        assertCompatible(List.of(new BugReport(
+                "bug", "crash on start", UUID.randomUUID(), projectId, employeeId, "Eremeev N.I.",
+                createdAt, Priority.MEDIUM, BugStatus.OPENED
+        )), BugReport.class);
+        assertCompatible(List.of(new Event(
+                "release", "", UUID.randomUUID(), projectId, employeeId, "Eremeev N.I.",
+                createdAt, createdAt.plusDays(1), null
+        )), Event.class);
+        assertCompatible(List.of(new Documentation(
+                "docs", "api", UUID.randomUUID(), projectId, employeeId, "Eremeev N.I.", createdAt, new HashMap<>()
+        )), Documentation.class);
+    }
+
+    @Test
+    void otherEntitiesAreWrittenAsOpenCsvDoes() throws Exception {
+        Project project = new Project("bank \"app\"", "mobile, web", UUID.randomUUID(), null);
+        project.setDeadline(LocalDateTime.of(2025, Month.MARCH, 1, 0, 0));
+        assertCompatible(List.of(project, new Project("empty", null, UUID.randomUUID(), null)), Project.class);
+
+        Employee employee = new Employee(
+                "Nikolay", "Eremeev", null, LocalDate.of(1999, Month.MAY, 6),
+                "mail@mail.ru", "+79882458565", UUID.randomUUID(), "developer"
+        );
+        assertCompatible(List.of(employee), Employee.class);
+
+        UUID taskId = UUID.randomUUID();
+        assertCompatible(List.of(new TaskTag(taskId, "ui"), new TaskTag(taskId, "a\"b, c")), TaskTag.class);
+        assertCompatible(List.of(new DocumentationData(UUID.randomUUID(), "title", "line\r\nline")), DocumentationData.class);
+        assertCompatible(List.of(new EmployeeProjectObject(employeeId, projectId)), EmployeeProjectObject.class);
+        assertCompatible(List.of(new ManagerProjectObject(employeeId, projectId)), ManagerProjectObject.class);
+    }
+
+    @Test
+    void appendedRecordIsReadBack() throws Exception {
+        String filePath = tempDir.resolve("tags.csv").toString();
+        TaskTag tag = new TaskTag(UUID.randomUUID(), "back\\slash");
+        CsvUtil.writeBeans(filePath, List.of(tag), TaskTag.class, false);
+        CsvUtil.appendRecord(filePath, new TaskTag(tag.getTaskId(), "second"), TaskTag.class);
+
+        assertEquals(CsvUtil.readBeans(filePath, TaskTag.class), CsvUtil.readFile(filePath, TaskTag.class));
+        assertEquals(2, CsvUtil.readFile(filePath, TaskTag.class).size());
+    }
+
+    /**
+     * Checks that codec writes the same bytes as the bean mapping and reads the same entities
+     */
+    private <T extends Entity> void assertCompatible(List<T> objects, Class<T> tClass) throws Exception {
+        String beansPath = tempDir.resolve(tClass.getSimpleName() + "-beans.csv").toString();
+        String codecPath = tempDir.resolve(tClass.getSimpleName() + "-codec.csv").toString();
+
+        CsvUtil.writeBeans(beansPath, objects, tClass, false);
+        CsvUtil.createRecords(codecPath, objects, tClass);
+
+        assertEquals(Files.readString(Path.of(beansPath)), Files.readString(Path.of(codecPath)));
+        assertEquals(CsvUtil.readBeans(beansPath, tClass), CsvUtil.readFile(beansPath, tClass));
+        assertEquals(
+                CsvUtil.readBeans(beansPath, tClass).stream().map(Object::getClass).toList(),
+                CsvUtil.readFile(beansPath, tClass).stream().map(Object::getClass).toList()
+        );
+    }
+}
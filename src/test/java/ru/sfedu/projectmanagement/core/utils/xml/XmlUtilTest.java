@@ -0,0 +1,96 @@
+package ru.sfedu.projectmanagement.core.utils.xml;
+
+import jakarta.xml.bind.JAXBException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.sfedu.projectmanagement.core.model.Task;
+import ru.sfedu.projectmanagement.core.model.enums.Priority;
+import ru.sfedu.projectmanagement.core.model.enums.WorkStatus;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class XmlUtilTest {
+    @TempDir
+    Path tempDir;
+    private String filePath;
+
+    private final UUID projectId = UUID.randomUUID();
+    private final LocalDateTime createdAt = LocalDateTime.of(2024, Month.JANUARY, 1, 0, 0);
+
+    @BeforeEach
+    void createFile() throws JAXBException {
+        filePath = tempDir.resolve("tasks.xml").toString();
+        XmlUtil.truncateFile(filePath);
+    }
+
+    private Task createTask(UUID projectId) {
+        return new Task(
+                "task", "description & <markup>", UUID.randomUUID(), "Eremeev N.I.", projectId,
+                createdAt.plusDays(7), "comment", Priority.LOW, new ArrayList<>(List.of("tag")),
+                WorkStatus.IN_PROGRESS, createdAt
+        );
+    }
+
+    @Test
+    void createRecordAppendsToTheEndOfFile() throws Exception {
+        List<Task> tasks = List.of(createTask(projectId), createTask(UUID.randomUUID()), createTask(projectId));
+        for (Task task : tasks)
+            XmlUtil.createRecord(filePath, task);
+
+        assertTrue(Files.readString(Path.of(filePath)).stripTrailing().endsWith("</wrapper>"));
+        assertEquals(tasks, XmlUtil.readFile(filePath).getList());
+        assertThrows(JAXBException.class, () -> XmlUtil.createRecord(filePath, tasks.get(1)));
+    }
+
+    @Test
+    void findReadsRecordsLazily() throws Exception {
+        List<Task> tasks = List.of(createTask(projectId), createTask(UUID.randomUUID()), createTask(projectId));
+        Wrapper<Task> wrapper = new Wrapper<>();
+        wrapper.setList(new ArrayList<>(tasks));
+        XmlUtil.setContainer(filePath, wrapper);
+
+        assertEquals(List.of(tasks.get(0), tasks.get(2)), XmlUtil.<Task>find(filePath, t -> t.getProjectId().equals(projectId)));
+        assertEquals(tasks.get(1), XmlUtil.<Task>findFirst(filePath, t -> t.getId().equals(tasks.get(1).getId())).orElseThrow());
+        assertTrue(XmlUtil.<Task>find(tempDir.resolve("missing.xml").toString(), t -> true).isEmpty());
+    }
+
+    @Test
+    void readFileIsSafeFromSeveralThreads() throws Exception {
+        Wrapper<Task> wrapper = new Wrapper<>();
+        wrapper.setList(IntStream.range(0, 50).mapToObj(i -> createTask(projectId)).collect(Collectors.toList()));
+        XmlUtil.setFormattedOutput(false);
+        try {
+            XmlUtil.setContainer(filePath, wrapper);
+        }
+        finally {
+            XmlUtil.setFormattedOutput(true);
+        }
+        assertEquals(1, Files.readAllLines(Path.of(filePath)).size());
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<Task>>> results = IntStream.range(0, 16)
+                    .mapToObj(i -> executor.submit(() -> XmlUtil.<Task>readFile(filePath).getList()))
+                    .toList();
+            for (Future<List<Task>> result : results)
+                assertEquals(wrapper.getList(), result.get());
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+}